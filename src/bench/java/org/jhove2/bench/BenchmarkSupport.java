@@ -0,0 +1,193 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jhove2.config.spring.SpringConfigInfo;
+import org.jhove2.core.JHOVE2;
+import org.jhove2.core.JHOVE2Exception;
+import org.jhove2.core.io.Input;
+import org.jhove2.core.reportable.Reportable;
+import org.jhove2.core.source.Source;
+import org.jhove2.persist.PersistenceManagerUtil;
+
+/**
+ * Shared set-up for the JMH benchmarks.  Boots the production Spring
+ * configuration with in-memory persistence (see
+ * <code>bench-persist-config.xml</code>) and resolves the example files
+ * used by the unit tests.
+ */
+public final class BenchmarkSupport {
+	/** System property naming the examples directory. */
+	public static final String EXAMPLES_PROPERTY = "jhove2.examples";
+
+	/** Default examples directory, relative to the project base directory. */
+	public static final String DEFAULT_EXAMPLES = "src/test/resources/examples";
+
+	/** Spring configuration used by the benchmarks. */
+	protected static final String[] CONTEXT_PATHS = {
+		"classpath*:**/jhove2-*-config.xml",
+		"classpath*:**/bench-persist-config.xml"};
+
+	/** In-memory persistence manager factory. */
+	protected static final String PERSISTENCE_FACTORY =
+		"org.jhove2.config.spring.SpringInMemoryPersistenceManagerFactory";
+
+	/** True once the Spring context and persistence manager are ready. */
+	private static boolean initialized = false;
+
+	private BenchmarkSupport() {
+	}
+
+	/**
+	 * Initialize the Spring context and persistence manager, once per JVM.
+	 * 
+	 * @throws JHOVE2Exception
+	 */
+	public static synchronized void initialize()
+		throws JHOVE2Exception
+	{
+		if (!initialized) {
+			List<String> paths = new ArrayList<String>();
+			for (String path : CONTEXT_PATHS) {
+				paths.add(path);
+			}
+			SpringConfigInfo.resetContext(paths);
+			PersistenceManagerUtil.createPersistenceManagerFactory(PERSISTENCE_FACTORY);
+			PersistenceManagerUtil.getPersistenceManagerFactory().getInstance().initialize();
+			initialized = true;
+		}
+	}
+
+	/**
+	 * Get a new, fully configured, JHOVE2 framework object.
+	 * 
+	 * @return JHOVE2 framework
+	 * @throws JHOVE2Exception
+	 */
+	public static JHOVE2 getJHOVE2()
+		throws JHOVE2Exception
+	{
+		initialize();
+		return SpringConfigInfo.getReportable(JHOVE2.class, "JHOVE2");
+	}
+
+	/**
+	 * Get a configured bean.
+	 * 
+	 * @param cl   Bean class
+	 * @param name Bean name
+	 * @return Bean
+	 * @throws JHOVE2Exception
+	 */
+	public static <R extends Reportable> R getBean(Class<? super R> cl, String name)
+		throws JHOVE2Exception
+	{
+		initialize();
+		return SpringConfigInfo.<R>getReportable(cl, name);
+	}
+
+	/**
+	 * Resolve an example file, relative to the examples directory.
+	 * 
+	 * @param relativePath Path relative to the examples directory
+	 * @return Example file
+	 * @throws IOException if the file does not exist
+	 */
+	public static File getExample(String relativePath)
+		throws IOException
+	{
+		String base = System.getProperty(EXAMPLES_PROPERTY, DEFAULT_EXAMPLES);
+		File file = new File(base, relativePath);
+		if (!file.exists()) {
+			throw new IOException("Benchmark example not found: " +
+					              file.getAbsolutePath());
+		}
+		return file;
+	}
+
+	/**
+	 * Close an input, ignoring I/O errors.
+	 * 
+	 * @param input Input, may be null
+	 */
+	public static void close(Input input) {
+		if (input != null) {
+			try {
+				input.close();
+			}
+			catch (IOException e) {
+				/* Nothing to do; the benchmark result is unaffected. */
+			}
+		}
+	}
+
+	/**
+	 * Get a source for an example file.
+	 * 
+	 * @param jhove2 JHOVE2 framework
+	 * @param file   Example file
+	 * @return Source
+	 * @throws IOException
+	 * @throws JHOVE2Exception
+	 */
+	public static Source getSource(JHOVE2 jhove2, File file)
+		throws IOException, JHOVE2Exception
+	{
+		return jhove2.getSourceFactory().getSource(jhove2, file);
+	}
+
+	/**
+	 * Get a print stream that discards everything written to it.
+	 * 
+	 * @return Null print stream
+	 */
+	public static PrintStream getNullPrintStream() {
+		return new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+			@Override
+			public void write(byte[] b, int off, int len) {
+			}
+		});
+	}
+}
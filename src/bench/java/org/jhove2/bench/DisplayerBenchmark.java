@@ -0,0 +1,101 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.bench;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.jhove2.core.JHOVE2;
+import org.jhove2.core.io.Input;
+import org.jhove2.core.source.Source;
+import org.jhove2.module.display.Displayer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark of report rendering through
+ * {@link org.jhove2.module.display.AbstractDisplayer}.  The example file is
+ * fully characterized once per trial; each invocation renders the resulting
+ * source unit to a print stream that discards its output.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DisplayerBenchmark {
+	/** Displayer bean name. */
+	@Param({"XML", "JSON"})
+	public String displayerName;
+
+	/** Example file, relative to the examples directory. */
+	@Param({"tiff/Intel_Mateo_6mos.TIF", "gzip/three-files.gz"})
+	public String example;
+
+	protected Displayer displayer;
+	protected Source source;
+	protected PrintStream out;
+
+	@Setup(Level.Trial)
+	public void setUp()
+		throws Exception
+	{
+		JHOVE2 jhove2 = BenchmarkSupport.getJHOVE2();
+		File file     = BenchmarkSupport.getExample(this.example);
+		this.source   = BenchmarkSupport.getSource(jhove2, file);
+		Input input   = this.source.getInput(jhove2);
+		try {
+			this.source = jhove2.characterize(this.source, input);
+		}
+		finally {
+			BenchmarkSupport.close(input);
+		}
+		this.displayer = BenchmarkSupport.getBean(Displayer.class, this.displayerName);
+		this.out = BenchmarkSupport.getNullPrintStream();
+	}
+
+	@Benchmark
+	public void display()
+		throws Exception
+	{
+		this.displayer.display(this.source, this.out);
+	}
+}
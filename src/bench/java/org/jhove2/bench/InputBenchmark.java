@@ -0,0 +1,169 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.bench;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.jhove2.core.JHOVE2;
+import org.jhove2.core.io.Input;
+import org.jhove2.core.io.InputFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of {@link org.jhove2.core.io.AbstractInput} reads for each of
+ * the {@link org.jhove2.core.io.Input.Type buffer types}: sequential
+ * primitive reads across buffer boundaries and random-access repositioning.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InputBenchmark {
+	/** Buffer type under test. */
+	@Param({"Direct", "NonDirect", "Mapped"})
+	public String bufferType;
+
+	/** Size of the synthetic input file, in bytes. */
+	@Param({"16777216"})
+	public int fileSize;
+
+	/** Number of random repositionings per invocation. */
+	protected static final int SEEKS = 4096;
+
+	protected JHOVE2 jhove2;
+	protected File file;
+	protected long[] offsets;
+
+	@Setup(Level.Trial)
+	public void setUp()
+		throws Exception
+	{
+		this.jhove2 = BenchmarkSupport.getJHOVE2();
+		this.jhove2.getInvocation().setBufferType(Input.Type.valueOf(this.bufferType));
+
+		Random random = new Random(20100910L);
+		this.file = File.createTempFile("jhove2-bench", ".dat");
+		FileOutputStream out = new FileOutputStream(this.file);
+		try {
+			byte[] block = new byte[65536];
+			for (int written = 0; written < this.fileSize; written += block.length) {
+				random.nextBytes(block);
+				out.write(block, 0, Math.min(block.length, this.fileSize - written));
+			}
+		}
+		finally {
+			out.close();
+		}
+		this.offsets = new long[SEEKS];
+		for (int i = 0; i < SEEKS; i++) {
+			this.offsets[i] = (long) random.nextInt(this.fileSize - 8);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		if (this.file != null) {
+			this.file.delete();
+		}
+	}
+
+	/** Read the whole input as unsigned bytes. */
+	@Benchmark
+	public long readUnsignedBytes()
+		throws IOException
+	{
+		Input input = InputFactory.getInput(this.jhove2, this.file, false);
+		try {
+			long sum = 0L;
+			long size = this.fileSize;
+			for (long i = 0; i < size; i++) {
+				sum += input.readUnsignedByte();
+			}
+			return sum;
+		}
+		finally {
+			input.close();
+		}
+	}
+
+	/** Read the whole input as unsigned integers. */
+	@Benchmark
+	public long readUnsignedInts()
+		throws IOException
+	{
+		Input input = InputFactory.getInput(this.jhove2, this.file, false);
+		try {
+			long sum = 0L;
+			long count = this.fileSize / 4;
+			for (long i = 0; i < count; i++) {
+				sum += input.readUnsignedInt();
+			}
+			return sum;
+		}
+		finally {
+			input.close();
+		}
+	}
+
+	/** Reposition randomly and read a long at each position. */
+	@Benchmark
+	public void randomAccess(Blackhole bh)
+		throws IOException
+	{
+		Input input = InputFactory.getInput(this.jhove2, this.file, false);
+		try {
+			for (int i = 0; i < SEEKS; i++) {
+				input.setPosition(this.offsets[i]);
+				bh.consume(input.readSignedLong());
+			}
+		}
+		finally {
+			input.close();
+		}
+	}
+}
@@ -0,0 +1,135 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.bench;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.jhove2.app.util.FeatureConfigurationUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import uk.gov.nationalarchives.droid.ConfigFile;
+import uk.gov.nationalarchives.droid.JHOVE2AnalysisControllerUtil;
+import uk.gov.nationalarchives.droid.SignatureFileCache;
+import uk.gov.nationalarchives.droid.signatureFile.FFSignatureFile;
+
+/**
+ * Benchmark of DROID signature file start-up cost: parsing and preparing
+ * the XML signature file, as done on every JVM start without a snapshot,
+ * against restoring the prepared model from its
+ * {@link uk.gov.nationalarchives.droid.SignatureFileCache} snapshot
+ * (including the checksum of the signature file used to validate it).
+ * The signature file is copied to a temporary directory so that the
+ * snapshot does not touch the configuration directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SignatureFileBenchmark {
+	/** DROID configuration file name. */
+	public static final String CONFIG_FILE = DROIDBenchmark.CONFIG_FILE;
+
+	/** DROID signature file name. */
+	public static final String SIG_FILE = DROIDBenchmark.SIG_FILE;
+
+	protected File dir;
+	protected File sigFile;
+	protected ConfigFile configFile;
+
+	@Setup(Level.Trial)
+	public void setUp()
+		throws Exception
+	{
+		String configPath = FeatureConfigurationUtil.
+			getFilePathFromClasspath(CONFIG_FILE, "DROID config file");
+		String sigPath = FeatureConfigurationUtil.
+			getFilePathFromClasspath(SIG_FILE, "DROID signature file");
+		this.configFile = JHOVE2AnalysisControllerUtil.loadConfigFile(configPath);
+		this.dir = File.createTempFile("jhove2-sigfile", "");
+		this.dir.delete();
+		this.dir.mkdir();
+		this.sigFile = new File(this.dir, SIG_FILE);
+		InputStream in = new FileInputStream(sigPath);
+		OutputStream out = new FileOutputStream(this.sigFile);
+		try {
+			byte[] buffer = new byte[8192];
+			int n;
+			while ((n = in.read(buffer)) > 0) {
+				out.write(buffer, 0, n);
+			}
+		} finally {
+			in.close();
+			out.close();
+		}
+		SignatureFileCache.compile(this.sigFile.getPath());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		SignatureFileCache.getCacheFile(this.sigFile).delete();
+		this.sigFile.delete();
+		this.dir.delete();
+	}
+
+	@Benchmark
+	public FFSignatureFile parseXml()
+		throws Exception
+	{
+		FFSignatureFile sigFile =
+			JHOVE2AnalysisControllerUtil.parseSigFile(this.sigFile.getPath());
+		sigFile.prepareForUse();
+		return sigFile;
+	}
+
+	@Benchmark
+	public FFSignatureFile loadSnapshot()
+		throws Exception
+	{
+		return JHOVE2AnalysisControllerUtil.loadSigFile(this.configFile,
+				                                        this.sigFile.getPath());
+	}
+}
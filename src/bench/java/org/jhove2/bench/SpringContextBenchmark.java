@@ -0,0 +1,110 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.bench;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.jhove2.app.util.ConfigManifestGenerator;
+import org.jhove2.config.spring.ConfigManifest;
+import org.jhove2.config.spring.SpringConfigInfo;
+import org.jhove2.core.I8R;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmark of Spring context bootstrap with the default configuration
+ * classpath: scanning the classpath for <code>jhove2-*-config.xml</code>
+ * and eagerly creating every singleton, against checking the same scan
+ * against a {@link org.jhove2.config.spring.ConfigManifest} and loading the
+ * files it lists with lazily created reportables.  Each invocation builds a new context and the PUID alias
+ * map, which is what a command line invocation does before identifying
+ * its first source.  Run with a fork per iteration (<code>-f 10 -wi 0
+ * -i 1</code>) to approximate a cold start.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SpringContextBenchmark {
+	/** Bootstrap strategy: "scan" or "manifest". */
+	@Param({"scan", "manifest"})
+	public String bootstrap;
+
+	protected File manifestFile;
+	protected SpringConfigInfo config;
+
+	@Setup(Level.Trial)
+	public void setUp()
+		throws Exception
+	{
+		this.config = new SpringConfigInfo();
+		if (this.bootstrap.equals("manifest")) {
+			this.manifestFile = File.createTempFile(ConfigManifest.MANIFEST, "");
+			ConfigManifestGenerator.generate(this.manifestFile);
+			System.setProperty(ConfigManifest.MANIFEST_PROPERTY,
+					           this.manifestFile.getPath());
+		}
+		else {
+			System.setProperty(ConfigManifest.MANIFEST_PROPERTY, "false");
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		System.clearProperty(ConfigManifest.MANIFEST_PROPERTY);
+		if (this.manifestFile != null) {
+			this.manifestFile.delete();
+		}
+		SpringConfigInfo.setContext(null);
+	}
+
+	@Benchmark
+	public ConcurrentMap<String, String> bootstrap()
+		throws Exception
+	{
+		SpringConfigInfo.setContext(null);
+		SpringConfigInfo.getContext();
+		return this.config.getFormatAliasIdsToJ2Ids(I8R.Namespace.PUID);
+	}
+}
@@ -0,0 +1,102 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.bench;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.jhove2.core.JHOVE2;
+import org.jhove2.core.io.Input;
+import org.jhove2.core.source.Source;
+import org.jhove2.module.format.tiff.TiffModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmark of {@link org.jhove2.module.format.tiff.TiffModule#parse}.
+ * A new module, source unit, and input are created before each invocation
+ * so that only the parse itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TiffModuleBenchmark {
+	/** Example file, relative to the examples directory. */
+	@Param({"tiff/Intel_Mateo_6mos.TIF", "tiff/BlueSquare.tif"})
+	public String example;
+
+	protected JHOVE2 jhove2;
+	protected File file;
+	protected TiffModule module;
+	protected Source source;
+	protected Input input;
+
+	@Setup(Level.Trial)
+	public void setUp()
+		throws Exception
+	{
+		this.jhove2 = BenchmarkSupport.getJHOVE2();
+		this.file   = BenchmarkSupport.getExample(this.example);
+	}
+
+	@Setup(Level.Invocation)
+	public void setUpInvocation()
+		throws Exception
+	{
+		this.module = BenchmarkSupport.getBean(TiffModule.class, "TiffModule");
+		this.source = BenchmarkSupport.getSource(this.jhove2, this.file);
+		this.input  = this.source.getInput(this.jhove2);
+	}
+
+	@TearDown(Level.Invocation)
+	public void tearDownInvocation() {
+		BenchmarkSupport.close(this.input);
+	}
+
+	@Benchmark
+	public long parse()
+		throws Exception
+	{
+		return this.module.parse(this.jhove2, this.source, this.input);
+	}
+}
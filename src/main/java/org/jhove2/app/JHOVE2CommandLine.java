@@ -36,6 +36,7 @@
 
 package org.jhove2.app;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -45,8 +46,11 @@ import org.jhove2.core.Invocation;
 import org.jhove2.core.JHOVE2;
 import org.jhove2.core.JHOVE2Exception;
 import org.jhove2.core.app.AbstractApplication;
+import org.jhove2.core.cache.ResultCache;
 import org.jhove2.core.io.Input;
 import org.jhove2.core.io.Input.Type;
+import org.jhove2.core.metrics.MetricsRegistry;
+import org.jhove2.core.metrics.MetricsSummaryWriter;
 import org.jhove2.core.source.Source;
 import org.jhove2.module.display.Displayer;
 import org.jhove2.persist.ApplicationModuleAccessor;
@@ -125,6 +129,7 @@ extends AbstractApplication
 	public static void main(String[] args)
 	{	
 		PersistenceManager persistenceManager = null;
+		MetricsSummaryWriter metricsWriter = null;
 		try {
 			SpringConfigInfo factory = new SpringConfigInfo();
 			/* Create PersistenceManagerFactory; will be used by ApplicationModuleAccessor to
@@ -167,6 +172,23 @@ extends AbstractApplication
 			jhove2.setInvocation(inv);
 			jhove2.setInstallation(app.getInstallation());
 
+			/* Expose the framework metrics through JMX and, if requested,
+			 * a periodically updated summary file.
+			 */
+			MetricsRegistry metrics = MetricsRegistry.getInstance();
+			metrics.registerMBean();
+			if (inv.getMetricsFile() != null) {
+				metricsWriter = new MetricsSummaryWriter(metrics,
+						new File(inv.getMetricsFile()), inv.getMetricsInterval());
+				metricsWriter.start();
+			}
+
+			/* Open the characterization result cache, if requested. */
+			if (inv.getResultCacheDirectory() != null) {
+				ResultCache.open(new File(inv.getResultCacheDirectory()),
+						         inv.getResultCacheSize(), inv.getIncremental());
+			}
+
 			/* Create a FileSet source unit out of all files, directories, and
 			 * URLS specified on the command line, or a single File, Directory, or
 			 * URL if only one is specified.
@@ -203,6 +225,16 @@ extends AbstractApplication
 			System.exit(EEXCEPTION);
 		}
 		finally{
+			if (metricsWriter != null) {
+				metricsWriter.stop();
+			}
+			try {
+				ResultCache.closeInstance();
+			}
+			catch (JHOVE2Exception je) {
+				System.err.println(je.getMessage());
+				je.printStackTrace(System.err);
+			}
 			if (persistenceManager != null){
 				try{
 					persistenceManager.close();
@@ -303,6 +335,27 @@ extends AbstractApplication
 			parser.addHelp(parser.addStringOption('o', "output"),
 					"<outfile>",
 			"Output file (default=standard output unit)");
+		Parser.Option metricsFileO =
+			parser.addHelp(parser.addStringOption('m', "metrics"),
+					"<metricsfile>",
+			"Periodically write a metrics summary to this file");
+		Parser.Option metricsIntervalO =
+			parser.addHelp(parser.addIntegerOption('M', "metrics-interval"),
+					"<seconds>",
+					"Metrics summary interval (default=" +
+					Invocation.DEFAULT_METRICS_INTERVAL + ")");
+		Parser.Option resultCacheDirectoryO =
+			parser.addHelp(parser.addStringOption('r', "result-cache"),
+					"<cachedirectory>",
+			"Reuse the results of identical content cached in this directory");
+		Parser.Option incrementalO =
+			parser.addHelp(parser.addBooleanOption('I', "incremental"),
+			"Reuse cached results of files unchanged since the last run");
+		Parser.Option resultCacheSizeO =
+			parser.addHelp(parser.addIntegerOption('R', "result-cache-size"),
+					"<entries>",
+					"Number of results cached in memory (default=" +
+					Invocation.DEFAULT_RESULT_CACHE_SIZE + ")");
 		Parser.Option helpO =
 			parser.addHelp(parser.addBooleanOption('h', "help"),
 			"Show this help message");
@@ -379,6 +432,26 @@ extends AbstractApplication
 		if ((Boolean)parser.getOptionValue(deleteTempFilesO) != null) {
 			config.setDeleteTempFiles(false);
 		}
+		String metricsFile = (String)parser.getOptionValue(metricsFileO);
+		if (metricsFile != null) {
+			config.setMetricsFile(metricsFile);
+		}
+		Integer metricsInterval = (Integer)parser.getOptionValue(metricsIntervalO);
+		if (metricsInterval != null) {
+			config.setMetricsInterval(metricsInterval.intValue());
+		}
+		String resultCacheDirectory =
+			(String)parser.getOptionValue(resultCacheDirectoryO);
+		if (resultCacheDirectory != null) {
+			config.setResultCacheDirectory(resultCacheDirectory);
+		}
+		if ((Boolean)parser.getOptionValue(incrementalO) != null) {
+			config.setIncremental(true);
+		}
+		Integer resultCacheSize = (Integer)parser.getOptionValue(resultCacheSizeO);
+		if (resultCacheSize != null) {
+			config.setResultCacheSize(resultCacheSize.intValue());
+		}
 		if ( Boolean.TRUE.equals(parser.getOptionValue(helpO))) {
 			parser.getUsage();
 			System.exit(0);
@@ -0,0 +1,526 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.app.util;
+
+import static org.jhove2.module.display.BinaryDisplayer.*;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jhove2.config.spring.SpringConfigInfo;
+import org.jhove2.core.I8R;
+import org.jhove2.module.display.Displayer;
+import org.jhove2.module.display.util.BufferedDisplayStream;
+
+/**
+ * Utility to convert a report written by the
+ * {@link org.jhove2.module.display.BinaryDisplayer} into the output of any
+ * other displayer, such as the XML or JSON displayer.  The records of the
+ * binary report are replayed as the displayer events that produced them,
+ * so the output is identical to that which the other displayer would have
+ * produced from the original {@link org.jhove2.core.reportable.Reportable}.
+ */
+public class BinaryReportReader {
+	/** Usage string */
+	public static final String USAGE = 
+		"USAGE:  java -cp CLASSPATH " + BinaryReportReader.class.getName() +
+		" binary-report displayer [output-file]";
+	/** Error return code for erroneous command line invocation */
+	public static final int EUSAGE = 1;
+	/** Error return code if any exception is thrown while executing program */
+	public static final int EEXCEPTION = 2;
+
+	/** Binary report input stream. */
+	protected InputStream in;
+
+	/** Dictionary of names, units, and namespaces. */
+	protected List<String> strings;
+
+	/** Dictionary of identifiers. */
+	protected List<I8R> identifiers;
+
+	/** Buffer for decoding strings. */
+	protected byte [] bytes;
+
+	/** Buffer for decoding strings. */
+	protected char [] chars;
+
+	/**
+	 * Instantiate a new <code>BinaryReportReader</code>.
+	 * 
+	 * @param in
+	 *            Binary report input stream
+	 */
+	public BinaryReportReader(InputStream in) {
+		this.in = in;
+		this.bytes = new byte[256];
+		this.chars = new char[256];
+	}
+
+	/**
+	 * Read a binary report and replay it to a displayer.
+	 * 
+	 * @param displayer
+	 *            Displayer
+	 * @param out
+	 *            Print stream
+	 * @throws IOException
+	 *             I/O exception reading the report, or the report is
+	 *             malformed
+	 */
+	public void display(Displayer displayer, PrintStream out)
+		throws IOException
+	{
+		for (int i = 0; i < MAGIC.length; i++) {
+			if (this.readByte() != MAGIC[i]) {
+				throw new IOException("Not a JHOVE2 binary report");
+			}
+		}
+		int version = this.readByte();
+		if (version != FORMAT_VERSION) {
+			throw new IOException("Unsupported JHOVE2 binary report version: " +
+					              version);
+		}
+		this.strings     = new ArrayList<String>();
+		this.identifiers = new ArrayList<I8R>();
+		List<Start> stack = new ArrayList<Start>();
+		boolean done = false;
+		while (!done) {
+			int tag = this.readByte();
+			switch (tag) {
+			case START_DISPLAY:
+				displayer.startDisplay(out, this.readInt());
+				break;
+			case START_REPORTABLE: {
+				Start start = new Start(tag, this.readInt(), this.readName(),
+						                this.readIdentifier());
+				int order = this.readInt();
+				I8R typeIdentifier = this.readIdentifier();
+				stack.add(start);
+				displayer.startReportable(out, start.level, start.name,
+						                  start.identifier, order,
+						                  typeIdentifier);
+				break;
+			}
+			case START_COLLECTION: {
+				Start start = new Start(tag, this.readInt(), this.readName(),
+						                this.readIdentifier());
+				start.size = this.readInt();
+				int order = this.readInt();
+				stack.add(start);
+				displayer.startCollection(out, start.level, start.name,
+						                  start.identifier, start.size, order);
+				break;
+			}
+			case PROPERTY: {
+				int level      = this.readInt();
+				String name    = this.readName();
+				I8R identifier = this.readIdentifier();
+				int order      = this.readInt();
+				String unit    = this.readName();
+				Object value   = this.readValue();
+				displayer.displayProperty(out, level, name, identifier, value,
+						                  order, unit);
+				break;
+			}
+			case END_COLLECTION:
+			case END_REPORTABLE: {
+				Start start = stack.isEmpty() ? null :
+					stack.remove(stack.size() - 1);
+				int startTag = (tag == END_COLLECTION) ? START_COLLECTION
+						                               : START_REPORTABLE;
+				if (start == null || start.tag != startTag) {
+					throw new IOException("Unbalanced JHOVE2 binary report record: " +
+							              tag);
+				}
+				if (tag == END_COLLECTION) {
+					displayer.endCollection(out, start.level, start.name,
+							                start.identifier, start.size);
+				}
+				else {
+					displayer.endReportable(out, start.level, start.name,
+							                start.identifier);
+				}
+				break;
+			}
+			case END_DISPLAY:
+				displayer.endDisplay(out, this.readInt());
+				done = true;
+				break;
+			default:
+				throw new IOException("Invalid JHOVE2 binary report record: " +
+						              tag);
+			}
+		}
+		this.strings     = null;
+		this.identifiers = null;
+	}
+
+	/**
+	 * Read a byte.
+	 * 
+	 * @return Unsigned byte
+	 * @throws IOException
+	 */
+	protected int readByte() throws IOException {
+		int b = this.in.read();
+		if (b < 0) {
+			throw new EOFException("Truncated JHOVE2 binary report");
+		}
+		return b;
+	}
+
+	/**
+	 * Read an unsigned variable-length integer.
+	 * 
+	 * @return Value
+	 * @throws IOException
+	 */
+	protected long readLong() throws IOException {
+		long value = 0L;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = this.readByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Invalid JHOVE2 binary report integer");
+	}
+
+	/**
+	 * Read an unsigned variable-length integer.
+	 * 
+	 * @return Value
+	 * @throws IOException
+	 */
+	protected int readInt() throws IOException {
+		return (int) this.readLong();
+	}
+
+	/**
+	 * Read a fixed-length big-endian integer.
+	 * 
+	 * @param size
+	 *            Size, in bytes
+	 * @return Value
+	 * @throws IOException
+	 */
+	protected long readFixed(int size) throws IOException {
+		long value = 0L;
+		for (int i = 0; i < size; i++) {
+			value = (value << 8) | this.readByte();
+		}
+		return value;
+	}
+
+	/**
+	 * Read a string.
+	 * 
+	 * @return String
+	 * @throws IOException
+	 */
+	protected String readString() throws IOException {
+		int count = this.readInt();
+		if (count < 0) {
+			throw new IOException("Invalid JHOVE2 binary report string");
+		}
+		if (count > this.bytes.length) {
+			this.bytes = new byte[count];
+			this.chars = new char[count];
+		}
+		byte [] bytes = this.bytes;
+		int n = 0;
+		while (n < count) {
+			int r = this.in.read(bytes, n, count - n);
+			if (r < 0) {
+				throw new EOFException("Truncated JHOVE2 binary report");
+			}
+			n += r;
+		}
+		char [] chars = this.chars;
+		int len = 0;
+		for (int i = 0; i < count; ) {
+			int b = bytes[i++] & 0xFF;
+			if (b < 0x80) {
+				chars[len++] = (char) b;
+			}
+			else if (b < 0xE0 && i < count) {
+				chars[len++] = (char) (((b & 0x1F) << 6) | (bytes[i++] & 0x3F));
+			}
+			else if (i + 1 < count) {
+				chars[len++] = (char) (((b & 0x0F) << 12) |
+						               ((bytes[i] & 0x3F) << 6) |
+						               (bytes[i + 1] & 0x3F));
+				i += 2;
+			}
+			else {
+				throw new IOException("Invalid JHOVE2 binary report string");
+			}
+		}
+		return new String(chars, 0, len);
+	}
+
+	/**
+	 * Read a dictionary-encoded name, unit, or namespace.
+	 * 
+	 * @return String, or null
+	 * @throws IOException
+	 */
+	protected String readName() throws IOException {
+		int ref = this.readInt();
+		if (ref == 0) {
+			return null;
+		}
+		int size = this.strings.size();
+		if (ref == size + 1) {
+			String s = this.readString();
+			this.strings.add(s);
+			return s;
+		}
+		if (ref < 0 || ref > size) {
+			throw new IOException("Invalid JHOVE2 binary report reference: " +
+					              ref);
+		}
+		return this.strings.get(ref - 1);
+	}
+
+	/**
+	 * Read a dictionary-encoded identifier.
+	 * 
+	 * @return Identifier, or null
+	 * @throws IOException
+	 */
+	protected I8R readIdentifier() throws IOException {
+		int ref = this.readInt();
+		if (ref == 0) {
+			return null;
+		}
+		int size = this.identifiers.size();
+		if (ref == size + 1) {
+			String namespace = this.readName();
+			String value     = this.readName();
+			I8R identifier;
+			try {
+				identifier = new I8R(value, namespace == null ? null :
+					                 I8R.Namespace.valueOf(namespace));
+			}
+			catch (IllegalArgumentException e) {
+				throw new IOException("Invalid JHOVE2 binary report namespace: " +
+						              namespace);
+			}
+			this.identifiers.add(identifier);
+			return identifier;
+		}
+		if (ref < 0 || ref > size) {
+			throw new IOException("Invalid JHOVE2 binary report reference: " +
+					              ref);
+		}
+		return this.identifiers.get(ref - 1);
+	}
+
+	/**
+	 * Read a property value.
+	 * 
+	 * @return Property value
+	 * @throws IOException
+	 */
+	protected Object readValue() throws IOException {
+		int type = this.readByte();
+		switch (type) {
+		case VALUE_NULL:
+			return null;
+		case VALUE_STRING:
+			return this.readString();
+		case VALUE_FALSE:
+			return Boolean.FALSE;
+		case VALUE_TRUE:
+			return Boolean.TRUE;
+		case VALUE_LONG: {
+			long l = this.readLong();
+			return Long.valueOf((l >>> 1) ^ -(l & 1L));
+		}
+		case VALUE_FLOAT:
+			return Float.valueOf(Float.intBitsToFloat((int) this.readFixed(4)));
+		case VALUE_DOUBLE:
+			return Double.valueOf(Double.longBitsToDouble(this.readFixed(8)));
+		case VALUE_NUMBER:
+			return new DecimalString(this.readString());
+		default:
+			throw new IOException("Invalid JHOVE2 binary report value type: " +
+					              type);
+		}
+	}
+
+	/**
+	 * Convert a binary report file.
+	 * 
+	 * @param report
+	 *            Binary report file
+	 * @param displayer
+	 *            Displayer
+	 * @param filePathname
+	 *            Output file pathname, or null for the standard output
+	 *            stream
+	 * @throws IOException
+	 */
+	public static void convert(File report, Displayer displayer,
+			                   String filePathname)
+		throws IOException
+	{
+		InputStream in = new BufferedInputStream(new FileInputStream(report),
+				                                 65536);
+		try {
+			BufferedDisplayStream out = null;
+			String encoding = displayer.getCharacterEncoding();
+			if (encoding == null) {
+				encoding = Displayer.DEFAULT_CHARACTER_ENCODING;
+			}
+			if (filePathname == null) {
+				out = new BufferedDisplayStream(System.out, encoding);
+			}
+			else {
+				out = new BufferedDisplayStream(new FileOutputStream(filePathname),
+						                        encoding);
+			}
+			try {
+				new BinaryReportReader(in).display(displayer, out);
+			}
+			finally {
+				if (filePathname == null) {
+					out.flush();
+				}
+				else {
+					out.close();
+				}
+			}
+		}
+		finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Main method invoked to convert a binary report.
+	 * @param args Binary report file, the name of the displayer with which
+	 * to convert it (e.g. XML or JSON), and optionally the output file
+	 */
+	public static void main(String[] args) {
+		if (args.length < 2 || args.length > 3) {
+			System.out.println(USAGE);
+			System.exit(EUSAGE);
+		}
+		try {
+			Displayer displayer =
+				SpringConfigInfo.getReportable(Displayer.class, args[1]);
+			convert(new File(args[0]), displayer,
+					args.length > 2 ? args[2] : null);
+		}
+		catch (Exception e) {
+			System.err.println("Exception thrown attempting to convert binary report " +
+					           args[0]);
+			e.printStackTrace(System.err);
+			System.exit(EEXCEPTION);
+		}
+	}
+
+	/** Record of a started reportable or collection. */
+	protected static class Start {
+		/** Start record tag. */
+		final int tag;
+		/** Nesting level. */
+		final int level;
+		/** Name. */
+		final String name;
+		/** Identifier. */
+		final I8R identifier;
+		/** Collection size. */
+		int size;
+
+		Start(int tag, int level, String name, I8R identifier) {
+			this.tag        = tag;
+			this.level      = level;
+			this.name       = name;
+			this.identifier = identifier;
+		}
+	}
+
+	/** Number recorded by its string representation. */
+	protected static class DecimalString
+		extends Number
+	{
+		private static final long serialVersionUID = 1L;
+
+		/** String representation. */
+		private final String value;
+
+		DecimalString(String value) {
+			this.value = value;
+		}
+
+		@Override
+		public double doubleValue() {
+			return Double.parseDouble(this.value);
+		}
+
+		@Override
+		public float floatValue() {
+			return (float) this.doubleValue();
+		}
+
+		@Override
+		public int intValue() {
+			return (int) this.longValue();
+		}
+
+		@Override
+		public long longValue() {
+			return (long) this.doubleValue();
+		}
+
+		@Override
+		public String toString() {
+			return this.value;
+		}
+	}
+}
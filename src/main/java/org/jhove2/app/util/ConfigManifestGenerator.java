@@ -0,0 +1,150 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.app.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.jhove2.config.spring.ConfigManifest;
+import org.jhove2.config.spring.SpringConfigInfo;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+/**
+ * Utility to generate the {@link org.jhove2.config.spring.ConfigManifest}
+ * for a JHOVE2 configuration directory.  The configuration is loaded by
+ * scanning the default configuration classpath, exactly as it would be
+ * without a manifest, and the configuration files and format bean maps
+ * are recorded in the manifest.  The manifest must be regenerated whenever
+ * a configuration file is added.
+ */
+public class ConfigManifestGenerator {
+	/** Usage string */
+	public static final String USAGE = 
+		"USAGE:  java -cp CLASSPATH " + ConfigManifestGenerator.class.getName() +
+		" output-file [config-dir ...]";
+	/** Error return code for erroneous command line invocation */
+	public static final int EUSAGE = 1;
+	/** Error return code if any exception is thrown while executing program */
+	public static final int EEXCEPTION = 2;
+
+	/**
+	 * Generate a manifest.
+	 * 
+	 * @param output     Manifest file
+	 * @param configDirs Configuration directories to be added to the
+	 *                   classpath, in addition to the current classpath
+	 * @return Manifest
+	 * @throws Exception
+	 */
+	public static ConfigManifest generate(File output, File... configDirs)
+		throws Exception
+	{
+		Thread thread = Thread.currentThread();
+		ClassLoader parent = thread.getContextClassLoader();
+		URL[] urls = new URL[configDirs.length];
+		for (int i = 0; i < configDirs.length; i++) {
+			urls[i] = configDirs[i].toURI().toURL();
+		}
+		ClassLoader loader = new URLClassLoader(urls, parent);
+		thread.setContextClassLoader(loader);
+		ClassPathXmlApplicationContext context = null;
+		try {
+			String pattern = SpringConfigInfo.DEFAULT_CLASSPATH;
+			context = new ClassPathXmlApplicationContext(new String[] {pattern},
+					                                     false);
+			context.setClassLoader(loader);
+			context.refresh();
+			ConfigManifest manifest =
+				ConfigManifest.generate(context, pattern, loader);
+			File dir = output.getAbsoluteFile().getParentFile();
+			if (!dir.isDirectory() && !dir.mkdirs()) {
+				throw new IOException("Unable to create directory " +
+						              dir.getPath());
+			}
+			Writer writer =
+				new OutputStreamWriter(new FileOutputStream(output), "UTF-8");
+			try {
+				manifest.write(writer);
+			}
+			finally {
+				writer.close();
+			}
+			return manifest;
+		}
+		finally {
+			if (context != null) {
+				context.close();
+			}
+			thread.setContextClassLoader(parent);
+		}
+	}
+
+	/**
+	 * Main method invoked to generate the configuration manifest, e.g. at
+	 * build time.  On success the method returns normally rather than
+	 * exiting, so that it can be run inside the build's JVM.
+	 * @param args Output file, followed by any configuration directories to
+	 * be added to the classpath
+	 */
+	public static void main(String[] args) {
+		if (args.length < 1) {
+			System.out.println(USAGE);
+			System.exit(EUSAGE);
+		}
+		File output = new File(args[0]);
+		File[] configDirs = new File[args.length - 1];
+		for (int i = 1; i < args.length; i++) {
+			configDirs[i - 1] = new File(args[i]);
+		}
+		try {
+			ConfigManifest manifest = generate(output, configDirs);
+			System.out.println("Generated configuration manifest of " +
+					           manifest.getConfigLocations().length +
+					           " configuration files at " + output.getPath());
+		}
+		catch (Exception e) {
+			System.out.println("Exception thrown attempting to generate configuration manifest " +
+					           output.getPath());
+			System.out.println(e.getMessage());
+			e.printStackTrace();
+			System.exit(EEXCEPTION);
+		}
+	}
+}
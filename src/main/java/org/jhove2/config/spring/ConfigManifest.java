@@ -0,0 +1,565 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.config.spring;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.CRC32;
+
+import org.jhove2.core.I8R;
+import org.jhove2.core.I8R.Namespace;
+import org.jhove2.core.JHOVE2Exception;
+import org.jhove2.core.format.Format;
+import org.jhove2.module.format.BaseFormatModule;
+import org.jhove2.module.format.FormatProfile;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+/**
+ * Index of the JHOVE2 Spring configuration, generated at build time by
+ * {@link org.jhove2.app.util.ConfigManifestGenerator}.  The manifest lists
+ * the configuration files matched by the default configuration classpath,
+ * so that the application context can be built without scanning every
+ * classpath entry, and the format identifier to bean name maps otherwise
+ * obtained by instantiating every format and format module bean.
+ * <p>
+ * The manifest is a UTF-8 text file of tab-separated records:
+ * <pre>
+ * config  classpath-relative-path  crc32
+ * module  format-identifier        module-bean-name
+ * format  format-identifier        format-bean-name
+ * alias   namespace  alias-identifier  format-identifier
+ * </pre>
+ * A manifest is only used if the configuration files matched by the
+ * default configuration classpath are exactly those listed, and each is
+ * unchanged.  The classpath is still scanned to check this, but no bean
+ * has to be instantiated to build the maps.
+ */
+public class ConfigManifest {
+	/** Manifest resource name. */
+	public static final String MANIFEST = "jhove2-config.manifest";
+
+	/** System property naming an explicit manifest file, or "false" to
+	 * disable the manifest.
+	 */
+	public static final String MANIFEST_PROPERTY = "jhove2.config.manifest";
+
+	/** Record types. */
+	protected static final String CONFIG = "config";
+	protected static final String MODULE = "module";
+	protected static final String FORMAT = "format";
+	protected static final String ALIAS  = "alias";
+
+	/** Configuration file classpath-relative paths and their checksums. */
+	protected SortedMap<String, String> configFiles =
+		new TreeMap<String, String>();
+
+	/** Format identifiers to format module bean names. */
+	protected SortedMap<String, String> moduleBeanNames =
+		new TreeMap<String, String>();
+
+	/** Format identifiers to format bean names. */
+	protected SortedMap<String, String> formatBeanNames =
+		new TreeMap<String, String>();
+
+	/** Alias identifiers, by namespace, to format identifiers. */
+	protected SortedMap<Namespace, SortedMap<String, String>> aliases =
+		new TreeMap<Namespace, SortedMap<String, String>>();
+
+	/**
+	 * Instantiate a new, empty <code>ConfigManifest</code>.
+	 */
+	public ConfigManifest() {
+		super();
+	}
+
+	/**
+	 * Locate and read the manifest: the file named by the
+	 * {@link #MANIFEST_PROPERTY} system property, if set, or otherwise the
+	 * {@link #MANIFEST} classpath resource.
+	 * 
+	 * @param loader Class loader used to locate the manifest and the
+	 *               configuration files it lists
+	 * @return Manifest, or null if the manifest is disabled, missing, or
+	 *         out of date with respect to the configuration files
+	 */
+	public static ConfigManifest find(ClassLoader loader) {
+		String property = System.getProperty(MANIFEST_PROPERTY);
+		if ("false".equalsIgnoreCase(property)) {
+			return null;
+		}
+		InputStream in = null;
+		try {
+			if (property != null && property.length() > 0) {
+				File file = new File(property);
+				if (!file.isFile()) {
+					return null;
+				}
+				in = new FileInputStream(file);
+			}
+			else {
+				URL url = loader.getResource(MANIFEST);
+				if (url == null) {
+					return null;
+				}
+				in = url.openStream();
+			}
+			ConfigManifest manifest = read(in);
+			return manifest.isCurrent(loader) ? manifest : null;
+		}
+		catch (IOException e) {
+			return null;
+		}
+		finally {
+			if (in != null) {
+				try {
+					in.close();
+				}
+				catch (IOException e) {
+					/* Nothing to be done. */
+				}
+			}
+		}
+	}
+
+	/**
+	 * Read a manifest.
+	 * 
+	 * @param in Manifest input stream
+	 * @return Manifest
+	 * @throws IOException
+	 */
+	public static ConfigManifest read(InputStream in)
+		throws IOException
+	{
+		ConfigManifest manifest = new ConfigManifest();
+		BufferedReader reader =
+			new BufferedReader(new InputStreamReader(in, "UTF-8"));
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (line.length() == 0 || line.startsWith("#")) {
+				continue;
+			}
+			String[] fields = line.split("\t");
+			if (fields[0].equals(CONFIG) && fields.length == 3) {
+				manifest.configFiles.put(fields[1], fields[2]);
+			}
+			else if (fields[0].equals(MODULE) && fields.length == 3) {
+				manifest.moduleBeanNames.put(fields[1], fields[2]);
+			}
+			else if (fields[0].equals(FORMAT) && fields.length == 3) {
+				manifest.formatBeanNames.put(fields[1], fields[2]);
+			}
+			else if (fields[0].equals(ALIAS) && fields.length == 4) {
+				try {
+					manifest.addAlias(Namespace.valueOf(fields[1]), fields[2],
+							          fields[3]);
+				}
+				catch (IllegalArgumentException e) {
+					throw new IOException("Unknown namespace in manifest: " + line);
+				}
+			}
+			else {
+				throw new IOException("Malformed manifest record: " + line);
+			}
+		}
+		if (manifest.configFiles.size() == 0) {
+			throw new IOException("Manifest lists no configuration files");
+		}
+		return manifest;
+	}
+
+	/**
+	 * Write the manifest.  Records are written in a stable order so that
+	 * regenerating an unchanged configuration produces an identical file.
+	 * 
+	 * @param writer Manifest writer
+	 * @throws IOException
+	 */
+	public void write(Writer writer)
+		throws IOException
+	{
+		PrintWriter out = new PrintWriter(writer);
+		out.print("# JHOVE2 Spring configuration manifest, generated by " +
+				  "org.jhove2.app.util.ConfigManifestGenerator; do not edit\n");
+		for (Entry<String, String> entry : this.configFiles.entrySet()) {
+			out.print(CONFIG + "\t" + entry.getKey() + "\t" + entry.getValue() + "\n");
+		}
+		for (Entry<String, String> entry : this.moduleBeanNames.entrySet()) {
+			out.print(MODULE + "\t" + entry.getKey() + "\t" + entry.getValue() + "\n");
+		}
+		for (Entry<String, String> entry : this.formatBeanNames.entrySet()) {
+			out.print(FORMAT + "\t" + entry.getKey() + "\t" + entry.getValue() + "\n");
+		}
+		for (Entry<Namespace, SortedMap<String, String>> ns : this.aliases.entrySet()) {
+			for (Entry<String, String> entry : ns.getValue().entrySet()) {
+				out.print(ALIAS + "\t" + ns.getKey() + "\t" + entry.getKey() +
+						  "\t" + entry.getValue() + "\n");
+			}
+		}
+		out.flush();
+		if (out.checkError()) {
+			throw new IOException("Error writing configuration manifest");
+		}
+	}
+
+	/**
+	 * Generate a manifest from a fully-initialized application context.
+	 * 
+	 * @param context  Application context built from the configuration
+	 *                 location pattern
+	 * @param pattern  Configuration location pattern, e.g.
+	 *                 <code>classpath*:**&#47;jhove2-*-config.xml</code>
+	 * @param loader   Class loader from which the configuration files are loaded
+	 * @return Manifest
+	 * @throws JHOVE2Exception
+	 */
+	public static ConfigManifest generate(ApplicationContext context,
+			                              String pattern, ClassLoader loader)
+		throws JHOVE2Exception
+	{
+		ConfigManifest manifest = new ConfigManifest();
+		try {
+			for (Resource resource : context.getResources(pattern)) {
+				String path = getClasspathPath(resource.getURL(), loader);
+				if (path == null) {
+					throw new JHOVE2Exception("Configuration file " +
+							resource.getURL() + " is not loadable from the classpath");
+				}
+				manifest.configFiles.put(path, checksum(path, loader));
+			}
+		}
+		catch (IOException e) {
+			throw new JHOVE2Exception("Unable to resolve configuration files " +
+					                  pattern, e);
+		}
+		@SuppressWarnings("unchecked")
+		Map<String, Object> modules = context.getBeansOfType(BaseFormatModule.class);
+		for (Entry<String, Object> entry : modules.entrySet()) {
+			BaseFormatModule module = (BaseFormatModule) entry.getValue();
+			manifest.moduleBeanNames.put(module.getFormat().getIdentifier().getValue(),
+					                     entry.getKey());
+			for (FormatProfile profile : module.getProfiles()) {
+				manifest.moduleBeanNames.put(profile.getFormat().getIdentifier().getValue(),
+						                     entry.getKey());
+			}
+		}
+		@SuppressWarnings("unchecked")
+		Map<String, Object> formats = context.getBeansOfType(Format.class);
+		for (Entry<String, Object> entry : formats.entrySet()) {
+			Format format = (Format) entry.getValue();
+			String formatID = format.getIdentifier().getValue();
+			manifest.formatBeanNames.put(formatID, entry.getKey());
+			for (I8R alias : format.getAliasIdentifiers()) {
+				manifest.addAlias(alias.getNamespace(), alias.getValue(), formatID);
+			}
+		}
+		return manifest;
+	}
+
+	/**
+	 * Scan configuration location patterns for the configuration files they
+	 * match.  The manifest returned lists only the files and their checksums;
+	 * files not loadable from the classpath are listed by URL.
+	 * 
+	 * @param patterns Configuration location patterns
+	 * @param loader   Class loader from which the configuration files are loaded
+	 * @return Manifest
+	 * @throws JHOVE2Exception
+	 */
+	public static ConfigManifest scan(String[] patterns, ClassLoader loader)
+		throws JHOVE2Exception
+	{
+		ConfigManifest manifest = new ConfigManifest();
+		ResourcePatternResolver resolver =
+			new PathMatchingResourcePatternResolver(loader);
+		for (String pattern : patterns) {
+			try {
+				for (Resource resource : resolver.getResources(pattern)) {
+					URL url = resource.getURL();
+					String path = getClasspathPath(url, loader);
+					if (path == null) {
+						path = url.toExternalForm();
+					}
+					manifest.configFiles.put(path,
+							checksum(resource.getInputStream()));
+				}
+			}
+			catch (IOException e) {
+				throw new JHOVE2Exception("Unable to resolve configuration files " +
+						                  pattern, e);
+			}
+		}
+		return manifest;
+	}
+
+	/**
+	 * Get a digest of the configuration files listed in the manifest: the
+	 * SHA-1 of their paths and checksums.  Two manifests listing the same,
+	 * unchanged configuration files have the same digest.
+	 * 
+	 * @return Hexadecimal SHA-1
+	 * @throws JHOVE2Exception
+	 */
+	public String getConfigDigest()
+		throws JHOVE2Exception
+	{
+		MessageDigest md;
+		try {
+			md = MessageDigest.getInstance("SHA-1");
+			for (Entry<String, String> entry : this.configFiles.entrySet()) {
+				md.update((entry.getKey() + '\t' + entry.getValue() + '\n')
+						  .getBytes("UTF-8"));
+			}
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new JHOVE2Exception("Digest algorithm not available: SHA-1", e);
+		}
+		catch (UnsupportedEncodingException e) {
+			throw new JHOVE2Exception("Encoding not available: UTF-8", e);
+		}
+		StringBuilder digest = new StringBuilder();
+		for (byte b : md.digest()) {
+			digest.append(Character.forDigit((b >> 4) & 0xf, 16))
+			      .append(Character.forDigit(b & 0xf, 16));
+		}
+		return digest.toString();
+	}
+
+	/**
+	 * Determine whether the manifest lists exactly the configuration files
+	 * matched by the default configuration classpath, and whether they are
+	 * all unchanged.
+	 * 
+	 * @param loader Class loader from which the configuration files are loaded
+	 * @return True if the manifest is current
+	 */
+	public boolean isCurrent(ClassLoader loader) {
+		return this.isCurrent(loader, SpringConfigInfo.DEFAULT_CLASSPATH);
+	}
+
+	/**
+	 * Determine whether the manifest lists exactly the configuration files
+	 * matched by a configuration location pattern, and whether they are all
+	 * unchanged.
+	 * 
+	 * @param loader  Class loader from which the configuration files are loaded
+	 * @param pattern Configuration location pattern
+	 * @return True if the manifest is current
+	 */
+	public boolean isCurrent(ClassLoader loader, String pattern) {
+		Set<String> paths = new HashSet<String>();
+		ResourcePatternResolver resolver =
+			new PathMatchingResourcePatternResolver(loader);
+		try {
+			for (Resource resource : resolver.getResources(pattern)) {
+				String path = getClasspathPath(resource.getURL(), loader);
+				if (path == null) {
+					return false;
+				}
+				paths.add(path);
+			}
+		}
+		catch (IOException e) {
+			return false;
+		}
+		if (!paths.equals(this.configFiles.keySet())) {
+			return false;
+		}
+		for (Entry<String, String> entry : this.configFiles.entrySet()) {
+			try {
+				if (!entry.getValue().equals(checksum(entry.getKey(), loader))) {
+					return false;
+				}
+			}
+			catch (IOException e) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Get the Spring configuration locations listed in the manifest.
+	 * 
+	 * @return Configuration locations
+	 */
+	public String[] getConfigLocations() {
+		List<String> locations = new ArrayList<String>(this.configFiles.size());
+		for (String path : this.configFiles.keySet()) {
+			locations.add("classpath:" + path);
+		}
+		return locations.toArray(new String[locations.size()]);
+	}
+
+	/**
+	 * Get the format identifier to format module bean name map.
+	 * 
+	 * @return Format module bean names
+	 */
+	public ConcurrentMap<String, String> getModuleBeanNames() {
+		return new ConcurrentHashMap<String, String>(this.moduleBeanNames);
+	}
+
+	/**
+	 * Get the format identifier to format bean name map.
+	 * 
+	 * @return Format bean names
+	 */
+	public ConcurrentMap<String, String> getFormatBeanNames() {
+		return new ConcurrentHashMap<String, String>(this.formatBeanNames);
+	}
+
+	/**
+	 * Get the alias identifier to format identifier map for a namespace.
+	 * 
+	 * @param namespace Alias namespace
+	 * @return Format identifiers, by alias
+	 */
+	public ConcurrentMap<String, String> getAliases(Namespace namespace) {
+		Map<String, String> map = this.aliases.get(namespace);
+		if (map == null) {
+			map = Collections.emptyMap();
+		}
+		return new ConcurrentHashMap<String, String>(map);
+	}
+
+	/**
+	 * Add an alias identifier.
+	 * 
+	 * @param namespace Alias namespace
+	 * @param alias     Alias identifier
+	 * @param formatID  JHOVE2 format identifier
+	 */
+	protected void addAlias(Namespace namespace, String alias, String formatID) {
+		SortedMap<String, String> map = this.aliases.get(namespace);
+		if (map == null) {
+			map = new TreeMap<String, String>();
+			this.aliases.put(namespace, map);
+		}
+		map.put(alias, formatID);
+	}
+
+	/**
+	 * Find the shortest classpath-relative path by which a resource can be
+	 * loaded.
+	 * 
+	 * @param url    Resource URL
+	 * @param loader Class loader
+	 * @return Classpath-relative path, or null if the resource cannot be
+	 *         loaded by path from the class loader
+	 */
+	protected static String getClasspathPath(URL url, ClassLoader loader) {
+		String external = url.toExternalForm();
+		int slash = external.length();
+		while ((slash = external.lastIndexOf('/', slash - 1)) > 0) {
+			String path = external.substring(slash + 1);
+			URL resolved = loader.getResource(path);
+			if (resolved != null && resolved.toExternalForm().equals(external)) {
+				return path;
+			}
+			/* Stop at the root of a jar file. */
+			if (external.charAt(slash - 1) == '!') {
+				break;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Calculate the CRC-32 of a classpath resource.
+	 * 
+	 * @param path   Classpath-relative path
+	 * @param loader Class loader
+	 * @return Hexadecimal CRC-32
+	 * @throws IOException
+	 */
+	protected static String checksum(String path, ClassLoader loader)
+		throws IOException
+	{
+		InputStream in = loader.getResourceAsStream(path);
+		if (in == null) {
+			throw new IOException("Configuration file not found: " + path);
+		}
+		return checksum(in);
+	}
+
+	/**
+	 * Calculate the CRC-32 of a stream, closing it.
+	 * 
+	 * @param in Input stream
+	 * @return Hexadecimal CRC-32
+	 * @throws IOException
+	 */
+	protected static String checksum(InputStream in)
+		throws IOException
+	{
+		CRC32 crc = new CRC32();
+		try {
+			byte[] buffer = new byte[8192];
+			int n;
+			while ((n = in.read(buffer)) > 0) {
+				crc.update(buffer, 0, n);
+			}
+		}
+		finally {
+			in.close();
+		}
+		return Long.toHexString(crc.getValue());
+	}
+}
@@ -0,0 +1,97 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.config.spring;
+
+import org.jhove2.core.reportable.Reportable;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+
+/**
+ * Bean factory post-processor that marks singleton
+ * {@link org.jhove2.core.reportable.Reportable} beans (format modules,
+ * formats, agents, etc.) as lazily initialized, so that they are created
+ * on first use rather than when the application context is refreshed.
+ * Other singletons, such as the method-invoking factory beans that
+ * initialize static resources, are left to be created eagerly.
+ */
+public class LazyReportableInitializer
+    implements BeanFactoryPostProcessor
+{
+	/**
+	 * Instantiate a new <code>LazyReportableInitializer</code>.
+	 */
+	public LazyReportableInitializer() {
+		super();
+	}
+
+	/**
+	 * Mark singleton reportable bean definitions as lazily initialized.
+	 * 
+	 * @param beanFactory Bean factory
+	 * @see org.springframework.beans.factory.config.BeanFactoryPostProcessor#postProcessBeanFactory(org.springframework.beans.factory.config.ConfigurableListableBeanFactory)
+	 */
+	@Override
+	public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory)
+		throws BeansException
+	{
+		ClassLoader loader = beanFactory.getBeanClassLoader();
+		for (String name : beanFactory.getBeanDefinitionNames()) {
+			BeanDefinition definition = beanFactory.getBeanDefinition(name);
+			if (!(definition instanceof AbstractBeanDefinition) ||
+				!definition.isSingleton() || definition.isAbstract() ||
+				definition.isLazyInit() ||
+				definition.getFactoryMethodName() != null ||
+				definition.getBeanClassName() == null) {
+				continue;
+			}
+			try {
+				Class<?> cl = Class.forName(definition.getBeanClassName(), false,
+						                    loader);
+				if (Reportable.class.isAssignableFrom(cl)) {
+					((AbstractBeanDefinition) definition).setLazyInit(true);
+				}
+			}
+			catch (ClassNotFoundException e) {
+				/* Leave it to the bean factory to report. */
+			}
+			catch (LinkageError e) {
+				/* Likewise. */
+			}
+		}
+	}
+}
@@ -56,7 +56,7 @@ public class SpringChunkFactory
 {
     /** Map from chunk identifiers to Spring bean names. */
 	@NotPersistent
-    protected static ConcurrentMap<String, String> chunkMap;
+    protected static volatile ConcurrentMap<String, String> chunkMap;
 	
 	/**
 	 * No-argument constructor
@@ -103,8 +103,9 @@ public class SpringChunkFactory
     public static ConcurrentMap<String, String> getChunkMap()
         throws JHOVE2Exception
     {
-        if (chunkMap == null) {
-            chunkMap = new ConcurrentHashMap<String, String>();
+        ConcurrentMap<String, String> chunks = chunkMap;
+        if (chunks == null) {
+            chunks = new ConcurrentHashMap<String, String>();
             
             /* Use Spring to get instances of all objects inheriting from
              * GenericChunk.
@@ -121,9 +122,11 @@ public class SpringChunkFactory
                 String identifier = chunk.getIdentifier();
                 
                 /* Add an entry into the identifier-to-bean map */
-                chunkMap.put(identifier, bean);
+                chunks.put(identifier, bean);
             }
+            /* Publish the map only once it is complete. */
+            chunkMap = chunks;
         }
-        return chunkMap;
+        return chunks;
     }
 }
@@ -54,6 +54,7 @@ import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.NoSuchMessageException;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.util.ClassUtils;
 
 import com.sleepycat.persist.model.NotPersistent;
 import com.sleepycat.persist.model.Persistent;
@@ -68,14 +69,22 @@ import com.sleepycat.persist.model.Persistent;
 public class SpringConfigInfo 
     implements ConfigInfo
 {
-	protected static final String DEFAULT_CLASSPATH = "classpath*:**/jhove2-*-config.xml";
+	public static final String DEFAULT_CLASSPATH = "classpath*:**/jhove2-*-config.xml";
 	
 	/** Spring configuration classpath. */
 	protected static String[] CLASSPATH;
 
-	/** Spring application context. */
+	/** Spring application context; created once and then read without
+	 * locking.
+	 */
+	@NotPersistent
+	protected static volatile ApplicationContext context;
+
+	/** Configuration manifest from which the context was built, if any;
+	 * published by {@link #context}.
+	 */
 	@NotPersistent
-	protected static ApplicationContext context;
+	protected static volatile ConfigManifest manifest;
 
 	public SpringConfigInfo(){
 		super();
@@ -142,8 +151,8 @@ public class SpringConfigInfo
 	 * @throws JHOVE2Exception
 	 */
 	@SuppressWarnings("unchecked")
-	public static synchronized <R extends Reportable> R getReportable(Class<? super R> cl,
-	                                                                  String name)
+	public static <R extends Reportable> R getReportable(Class<? super R> cl,
+	                                                     String name)
 	    throws JHOVE2Exception
 	{
 		R reportable = null;
@@ -166,7 +175,7 @@ public class SpringConfigInfo
 	 * @return Reportable names
 	 * @throws JHOVE2Exception
 	 */
-	public static synchronized String[] getReportableNames(Class<? extends Reportable> reportable)
+	public static String[] getReportableNames(Class<? extends Reportable> reportable)
 	    throws JHOVE2Exception
 	{
 		String[] names = null;
@@ -277,25 +286,88 @@ public class SpringConfigInfo
 	
 	/**
 	 * Accessor for static ApplicationContext instance.
-	 * Creates instance if it does not exist
+	 * Creates instance if it does not exist.  If the configuration classpath
+	 * is the default and a current {@link ConfigManifest} is available, the
+	 * context is built from the configuration files listed in the manifest,
+	 * and its reportable singletons are created lazily.  Once created, the context is returned without
+	 * locking.
+	 * @return Spring ApplicationContext instance
+	 * @throws BeansException
+	 */
+	public static ApplicationContext getContext()
+	    throws BeansException
+	{
+		ApplicationContext current = context;
+		if (current != null) {
+			return current;
+		}
+		synchronized (SpringConfigInfo.class) {
+			return createContext();
+		}
+	}
+
+	/**
+	 * Create the static ApplicationContext instance if it does not exist.
 	 * @return Spring ApplicationContext instance
 	 * @throws BeansException
 	 */
-	public static synchronized ApplicationContext getContext()
+	private static ApplicationContext createContext()
 	    throws BeansException
 	{
 		if (context == null) {
-			ApplicationContext newContext =
-				new ClassPathXmlApplicationContext(SpringConfigInfo.getCLASSPATH());
+			String[] classpath = SpringConfigInfo.getCLASSPATH();
+			ConfigManifest newManifest = null;
+			if (classpath != null && classpath.length == 1 &&
+				DEFAULT_CLASSPATH.equals(classpath[0])) {
+				newManifest = ConfigManifest.find(ClassUtils.getDefaultClassLoader());
+			}
+			ApplicationContext newContext = null;
+			if (newManifest != null) {
+				ClassPathXmlApplicationContext manifestContext =
+					new ClassPathXmlApplicationContext(newManifest.getConfigLocations(),
+							                           false);
+				manifestContext.addBeanFactoryPostProcessor(new LazyReportableInitializer());
+				manifestContext.refresh();
+				newContext = manifestContext;
+			}
+			else {
+				newContext = new ClassPathXmlApplicationContext(classpath);
+			}
+			manifest = newManifest;
 			context = newContext;
 		}
 		return context;
 	}
 
+	/**
+	 * Get the configuration manifest from which the application context was
+	 * built, creating the context if it does not exist.
+	 * @return Configuration manifest, or null if the context was built by
+	 *         scanning the configuration classpath
+	 * @throws BeansException
+	 */
+	public static ConfigManifest getManifest()
+	    throws BeansException
+	{
+		getContext();
+		return manifest;
+	}
+
 	@Override
 	public ConcurrentMap<String, String> getFormatAliasIdsToJ2Ids(Namespace namespace) 
 	    throws JHOVE2Exception
 	{
+		ConfigManifest manifest = null;
+		try {
+			manifest = getManifest();
+		}
+		catch (BeansException e) {
+			throw new JHOVE2Exception("Exception thrown attempting to get Spring Context",
+			                          e);
+		}
+		if (manifest != null) {
+			return manifest.getAliases(namespace);
+		}
 		ConcurrentHashMap<String, String> map = new ConcurrentHashMap<String, String>();
 		Map<String, Object> formatMap = SpringConfigInfo.getObjectsForType(Format.class);
 		/* For each of the formats */
@@ -362,6 +434,7 @@ public class SpringConfigInfo
 	 */
 	public static synchronized void setContext(ApplicationContext context) {
 		SpringConfigInfo.context = context;
+		SpringConfigInfo.manifest = null;
 	}
 	/**
 	 * Reset context to paths in classpath.
@@ -60,7 +60,7 @@ public class SpringFormatFactory
 {
 	/** Map from JHOVE2 format identifiers to bean name for format */
 	@NotPersistent
-	public static ConcurrentMap<String, String> jhoveIdToBeanName;
+	public static volatile ConcurrentMap<String, String> jhoveIdToBeanName;
 
 	public SpringFormatFactory(){
 		super();
@@ -90,15 +90,23 @@ public class SpringFormatFactory
 
 	/**
 	 * Gets the mapping from format identifier to format object. Initializes the
-	 * static map on first invocation.
+	 * static map on first invocation, from the configuration manifest if there
+	 * is one.
 	 * 
 	 * @return map from JHOVE2 format identifier to format object bean name
 	 * @throws JHOVE2Exception
 	 */
 	public static ConcurrentMap<String, String> getJhoveIdToBeanName()
 	        throws JHOVE2Exception {
-	    if (jhoveIdToBeanName == null) {
-	        jhoveIdToBeanName = new ConcurrentHashMap<String, String>();
+	    ConcurrentMap<String, String> beanNames = jhoveIdToBeanName;
+	    if (beanNames == null) {
+	        ConfigManifest manifest = SpringFormatModuleFactory.getManifest();
+	        if (manifest != null) {
+	            beanNames = manifest.getFormatBeanNames();
+	            jhoveIdToBeanName = beanNames;
+	            return beanNames;
+	        }
+	        beanNames = new ConcurrentHashMap<String, String>();
 	        /*
 	         * Use Spring to get instances of all objects inheriting from
 	         * BaseFormatModule
@@ -113,11 +121,13 @@ public class SpringFormatFactory
 	            Format format = (Format) entry.getValue();
 	            I8R formatID = format.getIdentifier();
 	            /* Add an entry into the format identifier to module map */
-	            jhoveIdToBeanName.put(formatID.getValue(), formatBeanName);
+	            beanNames.put(formatID.getValue(), formatBeanName);
 	            // System.out.println(formatID.getValue() + " = " + formatBeanName);
 	        }
+	        /* Publish the map only once it is complete. */
+	        jhoveIdToBeanName = beanNames;
 	    }
-	    return jhoveIdToBeanName;
+	    return beanNames;
 	}
 
 }
@@ -47,6 +47,7 @@ import org.jhove2.module.Module;
 import org.jhove2.module.format.BaseFormatModule;
 import org.jhove2.module.format.FormatModuleFactory;
 import org.jhove2.module.format.FormatProfile;
+import org.springframework.beans.BeansException;
 
 import com.sleepycat.persist.model.NotPersistent;
 import com.sleepycat.persist.model.Persistent;
@@ -67,7 +68,7 @@ public class SpringFormatModuleFactory
 	 * modules associated with the formats.
 	 */
 	@NotPersistent
-	static ConcurrentMap<String, String> dispatchMap;
+	static volatile ConcurrentMap<String, String> dispatchMap;
 	
 	public SpringFormatModuleFactory(){
 		super();
@@ -86,7 +87,8 @@ public class SpringFormatModuleFactory
 
 	/**
 	 * Gets the mapping from format to format module. Initializes the static map
-	 * on first invocation.
+	 * on first invocation, from the configuration manifest if there is one,
+	 * so that the format modules are not instantiated until first dispatched.
 	 * 
 	 * @return map from JHOVE2 format identifier to module bean name
 	 * 
@@ -95,8 +97,15 @@ public class SpringFormatModuleFactory
 	public static ConcurrentMap<String, String> getDispatchMap()
 	    throws JHOVE2Exception
 	{
-	    if (dispatchMap == null) {
-	        dispatchMap = new ConcurrentHashMap<String, String>();
+	    ConcurrentMap<String, String> dispatch = dispatchMap;
+	    if (dispatch == null) {
+	        ConfigManifest manifest = getManifest();
+	        if (manifest != null) {
+	            dispatch = manifest.getModuleBeanNames();
+	            dispatchMap = dispatch;
+	            return dispatch;
+	        }
+	        dispatch = new ConcurrentHashMap<String, String>();
 	        /*
 	         * Use Spring to get instances of all objects inheriting from
 	         * BaseFormatModule
@@ -114,17 +123,37 @@ public class SpringFormatModuleFactory
 	            I8R formatID = format.getIdentifier();
 	            
 	            /* Add an entry into the format identifier to module map */
-	            dispatchMap.put(formatID.getValue(), moduleBeanName);
+	            dispatch.put(formatID.getValue(), moduleBeanName);
 	            /* Now get the format profiles that the module references and
 	             * add them to the map
 	             */
 	            for (FormatProfile profile : module.getProfiles()) {
 	                I8R profileID = profile.getFormat().getIdentifier();
-	                dispatchMap.put(profileID.getValue(), moduleBeanName);
+	                dispatch.put(profileID.getValue(), moduleBeanName);
 	            }
 	        }
+	        /* Publish the map only once it is complete. */
+	        dispatchMap = dispatch;
+	    }
+	    return dispatch;
+	}
+
+	/**
+	 * Get the configuration manifest, if the Spring context was built from one.
+	 * 
+	 * @return Configuration manifest, or null
+	 * @throws JHOVE2Exception
+	 */
+	protected static ConfigManifest getManifest()
+	    throws JHOVE2Exception
+	{
+	    try {
+	        return SpringConfigInfo.getManifest();
+	    }
+	    catch (BeansException e) {
+	        throw new JHOVE2Exception("Exception thrown attempting to get Spring Context",
+	                                  e);
 	    }
-	    return dispatchMap;
 	}
 
 	@Override
@@ -36,8 +36,11 @@
 package org.jhove2.config.spring;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -63,9 +66,22 @@ public class SpringRuleSetFactory
      * Container for the collection of {@link org.jhove2.module.assess.RuleSet
      * RuleSet}(s) found in the Spring config files.
      * Maps from ObjectFilter {@link Class#getName() className} to List<RuleSet>.
+     * Kept by each factory, so that a factory configured in another Spring
+     * context finds the RuleSets of that context.
       */
 	@NotPersistent
-	static ConcurrentMap<String, List<RuleSet>> ruleSetMap;
+	protected volatile ConcurrentMap<String, List<RuleSet>> ruleSetMap;
+
+	/**
+	 * Dispatch table from the class of an assessed object to the
+	 * {@link org.jhove2.module.assess.RuleSet RuleSet}(s) that apply to it,
+	 * including those declared for its superclasses and interfaces.
+	 * Each class is resolved once per factory, the first time an object of
+	 * that class is assessed.
+	 */
+	@NotPersistent
+	protected final ConcurrentMap<Class<?>, List<RuleSet>> dispatchMap =
+		new ConcurrentHashMap<Class<?>, List<RuleSet>>();
 
 	public SpringRuleSetFactory(){
 		super();
@@ -81,11 +97,12 @@ public class SpringRuleSetFactory
 	 * 
 	 * @throws JHOVE2Exception
 	 */
-	public static ConcurrentMap<String, List<RuleSet>> getRuleSetMap()
+	public ConcurrentMap<String, List<RuleSet>> getRuleSetMap()
 	    throws JHOVE2Exception
 	{
-	    if (ruleSetMap == null) {
-	    	ruleSetMap = new ConcurrentHashMap<String, List<RuleSet>>();
+	    ConcurrentMap<String, List<RuleSet>> map = ruleSetMap;
+	    if (map == null) {
+	    	map = new ConcurrentHashMap<String, List<RuleSet>>();
 	        /* Use Spring to get instances of all RuleSet objects  */
 	        Map<String, Object> springBeans = SpringConfigInfo
 	                .getObjectsForType(RuleSet.class);
@@ -96,18 +113,73 @@ public class SpringRuleSetFactory
 	        		ruleSet = (RuleSet) bean;
 		            /* Get the className for which the RuleSet applies */
 		            String objectFilter = ruleSet.getObjectFilter();	            		            
+		            /* Compile the rule predicates once, up front */
+		            ruleSet.compile();
 		            /* Add an entry into the ruleSetMap */
 		            List<RuleSet> ruleSetsForFilter;
-		            ruleSetsForFilter = ruleSetMap.get(objectFilter);
+		            ruleSetsForFilter = map.get(objectFilter);
 		            if (ruleSetsForFilter == null) {
 		                ruleSetsForFilter = new ArrayList<RuleSet>();
-		                ruleSetMap.put(objectFilter, ruleSetsForFilter);
+		                map.put(objectFilter, ruleSetsForFilter);
 		            }
 		            ruleSetsForFilter.add(ruleSet );	        		
 	        	}
 	        }
+	        ruleSetMap = map;
 	    }
-	    return ruleSetMap;
+	    return map;
+	}
+
+	/**
+	 * Returns the {@link org.jhove2.module.assess.RuleSet RuleSet}(s) that
+	 * apply to objects of the given class, using the {@link #dispatchMap}.
+	 * 
+	 * @param objectClass class of the assessed object
+	 * @return RuleSets declared for the class, its superclasses, and its
+	 *         interfaces, in that order
+	 * @throws JHOVE2Exception
+	 */
+	public List<RuleSet> getRuleSetsForClass(Class<?> objectClass)
+	    throws JHOVE2Exception
+	{
+		List<RuleSet> ruleSets = dispatchMap.get(objectClass);
+		if (ruleSets == null) {
+			Map<String, List<RuleSet>> map = getRuleSetMap();
+			List<RuleSet> resolved = new ArrayList<RuleSet>();
+			for (Class<?> type : getTypeHierarchy(objectClass)) {
+				List<RuleSet> ruleSetsForFilter = map.get(type.getName());
+				if (ruleSetsForFilter != null) {
+					resolved.addAll(ruleSetsForFilter);
+				}
+			}
+			ruleSets = Collections.unmodifiableList(resolved);
+			dispatchMap.putIfAbsent(objectClass, ruleSets);
+		}
+		return ruleSets;
+	}
+
+	/**
+	 * Returns the class, its superclasses (nearest first), and then all of
+	 * the interfaces they implement.
+	 * 
+	 * @param objectClass class
+	 * @return ordered set of types
+	 */
+	protected static Set<Class<?>> getTypeHierarchy(Class<?> objectClass) {
+		Set<Class<?>> types = new LinkedHashSet<Class<?>>();
+		for (Class<?> type = objectClass; type != null;
+		     type = type.getSuperclass()) {
+			types.add(type);
+		}
+		List<Class<?>> pending = new ArrayList<Class<?>>(types);
+		for (int i = 0; i < pending.size(); i++) {
+			for (Class<?> iface : pending.get(i).getInterfaces()) {
+				if (types.add(iface)) {
+					pending.add(iface);
+				}
+			}
+		}
+		return types;
 	}
 
 	/**
@@ -117,6 +189,18 @@ public class SpringRuleSetFactory
     public List<RuleSet> getRuleSetList(String className)
         throws JHOVE2Exception
     {
-        return SpringRuleSetFactory.getRuleSetMap().get(className);
+        return this.getRuleSetMap().get(className);
+    }
+
+	/**
+     * Returns a list of {@link org.jhove2.module.assess.RuleSet RuleSet} for assessment
+     * of an object of the class specified, including RuleSets declared for its
+     * superclasses and interfaces.
+     */
+	@Override
+    public List<RuleSet> getRuleSetList(Class<?> objectClass)
+        throws JHOVE2Exception
+    {
+        return this.getRuleSetsForClass(objectClass);
     }
 }
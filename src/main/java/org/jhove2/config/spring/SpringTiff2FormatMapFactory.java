@@ -54,7 +54,7 @@ public class SpringTiff2FormatMapFactory implements Tiff2FormatMapFactory {
 
     /** Map from tags to formats for the content of the tags. */
     @NotPersistent
-	private static ConcurrentMap<String, Format> tagToFormatMap;
+	private static volatile ConcurrentMap<String, Format> tagToFormatMap;
     private static String tiff2FormatBeanName = "TiffTagToFormatMap";
 	/**
 	 * 
@@ -357,7 +357,7 @@ public class I8R
 	 * @return True if the Type is a message; otherwise, false
 	 * @throws ClassNotFoundException 
 	 */
-	public static synchronized boolean isMessage(Type type) 
+	public static boolean isMessage(Type type) 
 		throws ClassNotFoundException
 	{
 		boolean isMessage = false;
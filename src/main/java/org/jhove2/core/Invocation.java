@@ -77,6 +77,21 @@ public class Invocation
 
 	/** Default {@link org.jhove2.core.io.Input} buffer size. */
 	public static final int DEFAULT_BUFFER_SIZE = 131072;
+
+	/** Default metrics summary interval, in seconds. */
+	public static final int DEFAULT_METRICS_INTERVAL = 60;
+
+	/** Default number of characterization results cached in memory. */
+	public static final int DEFAULT_RESULT_CACHE_SIZE = 10000;
+
+	/** Default incremental flag. */
+	public static final boolean DEFAULT_INCREMENTAL = false;
+
+	/** Result cache directory used in incremental mode if none is set,
+	 * relative to the user home directory.
+	 */
+	public static final String DEFAULT_RESULT_CACHE_DIRECTORY =
+		".jhove2" + File.separator + "result-cache";
 		
 	/** {@link org.jhove2.core.io.Input} buffer size. */
 	protected int bufferSize;
@@ -97,9 +112,28 @@ public class Invocation
      */
     protected int failFastLimit;
     
+    /** Incremental flag: if true, files unchanged since their results were
+     * cached are not read again.
+     */
+    protected boolean incremental;
+
     /** JHOVE2 home directory (from environment; defaults to user directory */
     protected String jhove2Home;
 
+    /** Metrics summary file pathname; if null, no summary is written. */
+    protected String metricsFile;
+
+    /** Metrics summary interval, in seconds. */
+    protected int metricsInterval;
+
+    /** Characterization result cache directory; if null, results are not
+     * cached.
+     */
+    protected String resultCacheDirectory;
+
+    /** Number of characterization results cached in memory. */
+    protected int resultCacheSize;
+
     /** Temporary directory. */
     protected String tempDirectory;
     
@@ -134,6 +168,9 @@ public class Invocation
 		this.tempPrefix       = DEFAULT_TEMP_PREFIX;
 		this.tempSuffix       = DEFAULT_TEMP_SUFFIX;
 		this.failFastLimit    = DEFAULT_FAIL_FAST_LIMIT;	
+		this.metricsInterval  = DEFAULT_METRICS_INTERVAL;
+		this.resultCacheSize  = DEFAULT_RESULT_CACHE_SIZE;
+		this.incremental      = DEFAULT_INCREMENTAL;
 	}
 
 	/**
@@ -194,6 +231,68 @@ public class Invocation
 		return this.failFastLimit;
 	}
 	
+	/**
+	 * Get incremental flag.
+	 * 
+	 * @return Incremental flag: if true, files unchanged since their results
+	 *         were cached are not read again
+	 */
+	@ReportableProperty(order = 16, value = "Incremental flag: if true, "
+		+ "files unchanged since their results were cached are not read "
+		+ "again.")
+	public boolean getIncremental() {
+		return this.incremental;
+	}
+
+	/**
+	 * Get metrics summary file pathname.
+	 * 
+	 * @return Metrics summary file pathname, or null if no summary is written
+	 */
+	@ReportableProperty(order = 12, value = "Metrics summary file.")
+	public String getMetricsFile() {
+		return this.metricsFile;
+	}
+
+	/**
+	 * Get metrics summary interval, in seconds.
+	 * 
+	 * @return Metrics summary interval, in seconds
+	 */
+	@ReportableProperty(order = 13, value = "Metrics summary interval, "
+		+ "seconds.")
+	public int getMetricsInterval() {
+		return this.metricsInterval;
+	}
+
+	/**
+	 * Get characterization result cache directory.  In incremental mode this
+	 * defaults to {@link #DEFAULT_RESULT_CACHE_DIRECTORY} in the user home
+	 * directory.
+	 * 
+	 * @return Result cache directory, or null if results are not cached
+	 */
+	@ReportableProperty(order = 14, value = "Characterization result cache "
+		+ "directory.")
+	public String getResultCacheDirectory() {
+		if (this.resultCacheDirectory == null && this.incremental) {
+			return System.getProperty("user.home") + File.separator +
+			       DEFAULT_RESULT_CACHE_DIRECTORY;
+		}
+		return this.resultCacheDirectory;
+	}
+
+	/**
+	 * Get number of characterization results cached in memory.
+	 * 
+	 * @return Number of results cached in memory
+	 */
+	@ReportableProperty(order = 15, value = "Number of characterization "
+		+ "results cached in memory.")
+	public int getResultCacheSize() {
+		return this.resultCacheSize;
+	}
+
 	/** Get temporary directory {@link java.io.File}.
 	 * @return Temporary directory
 	 */
@@ -305,6 +404,49 @@ public class Invocation
 		this.tempDirectory = tempDirectory;
 	}
 	
+	/**
+	 * Set incremental flag.
+	 * @param incremental Incremental flag: if true, files unchanged since
+	 *                    their results were cached are not read again
+	 */
+	public void setIncremental(boolean incremental) {
+		this.incremental = incremental;
+	}
+
+	/**
+	 * Set metrics summary file pathname.
+	 * @param metricsFile Metrics summary file pathname; if null, no summary
+	 *                    is written
+	 */
+	public void setMetricsFile(String metricsFile) {
+		this.metricsFile = metricsFile;
+	}
+
+	/**
+	 * Set metrics summary interval.
+	 * @param metricsInterval Metrics summary interval, in seconds
+	 */
+	public void setMetricsInterval(int metricsInterval) {
+		this.metricsInterval = metricsInterval;
+	}
+
+	/**
+	 * Set characterization result cache directory.
+	 * @param resultCacheDirectory Result cache directory; if null, results
+	 *                             are not cached
+	 */
+	public void setResultCacheDirectory(String resultCacheDirectory) {
+		this.resultCacheDirectory = resultCacheDirectory;
+	}
+
+	/**
+	 * Set number of characterization results cached in memory.
+	 * @param resultCacheSize Number of results cached in memory
+	 */
+	public void setResultCacheSize(int resultCacheSize) {
+		this.resultCacheSize = resultCacheSize;
+	}
+
 	/**
 	 * Set user name.
 	 * @param userName User name
@@ -43,7 +43,11 @@ import org.jhove2.annotation.ReportableProperty;
 import org.jhove2.config.ConfigInfo;
 import org.jhove2.core.Message.Context;
 import org.jhove2.core.Message.Severity;
+import org.jhove2.core.cache.CachedResult;
+import org.jhove2.core.cache.ResultCache;
 import org.jhove2.core.io.Input;
+import org.jhove2.core.metrics.Metrics;
+import org.jhove2.core.metrics.MetricsRegistry;
 import org.jhove2.core.source.FileSystemProperties;
 import org.jhove2.core.source.NamedSource;
 import org.jhove2.core.source.Source;
@@ -152,9 +156,12 @@ public class JHOVE2
 		throws IOException, JHOVE2Exception
 	{
 		source = source.startTimer();
+		MetricsRegistry metrics = MetricsRegistry.getInstance();
+		long start = System.nanoTime();
 		/* Update summary counts of source units, by scope. */
         try {
             this.sourceCounter.incrementSourceCounter(source);	
+            metrics.increment(MetricsRegistry.SOURCES_KEYS.get(source.getClass()));
             this.getModuleAccessor().persistModule(this);
 		
             /* Characterize the source unit. */
@@ -182,20 +189,65 @@ public class JHOVE2
                 }
             }
 		    if (tryIt) {
-		        for (Command command : this.getCommands()){
-		        	command = (Command) command.getModuleAccessor().resetTimerInfo(command);
+		        List<Command> commands = this.getCommands();
+		        /* Restore the characterization of a file unchanged since it
+		         * was last characterized, in place of running any command; or
+		         * else reuse the identification of a source unit with the
+		         * same content, if already characterized, in place of
+		         * identifying the source unit.
+		         */
+		        ResultCache cache = ResultCache.getInstance();
+		        String key = null;
+		        CachedResult cached = null;
+		        boolean unchanged = false;
+		        if (cache != null) {
+		            cached = cache.getUnchanged(commands, source);
+		            if (cached != null) {
+		                source = cached.restore(this, commands, source);
+		                unchanged = true;
+		            }
+		        }
+		        if (cache != null && !unchanged) {
+		            key = cache.getKey(commands, source, input);
+		            if (key != null) {
+		                cached = cache.get(key, source, input);
+		                if (cached != null) {
+		                    source = cached.apply(this, source);
+		                }
+		            }
+		        }
+		        for (Command command : commands){
+		            if (unchanged ||
+		                (cached != null && ResultCache.isReplaced(command))) {
+		                continue;
+		            }
+		        	/* Commands are shared by every thread characterizing
+		        	 * with this framework, so each invocation is timed on its
+		        	 * own and its duration added to the command's timer.
+		        	 */
+		        	long commandStart = System.nanoTime();
 		            try {
 		                command.execute(this, source, input);
 		            }
 		            finally {          	
+		            	metrics.recordElapsed(MetricsRegistry.COMMAND_LATENCY_KEYS.get(command.getClass()),
+		            			              commandStart);
 		                try{
-		                	command = (Command) command.getModuleAccessor().endTimerInfo(command);
+		                	command = (Command) command.getModuleAccessor().addTimerInfo(command,
+		                			System.nanoTime() - commandStart);
 		                }
 		                catch(JHOVE2Exception j){
 		                	throw j;
 		                }
 		            }
 		        }
+		        /* Cache the identification once the source unit is fully
+		         * characterized, so that the digests calculated for it can be
+		         * recorded with the result.
+		         */
+		        if (key != null && cached == null) {
+		            cache.put(key, source);
+		        }
 			}
 		}
         catch (JHOVE2Exception e){
@@ -211,6 +263,7 @@ public class JHOVE2
         finally {
 			source.close();
 			source = source.endTimer(); // this will commit source
+			metrics.recordElapsed(MetricsRegistry.CHARACTERIZE_LATENCY, start);
 		}
         return source;
 	}
@@ -277,6 +330,19 @@ public class JHOVE2
 		return use;
 	}
 	
+	/**
+	 * Get a snapshot of the framework's hot-path metrics: per-command and
+	 * per-module latency histograms, bytes read by input type, temporary
+	 * file activity, identification hits, and message counts.  The metrics
+	 * are not part of the characterization report; they are published
+	 * through JMX and, if requested, written to the metrics summary file.
+	 * 
+	 * @return Framework metrics
+	 */
+	public Metrics getMetrics() {
+		return new Metrics(MetricsRegistry.getInstance());
+	}
+
 	/**
 	 * Get counter to track number and scope of source units processed
 	 * by the JHOVE2 framework.
@@ -39,6 +39,7 @@ package org.jhove2.core;
 import java.util.Locale;
 
 import org.jhove2.config.ConfigInfo;
+import org.jhove2.core.metrics.MetricsRegistry;
 
 import com.sleepycat.persist.model.Persistent;
 
@@ -177,6 +178,7 @@ public class Message {
 		this.messageCode = messageCode;
 		this.configInfo = configInfo;
 		this.localizedMessageText = this.localizeMessageText(messageCode, messageArgs, locale);
+		MetricsRegistry.getInstance().increment(MetricsRegistry.MESSAGES_KEYS.get(severity));
 	}
 
 	/**
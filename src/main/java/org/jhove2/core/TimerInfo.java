@@ -59,6 +59,9 @@ public class TimerInfo
 
 	/** Start of elapsed. */
 	protected long startTime;
+
+	/** Durations of added invocations, in nanoseconds. */
+	protected long addedNanos;
 	
 	/** Instantiate a new <code>TimerInfo</code> object.
 	 */
@@ -75,14 +78,22 @@ public class TimerInfo
 	 * @return Elapsed time, in milliseconds
 	 */
 	@ReportableProperty(value="Elapsed time, milliseconds.")
-	public Duration getElapsedTime(){
-	    if (this.startTime == Duration.UNINITIALIZED) {
-	        this.startTime = this.instTime;
-	    }
-		if (this.endTime == Duration.UNINITIALIZED) {
-			setEndTime();
+	public synchronized Duration getElapsedTime(){
+		long duration = 0L;
+		/* A timer only given the durations of invocations has no interval
+		 * of its own.
+		 */
+		if (this.addedNanos == 0L ||
+			this.startTime != Duration.UNINITIALIZED) {
+		    if (this.startTime == Duration.UNINITIALIZED) {
+		        this.startTime = this.instTime;
+		    }
+			if (this.endTime == Duration.UNINITIALIZED) {
+				setEndTime();
+			}
+			duration = this.endTime - this.startTime;
 		}
-		long duration = this.endTime - this.startTime;
+		duration += (this.addedNanos + 500000L) / 1000000L;
 		if (duration < 1L) {
 			duration = 1L;
 		}
@@ -92,7 +103,7 @@ public class TimerInfo
 	/** Reset the start time of the elapsed duration.
 	 *  @return Restart time, in milliseconds
 	 */
-	public long resetStartTime() {
+	public synchronized long resetStartTime() {
 	    if (this.startTime == Duration.UNINITIALIZED) {
 	        setStartTime();
 	    }
@@ -111,17 +122,41 @@ public class TimerInfo
 	 * 
 	 * @return End time, in milliseconds
 	 */
-	public long setEndTime() {
+	public synchronized long setEndTime() {
 		return this.endTime = System.currentTimeMillis();
 	}
 
+	/**
+	 * Add the duration of one invocation to the elapsed duration.  Unlike
+	 * {@link #resetStartTime()} and {@link #setEndTime()}, the invocation's
+	 * own start time is not stored, so invocations may overlap.  Durations
+	 * are accumulated in nanoseconds, and only converted to milliseconds
+	 * when the elapsed time is reported, so that invocations shorter than a
+	 * millisecond are not lost.
+	 * 
+	 * @param nanos Duration of the invocation, in nanoseconds
+	 * @return Accumulated duration of the added invocations, in nanoseconds
+	 */
+	public synchronized long addElapsedNanos(long nanos) {
+	    return this.addedNanos += nanos;
+	}
+
+	/**
+	 * Get the accumulated duration of the added invocations.
+	 * 
+	 * @return Accumulated duration, in nanoseconds
+	 */
+	public synchronized long getAddedNanos() {
+	    return this.addedNanos;
+	}
+
 	/**
 	 * Set the start time of the elapsed duration. Defaults to the time of
 	 * module instantiation.
 	 * 
 	 * @return Start time, in milliseconds
 	 */
-	public long setStartTime() {
+	public synchronized long setStartTime() {
 		return this.startTime = System.currentTimeMillis();
 	}
 }
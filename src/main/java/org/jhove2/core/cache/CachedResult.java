@@ -0,0 +1,338 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.jhove2.core.cache;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.jhove2.core.Digest;
+import org.jhove2.core.JHOVE2;
+import org.jhove2.core.JHOVE2Exception;
+import org.jhove2.core.Message;
+import org.jhove2.core.Message.Context;
+import org.jhove2.core.Message.Severity;
+import org.jhove2.core.format.FormatIdentification;
+import org.jhove2.core.source.FileSource;
+import org.jhove2.core.source.MeasurableSource;
+import org.jhove2.core.source.NamedSource;
+import org.jhove2.core.source.Source;
+import org.jhove2.module.Command;
+import org.jhove2.module.Module;
+import org.jhove2.module.digest.Digester;
+import org.jhove2.module.digest.DigesterCommand;
+import org.jhove2.module.digest.DigesterModule;
+import org.jhove2.module.format.FormatModule;
+import org.jhove2.module.format.Validator;
+
+import com.sleepycat.persist.model.Entity;
+import com.sleepycat.persist.model.PrimaryKey;
+
+/**
+ * Identification result of a source unit, kept in the {@link ResultCache}
+ * under the digest of its content: the presumptive format identifications
+ * determined for it.  Format modules are still run on a source unit given a
+ * cached result, so that its characterization is complete.  Unless its key
+ * covers the whole content, a result also records the digest of the content
+ * it was determined for or, failing that, the file it was determined for, so
+ * that the digest can be calculated when a source unit with the same key is
+ * found.
+ * <p>
+ * A result also summarizes the characterization of the source unit it was
+ * determined for: its message digests and the validity reported by each of
+ * its format modules.  An incremental cache restores that summary in place
+ * of running any command on a file unchanged since it was characterized.
+ */
+@Entity
+public class CachedResult
+{
+	/** Cache key: content digest and size. */
+	@PrimaryKey
+	protected String key;
+
+	/** Name of the source unit the result was first determined for. */
+	protected String sourceName;
+
+	/** Presumptive format identifications. */
+	protected List<FormatIdentification> presumptiveFormats;
+
+	/** Digest of the whole content, or null if not calculated. */
+	protected Digest digest;
+
+	/** Pathname of the file the result was determined for, or null if the
+	 * source unit was not a file.
+	 */
+	protected String path;
+
+	/** Size of the content, in bytes. */
+	protected long size;
+
+	/** Last modification time of the file the result was determined for. */
+	protected long lastModified;
+
+	/** Message digests calculated by the digester module. */
+	protected List<Digest> digests;
+
+	/** Format module results, each the name of the module and the validity
+	 * it reported, or null if the characterization is not summarized.
+	 */
+	protected List<String> moduleResults;
+
+	/**
+	 * Instantiate a new <code>CachedResult</code> from an identified source
+	 * unit.
+	 * 
+	 * @param key
+	 *            Cache key
+	 * @param source
+	 *            Identified source unit
+	 */
+	public CachedResult(String key, Source source) {
+		this.key = key;
+		if (source instanceof NamedSource) {
+			this.sourceName = ((NamedSource) source).getSourceName();
+		}
+		else {
+			this.sourceName = String.valueOf(source.getSourceId());
+		}
+		this.presumptiveFormats =
+			new ArrayList<FormatIdentification>(source.getPresumptiveFormats());
+		if (source instanceof MeasurableSource) {
+			this.size = ((MeasurableSource) source).getSize();
+		}
+		if (source instanceof FileSource && !source.isTemp()) {
+			File file = source.getFile();
+			this.path         = file.getAbsolutePath();
+			this.lastModified = file.lastModified();
+		}
+	}
+
+	/**
+	 * Instantiate a new <code>CachedResult</code>; for persistence only.
+	 */
+	@SuppressWarnings("unused")
+	private CachedResult() {
+	}
+
+	/**
+	 * Apply the result to a source unit with the same content, in place of
+	 * identifying it: the presumptive formats are added to the source unit,
+	 * with a message naming the source unit the result was determined for.
+	 * 
+	 * @param jhove2
+	 *            JHOVE2 framework object
+	 * @param source
+	 *            Source unit
+	 * @return Updated source unit
+	 * @throws JHOVE2Exception
+	 */
+	public Source apply(JHOVE2 jhove2, Source source)
+		throws JHOVE2Exception
+	{
+		for (FormatIdentification fid : this.presumptiveFormats) {
+			source = source.addPresumptiveFormat(fid);
+		}
+		source = source.addMessage(new Message(Severity.INFO,
+			Context.PROCESS,
+			"org.jhove2.core.cache.CachedResult.resultReusedMessage",
+			new Object[]{this.sourceName}, jhove2.getConfigInfo()));
+		return source;
+	}
+
+	/**
+	 * Restore the summarized characterization to a file unchanged since the
+	 * result was determined for it, in place of running the commands: the
+	 * presumptive formats are added to the source unit, the message digests
+	 * are attached as the result of a digester module if digests are to be
+	 * calculated, and a message lists the format module results.
+	 * 
+	 * @param jhove2
+	 *            JHOVE2 framework object
+	 * @param commands
+	 *            Commands that characterize the source unit
+	 * @param source
+	 *            Source unit
+	 * @return Updated source unit
+	 * @throws JHOVE2Exception
+	 */
+	public Source restore(JHOVE2 jhove2, List<Command> commands, Source source)
+		throws JHOVE2Exception
+	{
+		for (FormatIdentification fid : this.presumptiveFormats) {
+			source = source.addPresumptiveFormat(fid);
+		}
+		if (jhove2.getInvocation().getCalcDigests() && this.digests != null &&
+			this.digests.size() > 0) {
+			for (Command command : commands) {
+				if (command instanceof DigesterCommand) {
+					Digester digester = ((DigesterCommand) command)
+						.getDigesterFactory().getDigester();
+					if (digester instanceof DigesterModule) {
+						((DigesterModule) digester).setDigests(
+							new TreeSet<Digest>(this.digests));
+						source.addModule(digester);
+					}
+				}
+			}
+		}
+		StringBuilder results = new StringBuilder();
+		for (String result : this.moduleResults) {
+			if (results.length() > 0) {
+				results.append(", ");
+			}
+			results.append(result);
+		}
+		source = source.addMessage(new Message(Severity.INFO,
+			Context.PROCESS,
+			"org.jhove2.core.cache.CachedResult.resultUnchangedMessage",
+			new Object[]{this.sourceName, results.toString()},
+			jhove2.getConfigInfo()));
+		return source;
+	}
+
+	/**
+	 * Summarize the characterization of the source unit the result was
+	 * determined for: its message digests and the validity reported by each
+	 * of its format modules.
+	 * 
+	 * @param source
+	 *            Characterized source unit
+	 * @throws JHOVE2Exception
+	 *             Modules of the source unit cannot be retrieved
+	 */
+	public void summarize(Source source)
+		throws JHOVE2Exception
+	{
+		this.digests       = new ArrayList<Digest>();
+		this.moduleResults = new ArrayList<String>();
+		for (Module module : source.getModules()) {
+			if (module instanceof Digester &&
+				((Digester) module).getDigests() != null) {
+				this.digests.addAll(((Digester) module).getDigests());
+			}
+			else if (module instanceof FormatModule) {
+				String result = module.getReportableName();
+				if (module instanceof Validator) {
+					result += " (" + ((Validator) module).isValid() + ")";
+				}
+				this.moduleResults.add(result);
+			}
+		}
+	}
+
+	/**
+	 * Get digest of the whole content.
+	 * 
+	 * @return Digest, or null if not calculated
+	 */
+	public Digest getDigest() {
+		return this.digest;
+	}
+
+	/**
+	 * Get the file the result was determined for, if it is unchanged since.
+	 * 
+	 * @return File, or null if the source unit was not a file or the file
+	 *         has changed
+	 */
+	public File getFile() {
+		if (this.path == null) {
+			return null;
+		}
+		File file = new File(this.path);
+		if (file.lastModified() != this.lastModified ||
+			file.length() != this.size) {
+			return null;
+		}
+		return file;
+	}
+
+	/**
+	 * Get message digests calculated by the digester module.
+	 * 
+	 * @return Message digests, or null if the characterization is not
+	 *         summarized
+	 */
+	public List<Digest> getDigests() {
+		return this.digests;
+	}
+
+	/**
+	 * Get cache key.
+	 * 
+	 * @return Cache key
+	 */
+	public String getKey() {
+		return this.key;
+	}
+
+	/**
+	 * Get presumptive format identifications.
+	 * 
+	 * @return Presumptive format identifications
+	 */
+	public List<FormatIdentification> getPresumptiveFormats() {
+		return this.presumptiveFormats;
+	}
+
+	/**
+	 * Determine if the characterization of the source unit the result was
+	 * determined for is summarized.
+	 * 
+	 * @return True if the characterization is summarized
+	 */
+	public boolean isSummarized() {
+		return this.moduleResults != null;
+	}
+
+	/**
+	 * Get name of the source unit the result was first determined for.
+	 * 
+	 * @return Source unit name
+	 */
+	public String getSourceName() {
+		return this.sourceName;
+	}
+
+	/**
+	 * Set digest of the whole content.
+	 * 
+	 * @param digest
+	 *            Digest, or null if not calculated
+	 */
+	public void setDigest(Digest digest) {
+		this.digest = digest;
+	}
+}
@@ -0,0 +1,135 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.jhove2.core.cache;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.sleepycat.persist.model.Entity;
+import com.sleepycat.persist.model.PrimaryKey;
+
+/**
+ * Fingerprint of a file recorded by an incremental {@link ResultCache}: the
+ * size and last modification time the file had when its cache key was
+ * computed, and the configuration fingerprint the key was computed with.  A
+ * file whose fingerprint is unchanged is taken to have the same content, and
+ * so the same key, without being read again.
+ */
+@Entity
+public class FileFingerprint
+{
+	/** Canonical pathname. */
+	@PrimaryKey
+	protected String path;
+
+	/** Size, in bytes. */
+	protected long size;
+
+	/** Last modification time, in milliseconds since the epoch. */
+	protected long lastModified;
+
+	/** Configuration fingerprint the cache key is computed with. */
+	protected String config;
+
+	/** Cache key of the file content. */
+	protected String key;
+
+	/**
+	 * Instantiate a new <code>FileFingerprint</code> of a file as it is now.
+	 * 
+	 * @param file
+	 *            File
+	 * @param config
+	 *            Configuration fingerprint the cache key is computed with
+	 * @throws IOException
+	 *             I/O exception resolving the canonical pathname
+	 */
+	public FileFingerprint(File file, String config)
+		throws IOException
+	{
+		this.path         = file.getCanonicalPath();
+		this.size         = file.length();
+		this.lastModified = file.lastModified();
+		this.config       = config;
+	}
+
+	/**
+	 * Instantiate a new <code>FileFingerprint</code>; for persistence only.
+	 */
+	@SuppressWarnings("unused")
+	private FileFingerprint() {
+	}
+
+	/**
+	 * Get cache key of the file content.
+	 * 
+	 * @return Cache key, or null if not yet computed
+	 */
+	public String getKey() {
+		return this.key;
+	}
+
+	/**
+	 * Get canonical pathname.
+	 * 
+	 * @return Canonical pathname
+	 */
+	public String getPath() {
+		return this.path;
+	}
+
+	/**
+	 * Determine if another fingerprint of the same file has the same size,
+	 * last modification time and configuration fingerprint.
+	 * 
+	 * @param print
+	 *            Fingerprint
+	 * @return True if the file and configuration are unchanged
+	 */
+	public boolean isUnchanged(FileFingerprint print) {
+		return this.size == print.size &&
+		       this.lastModified == print.lastModified &&
+		       this.config != null && this.config.equals(print.config);
+	}
+
+	/**
+	 * Set cache key of the file content.
+	 * 
+	 * @param key
+	 *            Cache key
+	 */
+	public void setKey(String key) {
+		this.key = key;
+	}
+}
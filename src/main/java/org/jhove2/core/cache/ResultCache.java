@@ -0,0 +1,855 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.jhove2.core.cache;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jhove2.config.spring.ConfigManifest;
+import org.jhove2.config.spring.SpringConfigInfo;
+import org.jhove2.core.Digest;
+import org.jhove2.core.JHOVE2;
+import org.jhove2.core.JHOVE2Exception;
+import org.jhove2.core.io.Input;
+import org.jhove2.core.io.InputFactory;
+import org.jhove2.core.metrics.MetricsRegistry;
+import org.jhove2.core.source.FileSource;
+import org.jhove2.core.source.MeasurableSource;
+import org.jhove2.core.source.Source;
+import org.jhove2.core.source.URLSource;
+import org.jhove2.module.Command;
+import org.jhove2.module.Module;
+import org.jhove2.module.identify.DROIDIdentifier;
+import org.jhove2.module.identify.Identifier;
+import org.jhove2.module.identify.IdentifierCommand;
+import org.jhove2.module.identify.SourceIdentifier;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Content-addressed cache of format identification results.  Source units
+ * are keyed by their size and the digest of the first and last
+ * {@link #WINDOW_SIZE} bytes of their content, together with a fingerprint
+ * of the configuration: the JHOVE2 version, the digest of the Spring
+ * configuration files, the versions of the configured commands and
+ * identification modules, and the digest of the DROID signature file.  A key
+ * so costs at most two windows to compute, whatever the size of the source
+ * unit.  The key of a source unit no larger than two windows covers its
+ * whole content; a result found under any other key is only used once the
+ * digest of the whole content is confirmed to match the digest recorded
+ * with the result, which is the digest already calculated by the digester
+ * module when there is one, so a source unit is read in full by the cache
+ * only when it probably is a duplicate.
+ * <p>
+ * When a source unit with a known key is characterized, its
+ * {@link CachedResult} replaces the identification command; the format
+ * modules and the other commands are still run, so that the source unit is
+ * fully characterized.  Only the identification is reused, as the modules of
+ * a characterization belong to the source unit they were run on and are
+ * persisted with it.
+ * A bounded, least-recently-used set of results is kept in memory in front
+ * of an optional on-disk {@link ResultStore}.
+ * <p>
+ * An incremental cache also records a {@link FileFingerprint} of each file
+ * it keys: a file whose size and last modification time are unchanged since
+ * then, and whose key was computed with the same configuration fingerprint,
+ * keeps its key without its content being read.  None of the commands are
+ * run on such a file; the summary of its last characterization recorded
+ * with its result is restored instead, so unchanged files of a repeatedly
+ * characterized directory cost little more than a stat.
+ * <p>
+ * Only unitary source units are cached, as the identification of an
+ * aggregate depends on its components.
+ */
+public class ResultCache
+{
+	/** Default number of results kept in memory. */
+	public static final int DEFAULT_SIZE = 10000;
+
+	/** Content digest algorithm. */
+	public static final String DIGEST_ALGORITHM = "SHA-256";
+
+	/** Size of the leading and trailing windows of the content digested
+	 * into a cache key, in bytes.
+	 */
+	public static final int WINDOW_SIZE = 65536;
+
+	/** Algorithms of digester module digests that confirm a result, from
+	 * most to least preferred.
+	 */
+	protected static final String[] CONFIRM_ALGORITHMS = {
+		"SHA-512", "SHA-384", "SHA-256", "SHA-1", "MD5"
+	};
+
+	/** Content read buffer size, in bytes. */
+	protected static final int BUFFER_SIZE = 65536;
+
+	/** Hexadecimal digits. */
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	/** Open cache, or null if caching is disabled. */
+	private static volatile ResultCache instance;
+
+	/** Results kept in memory, from least to most recently used. */
+	protected final Map<String, CachedResult> recent;
+
+	/** On-disk store, or null if results are only kept in memory. */
+	protected final ResultStore store;
+
+	/** Incremental flag: if true, files are keyed by their fingerprints. */
+	protected final boolean incremental;
+
+	/** File fingerprints, by canonical pathname, if there is no on-disk
+	 * store.
+	 */
+	protected final Map<String, FileFingerprint> fingerprints;
+
+	/** Commands for which the configuration fingerprint was computed. */
+	protected List<Command> fingerprintCommands;
+
+	/** Configuration fingerprint of {@link #fingerprintCommands}. */
+	protected String configFingerprint;
+
+	/**
+	 * Instantiate a new <code>ResultCache</code>.
+	 * 
+	 * @param size
+	 *            Maximum number of results kept in memory
+	 * @param store
+	 *            On-disk store, or null to keep results only in memory
+	 */
+	public ResultCache(int size, ResultStore store) {
+		this(size, store, false);
+	}
+
+	/**
+	 * Instantiate a new <code>ResultCache</code>.
+	 * 
+	 * @param size
+	 *            Maximum number of results kept in memory
+	 * @param store
+	 *            On-disk store, or null to keep results only in memory
+	 * @param incremental
+	 *            Incremental flag: if true, files are keyed by their
+	 *            fingerprints
+	 */
+	public ResultCache(final int size, ResultStore store, boolean incremental) {
+		this.store        = store;
+		this.incremental  = incremental;
+		this.fingerprints = new ConcurrentHashMap<String, FileFingerprint>();
+		this.recent = new LinkedHashMap<String, CachedResult>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+				return size() > size;
+			}
+		};
+	}
+
+	/**
+	 * Open the JVM-wide cache, replacing (and closing) any already open.
+	 * 
+	 * @param directory
+	 *            On-disk store directory, or null to keep results only in
+	 *            memory
+	 * @param size
+	 *            Maximum number of results kept in memory
+	 * @return Open cache
+	 * @throws JHOVE2Exception
+	 *             On-disk store cannot be opened
+	 */
+	public static ResultCache open(File directory, int size)
+		throws JHOVE2Exception
+	{
+		return open(directory, size, false);
+	}
+
+	/**
+	 * Open the JVM-wide cache, replacing (and closing) any already open.
+	 * 
+	 * @param directory
+	 *            On-disk store directory, or null to keep results only in
+	 *            memory
+	 * @param size
+	 *            Maximum number of results kept in memory
+	 * @param incremental
+	 *            Incremental flag: if true, files are keyed by their
+	 *            fingerprints
+	 * @return Open cache
+	 * @throws JHOVE2Exception
+	 *             On-disk store cannot be opened
+	 */
+	public static synchronized ResultCache open(File directory, int size,
+			                                    boolean incremental)
+		throws JHOVE2Exception
+	{
+		closeInstance();
+		ResultStore store = (directory != null) ? new ResultStore(directory) :
+			                                      null;
+		instance = new ResultCache(size, store, incremental);
+		return instance;
+	}
+
+	/**
+	 * Close the JVM-wide cache, if open.
+	 * 
+	 * @throws JHOVE2Exception
+	 *             On-disk store cannot be closed
+	 */
+	public static synchronized void closeInstance()
+		throws JHOVE2Exception
+	{
+		ResultCache cache = instance;
+		instance = null;
+		if (cache != null) {
+			cache.close();
+		}
+	}
+
+	/**
+	 * Get the JVM-wide cache.
+	 * 
+	 * @return Open cache, or null if caching is disabled
+	 */
+	public static ResultCache getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Determine if a command is replaced by a cached result.
+	 * 
+	 * @param command
+	 *            Command
+	 * @return True if the command identifies the source unit
+	 */
+	public static boolean isReplaced(Command command) {
+		return command instanceof IdentifierCommand;
+	}
+
+	/**
+	 * Close the on-disk store, if any.
+	 * 
+	 * @throws JHOVE2Exception
+	 *             On-disk store cannot be closed
+	 */
+	public void close()
+		throws JHOVE2Exception
+	{
+		if (this.store != null) {
+			synchronized (this.store) {
+				this.store.close();
+			}
+		}
+	}
+
+	/**
+	 * Get a result, from memory or else from the on-disk store.
+	 * 
+	 * @param key
+	 *            Cache key
+	 * @return Result, or null if not cached
+	 * @throws JHOVE2Exception
+	 *             On-disk store cannot be read
+	 */
+	public CachedResult get(String key)
+		throws JHOVE2Exception
+	{
+		CachedResult result = find(key);
+		MetricsRegistry.getInstance().increment((result != null) ?
+				MetricsRegistry.RESULT_CACHE_HITS :
+				MetricsRegistry.RESULT_CACHE_MISSES);
+		return result;
+	}
+
+	/**
+	 * Get the result for a source unit, from memory or else from the on-disk
+	 * store.  If the key does not cover the whole content of the source unit
+	 * the result is only returned if the digest of the whole content matches
+	 * the digest recorded with the result.
+	 * 
+	 * @param key
+	 *            Cache key of the source unit
+	 * @param source
+	 *            Source unit
+	 * @param input
+	 *            Source unit input
+	 * @return Result, or null if not cached
+	 * @throws IOException
+	 *             I/O exception reading the source unit
+	 * @throws JHOVE2Exception
+	 *             On-disk store cannot be read
+	 */
+	public CachedResult get(String key, Source source, Input input)
+		throws IOException, JHOVE2Exception
+	{
+		CachedResult result = find(key);
+		if (result != null && !isComplete(key) &&
+			!confirm(result, source, input)) {
+			result = null;
+		}
+		MetricsRegistry.getInstance().increment((result != null) ?
+				MetricsRegistry.RESULT_CACHE_HITS :
+				MetricsRegistry.RESULT_CACHE_MISSES);
+		return result;
+	}
+
+	/**
+	 * Find a result, from memory or else from the on-disk store.
+	 * 
+	 * @param key
+	 *            Cache key
+	 * @return Result, or null if not cached
+	 * @throws JHOVE2Exception
+	 *             On-disk store cannot be read
+	 */
+	protected CachedResult find(String key)
+		throws JHOVE2Exception
+	{
+		CachedResult result;
+		synchronized (this.recent) {
+			result = this.recent.get(key);
+		}
+		if (result == null && this.store != null) {
+			synchronized (this.store) {
+				result = this.store.get(key);
+			}
+			if (result != null) {
+				synchronized (this.recent) {
+					this.recent.put(key, result);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Get the result of a file unchanged since it was last characterized
+	 * with the same configuration fingerprint, if the cache is incremental
+	 * and the characterization is summarized in the result.
+	 * 
+	 * @param commands
+	 *            Commands that characterize the source unit
+	 * @param source
+	 *            Source unit
+	 * @return Result, or null if the source unit is not an unchanged file
+	 *         with a summarized result
+	 * @throws IOException
+	 *             I/O exception reading the configuration or file
+	 * @throws JHOVE2Exception
+	 *             On-disk store cannot be read
+	 */
+	public CachedResult getUnchanged(List<Command> commands, Source source)
+		throws IOException, JHOVE2Exception
+	{
+		if (!this.incremental || !(source instanceof FileSource) ||
+			source.isTemp()) {
+			return null;
+		}
+		FileFingerprint print =
+			new FileFingerprint(source.getFile(), getConfigFingerprint(commands));
+		FileFingerprint known = getFingerprint(print.getPath());
+		if (known == null || known.getKey() == null ||
+			!known.isUnchanged(print)) {
+			return null;
+		}
+		CachedResult result = find(known.getKey());
+		if (result == null || !result.isSummarized()) {
+			return null;
+		}
+		MetricsRegistry metrics = MetricsRegistry.getInstance();
+		metrics.increment(MetricsRegistry.RESULT_CACHE_UNCHANGED);
+		metrics.increment(MetricsRegistry.RESULT_CACHE_HITS);
+		return result;
+	}
+
+	/**
+	 * Determine if the content of a source unit with the same cache key is
+	 * the same as the content the result was determined for: the digest of
+	 * the whole content is compared with the digest recorded with the result.
+	 * If no digest was recorded, the digest of the file the result was
+	 * determined for is calculated and recorded, provided the file is
+	 * unchanged since.
+	 * 
+	 * @param result
+	 *            Result
+	 * @param source
+	 *            Source unit
+	 * @param input
+	 *            Source unit input
+	 * @return True if the content is the same
+	 * @throws IOException
+	 *             I/O exception reading the source unit
+	 * @throws JHOVE2Exception
+	 *             On-disk store cannot be written
+	 */
+	protected boolean confirm(CachedResult result, Source source, Input input)
+		throws IOException, JHOVE2Exception
+	{
+		Digest digest = result.getDigest();
+		if (digest == null) {
+			File file = result.getFile();
+			if (file == null) {
+				return false;
+			}
+			MessageDigest md = getMessageDigest(DIGEST_ALGORITHM);
+			InputStream stream = new FileInputStream(file);
+			try {
+				update(md, stream, -1L);
+			}
+			finally {
+				stream.close();
+			}
+			/* The file may have changed while it was read. */
+			if (result.getFile() == null) {
+				return false;
+			}
+			digest = new Digest(hex(md.digest()), DIGEST_ALGORITHM);
+			result.setDigest(digest);
+			if (this.store != null) {
+				synchronized (this.store) {
+					this.store.put(result);
+				}
+			}
+		}
+		MessageDigest md;
+		try {
+			md = MessageDigest.getInstance(digest.getAlgorithm());
+		}
+		catch (NoSuchAlgorithmException e) {
+			return false;
+		}
+		InputStream stream = InputFactory.getInputStream(source, input);
+		try {
+			update(md, stream, -1L);
+		}
+		finally {
+			stream.close();
+		}
+		return hex(md.digest()).equalsIgnoreCase(digest.getValue());
+	}
+
+	/**
+	 * Determine if a cache key covers the whole content of the source units
+	 * it is the key of, that is, if their size is no larger than two
+	 * windows.
+	 * 
+	 * @param key
+	 *            Cache key
+	 * @return True if the key covers the whole content
+	 */
+	public static boolean isComplete(String key) {
+		try {
+			long size = Long.parseLong(key.substring(key.lastIndexOf('-') + 1));
+			return size <= 2L * WINDOW_SIZE;
+		}
+		catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Get the cache key of a source unit: the digest of the leading and
+	 * trailing windows of its content and of the configuration fingerprint,
+	 * and its size.
+	 * If the cache is incremental and the source unit is a file unchanged
+	 * since its key was last computed with the same configuration
+	 * fingerprint, that key is returned without the file being read.
+	 * 
+	 * @param commands
+	 *            Commands that characterize the source unit
+	 * @param source
+	 *            Source unit
+	 * @param input
+	 *            Source unit input
+	 * @return Cache key, or null if the source unit cannot be cached
+	 * @throws IOException
+	 *             I/O exception reading the source unit
+	 * @throws JHOVE2Exception
+	 *             Digest algorithm not available
+	 */
+	public String getKey(List<Command> commands, Source source, Input input)
+		throws IOException, JHOVE2Exception
+	{
+		if (input == null || !(source instanceof MeasurableSource) ||
+			source.isAggregate()) {
+			return null;
+		}
+		String config = getConfigFingerprint(commands);
+		FileFingerprint print = null;
+		if (this.incremental && source instanceof FileSource &&
+			!source.isTemp()) {
+			print = new FileFingerprint(source.getFile(), config);
+			FileFingerprint known = getFingerprint(print.getPath());
+			if (known != null && known.isUnchanged(print)) {
+				MetricsRegistry.getInstance().increment(
+						MetricsRegistry.RESULT_CACHE_UNCHANGED);
+				return known.getKey();
+			}
+		}
+		MessageDigest md = getMessageDigest(DIGEST_ALGORITHM);
+		long size = ((MeasurableSource) source).getSize();
+		if (size <= 2L * WINDOW_SIZE) {
+			update(md, source, input, 0L, -1L);
+		}
+		else {
+			update(md, source, input, 0L, WINDOW_SIZE);
+			update(md, source, input, size - WINDOW_SIZE, WINDOW_SIZE);
+		}
+		md.update(config.getBytes("UTF-8"));
+
+		StringBuilder key = new StringBuilder(hex(md.digest()));
+		key.append('-').append(size);
+		if (print != null) {
+			print.setKey(key.toString());
+			putFingerprint(print);
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Get the configuration fingerprint of the commands that characterize
+	 * source units: the JHOVE2 version, the digest of the Spring
+	 * configuration files, the class and version of each command and of the
+	 * identification modules, and the SHA-1 of the DROID signature file.  The
+	 * fingerprint is computed once for a list of commands.
+	 * 
+	 * @param commands
+	 *            Commands that characterize source units
+	 * @return Configuration fingerprint
+	 * @throws IOException
+	 *             I/O exception reading the DROID signature file
+	 * @throws JHOVE2Exception
+	 *             Configuration cannot be read
+	 */
+	protected synchronized String getConfigFingerprint(List<Command> commands)
+		throws IOException, JHOVE2Exception
+	{
+		if (commands == this.fingerprintCommands) {
+			return this.configFingerprint;
+		}
+		ConfigManifest manifest = SpringConfigInfo.getManifest();
+		if (manifest == null) {
+			manifest = ConfigManifest.scan(SpringConfigInfo.getCLASSPATH(),
+					                       ClassUtils.getDefaultClassLoader());
+		}
+		StringBuilder fingerprint = new StringBuilder(JHOVE2.VERSION);
+		fingerprint.append(";config ").append(manifest.getConfigDigest());
+		for (Command command : commands) {
+			appendVersion(fingerprint, command);
+			if (command instanceof IdentifierCommand) {
+				Identifier identifier = ((IdentifierCommand) command)
+					.getIdentifierFactory().getIdentifier();
+				appendVersion(fingerprint, identifier);
+				SourceIdentifier sourceIdentifier =
+					identifier.getSourceIdentifier();
+				appendVersion(fingerprint, sourceIdentifier);
+				if (sourceIdentifier instanceof DROIDIdentifier) {
+					fingerprint.append(";signatures ").append(sha1(new File(
+						((DROIDIdentifier) sourceIdentifier).getSignatureFile())));
+				}
+			}
+		}
+		this.fingerprintCommands = commands;
+		this.configFingerprint   = fingerprint.toString();
+		return this.configFingerprint;
+	}
+
+	/**
+	 * Append the class and version of a module to a fingerprint.
+	 * 
+	 * @param fingerprint
+	 *            Fingerprint
+	 * @param module
+	 *            Module, or null
+	 */
+	protected static void appendVersion(StringBuilder fingerprint,
+			                            Module module)
+	{
+		if (module != null) {
+			fingerprint.append(';').append(module.getClass().getName())
+			           .append(' ').append(module.getVersion());
+		}
+	}
+
+	/**
+	 * Update a digest with a byte range of the content of a source unit.
+	 * 
+	 * @param md
+	 *            Digest
+	 * @param source
+	 *            Source unit
+	 * @param input
+	 *            Source unit input
+	 * @param offset
+	 *            Starting offset of the range
+	 * @param length
+	 *            Range length, or a negative value to read to the end of
+	 *            the content
+	 * @throws IOException
+	 *             I/O exception reading the source unit
+	 */
+	protected static void update(MessageDigest md, Source source, Input input,
+			                     long offset, long length)
+		throws IOException
+	{
+		InputStream stream;
+		if (input != null &&
+			(source instanceof FileSource || source instanceof URLSource)) {
+			stream = input.asInputStream(offset, length);
+		}
+		else {
+			stream = source.getInputStream();
+			long skip = offset;
+			while (skip > 0L) {
+				long n = stream.skip(skip);
+				if (n <= 0L) {
+					if (stream.read() < 0) {
+						break;
+					}
+					n = 1L;
+				}
+				skip -= n;
+			}
+		}
+		try {
+			update(md, stream, length);
+		}
+		finally {
+			stream.close();
+		}
+	}
+
+	/**
+	 * Update a digest with the bytes read from a stream.
+	 * 
+	 * @param md
+	 *            Digest
+	 * @param stream
+	 *            Stream
+	 * @param length
+	 *            Number of bytes to read, or a negative value to read to the
+	 *            end of the stream
+	 * @throws IOException
+	 *             I/O exception reading the stream
+	 */
+	protected static void update(MessageDigest md, InputStream stream,
+			                     long length)
+		throws IOException
+	{
+		byte[] buffer = new byte[BUFFER_SIZE];
+		long remaining = (length < 0L) ? Long.MAX_VALUE : length;
+		while (remaining > 0L) {
+			int n = stream.read(buffer, 0,
+					            (int) Math.min(buffer.length, remaining));
+			if (n < 0) {
+				break;
+			}
+			md.update(buffer, 0, n);
+			remaining -= n;
+		}
+	}
+
+	/**
+	 * Get a digest.
+	 * 
+	 * @param algorithm
+	 *            Digest algorithm
+	 * @return Digest
+	 * @throws JHOVE2Exception
+	 *             Digest algorithm not available
+	 */
+	protected static MessageDigest getMessageDigest(String algorithm)
+		throws JHOVE2Exception
+	{
+		try {
+			return MessageDigest.getInstance(algorithm);
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new JHOVE2Exception("Digest algorithm not available: " +
+					                  algorithm, e);
+		}
+	}
+
+	/**
+	 * Get the hexadecimal representation of a digest value.
+	 * 
+	 * @param digest
+	 *            Digest value
+	 * @return Hexadecimal digest value
+	 */
+	protected static String hex(byte[] digest) {
+		StringBuilder hex = new StringBuilder(2 * digest.length);
+		for (byte b : digest) {
+			hex.append(HEX[(b >> 4) & 0xf]).append(HEX[b & 0xf]);
+		}
+		return hex.toString();
+	}
+
+	/**
+	 * Get the SHA-1 of a file.
+	 * 
+	 * @param file
+	 *            File
+	 * @return Hexadecimal SHA-1
+	 * @throws IOException
+	 *             I/O exception reading the file
+	 * @throws JHOVE2Exception
+	 *             Digest algorithm not available
+	 */
+	protected static String sha1(File file)
+		throws IOException, JHOVE2Exception
+	{
+		MessageDigest md = getMessageDigest("SHA-1");
+		InputStream stream = new FileInputStream(file);
+		try {
+			update(md, stream, -1L);
+		}
+		finally {
+			stream.close();
+		}
+		return hex(md.digest());
+	}
+
+	/**
+	 * Get the fingerprint of a file, from the on-disk store if any.
+	 * 
+	 * @param path
+	 *            Canonical pathname
+	 * @return Fingerprint, or null if none is recorded for the file
+	 * @throws JHOVE2Exception
+	 *             On-disk store cannot be read
+	 */
+	protected FileFingerprint getFingerprint(String path)
+		throws JHOVE2Exception
+	{
+		if (this.store == null) {
+			return this.fingerprints.get(path);
+		}
+		synchronized (this.store) {
+			return this.store.getFingerprint(path);
+		}
+	}
+
+	/**
+	 * Put the fingerprint of a file, into the on-disk store if any.
+	 * 
+	 * @param print
+	 *            Fingerprint
+	 * @throws JHOVE2Exception
+	 *             On-disk store cannot be written
+	 */
+	protected void putFingerprint(FileFingerprint print)
+		throws JHOVE2Exception
+	{
+		if (this.store == null) {
+			this.fingerprints.put(print.getPath(), print);
+		}
+		else {
+			synchronized (this.store) {
+				this.store.putFingerprint(print);
+			}
+		}
+	}
+
+	/**
+	 * Determine if the cache is incremental.
+	 * 
+	 * @return True if files are keyed by their fingerprints
+	 */
+	public boolean isIncremental() {
+		return this.incremental;
+	}
+
+	/**
+	 * Put the identification result of a source unit, with the summary of
+	 * its characterization, unless it is an aggregate.  If the key does not
+	 * cover the whole content of the source unit, the strongest digest of the
+	 * whole content calculated by the digester module, if any, is recorded
+	 * with the result.
+	 * 
+	 * @param key
+	 *            Cache key
+	 * @param source
+	 *            Characterized source unit
+	 * @throws JHOVE2Exception
+	 *             On-disk store cannot be written
+	 */
+	public void put(String key, Source source)
+		throws JHOVE2Exception
+	{
+		if (source.isAggregate()) {
+			return;
+		}
+		CachedResult result = new CachedResult(key, source);
+		result.summarize(source);
+		if (!isComplete(key)) {
+			result.setDigest(getStrongestDigest(result.getDigests()));
+		}
+		synchronized (this.recent) {
+			this.recent.put(key, result);
+		}
+		if (this.store != null) {
+			synchronized (this.store) {
+				this.store.put(result);
+			}
+		}
+	}
+
+	/**
+	 * Get the strongest of the digests calculated by the digester module
+	 * that can confirm a result.
+	 * 
+	 * @param digests
+	 *            Message digests
+	 * @return Digest, or null if none can confirm a result
+	 */
+	protected static Digest getStrongestDigest(List<Digest> digests) {
+		for (String algorithm : CONFIRM_ALGORITHMS) {
+			for (Digest digest : digests) {
+				if (algorithm.equals(digest.getAlgorithm())) {
+					return digest;
+				}
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,222 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.jhove2.core.cache;
+
+import java.io.File;
+
+import org.jhove2.core.JHOVE2Exception;
+import org.jhove2.persist.berkeleydpl.proxies.*;
+
+import com.sleepycat.je.DatabaseException;
+import com.sleepycat.je.Environment;
+import com.sleepycat.je.EnvironmentConfig;
+import com.sleepycat.persist.EntityStore;
+import com.sleepycat.persist.PrimaryIndex;
+import com.sleepycat.persist.StoreConfig;
+import com.sleepycat.persist.model.AnnotationModel;
+import com.sleepycat.persist.model.EntityModel;
+
+/**
+ * On-disk store of {@link CachedResult}s and {@link FileFingerprint}s, kept
+ * in a BerkeleyDB JE Direct Persistence Layer (DPL) entity store of its own,
+ * so that results survive from one invocation to the next independently of
+ * the persistence manager in use.
+ */
+public class ResultStore
+{
+	/** Entity store name. */
+	public static final String STORE_NAME = "jhove2-result-cache";
+
+	/** BerkeleyDB environment. */
+	protected Environment env;
+
+	/** Entity store. */
+	protected EntityStore store;
+
+	/** Results, by cache key. */
+	protected PrimaryIndex<String, CachedResult> resultByKey;
+
+	/** File fingerprints, by canonical pathname. */
+	protected PrimaryIndex<String, FileFingerprint> fingerprintByPath;
+
+	/**
+	 * Instantiate a new <code>ResultStore</code>, creating the store if it
+	 * does not exist.
+	 * 
+	 * @param directory
+	 *            Store directory
+	 * @throws JHOVE2Exception
+	 *             Store directory cannot be created, or store cannot be opened
+	 */
+	public ResultStore(File directory)
+		throws JHOVE2Exception
+	{
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new JHOVE2Exception("Could not create result cache directory " +
+					                  directory.getPath());
+		}
+		try {
+			EnvironmentConfig envConfig = new EnvironmentConfig();
+			envConfig.setAllowCreate(true);
+			this.env = new Environment(directory, envConfig);
+
+			EntityModel model = new AnnotationModel();
+			model.registerClass(LocalePersisentProxy.class);
+			model.registerClass(PatternPersistentProxy.class);
+			model.registerClass(LinkedHashSetPersistentProxy.class);
+			model.registerClass(FilePersistentProxy.class);
+			model.registerClass(ByteOrderPersistentProxy.class);
+			model.registerClass(LinkedHashMapPersistentProxy.class);
+			model.registerClass(URLPersistentProxy.class);
+			model.registerClass(PropertiesPersistentProxy.class);
+			model.registerClass(StringBufferPersistentProxy.class);
+
+			StoreConfig storeConfig = new StoreConfig();
+			storeConfig.setModel(model);
+			storeConfig.setAllowCreate(true);
+			this.store = new EntityStore(this.env, STORE_NAME, storeConfig);
+			this.resultByKey = this.store.getPrimaryIndex(String.class,
+					                                      CachedResult.class);
+			this.fingerprintByPath =
+				this.store.getPrimaryIndex(String.class, FileFingerprint.class);
+		}
+		catch (DatabaseException e) {
+			close();
+			throw new JHOVE2Exception("Cannot open result cache in " +
+					                  directory.getPath(), e);
+		}
+	}
+
+	/**
+	 * Close the store.
+	 * 
+	 * @throws JHOVE2Exception
+	 *             Store cannot be closed
+	 */
+	public void close()
+		throws JHOVE2Exception
+	{
+		try {
+			if (this.store != null) {
+				this.store.close();
+				this.store = null;
+			}
+			if (this.env != null) {
+				this.env.close();
+				this.env = null;
+			}
+		}
+		catch (DatabaseException e) {
+			throw new JHOVE2Exception("Unable to close result cache", e);
+		}
+	}
+
+	/**
+	 * Get a result.
+	 * 
+	 * @param key
+	 *            Cache key
+	 * @return Result, or null if none is stored under the key
+	 * @throws JHOVE2Exception
+	 *             Store cannot be read
+	 */
+	public CachedResult get(String key)
+		throws JHOVE2Exception
+	{
+		try {
+			return this.resultByKey.get(key);
+		}
+		catch (DatabaseException e) {
+			throw new JHOVE2Exception("Unable to read result cache", e);
+		}
+	}
+
+	/**
+	 * Get the fingerprint of a file.
+	 * 
+	 * @param path
+	 *            Canonical pathname
+	 * @return Fingerprint, or null if none is stored for the file
+	 * @throws JHOVE2Exception
+	 *             Store cannot be read
+	 */
+	public FileFingerprint getFingerprint(String path)
+		throws JHOVE2Exception
+	{
+		try {
+			return this.fingerprintByPath.get(path);
+		}
+		catch (DatabaseException e) {
+			throw new JHOVE2Exception("Unable to read result cache", e);
+		}
+	}
+
+	/**
+	 * Put the fingerprint of a file, replacing any stored for the same file.
+	 * 
+	 * @param print
+	 *            Fingerprint
+	 * @throws JHOVE2Exception
+	 *             Store cannot be written
+	 */
+	public void putFingerprint(FileFingerprint print)
+		throws JHOVE2Exception
+	{
+		try {
+			this.fingerprintByPath.putNoReturn(print);
+		}
+		catch (DatabaseException e) {
+			throw new JHOVE2Exception("Unable to write result cache", e);
+		}
+	}
+
+	/**
+	 * Put a result, replacing any stored under the same key.
+	 * 
+	 * @param result
+	 *            Result
+	 * @throws JHOVE2Exception
+	 *             Store cannot be written
+	 */
+	public void put(CachedResult result)
+		throws JHOVE2Exception
+	{
+		try {
+			this.resultByKey.putNoReturn(result);
+		}
+		catch (DatabaseException e) {
+			throw new JHOVE2Exception("Unable to write result cache", e);
+		}
+	}
+}
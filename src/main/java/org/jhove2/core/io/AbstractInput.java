@@ -36,10 +36,8 @@
 
 package org.jhove2.core.io;
 
-import java.io.BufferedInputStream;
 import java.io.EOFException;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -49,6 +47,7 @@ import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
 import org.jhove2.core.Invocation;
 import org.jhove2.core.JHOVE2;
+import org.jhove2.core.metrics.MetricsRegistry;
 
 /**
  * Abstract JHOVE2 inputter.
@@ -79,9 +78,6 @@ public abstract class AbstractInput
 	/** Temporary file deletion status: true if delete on close. */
 	protected boolean deleteTempFileOnClose;
 
-	/** InputStream underlying the inputable. */
-	protected InputStream stream;
-	
 	/** Buffer type. */
 	protected Type bufferType;
 
@@ -100,6 +96,19 @@ public abstract class AbstractInput
 	/** Buffer size, in bytes. */
 	protected int maxBufferSize;
 
+	/** Lease of the buffer, if it was borrowed from the
+	 * {@link org.jhove2.core.io.DirectBufferPool}.
+	 */
+	protected DirectBufferPool.Lease lease;
+
+	/** Read-ahead buffer size of streams over the inputable, in bytes; reads
+	 * of at least this size go straight to the channel.
+	 */
+	protected static final int STREAM_BUFFER_SIZE = 8192;
+
+	/** Scratch array for bulk-read values straddling two buffer windows. */
+	private final byte[] straddle = new byte[8];
+
 	/**
 	 * Instantiate a new, big-endian <code>AbstractInput</code>.
 	 * @param jhove2 JHOVE2 framework object
@@ -137,15 +146,10 @@ public abstract class AbstractInput
 	                     ByteOrder order)
 		throws FileNotFoundException, IOException
 	{
+	    this(jhove2, order);
         this.file      = file;
 	    this.isTemp    = isTemp;
-        this.byteOrder = order;   
-        Invocation inv = jhove2.getInvocation();
-        this.maxBufferSize = inv.getBufferSize();
-	    this.deleteTempFileOnClose = inv.getDeleteTempFilesOnClose();
 	    if (!file.isDirectory()) {
-	        this.stream = new BufferedInputStream(new FileInputStream(file),
-	                                              this.maxBufferSize);
 	        //this.fileSize = file.length();
 	        this.inputablePosition = 0L;
 
@@ -154,6 +158,50 @@ public abstract class AbstractInput
 	    }
 	}
 
+	/**
+	 * Instantiate a new <code>AbstractInput</code> with the buffer size of
+	 * the {@link org.jhove2.core.Invocation}, but no underlying file; the
+	 * subclass is responsible for opening the channel.
+	 * @param jhove2 JHOVE2 framework object
+	 * @param order
+	 *            Byte order
+	 */
+	protected AbstractInput(JHOVE2 jhove2, ByteOrder order) {
+        this.byteOrder = order;   
+        Invocation inv = jhove2.getInvocation();
+        this.maxBufferSize = inv.getBufferSize();
+	    this.deleteTempFileOnClose = inv.getDeleteTempFilesOnClose();
+	}
+
+	/**
+	 * Get an input stream over a byte range of the inputable, read through
+	 * its channel.
+	 * 
+	 * @param offset
+	 *            Starting offset of the range in the inputable
+	 * @param length
+	 *            Range length, or a negative value to read to the end of the
+	 *            inputable
+	 * @return Input stream over the range
+	 * @throws IOException
+	 *             Inputable closed, or I/O exception getting its size
+	 * @see org.jhove2.core.io.Input#asInputStream(long, long)
+	 */
+	@Override
+	public InputStream asInputStream(long offset, long length)
+		throws IOException
+	{
+	    if (this.channel == null) {
+	        throw new IOException("Input closed");
+	    }
+	    long size = Math.max(0L, this.channel.size() - offset);
+	    if (length >= 0L && length < size) {
+	        size = length;
+	    }
+	    return new RangeInputStream(this.channel, offset, size,
+	                                STREAM_BUFFER_SIZE);
+	}
+
 	/**
 	 * Close the inputable.
 	 * 
@@ -164,9 +212,9 @@ public abstract class AbstractInput
 	    throws IOException
 	{
 	    this.buffer = null;
-	    if (this.stream != null) {
-	        this.stream.close();
-	        this.stream = null;
+	    if (this.lease != null) {
+	        DirectBufferPool.release(this.lease);
+	        this.lease = null;
 	    }
 	    if (this.channel != null) {
 	        this.channel.close();
@@ -291,6 +339,10 @@ public abstract class AbstractInput
 	        this.buffer.clear();
 	        int n = this.channel.read(this.buffer);
 	        this.buffer.flip();
+	        if (n > 0) {
+	            MetricsRegistry.getInstance().add(MetricsRegistry.BYTES_READ_KEYS.get(this.bufferType),
+	                                              n);
+	        }
 	        this.bufferOffset = this.channel.position() - n;
 	        this.bufferSize = n;
 	        this.inputablePosition = this.bufferOffset + this.buffer.position();
@@ -299,6 +351,17 @@ public abstract class AbstractInput
 	    return EOF;
 	}
 
+	/**
+	 * Advance to the next buffer window, for bulk reads that have exhausted
+	 * the current one.
+	 * 
+	 * @return True if the next window holds data, false if EOF
+	 * @throws IOException
+	 */
+	protected boolean refill() throws IOException {
+	    return getNextBuffer() > 0;
+	}
+
 	/**
 	 * Get the current position in the inputable, as a byte offset.
 	 * 
@@ -342,6 +405,8 @@ public abstract class AbstractInput
             if (getNextBuffer() == EOF) {
                 throw new EOFException();
             }
+            /* getNextBuffer() already advanced past the bytes read above. */
+            this.inputablePosition -= remaining;
             for (int i = remaining; i < 2; i++) {
                 if (byteOrder == ByteOrder.LITTLE_ENDIAN) {
                     int in = (((int) this.buffer.get() & 0xff));
@@ -414,6 +479,8 @@ public abstract class AbstractInput
 			if (getNextBuffer() == EOF) {
 				return EOF;
 			}
+			/* getNextBuffer() already advanced past the bytes read above. */
+			this.inputablePosition -= remaining;
 			for (int i = remaining; i < 4; i++) {
 				if (byteOrder == ByteOrder.LITTLE_ENDIAN) {
 					byteValue = (((int) this.buffer.get() & 0xff));
@@ -442,7 +509,7 @@ public abstract class AbstractInput
 	@Override
 	public long readSignedLong() throws IOException {
 		long in = 0;
-		int byteValue = 0;
+		long byteValue = 0;
 		int remaining = this.buffer.limit() - this.buffer.position();
 		if (remaining < 8) {
 			for (int i = 0; i < remaining; i++) {
@@ -463,6 +530,8 @@ public abstract class AbstractInput
 			if (getNextBuffer() == EOF) {
 				return EOF;
 			}
+			/* getNextBuffer() already advanced past the bytes read above. */
+			this.inputablePosition -= remaining;
 			for (int i = remaining; i < 8; i++) {
 				if (byteOrder == ByteOrder.LITTLE_ENDIAN) {
 					byteValue = (((int) this.buffer.get() & 0xff));
@@ -513,6 +582,8 @@ public abstract class AbstractInput
             if (getNextBuffer() == EOF) {
                 return EOF;
             }
+            /* getNextBuffer() already advanced past the bytes read above. */
+            this.inputablePosition -= remaining;
             for (int i = remaining; i < 8; i++) {
                 if (byteOrder == ByteOrder.LITTLE_ENDIAN) {
                     byteValue = (((int) this.buffer.get() & 0xff));
@@ -565,6 +636,8 @@ public abstract class AbstractInput
             if (getNextBuffer() == EOF) {
                 return EOF;
             }
+            /* getNextBuffer() already advanced past the bytes read above. */
+            this.inputablePosition -= remaining;
             for (int i = remaining; i < 4; i++) {
                 if (byteOrder == ByteOrder.LITTLE_ENDIAN) {
                     byteValue = (((int) this.buffer.get() & 0xff));
@@ -620,6 +693,8 @@ public abstract class AbstractInput
 				if (getNextBuffer() == EOF) {
 					return EOF;
 				}
+				/* getNextBuffer() already advanced past the bytes read above. */
+				this.inputablePosition -= remaining;
 				for (int i = remaining; i < 2; i++) {
 					if (byteOrder == ByteOrder.LITTLE_ENDIAN) {
 						byteValue = (((int) this.buffer.get() & 0xff));
@@ -691,6 +766,8 @@ public abstract class AbstractInput
 			if (getNextBuffer() == EOF) {
 				return EOF;
 			}
+			/* getNextBuffer() already advanced past the bytes read above. */
+			this.inputablePosition -= remaining;
 			for (int i = remaining; i < 4; i++) {
 				if (byteOrder == ByteOrder.LITTLE_ENDIAN) {
 					byteValue = (((long) this.buffer.get() & 0xffL));
@@ -741,7 +818,9 @@ public abstract class AbstractInput
 			if (getNextBuffer() == EOF) {
 				return EOF;
 			}
-			for (int i = remaining; i < 4; i++) {
+			/* getNextBuffer() already advanced past the bytes read above. */
+			this.inputablePosition -= remaining;
+			for (int i = remaining; i < 2; i++) {
 				if (byteOrder == ByteOrder.LITTLE_ENDIAN) {
 					byteValue = (((int) this.buffer.get() & 0xff));
 					byteValue <<= (8 * i);
@@ -759,6 +838,249 @@ public abstract class AbstractInput
 
 		return sh;
 	}
+
+	/**
+	 * Read bytes at the current position into a buffer, until the buffer is
+	 * full or EOF is reached.
+	 * 
+	 * @param dst
+	 *            Destination buffer
+	 * @return Number of bytes read, or -1 if EOF
+	 * @see org.jhove2.core.io.Input#readBytes(java.nio.ByteBuffer)
+	 */
+	@Override
+	public int readBytes(ByteBuffer dst) throws IOException {
+	    int read = 0;
+	    while (dst.hasRemaining()) {
+	        int remaining = this.buffer.remaining();
+	        if (remaining == 0) {
+	            if (!refill()) {
+	                return read > 0 ? read : EOF;
+	            }
+	            continue;
+	        }
+	        int n = Math.min(remaining, dst.remaining());
+	        int limit = this.buffer.limit();
+	        this.buffer.limit(this.buffer.position() + n);
+	        dst.put(this.buffer);
+	        this.buffer.limit(limit);
+	        this.inputablePosition += n;
+	        read += n;
+	    }
+	    return read;
+	}
+
+	/**
+	 * Read bytes at the current position, filling the array.
+	 * 
+	 * @param dst
+	 *            Destination array
+	 * @see org.jhove2.core.io.Input#readFully(byte[])
+	 */
+	@Override
+	public void readFully(byte[] dst) throws EOFException, IOException {
+	    readFully(dst, 0, dst.length);
+	}
+
+	/**
+	 * Read bytes at the current position into a region of an array.
+	 * 
+	 * @param dst
+	 *            Destination array
+	 * @param off
+	 *            Offset of the region in the array
+	 * @param len
+	 *            Length of the region
+	 * @see org.jhove2.core.io.Input#readFully(byte[], int, int)
+	 */
+	@Override
+	public void readFully(byte[] dst, int off, int len)
+	    throws EOFException, IOException
+	{
+	    if (fill(dst, off, len) < len) {
+	        throw new EOFException();
+	    }
+	}
+
+	/**
+	 * Read signed (four byte) integers at the current position.
+	 * 
+	 * @param dst
+	 *            Destination array
+	 * @param n
+	 *            Number of integers to read
+	 * @return Number of integers read, less than <code>n</code> only if EOF
+	 * @see org.jhove2.core.io.Input#readInts(int[], int)
+	 */
+	@Override
+	public int readInts(int[] dst, int n) throws IOException {
+	    int i = 0;
+	    while (i < n) {
+	        int count = Math.min(n - i, this.buffer.remaining() >> 2);
+	        if (count > 0) {
+	            /* Copy whole integers straight out of the window. */
+	            this.buffer.asIntBuffer().get(dst, i, count);
+	            this.buffer.position(this.buffer.position() + (count << 2));
+	            this.inputablePosition += count << 2;
+	            i += count;
+	        }
+	        else if (fill(this.straddle, 0, 4) == 4) {
+	            dst[i++] = (int) straddled(4);
+	        }
+	        else {
+	            break;
+	        }
+	    }
+	    return i;
+	}
+
+	/**
+	 * Read signed shorts at the current position.
+	 * 
+	 * @param dst
+	 *            Destination array
+	 * @param n
+	 *            Number of shorts to read
+	 * @return Number of shorts read, less than <code>n</code> only if EOF
+	 * @see org.jhove2.core.io.Input#readShorts(short[], int)
+	 */
+	@Override
+	public int readShorts(short[] dst, int n) throws IOException {
+	    int i = 0;
+	    while (i < n) {
+	        int count = Math.min(n - i, this.buffer.remaining() >> 1);
+	        if (count > 0) {
+	            /* Copy whole shorts straight out of the window. */
+	            this.buffer.asShortBuffer().get(dst, i, count);
+	            this.buffer.position(this.buffer.position() + (count << 1));
+	            this.inputablePosition += count << 1;
+	            i += count;
+	        }
+	        else if (fill(this.straddle, 0, 2) == 2) {
+	            dst[i++] = (short) straddled(2);
+	        }
+	        else {
+	            break;
+	        }
+	    }
+	    return i;
+	}
+
+	/**
+	 * Read unsigned (four byte) integers at the current position.
+	 * 
+	 * @param dst
+	 *            Destination array
+	 * @param n
+	 *            Number of integers to read
+	 * @return Number of integers read, less than <code>n</code> only if EOF
+	 * @see org.jhove2.core.io.Input#readUnsignedInts(long[], int)
+	 */
+	@Override
+	public int readUnsignedInts(long[] dst, int n) throws IOException {
+	    int i = 0;
+	    while (i < n) {
+	        int count = Math.min(n - i, this.buffer.remaining() >> 2);
+	        if (count > 0) {
+	            for (int end = i + count; i < end; i++) {
+	                dst[i] = this.buffer.getInt() & 0xffffffffL;
+	            }
+	            this.inputablePosition += count << 2;
+	        }
+	        else if (fill(this.straddle, 0, 4) == 4) {
+	            dst[i++] = straddled(4);
+	        }
+	        else {
+	            break;
+	        }
+	    }
+	    return i;
+	}
+
+	/**
+	 * Read unsigned short (two byte) integers at the current position.
+	 * 
+	 * @param dst
+	 *            Destination array
+	 * @param n
+	 *            Number of shorts to read
+	 * @return Number of shorts read, less than <code>n</code> only if EOF
+	 * @see org.jhove2.core.io.Input#readUnsignedShorts(int[], int)
+	 */
+	@Override
+	public int readUnsignedShorts(int[] dst, int n) throws IOException {
+	    int i = 0;
+	    while (i < n) {
+	        int count = Math.min(n - i, this.buffer.remaining() >> 1);
+	        if (count > 0) {
+	            for (int end = i + count; i < end; i++) {
+	                dst[i] = this.buffer.getShort() & 0xffff;
+	            }
+	            this.inputablePosition += count << 1;
+	        }
+	        else if (fill(this.straddle, 0, 2) == 2) {
+	            dst[i++] = (int) straddled(2);
+	        }
+	        else {
+	            break;
+	        }
+	    }
+	    return i;
+	}
+
+	/**
+	 * Copy bytes at the current position into a region of an array, refilling
+	 * the buffer window as needed.
+	 * 
+	 * @param dst
+	 *            Destination array
+	 * @param off
+	 *            Offset of the region in the array
+	 * @param len
+	 *            Length of the region
+	 * @return Number of bytes copied, less than <code>len</code> only if EOF
+	 * @throws IOException
+	 */
+	protected int fill(byte[] dst, int off, int len) throws IOException {
+	    int read = 0;
+	    while (read < len) {
+	        int remaining = this.buffer.remaining();
+	        if (remaining == 0) {
+	            if (!refill()) {
+	                break;
+	            }
+	            continue;
+	        }
+	        int n = Math.min(remaining, len - read);
+	        this.buffer.get(dst, off + read, n);
+	        this.inputablePosition += n;
+	        read += n;
+	    }
+	    return read;
+	}
+
+	/**
+	 * Assemble an unsigned value from the bytes of the straddle array, in the
+	 * byte order of the buffer.
+	 * 
+	 * @param size
+	 *            Value size, in bytes
+	 * @return Unsigned value
+	 */
+	private long straddled(int size) {
+	    long value = 0L;
+	    if (this.buffer.order() == ByteOrder.LITTLE_ENDIAN) {
+	        for (int i = size - 1; i >= 0; i--) {
+	            value = (value << 8) | (this.straddle[i] & 0xffL);
+	        }
+	    }
+	    else {
+	        for (int i = 0; i < size; i++) {
+	            value = (value << 8) | (this.straddle[i] & 0xffL);
+	        }
+	    }
+	    return value;
+	}
 	
 	/** Reset the buffer position.  This method is only necessary after
      * a buffer has been retrieved via getBuffer() and the position of 
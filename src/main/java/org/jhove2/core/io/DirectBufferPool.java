@@ -0,0 +1,278 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.jhove2.core.io;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jhove2.core.metrics.MetricsRegistry;
+
+/**
+ * JVM-wide pool of direct byte buffers, by capacity.  Direct allocation is
+ * slow and its native memory is only reclaimed by garbage collection, so
+ * inputs borrow their buffer from the pool when opened and return it when
+ * closed.  Each thread keeps the last buffer it returned, so a thread that
+ * opens inputs one after another reuses the same buffer without contention;
+ * other buffers are shared, up to {@link #MAX_POOLED} of each capacity.
+ * <p>
+ * Each borrowed buffer is tracked by a {@link Lease} that weakly references
+ * its owner.  If the owner becomes unreachable without returning the
+ * buffer, the leak is logged and counted, and the buffer is recovered.
+ */
+public final class DirectBufferPool {
+	/** Maximum number of shared buffers kept of each capacity. */
+	public static final int MAX_POOLED = 64;
+
+	/** Logger. */
+	private static final Logger log =
+		Logger.getLogger(DirectBufferPool.class.getName());
+
+	/** Shared buffers, by capacity. */
+	private static final ConcurrentMap<Integer, Pool> pools =
+		new ConcurrentHashMap<Integer, Pool>();
+
+	/** Buffer last returned by each thread. */
+	private static final ThreadLocal<ByteBuffer> local =
+		new ThreadLocal<ByteBuffer>();
+
+	/** Leases whose owners have become unreachable. */
+	private static final ReferenceQueue<Object> unreachable =
+		new ReferenceQueue<Object>();
+
+	/** Outstanding leases, kept reachable until they are released. */
+	private static final Set<Lease> leases =
+		Collections.newSetFromMap(new ConcurrentHashMap<Lease, Boolean>());
+
+	/** Not instantiable. */
+	private DirectBufferPool() {
+	}
+
+	/**
+	 * Borrow a cleared, big-endian direct buffer.
+	 * 
+	 * @param owner
+	 *            Object responsible for releasing the lease
+	 * @param capacity
+	 *            Buffer capacity, in bytes
+	 * @return Lease of the buffer
+	 */
+	public static Lease acquire(Object owner, int capacity) {
+		recoverLeaks();
+		MetricsRegistry metrics = MetricsRegistry.getInstance();
+		ByteBuffer buffer = local.get();
+		if (buffer != null && buffer.capacity() == capacity) {
+			local.remove();
+		}
+		else {
+			buffer = null;
+			Pool pool = pools.get(capacity);
+			if (pool != null) {
+				buffer = pool.poll();
+			}
+		}
+		if (buffer != null) {
+			metrics.increment(MetricsRegistry.BUFFER_POOL_HITS);
+			buffer.clear();
+			buffer.order(ByteOrder.BIG_ENDIAN);
+		}
+		else {
+			metrics.increment(MetricsRegistry.BUFFER_POOL_MISSES);
+			buffer = ByteBuffer.allocateDirect(capacity);
+		}
+		Lease lease = new Lease(owner, buffer);
+		leases.add(lease);
+		return lease;
+	}
+
+	/**
+	 * Return a borrowed buffer to the pool.  Releasing a lease more than once
+	 * has no effect.
+	 * 
+	 * @param lease
+	 *            Lease of the buffer
+	 */
+	public static void release(Lease lease) {
+		if (lease.released.compareAndSet(false, true)) {
+			lease.clear();
+			leases.remove(lease);
+			recycle(lease.buffer);
+		}
+	}
+
+	/**
+	 * Get the number of outstanding leases.
+	 * 
+	 * @return Number of outstanding leases
+	 */
+	public static int getOutstanding() {
+		return leases.size();
+	}
+
+	/**
+	 * Keep a buffer for reuse: as the current thread's buffer if it has none,
+	 * otherwise in the shared pool if that is not full.
+	 * 
+	 * @param buffer
+	 *            Buffer
+	 */
+	private static void recycle(ByteBuffer buffer) {
+		if (local.get() == null) {
+			local.set(buffer);
+			return;
+		}
+		Integer capacity = Integer.valueOf(buffer.capacity());
+		Pool pool = pools.get(capacity);
+		if (pool == null) {
+			Pool newPool = new Pool();
+			pool = pools.putIfAbsent(capacity, newPool);
+			if (pool == null) {
+				pool = newPool;
+			}
+		}
+		pool.offer(buffer);
+	}
+
+	/**
+	 * Recover the buffers of leases whose owners became unreachable without
+	 * releasing them.
+	 */
+	private static void recoverLeaks() {
+		Object ref;
+		while ((ref = unreachable.poll()) != null) {
+			Lease lease = (Lease) ref;
+			if (lease.released.compareAndSet(false, true)) {
+				leases.remove(lease);
+				MetricsRegistry.getInstance().increment(
+						MetricsRegistry.BUFFER_POOL_LEAKS);
+				log.log(Level.WARNING, "{0} was never closed; recovering its " +
+						"{1,number,#} byte buffer", new Object[] {lease.ownerName,
+						Integer.valueOf(lease.buffer.capacity())});
+				recycle(lease.buffer);
+			}
+		}
+	}
+
+	/**
+	 * Lease of a pooled buffer.  The lease weakly references its owner, so
+	 * that a leaked buffer can be recovered once the owner is collected.
+	 */
+	public static final class Lease
+		extends WeakReference<Object>
+	{
+		/** Borrowed buffer. */
+		protected final ByteBuffer buffer;
+
+		/** Class name of the owner, for leak reports. */
+		protected final String ownerName;
+
+		/** Released status: true once the buffer has been returned. */
+		protected final AtomicBoolean released = new AtomicBoolean();
+
+		/**
+		 * Instantiate a new <code>Lease</code>.
+		 * 
+		 * @param owner
+		 *            Owner of the lease
+		 * @param buffer
+		 *            Borrowed buffer
+		 */
+		Lease(Object owner, ByteBuffer buffer) {
+			super(owner, unreachable);
+			this.buffer    = buffer;
+			this.ownerName = owner.getClass().getName();
+		}
+
+		/**
+		 * Get the borrowed buffer.
+		 * 
+		 * @return Borrowed buffer
+		 */
+		public ByteBuffer getBuffer() {
+			return this.buffer;
+		}
+	}
+
+	/**
+	 * Bounded queue of shared buffers of one capacity.
+	 */
+	private static final class Pool {
+		/** Buffers. */
+		private final ConcurrentLinkedQueue<ByteBuffer> buffers =
+			new ConcurrentLinkedQueue<ByteBuffer>();
+
+		/** Number of buffers, maintained separately since the size of a
+		 * concurrent queue is not a constant-time operation.
+		 */
+		private final AtomicInteger size = new AtomicInteger();
+
+		/**
+		 * Take a buffer.
+		 * 
+		 * @return Buffer, or null if none
+		 */
+		ByteBuffer poll() {
+			ByteBuffer buffer = this.buffers.poll();
+			if (buffer != null) {
+				this.size.decrementAndGet();
+			}
+			return buffer;
+		}
+
+		/**
+		 * Keep a buffer, unless the pool is full.
+		 * 
+		 * @param buffer
+		 *            Buffer
+		 */
+		void offer(ByteBuffer buffer) {
+			if (this.size.incrementAndGet() <= MAX_POOLED) {
+				this.buffers.offer(buffer);
+			}
+			else {
+				this.size.decrementAndGet();
+			}
+		}
+	}
+}
@@ -39,7 +39,6 @@ package org.jhove2.core.io;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import org.jhove2.core.JHOVE2;
 
@@ -85,9 +84,9 @@ public class DirectInput
 		super(jhove2, file, isTemp, order);
 		this.bufferType = Type.Direct;
 		
-		/* Allocate direct buffer and initialize it. */
-		this.buffer =
-		    ByteBuffer.allocateDirect(this.maxBufferSize).order(order);
+		/* Borrow a direct buffer and initialize it. */
+		this.lease  = DirectBufferPool.acquire(this, this.maxBufferSize);
+		this.buffer = this.lease.getBuffer().order(order);
 		getNextBuffer();
 	}
 }
@@ -35,6 +35,7 @@ package org.jhove2.core.io;
 
 import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 
@@ -45,9 +46,11 @@ import java.nio.ByteOrder;
  * @author MStrong
  */
 public interface Input  {
-	/** AbstractInput buffer type. */
+	/** AbstractInput buffer type.  SegmentedMapped maps the file one
+	 * segment at a time, so it is not limited to MAX_MAPPED_FILE.
+	 */
 	public enum Type {
-		Direct, NonDirect, Mapped
+		Direct, NonDirect, Mapped, SegmentedMapped
 	};
 
 	/** Marker indicating end-of-file. */
@@ -59,6 +62,24 @@ public interface Input  {
 	/** Maximum file size region that can mapped ~1.6 GB. */
 	public final static int MAX_MAPPED_FILE = 1717986918;
 
+	/**
+	 * Get an input stream over a byte range of the input.  The stream reads
+	 * through the input's own channel, so no further file descriptor is
+	 * opened; it neither moves the input position nor closes the input when
+	 * it is closed, and it is only usable while the input is open.
+	 * 
+	 * @param offset
+	 *            Starting offset of the range in the input
+	 * @param length
+	 *            Range length, or a negative value to read to the end of the
+	 *            input
+	 * @return Input stream over the range
+	 * @throws IOException
+	 *             I/O exception getting the stream
+	 */
+	public InputStream asInputStream(long offset, long length)
+		throws IOException;
+
 	/**
 	 * Close the input and release all underlying system I/O resources.
 	 * 
@@ -215,6 +236,115 @@ public interface Input  {
 	 *             I/O exception reading int
 	 */
 	public long readUnsignedInt() throws IOException;
+
+	/**
+	 * Read bytes at the current position into a buffer, until the buffer is
+	 * full or EOF is reached.  The bytes are copied directly from the
+	 * underlying buffer window. This implicitly advances the current position
+	 * by the number of bytes read.
+	 * 
+	 * @param dst
+	 *            Destination buffer
+	 * @return Number of bytes read, or -1 if EOF
+	 * @throws IOException
+	 *             I/O exception reading bytes
+	 */
+	public int readBytes(ByteBuffer dst) throws IOException;
+
+	/**
+	 * Read bytes at the current position, filling the array. This implicitly
+	 * advances the current position by the length of the array.
+	 * 
+	 * @param dst
+	 *            Destination array
+	 * @throws EOFException
+	 *             If EOF is reached before the array is filled
+	 * @throws IOException
+	 *             I/O exception reading bytes
+	 */
+	public void readFully(byte[] dst) throws EOFException, IOException;
+
+	/**
+	 * Read bytes at the current position into a region of an array. This
+	 * implicitly advances the current position by the length of the region.
+	 * 
+	 * @param dst
+	 *            Destination array
+	 * @param off
+	 *            Offset of the region in the array
+	 * @param len
+	 *            Length of the region
+	 * @throws EOFException
+	 *             If EOF is reached before the region is filled
+	 * @throws IOException
+	 *             I/O exception reading bytes
+	 */
+	public void readFully(byte[] dst, int off, int len)
+		throws EOFException, IOException;
+
+	/**
+	 * Read signed (four byte) integers at the current position, in the current
+	 * byte order. This implicitly advances the current position by four bytes
+	 * per integer read.
+	 * 
+	 * @param dst
+	 *            Destination array
+	 * @param n
+	 *            Number of integers to read
+	 * @return Number of integers read, less than <code>n</code> only if EOF
+	 *         is reached
+	 * @throws IOException
+	 *             I/O exception reading integers
+	 */
+	public int readInts(int[] dst, int n) throws IOException;
+
+	/**
+	 * Read signed shorts at the current position, in the current byte order.
+	 * This implicitly advances the current position by two bytes per short
+	 * read.
+	 * 
+	 * @param dst
+	 *            Destination array
+	 * @param n
+	 *            Number of shorts to read
+	 * @return Number of shorts read, less than <code>n</code> only if EOF is
+	 *         reached
+	 * @throws IOException
+	 *             I/O exception reading shorts
+	 */
+	public int readShorts(short[] dst, int n) throws IOException;
+
+	/**
+	 * Read unsigned (four byte) integers at the current position, in the
+	 * current byte order. This implicitly advances the current position by
+	 * four bytes per integer read.
+	 * 
+	 * @param dst
+	 *            Destination array
+	 * @param n
+	 *            Number of integers to read
+	 * @return Number of integers read, less than <code>n</code> only if EOF
+	 *         is reached
+	 * @throws IOException
+	 *             I/O exception reading integers
+	 */
+	public int readUnsignedInts(long[] dst, int n) throws IOException;
+
+	/**
+	 * Read unsigned short (two byte) integers at the current position, in the
+	 * current byte order. This implicitly advances the current position by two
+	 * bytes per short read.
+	 * 
+	 * @param dst
+	 *            Destination array
+	 * @param n
+	 *            Number of shorts to read
+	 * @return Number of shorts read, less than <code>n</code> only if EOF is
+	 *         reached
+	 * @throws IOException
+	 *             I/O exception reading shorts
+	 */
+	public int readUnsignedShorts(int[] dst, int n) throws IOException;
     
     /** Reset the buffer position.  This method is only necessary after
      * a buffer has been retrieved via getBuffer() and the position of 
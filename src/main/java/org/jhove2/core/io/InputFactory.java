@@ -39,11 +39,16 @@ package org.jhove2.core.io;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.ByteOrder;
 
 import org.jhove2.core.Invocation;
 import org.jhove2.core.JHOVE2;
 import org.jhove2.core.io.Input.Type;
+import org.jhove2.core.metrics.MetricsRegistry;
+import org.jhove2.core.source.FileSource;
+import org.jhove2.core.source.Source;
+import org.jhove2.core.source.URLSource;
 
 /**
  * JHOVE2 {@link org.jhove2.core.io.Input} factory.
@@ -72,9 +77,9 @@ public class InputFactory {
 
 	/**
 	 * Factory to create an appropriate <code>AbstractInput</code>.  
-	 * MemoryMapped IO will not be used for files which are larger 
-	 * than Integer.MAX_VALUE (2GB on most systems) and Direct IO
-	 * Input type will be returned.
+	 * A single memory map will not be used for files which are larger 
+	 * than Input.MAX_MAPPED_FILE; a SegmentedMapped Input type will be
+	 * returned instead.
 	 *  
 	 * NOTE: A process is limited to 2GB of virtual memory on 32-bit 
 	 * editions of Windows which means it is not possible to map 
@@ -113,17 +118,79 @@ public class InputFactory {
 		    }
 		    else if (type.equals(Type.Mapped)) {
 		        /* Only files smaller than Input.MAX_MAPPED_FILESIZE can utilize 
-		         * MappedByteBuffers 
+		         * a single MappedByteBuffer; larger files are mapped a segment
+		         * at a time.
 		         */
 		        if (file.length() < Input.MAX_MAPPED_FILE) {
 		            input = new MappedInput(jhove2, file, isTemp, order);
 		        }
 		        else {
-		            input = new DirectInput(jhove2, file, isTemp, order);
+		            input = new SegmentedMappedInput(jhove2, file, isTemp, order);
 		        }
 		    }
+		    else if (type.equals(Type.SegmentedMapped)) {
+		        input = new SegmentedMappedInput(jhove2, file, isTemp, order);
+		    }
+		}
+		if (input != null) {
+		    MetricsRegistry.getInstance().increment(MetricsRegistry.INPUTS_OPENED_KEYS.get(input.getBufferType()));
 		}
 
 		return input;
 	}
+
+	/**
+	 * Factory to create an <code>AbstractInput</code> over a byte range of a
+	 * file, read in place rather than copied into a temporary file.
+	 * Positions of the input are relative to the start of the range.
+	 * @param jhove2 JHOVE2 framework object
+	 * @param file
+	 *            Java {java.io.File} holding the range
+	 * @param offset
+	 *            Starting offset of the range in the file
+	 * @param size
+	 *            Size of the range, in bytes
+	 * @param order
+	 *            ByteOrder Endianess of buffer
+	 * @return Input, or null if the file cannot be read
+	 * @throws FileNotFoundException
+	 *             File not found
+	 * @throws IOException
+	 *             I/O exception instantiating input
+	 */
+	public static Input getInput(JHOVE2 jhove2, File file, long offset,
+	                             long size, ByteOrder order)
+	    throws IOException
+	{
+		AbstractInput input = null;
+		if (file != null && file.exists() && file.canRead()) {
+		    input = new RangeInput(jhove2, file, offset, size, order);
+		    MetricsRegistry.getInstance().increment(MetricsRegistry.INPUTS_OPENED_KEYS.get(input.getBufferType()));
+		}
+
+		return input;
+	}
+
+	/**
+	 * Get an input stream over a source unit.  If the input was opened on
+	 * the source unit's own file, the stream is read through the input's
+	 * channel rather than by opening the file a second time; otherwise the
+	 * source unit opens a stream of its own.
+	 * @param source
+	 *            Source unit
+	 * @param input
+	 *            Source unit input, or null
+	 * @return Input stream over the source unit
+	 * @throws IOException
+	 *             I/O exception getting the stream
+	 */
+	public static InputStream getInputStream(Source source, Input input)
+	    throws IOException
+	{
+		if (input != null &&
+		    (source instanceof FileSource || source instanceof URLSource)) {
+			return input.asInputStream(0L, -1L);
+		}
+		return source.getInputStream();
+	}
 }
@@ -44,6 +44,7 @@ import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import org.jhove2.core.JHOVE2;
 import org.jhove2.core.io.Input.Type;
+import org.jhove2.core.metrics.MetricsRegistry;
 
 /**
  * JHOVE2 mapped inputable. A direct byte buffer whose content is a
@@ -116,5 +117,19 @@ public class MappedInput
 		this.inputablePosition = this.inputablePosition + bufferSize;
 		this.bufferOffset = this.channel.position() - buffer.capacity();
 		this.bufferSize = buffer.capacity();
+		MetricsRegistry.getInstance().add(MetricsRegistry.BYTES_READ_KEYS.get(this.bufferType),
+				                          this.bufferSize);
+	}
+
+	/**
+	 * The whole file is mapped as a single buffer window, so there is never
+	 * a next window to advance to.
+	 * 
+	 * @return False
+	 * @see org.jhove2.core.io.AbstractInput#refill()
+	 */
+	@Override
+	protected boolean refill() {
+		return false;
 	}
 }
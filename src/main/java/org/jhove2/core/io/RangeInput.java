@@ -0,0 +1,226 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.jhove2.core.io;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+import org.jhove2.core.JHOVE2;
+import org.jhove2.core.metrics.MetricsRegistry;
+
+/**
+ * JHOVE2 inputable over a byte range of a file.  Positions are relative to
+ * the start of the range, so the input reads exactly as if the range had been
+ * copied into a file of its own, but the bytes are read in place with
+ * positional {@link java.nio.channels.FileChannel} reads.  The range is
+ * memory-mapped if the {@link org.jhove2.core.Invocation} buffer type is
+ * {@link org.jhove2.core.io.Input.Type#Mapped} and the range is small enough.
+ */
+public class RangeInput
+    extends AbstractInput
+{
+	/** Starting offset of the range in the file. */
+	protected long rangeOffset;
+
+	/** Size of the range, in bytes. */
+	protected long rangeSize;
+
+	/** Offset, relative to the range, of the next buffer window to read. */
+	protected long nextOffset;
+
+	/** Mapped status: true if the whole range is mapped as one window. */
+	protected boolean isMapped;
+
+	/**
+	 * Instantiate a new <code>RangeInput</code>.
+	 * @param jhove2 JHOVE2 framework object
+	 * @param file
+	 *            Java {@link java.io.File} holding the range
+	 * @param offset
+	 *            Starting offset of the range in the file
+	 * @param size
+	 *            Size of the range, in bytes
+	 * @param order
+	 *            Byte order
+	 * @throws FileNotFoundException
+	 *             File not found
+	 * @throws IOException
+	 *             I/O exception instantiating input
+	 */
+	public RangeInput(JHOVE2 jhove2, File file, long offset, long size,
+			          ByteOrder order)
+		throws FileNotFoundException, IOException
+	{
+		super(jhove2, order);
+		this.file        = file;
+		this.isTemp      = false;
+		this.rangeOffset = offset;
+		this.rangeSize   = size;
+		this.channel     = new RandomAccessFile(file, "r").getChannel();
+
+		Type type = jhove2.getInvocation().getBufferType();
+		if ((type == Type.Mapped || type == Type.SegmentedMapped) &&
+			size < MAX_MAPPED_FILE) {
+			this.bufferType = Type.Mapped;
+			this.isMapped   = true;
+			this.buffer = this.channel.map(FileChannel.MapMode.READ_ONLY,
+					                       offset, size).order(order);
+			this.bufferSize = this.buffer.capacity();
+			this.nextOffset = size;
+			MetricsRegistry.getInstance().add(MetricsRegistry.BYTES_READ_KEYS.get(this.bufferType),
+					                          this.bufferSize);
+		}
+		else {
+			this.bufferType = (type == Type.NonDirect) ? Type.NonDirect :
+				                                         Type.Direct;
+			if (this.bufferType == Type.Direct) {
+				this.lease  = DirectBufferPool.acquire(this, this.maxBufferSize);
+				this.buffer = this.lease.getBuffer().order(order);
+			}
+			else {
+				int capacity = (int) Math.min(this.maxBufferSize, size);
+				this.buffer = ByteBuffer.allocate(capacity).order(order);
+			}
+			getNextBuffer();
+		}
+	}
+
+	/**
+	 * Get an input stream over a byte range of the range, read through the
+	 * channel of the file holding it.
+	 * 
+	 * @param offset
+	 *            Starting offset, relative to the range
+	 * @param length
+	 *            Length, or a negative value to read to the end of the range
+	 * @return Input stream over the range
+	 * @throws IOException
+	 *             Input closed
+	 * @see org.jhove2.core.io.AbstractInput#asInputStream(long, long)
+	 */
+	@Override
+	public InputStream asInputStream(long offset, long length)
+		throws IOException
+	{
+		if (this.channel == null) {
+			throw new IOException("Input closed");
+		}
+		long size = Math.max(0L, this.rangeSize - offset);
+		if (length >= 0L && length < size) {
+			size = length;
+		}
+		return new RangeInputStream(this.channel, this.rangeOffset + offset,
+				                    size, STREAM_BUFFER_SIZE);
+	}
+
+	/**
+	 * Get the next buffer's worth of data from the range, using a positional
+	 * read that leaves the channel position untouched.
+	 * 
+	 * @return Number of bytes actually read, or -1 if EOF
+	 * @throws IOException
+	 * @see org.jhove2.core.io.AbstractInput#getNextBuffer()
+	 */
+	@Override
+	protected long getNextBuffer() throws IOException {
+		if (this.buffer == null || this.channel == null || this.isMapped) {
+			return EOF;
+		}
+		long remaining = this.rangeSize - this.nextOffset;
+		if (remaining <= 0L) {
+			return EOF;
+		}
+		this.buffer.clear();
+		if (remaining < this.buffer.capacity()) {
+			this.buffer.limit((int) remaining);
+		}
+		int n = 0;
+		while (this.buffer.hasRemaining()) {
+			int r = this.channel.read(this.buffer,
+					                  this.rangeOffset + this.nextOffset + n);
+			if (r < 0) {
+				break;
+			}
+			n += r;
+		}
+		this.buffer.flip();
+		if (n == 0) {
+			return EOF;
+		}
+		MetricsRegistry.getInstance().add(MetricsRegistry.BYTES_READ_KEYS.get(this.bufferType),
+				                          n);
+		this.bufferOffset = this.nextOffset;
+		this.bufferSize   = n;
+		this.nextOffset  += n;
+		this.inputablePosition = this.bufferOffset;
+		return n;
+	}
+
+	/**
+	 * Set the current position, as a byte offset relative to the start of
+	 * the range.
+	 * 
+	 * @param position
+	 *            Current position, as a byte offset
+	 * @throws IOException
+	 * @see org.jhove2.core.io.AbstractInput#setPosition(long)
+	 */
+	@Override
+	public void setPosition(long position) throws IOException {
+		long del = position - this.bufferOffset;
+		if (del >= 0L && del < this.buffer.limit()) {
+			this.buffer.position((int) del);
+		}
+		else if (this.isMapped) {
+			/* Outside the range: leave nothing to read. */
+			this.buffer.position(this.buffer.limit());
+		}
+		else {
+			this.nextOffset = position;
+			if (getNextBuffer() == EOF) {
+				this.buffer.clear();
+				this.buffer.limit(0);
+				this.bufferOffset = position;
+				this.bufferSize   = 0;
+			}
+		}
+		this.inputablePosition = position;
+	}
+}
@@ -0,0 +1,263 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.jhove2.core.io;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Input stream over a byte range of a file.  The bytes are read in place
+ * with positional {@link java.nio.channels.FileChannel} reads, so the range
+ * never needs to be copied into a file of its own, and the stream can share
+ * the channel of an open {@link org.jhove2.core.io.Input} without disturbing
+ * its position.
+ */
+public class RangeInputStream
+    extends InputStream
+{
+	/** Empty buffer, standing in for the read-ahead buffer until needed. */
+	private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+	/** Channel of the file holding the range. */
+	protected FileChannel channel;
+
+	/** Starting offset of the range in the file. */
+	protected long rangeOffset;
+
+	/** Size of the range, in bytes. */
+	protected long rangeSize;
+
+	/** Offset, relative to the range, of the next byte to fill the buffer. */
+	protected long nextOffset;
+
+	/** True if the channel was opened by, and is closed with, the stream. */
+	protected boolean ownsChannel;
+
+	/** Read-ahead buffer size, in bytes. */
+	protected int bufferSize;
+
+	/** Buffer of bytes read ahead for single-byte and small reads, allocated
+	 * on the first such read.
+	 */
+	protected ByteBuffer buffer;
+
+	/**
+	 * Instantiate a new <code>RangeInputStream</code>.
+	 * 
+	 * @param file
+	 *            Java {@link java.io.File} holding the range
+	 * @param offset
+	 *            Starting offset of the range in the file
+	 * @param size
+	 *            Size of the range, in bytes
+	 * @param bufferSize
+	 *            Read-ahead buffer size, in bytes
+	 * @throws FileNotFoundException
+	 *             File not found
+	 */
+	public RangeInputStream(File file, long offset, long size, int bufferSize)
+		throws FileNotFoundException
+	{
+		this(new RandomAccessFile(file, "r").getChannel(), offset, size,
+		     bufferSize);
+		this.ownsChannel = true;
+	}
+
+	/**
+	 * Instantiate a new <code>RangeInputStream</code> over a channel opened
+	 * elsewhere.  The channel is left open when the stream is closed.
+	 * 
+	 * @param channel
+	 *            Channel of the file holding the range
+	 * @param offset
+	 *            Starting offset of the range in the file
+	 * @param size
+	 *            Size of the range, in bytes
+	 * @param bufferSize
+	 *            Read-ahead buffer size, in bytes
+	 */
+	public RangeInputStream(FileChannel channel, long offset, long size,
+			                int bufferSize)
+	{
+		this.channel     = channel;
+		this.rangeOffset = offset;
+		this.rangeSize   = size;
+		this.bufferSize  = (int) Math.max(1L, Math.min(bufferSize, size));
+		this.buffer      = EMPTY;
+	}
+
+	/**
+	 * Get the number of bytes that remain in the range.
+	 * 
+	 * @return Number of bytes remaining
+	 * @see java.io.InputStream#available()
+	 */
+	@Override
+	public int available() throws IOException {
+		long remaining = this.buffer.remaining() +
+		                 this.rangeSize - this.nextOffset;
+		return (int) Math.min(remaining, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Close the stream, and its channel if the stream opened it.
+	 * 
+	 * @see java.io.InputStream#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		if (this.channel != null) {
+			if (this.ownsChannel) {
+				this.channel.close();
+			}
+			this.channel = null;
+		}
+	}
+
+	/**
+	 * Read the next byte of the range.
+	 * 
+	 * @return Next byte, or -1 at the end of the range
+	 * @see java.io.InputStream#read()
+	 */
+	@Override
+	public int read() throws IOException {
+		if (!this.buffer.hasRemaining()) {
+			if (this.buffer == EMPTY) {
+				this.buffer = ByteBuffer.allocate(this.bufferSize);
+			}
+			this.buffer.clear();
+			if (readRange(this.buffer) <= 0) {
+				this.buffer.limit(0);
+				return -1;
+			}
+			this.buffer.flip();
+		}
+		return this.buffer.get() & 0xff;
+	}
+
+	/**
+	 * Read bytes of the range into an array.  Buffered bytes are served
+	 * first; reads at least as large as the buffer go straight to the channel.
+	 * 
+	 * @param b
+	 *            Destination array
+	 * @param off
+	 *            Offset in the array
+	 * @param len
+	 *            Maximum number of bytes to read
+	 * @return Number of bytes read, or -1 at the end of the range
+	 * @see java.io.InputStream#read(byte[], int, int)
+	 */
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		int n = Math.min(len, this.buffer.remaining());
+		if (n > 0) {
+			this.buffer.get(b, off, n);
+			return n;
+		}
+		if (len >= this.bufferSize) {
+			int r = readRange(ByteBuffer.wrap(b, off, len));
+			return (r > 0) ? r : -1;
+		}
+		int c = read();
+		if (c < 0) {
+			return -1;
+		}
+		b[off] = (byte) c;
+		n = Math.min(len - 1, this.buffer.remaining());
+		this.buffer.get(b, off + 1, n);
+		return n + 1;
+	}
+
+	/**
+	 * Skip bytes of the range, without reading them.
+	 * 
+	 * @param n
+	 *            Number of bytes to skip
+	 * @return Number of bytes skipped
+	 * @see java.io.InputStream#skip(long)
+	 */
+	@Override
+	public long skip(long n) throws IOException {
+		if (n <= 0L) {
+			return 0L;
+		}
+		long skipped = Math.min(n, this.buffer.remaining());
+		this.buffer.position(this.buffer.position() + (int) skipped);
+		long rest = Math.min(n - skipped, this.rangeSize - this.nextOffset);
+		this.nextOffset += rest;
+		return skipped + rest;
+	}
+
+	/**
+	 * Fill a buffer from the unread part of the range with positional reads.
+	 * 
+	 * @param dst
+	 *            Destination buffer
+	 * @return Number of bytes read, or -1 at the end of the range
+	 * @throws IOException
+	 */
+	protected int readRange(ByteBuffer dst) throws IOException {
+		if (this.channel == null) {
+			throw new IOException("Stream closed");
+		}
+		long remaining = this.rangeSize - this.nextOffset;
+		if (remaining <= 0L) {
+			return -1;
+		}
+		if (remaining < dst.remaining()) {
+			dst.limit(dst.position() + (int) remaining);
+		}
+		int n = 0;
+		while (dst.hasRemaining()) {
+			int r = this.channel.read(dst,
+					                  this.rangeOffset + this.nextOffset + n);
+			if (r < 0) {
+				break;
+			}
+			n += r;
+		}
+		this.nextOffset += n;
+		return (n > 0) ? n : -1;
+	}
+}
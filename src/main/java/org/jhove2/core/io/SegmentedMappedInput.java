@@ -0,0 +1,256 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.jhove2.core.io;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+import org.jhove2.core.JHOVE2;
+import org.jhove2.core.metrics.MetricsRegistry;
+
+/**
+ * JHOVE2 segmented mapped inputable.  Unlike {@link MappedInput}, which maps
+ * the whole file as a single buffer and so is limited to
+ * {@link Input#MAX_MAPPED_FILE}, the file is mapped one fixed-size segment at
+ * a time, so files of any size can be read without read system calls or
+ * buffer copies.  Segments are contiguous; a value straddling two segments is
+ * assembled from the tail of one and the head of the next, as for any other
+ * buffer window.
+ * <p>
+ * Each segment is unmapped as soon as the input moves to another one, or is
+ * closed, rather than when the buffer is garbage collected.  A buffer
+ * obtained from {@link #getBuffer()} is therefore only valid until the
+ * position next leaves its segment.
+ */
+public class SegmentedMappedInput
+    extends AbstractInput
+{
+	/** Default segment size, in bytes: 1 GB. */
+	public static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+	/** Method unmapping a buffer (Java 9 and later), or null. */
+	private static final Method invokeCleaner;
+
+	/** Receiver of {@link #invokeCleaner}. */
+	private static final Object unsafe;
+
+	static {
+		Method method   = null;
+		Object receiver = null;
+		try {
+			Class<?> cl = Class.forName("sun.misc.Unsafe");
+			method = cl.getMethod("invokeCleaner", ByteBuffer.class);
+			Field field = cl.getDeclaredField("theUnsafe");
+			field.setAccessible(true);
+			receiver = field.get(null);
+		}
+		catch (Exception e) {
+			/* Before Java 9: use the buffer's own cleaner. */
+			method   = null;
+			receiver = null;
+		}
+		invokeCleaner = method;
+		unsafe        = receiver;
+	}
+
+	/** Segment size, in bytes. */
+	protected int segmentSize;
+
+	/** File size, in bytes. */
+	protected long fileSize;
+
+	/**
+	 * Instantiate a new <code>SegmentedMappedInput</code> object with the
+	 * default segment size.
+	 * @param jhove2 JHOVE2 framework object
+	 * @param file
+	 *            Java {@link java.io.File} underlying the inputable
+	 * @param isTemp
+	 *            Temporary file status: true if temporary
+	 * @param order
+	 *            Byte order
+	 * @throws FileNotFoundException
+	 *             File not found
+	 * @throws IOException
+	 *             I/O exception instantiating input
+	 */
+	public SegmentedMappedInput(JHOVE2 jhove2, File file, boolean isTemp,
+			                    ByteOrder order)
+		throws FileNotFoundException, IOException
+	{
+		this(jhove2, file, isTemp, order, DEFAULT_SEGMENT_SIZE);
+	}
+
+	/**
+	 * Instantiate a new <code>SegmentedMappedInput</code> object.
+	 * @param jhove2 JHOVE2 framework object
+	 * @param file
+	 *            Java {@link java.io.File} underlying the inputable
+	 * @param isTemp
+	 *            Temporary file status: true if temporary
+	 * @param order
+	 *            Byte order
+	 * @param segmentSize
+	 *            Segment size, in bytes
+	 * @throws FileNotFoundException
+	 *             File not found
+	 * @throws IOException
+	 *             I/O exception instantiating input
+	 */
+	public SegmentedMappedInput(JHOVE2 jhove2, File file, boolean isTemp,
+			                    ByteOrder order, int segmentSize)
+		throws FileNotFoundException, IOException
+	{
+		super(jhove2, file, isTemp, order);
+		this.bufferType  = Type.SegmentedMapped;
+		this.segmentSize = segmentSize;
+		this.fileSize    = this.channel.size();
+
+		/* Consumers that step through the input a buffer at a time (such as
+		 * the digesters) use the maximum buffer size as their stride.
+		 */
+		this.maxBufferSize = (int) Math.max(1L, Math.min(segmentSize,
+				                                             this.fileSize));
+		this.buffer = ByteBuffer.allocate(0).order(order);
+		map(0L);
+	}
+
+	/**
+	 * Close the inputable, unmapping the current segment.
+	 * 
+	 * @see org.jhove2.core.io.AbstractInput#close()
+	 */
+	@Override
+	public void close()
+	    throws IOException
+	{
+		unmap(this.buffer);
+		super.close();
+	}
+
+	/**
+	 * Map the next segment.
+	 * 
+	 * @return Size of the segment, or -1 if EOF
+	 * @throws IOException
+	 * @see org.jhove2.core.io.AbstractInput#getNextBuffer()
+	 */
+	@Override
+	protected long getNextBuffer() throws IOException {
+		return map(this.bufferOffset + this.bufferSize);
+	}
+
+	/**
+	 * Set the current position, as a byte offset, mapping the segment
+	 * starting there if the position is outside the current segment.
+	 * 
+	 * @param position
+	 *            Current position, as a byte offset
+	 * @throws IOException
+	 * @see org.jhove2.core.io.AbstractInput#setPosition(long)
+	 */
+	@Override
+	public void setPosition(long position) throws IOException {
+		long del = position - this.bufferOffset;
+		if (del >= 0L && del < this.bufferSize) {
+			this.buffer.position((int) del);
+		}
+		else if (map(position) == EOF) {
+			/* Past the end of the file: leave nothing to read. */
+			this.buffer.position(this.buffer.limit());
+		}
+		this.inputablePosition = position;
+	}
+
+	/**
+	 * Map the segment starting at an offset, unmapping the current one.
+	 * 
+	 * @param offset
+	 *            Starting offset of the segment
+	 * @return Size of the segment, or -1 if EOF
+	 * @throws IOException
+	 */
+	protected long map(long offset) throws IOException {
+		if (this.channel == null || offset >= this.fileSize) {
+			return EOF;
+		}
+		int size = (int) Math.min(this.segmentSize, this.fileSize - offset);
+		ByteBuffer segment =
+			this.channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+		unmap(this.buffer);
+		this.buffer = segment.order(this.byteOrder);
+		this.bufferOffset = offset;
+		this.bufferSize   = size;
+		this.inputablePosition = offset;
+		MetricsRegistry.getInstance().add(MetricsRegistry.BYTES_READ_KEYS.get(this.bufferType),
+				                          size);
+		return size;
+	}
+
+	/**
+	 * Unmap a mapped buffer now, rather than when it is garbage collected.
+	 * If the platform offers no way to do so, the buffer is left to the
+	 * garbage collector.
+	 * 
+	 * @param buffer
+	 *            Buffer, possibly null or not mapped
+	 */
+	protected static void unmap(ByteBuffer buffer) {
+		if (buffer == null || !buffer.isDirect()) {
+			return;
+		}
+		try {
+			if (invokeCleaner != null) {
+				invokeCleaner.invoke(unsafe, buffer);
+			}
+			else {
+				Method method = buffer.getClass().getMethod("cleaner");
+				method.setAccessible(true);
+				Object cleaner = method.invoke(buffer);
+				if (cleaner != null) {
+					cleaner.getClass().getMethod("clean").invoke(cleaner);
+				}
+			}
+		}
+		catch (Exception e) {
+			/* Leave the segment to be unmapped by garbage collection. */
+		}
+	}
+}
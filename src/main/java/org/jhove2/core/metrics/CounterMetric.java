@@ -0,0 +1,91 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.core.metrics;
+
+import org.jhove2.annotation.ReportableProperty;
+import org.jhove2.core.reportable.AbstractReportable;
+
+import com.sleepycat.persist.model.Persistent;
+
+/**
+ * Reportable snapshot of a named {@link StripedCounter}.
+ */
+@Persistent
+public class CounterMetric
+	extends AbstractReportable
+{
+	/** Counter name. */
+	protected String name;
+
+	/** Counter value. */
+	protected long value;
+
+	/** Instantiate a new <code>CounterMetric</code>. */
+	public CounterMetric() {
+		super();
+	}
+
+	/**
+	 * Instantiate a new <code>CounterMetric</code>.
+	 * 
+	 * @param name  Counter name
+	 * @param value Counter value
+	 */
+	public CounterMetric(String name, long value) {
+		this();
+		this.name  = name;
+		this.value = value;
+	}
+
+	/**
+	 * Get counter name.
+	 * 
+	 * @return Counter name
+	 */
+	@ReportableProperty(order = 1, value = "Counter name.")
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Get counter value.
+	 * 
+	 * @return Counter value
+	 */
+	@ReportableProperty(order = 2, value = "Counter value.")
+	public long getValue() {
+		return this.value;
+	}
+}
@@ -0,0 +1,214 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe histogram of non-negative long values (typically elapsed
+ * nanoseconds or byte counts) with bounded relative error, in the manner
+ * of an HDR histogram.  Values are recorded into log-linear buckets: each
+ * power of two is divided into {@link #SUB_BUCKETS} linear sub-buckets, so
+ * any recorded value is reported to within about 3% of its true value,
+ * with a fixed memory footprint and no allocation on the recording path.
+ */
+public class Histogram {
+	/** Number of bits of linear resolution within each power of two. */
+	public static final int SUB_BUCKET_BITS = 5;
+
+	/** Number of linear sub-buckets within each power of two. */
+	public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/** Total number of buckets, sufficient for any non-negative long. */
+	protected static final int BUCKETS =
+		(64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	/** Bucket counts. */
+	protected final AtomicLongArray buckets;
+
+	/** Number of recorded values. */
+	protected final StripedCounter count;
+
+	/** Sum of recorded values. */
+	protected final StripedCounter sum;
+
+	/** Maximum recorded value. */
+	protected final AtomicLong max;
+
+	/**
+	 * Instantiate a new <code>Histogram</code>.
+	 */
+	public Histogram() {
+		this.buckets = new AtomicLongArray(BUCKETS);
+		this.count   = new StripedCounter();
+		this.sum     = new StripedCounter();
+		this.max     = new AtomicLong(0L);
+	}
+
+	/**
+	 * Record a value.  Negative values are recorded as zero.
+	 * 
+	 * @param value Value
+	 */
+	public void record(long value) {
+		if (value < 0L) {
+			value = 0L;
+		}
+		this.buckets.getAndIncrement(bucketIndex(value));
+		this.count.increment();
+		this.sum.add(value);
+		long current = this.max.get();
+		while (value > current) {
+			if (this.max.compareAndSet(current, value)) {
+				break;
+			}
+			current = this.max.get();
+		}
+	}
+
+	/**
+	 * Get the number of recorded values.
+	 * 
+	 * @return Number of recorded values
+	 */
+	public long getCount() {
+		return this.count.sum();
+	}
+
+	/**
+	 * Get the sum of recorded values.
+	 * 
+	 * @return Sum of recorded values
+	 */
+	public long getSum() {
+		return this.sum.sum();
+	}
+
+	/**
+	 * Get the maximum recorded value.
+	 * 
+	 * @return Maximum recorded value, or 0 if no values have been recorded
+	 */
+	public long getMax() {
+		return this.max.get();
+	}
+
+	/**
+	 * Get the mean of the recorded values.
+	 * 
+	 * @return Mean, or 0 if no values have been recorded
+	 */
+	public double getMean() {
+		long n = this.getCount();
+		if (n == 0L) {
+			return 0.0;
+		}
+		return (double) this.getSum() / (double) n;
+	}
+
+	/**
+	 * Get the value at a given percentile of the recorded values.
+	 * 
+	 * @param percentile Percentile, between 0.0 and 100.0
+	 * @return Value at the percentile, or 0 if no values have been recorded
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long total = 0L;
+		long[] counts = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = this.buckets.get(i);
+			total += counts[i];
+		}
+		if (total == 0L) {
+			return 0L;
+		}
+		long target = (long) Math.ceil((percentile / 100.0) * total);
+		if (target < 1L) {
+			target = 1L;
+		}
+		long seen = 0L;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= target) {
+				return Math.min(highestEquivalentValue(i), this.getMax());
+			}
+		}
+		return this.getMax();
+	}
+
+	/**
+	 * Reset the histogram.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			this.buckets.set(i, 0L);
+		}
+		this.count.reset();
+		this.sum.reset();
+		this.max.set(0L);
+	}
+
+	/**
+	 * Get the bucket index of a non-negative value.
+	 * 
+	 * @param value Value
+	 * @return Bucket index
+	 */
+	protected static int bucketIndex(long value) {
+		if (value < 2 * SUB_BUCKETS) {
+			return (int) value;
+		}
+		int msb   = 63 - Long.numberOfLeadingZeros(value);
+		int shift = msb - SUB_BUCKET_BITS;
+		int sub   = (int) (value >>> shift) - SUB_BUCKETS;
+		return (shift + 1) * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * Get the largest value that falls into a bucket.
+	 * 
+	 * @param index Bucket index
+	 * @return Largest value in the bucket
+	 */
+	protected static long highestEquivalentValue(int index) {
+		if (index < 2 * SUB_BUCKETS) {
+			return index;
+		}
+		int shift = index / SUB_BUCKETS - 1;
+		long sub  = SUB_BUCKETS + index % SUB_BUCKETS;
+		return ((sub + 1L) << shift) - 1L;
+	}
+}
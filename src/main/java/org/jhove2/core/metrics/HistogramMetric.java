@@ -0,0 +1,162 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.core.metrics;
+
+import org.jhove2.annotation.ReportableProperty;
+import org.jhove2.core.reportable.AbstractReportable;
+
+import com.sleepycat.persist.model.Persistent;
+
+/**
+ * Reportable snapshot of a named {@link Histogram}.  Latency histograms
+ * record nanoseconds.
+ */
+@Persistent
+public class HistogramMetric
+	extends AbstractReportable
+{
+	/** Histogram name. */
+	protected String name;
+
+	/** Number of recorded values. */
+	protected long count;
+
+	/** Mean of recorded values. */
+	protected long mean;
+
+	/** Median of recorded values. */
+	protected long p50;
+
+	/** 90th percentile of recorded values. */
+	protected long p90;
+
+	/** 99th percentile of recorded values. */
+	protected long p99;
+
+	/** Maximum recorded value. */
+	protected long max;
+
+	/** Instantiate a new <code>HistogramMetric</code>. */
+	public HistogramMetric() {
+		super();
+	}
+
+	/**
+	 * Instantiate a new <code>HistogramMetric</code>.
+	 * 
+	 * @param name      Histogram name
+	 * @param histogram Histogram
+	 */
+	public HistogramMetric(String name, Histogram histogram) {
+		this();
+		this.name  = name;
+		this.count = histogram.getCount();
+		this.mean  = Math.round(histogram.getMean());
+		this.p50   = histogram.getValueAtPercentile(50.0);
+		this.p90   = histogram.getValueAtPercentile(90.0);
+		this.p99   = histogram.getValueAtPercentile(99.0);
+		this.max   = histogram.getMax();
+	}
+
+	/**
+	 * Get histogram name.
+	 * 
+	 * @return Histogram name
+	 */
+	@ReportableProperty(order = 1, value = "Histogram name.")
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Get number of recorded values.
+	 * 
+	 * @return Number of recorded values
+	 */
+	@ReportableProperty(order = 2, value = "Number of recorded values.")
+	public long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Get mean of recorded values.
+	 * 
+	 * @return Mean of recorded values
+	 */
+	@ReportableProperty(order = 3, value = "Mean of recorded values.")
+	public long getMean() {
+		return this.mean;
+	}
+
+	/**
+	 * Get median of recorded values.
+	 * 
+	 * @return Median of recorded values
+	 */
+	@ReportableProperty(order = 4, value = "Median of recorded values.")
+	public long getP50() {
+		return this.p50;
+	}
+
+	/**
+	 * Get 90th percentile of recorded values.
+	 * 
+	 * @return 90th percentile of recorded values
+	 */
+	@ReportableProperty(order = 5, value = "90th percentile of recorded values.")
+	public long getP90() {
+		return this.p90;
+	}
+
+	/**
+	 * Get 99th percentile of recorded values.
+	 * 
+	 * @return 99th percentile of recorded values
+	 */
+	@ReportableProperty(order = 6, value = "99th percentile of recorded values.")
+	public long getP99() {
+		return this.p99;
+	}
+
+	/**
+	 * Get maximum recorded value.
+	 * 
+	 * @return Maximum recorded value
+	 */
+	@ReportableProperty(order = 7, value = "Maximum recorded value.")
+	public long getMax() {
+		return this.max;
+	}
+}
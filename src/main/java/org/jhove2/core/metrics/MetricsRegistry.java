@@ -0,0 +1,450 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.core.metrics;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.jhove2.core.JHOVE2Exception;
+
+/**
+ * JVM-wide registry of JHOVE2 hot-path metrics: named
+ * {@link StripedCounter counters} and {@link Histogram histograms}.
+ * Counters and histograms are created on first use and are safe for
+ * concurrent update; recording is a no-op when the registry is disabled.
+ * The registry may be exposed through JMX, written periodically by a
+ * {@link MetricsSummaryWriter}, and reported as a {@link Metrics}
+ * reportable.
+ */
+public class MetricsRegistry
+	implements MetricsRegistryMXBean
+{
+	/** JMX object name of the registry. */
+	public static final String OBJECT_NAME = "org.jhove2:type=Metrics";
+
+	/** Latency of each command, by command class: prefix. */
+	public static final String COMMAND_LATENCY = "command.latency.";
+
+	/** Latency of each format module, by module class: prefix. */
+	public static final String MODULE_LATENCY = "module.latency.";
+
+	/** Latency of source unit characterization. */
+	public static final String CHARACTERIZE_LATENCY = "characterize.latency";
+
+	/** Number of characterized source units, by source class: prefix. */
+	public static final String SOURCES = "sources.";
+
+	/** Number of inputs opened, by input buffer type: prefix. */
+	public static final String INPUTS_OPENED = "input.opened.";
+
+	/** Bytes read, by input buffer type: prefix. */
+	public static final String BYTES_READ = "input.bytesRead.";
+
+	/** Number of direct buffers reused from the buffer pool. */
+	public static final String BUFFER_POOL_HITS = "input.bufferPool.hits";
+
+	/** Number of direct buffers newly allocated by the buffer pool. */
+	public static final String BUFFER_POOL_MISSES = "input.bufferPool.misses";
+
+	/** Number of pooled buffers recovered from inputs never closed. */
+	public static final String BUFFER_POOL_LEAKS = "input.bufferPool.leaks";
+
+	/** Number of temporary files created. */
+	public static final String TEMP_FILES = "source.tempFiles";
+
+	/** Bytes spooled to temporary files. */
+	public static final String BYTES_SPOOLED = "source.bytesSpooled";
+
+	/** Number of DROID hits, by PUID: prefix. */
+	public static final String DROID_HITS = "droid.hits.";
+
+	/** Number of messages, by severity: prefix. */
+	public static final String MESSAGES = "messages.";
+
+	/** Number of BerkeleyDB puts, by entity kind: prefix. */
+	public static final String BDB_PUTS = "bdb.puts.";
+
+	/** Number of source units characterized from a cached result. */
+	public static final String RESULT_CACHE_HITS = "resultCache.hits";
+
+	/** Number of source units not found in the result cache. */
+	public static final String RESULT_CACHE_MISSES = "resultCache.misses";
+
+	/** Number of files keyed by an unchanged fingerprint, without reading. */
+	public static final String RESULT_CACHE_UNCHANGED = "resultCache.unchanged";
+
+	/** Number of ICC profiles reused from the profile cache. */
+	public static final String ICC_PROFILE_CACHE_HITS = "icc.profileCache.hits";
+
+	/** Number of ICC profiles not found in the profile cache. */
+	public static final String ICC_PROFILE_CACHE_MISSES = "icc.profileCache.misses";
+
+	/** Command latency metric names, by command class. */
+	public static final Keys COMMAND_LATENCY_KEYS = new Keys(COMMAND_LATENCY);
+
+	/** Module latency metric names, by module class. */
+	public static final Keys MODULE_LATENCY_KEYS = new Keys(MODULE_LATENCY);
+
+	/** Source unit metric names, by source class. */
+	public static final Keys SOURCES_KEYS = new Keys(SOURCES);
+
+	/** Opened input metric names, by buffer type. */
+	public static final Keys INPUTS_OPENED_KEYS = new Keys(INPUTS_OPENED);
+
+	/** Bytes read metric names, by buffer type. */
+	public static final Keys BYTES_READ_KEYS = new Keys(BYTES_READ);
+
+	/** DROID hit metric names, by PUID. */
+	public static final Keys DROID_HITS_KEYS = new Keys(DROID_HITS);
+
+	/** Message metric names, by severity. */
+	public static final Keys MESSAGES_KEYS = new Keys(MESSAGES);
+
+	/** Singleton registry. */
+	private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+	/** Counters, by name. */
+	protected final ConcurrentMap<String, StripedCounter> counters;
+
+	/** Histograms, by name. */
+	protected final ConcurrentMap<String, Histogram> histograms;
+
+	/** Metrics collection flag. */
+	protected volatile boolean enabled;
+
+	/** True if registered with the platform MBean server. */
+	protected boolean registered;
+
+	/**
+	 * Metric names that share a prefix.  Each name is built once per suffix
+	 * and then reused, so that recording a metric on a hot path does not
+	 * build a new string every time.
+	 */
+	public static final class Keys {
+		/** Metric name prefix. */
+		private final String prefix;
+
+		/** Metric names, by suffix. */
+		private final ConcurrentMap<Object, String> keys;
+
+		/**
+		 * Instantiate a new <code>Keys</code>.
+		 * 
+		 * @param prefix Metric name prefix
+		 */
+		public Keys(String prefix) {
+			this.prefix = prefix;
+			this.keys   = new ConcurrentHashMap<Object, String>();
+		}
+
+		/**
+		 * Get the metric name for a suffix.
+		 * 
+		 * @param suffix Suffix: a class (named by its simple name), or any
+		 *               other object (named by its string form)
+		 * @return Metric name
+		 */
+		public String get(Object suffix) {
+			if (suffix == null) {
+				return this.prefix + suffix;
+			}
+			String key = this.keys.get(suffix);
+			if (key == null) {
+				String name = (suffix instanceof Class<?>) ?
+					((Class<?>) suffix).getSimpleName() : suffix.toString();
+				key = this.prefix + name;
+				String prior = this.keys.putIfAbsent(suffix, key);
+				if (prior != null) {
+					key = prior;
+				}
+			}
+			return key;
+		}
+	}
+
+	/**
+	 * Instantiate a new <code>MetricsRegistry</code>.
+	 */
+	protected MetricsRegistry() {
+		this.counters   = new ConcurrentHashMap<String, StripedCounter>();
+		this.histograms = new ConcurrentHashMap<String, Histogram>();
+		this.enabled    = true;
+	}
+
+	/**
+	 * Get the JVM-wide metrics registry.
+	 * 
+	 * @return Metrics registry
+	 */
+	public static MetricsRegistry getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Get a counter, creating it if necessary.
+	 * 
+	 * @param name Counter name
+	 * @return Counter
+	 */
+	public StripedCounter getCounter(String name) {
+		StripedCounter counter = this.counters.get(name);
+		if (counter == null) {
+			StripedCounter newCounter = new StripedCounter();
+			counter = this.counters.putIfAbsent(name, newCounter);
+			if (counter == null) {
+				counter = newCounter;
+			}
+		}
+		return counter;
+	}
+
+	/**
+	 * Get a histogram, creating it if necessary.
+	 * 
+	 * @param name Histogram name
+	 * @return Histogram
+	 */
+	public Histogram getHistogram(String name) {
+		Histogram histogram = this.histograms.get(name);
+		if (histogram == null) {
+			Histogram newHistogram = new Histogram();
+			histogram = this.histograms.putIfAbsent(name, newHistogram);
+			if (histogram == null) {
+				histogram = newHistogram;
+			}
+		}
+		return histogram;
+	}
+
+	/**
+	 * Increment a counter by one.
+	 * 
+	 * @param name Counter name
+	 */
+	public void increment(String name) {
+		if (this.enabled) {
+			this.getCounter(name).increment();
+		}
+	}
+
+	/**
+	 * Add a value to a counter.
+	 * 
+	 * @param name  Counter name
+	 * @param delta Value to add
+	 */
+	public void add(String name, long delta) {
+		if (this.enabled) {
+			this.getCounter(name).add(delta);
+		}
+	}
+
+	/**
+	 * Record a value in a histogram.
+	 * 
+	 * @param name  Histogram name
+	 * @param value Value
+	 */
+	public void record(String name, long value) {
+		if (this.enabled) {
+			this.getHistogram(name).record(value);
+		}
+	}
+
+	/**
+	 * Record the nanoseconds elapsed since a start time in a histogram.
+	 * 
+	 * @param name      Histogram name
+	 * @param startNanos Start time, from {@link System#nanoTime()}
+	 */
+	public void recordElapsed(String name, long startNanos) {
+		if (this.enabled) {
+			this.getHistogram(name).record(System.nanoTime() - startNanos);
+		}
+	}
+
+	/**
+	 * Get the current values of all counters, sorted by name.
+	 * 
+	 * @return Counter values, by counter name
+	 * @see org.jhove2.core.metrics.MetricsRegistryMXBean#getCounters()
+	 */
+	@Override
+	public SortedMap<String, Long> getCounters() {
+		SortedMap<String, Long> map = new TreeMap<String, Long>();
+		for (Map.Entry<String, StripedCounter> entry : this.counters.entrySet()) {
+			map.put(entry.getKey(), Long.valueOf(entry.getValue().sum()));
+		}
+		return map;
+	}
+
+	/**
+	 * Get the histograms, sorted by name.
+	 * 
+	 * @return Histograms, by name
+	 */
+	public SortedMap<String, Histogram> getHistogramMap() {
+		return new TreeMap<String, Histogram>(this.histograms);
+	}
+
+	/**
+	 * Get one-line summaries of all histograms, sorted by name.
+	 * 
+	 * @return Histogram summaries, by histogram name
+	 * @see org.jhove2.core.metrics.MetricsRegistryMXBean#getHistograms()
+	 */
+	@Override
+	public SortedMap<String, String> getHistograms() {
+		SortedMap<String, String> map = new TreeMap<String, String>();
+		for (Map.Entry<String, Histogram> entry : this.getHistogramMap().entrySet()) {
+			map.put(entry.getKey(), summarize(entry.getValue()));
+		}
+		return map;
+	}
+
+	/**
+	 * Get the value at a percentile of a histogram.
+	 * 
+	 * @see org.jhove2.core.metrics.MetricsRegistryMXBean#getPercentile(java.lang.String, double)
+	 */
+	@Override
+	public long getPercentile(String name, double percentile) {
+		Histogram histogram = this.histograms.get(name);
+		if (histogram == null) {
+			return -1L;
+		}
+		return histogram.getValueAtPercentile(percentile);
+	}
+
+	/**
+	 * Get metrics collection flag.
+	 * 
+	 * @see org.jhove2.core.metrics.MetricsRegistryMXBean#isEnabled()
+	 */
+	@Override
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	/**
+	 * Set metrics collection flag.
+	 * 
+	 * @see org.jhove2.core.metrics.MetricsRegistryMXBean#setEnabled(boolean)
+	 */
+	@Override
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Reset all counters and histograms.
+	 * 
+	 * @see org.jhove2.core.metrics.MetricsRegistryMXBean#reset()
+	 */
+	@Override
+	public void reset() {
+		for (StripedCounter counter : this.counters.values()) {
+			counter.reset();
+		}
+		for (Histogram histogram : this.histograms.values()) {
+			histogram.reset();
+		}
+	}
+
+	/**
+	 * Register the registry with the platform MBean server, if it has not
+	 * already been registered.
+	 * 
+	 * @throws JHOVE2Exception
+	 *             if the registry cannot be registered
+	 */
+	public synchronized void registerMBean()
+		throws JHOVE2Exception
+	{
+		if (!this.registered) {
+			try {
+				MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+				ObjectName name = new ObjectName(OBJECT_NAME);
+				if (!server.isRegistered(name)) {
+					server.registerMBean(this, name);
+				}
+				this.registered = true;
+			}
+			catch (Exception e) {
+				throw new JHOVE2Exception("Unable to register metrics MBean " +
+						                  OBJECT_NAME, e);
+			}
+		}
+	}
+
+	/**
+	 * Write a plain-text summary of all counters and histograms.
+	 * 
+	 * @param out Print stream
+	 */
+	public void writeSummary(PrintStream out) {
+		for (Map.Entry<String, Long> entry : this.getCounters().entrySet()) {
+			out.println(entry.getKey() + " " + entry.getValue());
+		}
+		for (Map.Entry<String, String> entry : this.getHistograms().entrySet()) {
+			out.println(entry.getKey() + " " + entry.getValue());
+		}
+	}
+
+	/**
+	 * Summarize a histogram on one line.
+	 * 
+	 * @param histogram Histogram
+	 * @return Summary
+	 */
+	protected static String summarize(Histogram histogram) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("count=").append(histogram.getCount());
+		sb.append(" mean=").append(Math.round(histogram.getMean()));
+		sb.append(" p50=").append(histogram.getValueAtPercentile(50.0));
+		sb.append(" p90=").append(histogram.getValueAtPercentile(90.0));
+		sb.append(" p99=").append(histogram.getValueAtPercentile(99.0));
+		sb.append(" max=").append(histogram.getMax());
+		return sb.toString();
+	}
+}
@@ -0,0 +1,84 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.core.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX management interface for the JHOVE2 {@link MetricsRegistry}.
+ */
+public interface MetricsRegistryMXBean {
+	/**
+	 * Get the current values of all counters.
+	 * 
+	 * @return Counter values, by counter name
+	 */
+	public Map<String, Long> getCounters();
+
+	/**
+	 * Get one-line summaries of all histograms.
+	 * 
+	 * @return Histogram summaries, by histogram name
+	 */
+	public Map<String, String> getHistograms();
+
+	/**
+	 * Get the value at a percentile of a histogram.
+	 * 
+	 * @param name       Histogram name
+	 * @param percentile Percentile, between 0.0 and 100.0
+	 * @return Value at the percentile, or -1 if there is no such histogram
+	 */
+	public long getPercentile(String name, double percentile);
+
+	/**
+	 * Get metrics collection flag.
+	 * 
+	 * @return True if metrics are being collected
+	 */
+	public boolean isEnabled();
+
+	/**
+	 * Set metrics collection flag.
+	 * 
+	 * @param enabled True if metrics are to be collected
+	 */
+	public void setEnabled(boolean enabled);
+
+	/**
+	 * Reset all counters and histograms.
+	 */
+	public void reset();
+}
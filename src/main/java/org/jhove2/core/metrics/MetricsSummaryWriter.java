@@ -0,0 +1,157 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.core.metrics;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically writes a summary of a {@link MetricsRegistry} to a file.
+ * The file is rewritten in full at each interval (via a temporary file and
+ * rename, so readers never see a partial summary) and once more when the
+ * writer is stopped.
+ */
+public class MetricsSummaryWriter
+	implements Runnable
+{
+	/** Default summary interval, in seconds. */
+	public static final int DEFAULT_INTERVAL = 60;
+
+	/** Metrics registry. */
+	protected final MetricsRegistry registry;
+
+	/** Summary file. */
+	protected final File file;
+
+	/** Summary interval, in seconds. */
+	protected final int interval;
+
+	/** Scheduler; null unless started. */
+	protected ScheduledExecutorService scheduler;
+
+	/**
+	 * Instantiate a new <code>MetricsSummaryWriter</code>.
+	 * 
+	 * @param registry Metrics registry
+	 * @param file     Summary file
+	 * @param interval Summary interval, in seconds
+	 */
+	public MetricsSummaryWriter(MetricsRegistry registry, File file, int interval) {
+		this.registry = registry;
+		this.file     = file;
+		this.interval = (interval > 0) ? interval : DEFAULT_INTERVAL;
+	}
+
+	/**
+	 * Start writing the summary periodically, on a daemon thread.
+	 */
+	public synchronized void start() {
+		if (this.scheduler == null) {
+			this.scheduler = Executors.newSingleThreadScheduledExecutor(
+				new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable r) {
+						Thread thread = new Thread(r, "jhove2-metrics");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+			this.scheduler.scheduleAtFixedRate(this, this.interval,
+					                           this.interval, TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * Stop writing the summary periodically, and write the final summary.
+	 */
+	public synchronized void stop() {
+		if (this.scheduler != null) {
+			this.scheduler.shutdownNow();
+			this.scheduler = null;
+		}
+		this.run();
+	}
+
+	/**
+	 * Write the summary file.  I/O errors are reported on standard error but
+	 * do not interrupt processing.
+	 * 
+	 * @see java.lang.Runnable#run()
+	 */
+	@Override
+	public void run() {
+		try {
+			this.write();
+		}
+		catch (IOException e) {
+			System.err.println("Unable to write metrics summary " +
+					           this.file.getPath() + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Write the summary file.
+	 * 
+	 * @throws IOException
+	 */
+	protected void write()
+		throws IOException
+	{
+		File dir = this.file.getAbsoluteFile().getParentFile();
+		File tmp = File.createTempFile(this.file.getName(), ".tmp", dir);
+		PrintStream out = new PrintStream(new FileOutputStream(tmp), false, "UTF-8");
+		try {
+			out.println("# JHOVE2 metrics " + new Date());
+			this.registry.writeSummary(out);
+		}
+		finally {
+			out.close();
+		}
+		if (!tmp.renameTo(this.file)) {
+			this.file.delete();
+			if (!tmp.renameTo(this.file)) {
+				tmp.delete();
+				throw new IOException("Cannot rename " + tmp.getPath());
+			}
+		}
+	}
+}
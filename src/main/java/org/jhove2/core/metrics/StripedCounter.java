@@ -0,0 +1,119 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Low-overhead, thread-safe counter.  Updates are spread across a number
+ * of cells, selected by the updating thread, so that concurrent threads
+ * rarely contend for the same cache line; the cells are summed on read.
+ */
+public class StripedCounter {
+	/** Number of longs per cell, to keep cells on separate cache lines. */
+	protected static final int PAD = 8;
+
+	/** Number of cells: the next power of two above twice the processors. */
+	protected static final int STRIPES;
+	static {
+		int n = 2 * Runtime.getRuntime().availableProcessors();
+		int stripes = 1;
+		while (stripes < n) {
+			stripes <<= 1;
+		}
+		STRIPES = stripes;
+	}
+
+	/** Counter cells. */
+	protected final AtomicLongArray cells;
+
+	/**
+	 * Instantiate a new <code>StripedCounter</code>.
+	 */
+	public StripedCounter() {
+		this.cells = new AtomicLongArray(STRIPES * PAD);
+	}
+
+	/**
+	 * Add a value to the counter.
+	 * 
+	 * @param delta Value to add
+	 */
+	public void add(long delta) {
+		this.cells.getAndAdd(index(), delta);
+	}
+
+	/**
+	 * Increment the counter by one.
+	 */
+	public void increment() {
+		this.cells.getAndIncrement(index());
+	}
+
+	/**
+	 * Get the current value of the counter.  The value is not an atomic
+	 * snapshot if the counter is being concurrently updated.
+	 * 
+	 * @return Counter value
+	 */
+	public long sum() {
+		long sum = 0L;
+		for (int i = 0; i < STRIPES; i++) {
+			sum += this.cells.get(i * PAD);
+		}
+		return sum;
+	}
+
+	/**
+	 * Reset the counter to zero.
+	 */
+	public void reset() {
+		for (int i = 0; i < STRIPES; i++) {
+			this.cells.set(i * PAD, 0L);
+		}
+	}
+
+	/**
+	 * Get the cell index for the current thread.
+	 * 
+	 * @return Cell index
+	 */
+	protected static int index() {
+		long id = Thread.currentThread().getId();
+		int h = (int) (id ^ (id >>> 32));
+		h ^= (h >>> 16);
+		return (h & (STRIPES - 1)) * PAD;
+	}
+}
@@ -0,0 +1,115 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.core.reportable.info;
+
+import java.util.List;
+
+import org.jhove2.core.JHOVE2Exception;
+import org.jhove2.core.reportable.Reportable;
+
+/**
+ * Base class of the {@link ReportableReader}s generated by
+ * {@link ReportableReaderGenerator}.  A generated subclass invokes the
+ * property accessors of its reportable class directly, without reflection,
+ * and passes primitive values to the visitor unboxed.
+ * <p>
+ * This class is public only because generated readers are defined by their
+ * own class loader, and so cannot be in the same runtime package.</p>
+ */
+public abstract class GeneratedReportableReader
+	implements ReportableReader
+{
+	/** Reportable properties, in display order. */
+	private final List<ReportablePropertyInfo> properties;
+
+	/** Reportable properties, in display order. */
+	private final ReportablePropertyInfo [] array;
+
+	/**
+	 * Instantiate a new <code>GeneratedReportableReader</code>.
+	 * 
+	 * @param properties
+	 *            Reportable properties, in display order
+	 */
+	protected GeneratedReportableReader(List<ReportablePropertyInfo> properties) {
+		this.properties = properties;
+		this.array = properties.toArray(new ReportablePropertyInfo[properties.size()]);
+	}
+
+	/**
+	 * Get the reportable properties of the class.
+	 * 
+	 * @return Reportable properties
+	 * @see org.jhove2.core.reportable.info.ReportableReader#getProperties()
+	 */
+	@Override
+	public List<ReportablePropertyInfo> getProperties() {
+		return this.properties;
+	}
+
+	/**
+	 * Read the properties of a reportable into a visitor.
+	 * 
+	 * @param reportable
+	 *            Reportable
+	 * @param visitor
+	 *            Property visitor
+	 * @throws JHOVE2Exception
+	 * @see org.jhove2.core.reportable.info.ReportableReader#read(org.jhove2.core.reportable.Reportable, org.jhove2.core.reportable.info.ReportableVisitor)
+	 */
+	@Override
+	public void read(Reportable reportable, ReportableVisitor visitor)
+		throws JHOVE2Exception
+	{
+		this.read(reportable, visitor, this.array);
+	}
+
+	/**
+	 * Read the properties of a reportable into a visitor.  Implemented by
+	 * the generated subclass.
+	 * 
+	 * @param reportable
+	 *            Reportable
+	 * @param visitor
+	 *            Property visitor
+	 * @param properties
+	 *            Reportable properties, in display order
+	 * @throws JHOVE2Exception
+	 */
+	protected abstract void read(Reportable reportable,
+			                     ReportableVisitor visitor,
+			                     ReportablePropertyInfo [] properties)
+		throws JHOVE2Exception;
+}
@@ -0,0 +1,177 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.core.reportable.info;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.jhove2.core.JHOVE2Exception;
+import org.jhove2.core.reportable.Reportable;
+
+/**
+ * {@link ReportableReader} that invokes the property accessors by
+ * reflection.  It is used for classes for which no reader can be generated,
+ * such as non-public classes.  Primitive values are unboxed before they are
+ * passed to the visitor.  Checked exceptions thrown by an accessor, other
+ * than {@link org.jhove2.core.JHOVE2Exception}s, are wrapped in a
+ * JHOVE2Exception.
+ */
+class ReflectiveReportableReader
+	implements ReportableReader
+{
+	/** Reportable properties, in display order. */
+	private final List<ReportablePropertyInfo> properties;
+
+	/** Reportable properties, in display order. */
+	private final ReportablePropertyInfo [] array;
+
+	/** Property accessors, in display order. */
+	private final Method [] methods;
+
+	/** Property return types, in display order. */
+	private final Class<?> [] types;
+
+	/**
+	 * Instantiate a new <code>ReflectiveReportableReader</code>.
+	 * 
+	 * @param properties
+	 *            Reportable properties, in display order
+	 */
+	ReflectiveReportableReader(List<ReportablePropertyInfo> properties) {
+		this.properties = properties;
+		int size = properties.size();
+		this.array   = properties.toArray(new ReportablePropertyInfo[size]);
+		this.methods = new Method[size];
+		this.types   = new Class<?>[size];
+		for (int i = 0; i < size; i++) {
+			Method method = this.array[i].getMethod();
+			try {
+				method.setAccessible(true);
+			}
+			catch (SecurityException e) {
+				/* Invoke as is. */
+			}
+			this.methods[i] = method;
+			this.types[i]   = method.getReturnType();
+		}
+	}
+
+	/**
+	 * Get the reportable properties of the class.
+	 * 
+	 * @return Reportable properties
+	 * @see org.jhove2.core.reportable.info.ReportableReader#getProperties()
+	 */
+	@Override
+	public List<ReportablePropertyInfo> getProperties() {
+		return this.properties;
+	}
+
+	/**
+	 * Read the properties of a reportable into a visitor.
+	 * 
+	 * @param reportable
+	 *            Reportable
+	 * @param visitor
+	 *            Property visitor
+	 * @throws JHOVE2Exception
+	 * @see org.jhove2.core.reportable.info.ReportableReader#read(org.jhove2.core.reportable.Reportable, org.jhove2.core.reportable.info.ReportableVisitor)
+	 */
+	@Override
+	public void read(Reportable reportable, ReportableVisitor visitor)
+		throws JHOVE2Exception
+	{
+		for (int i = 0; i < this.array.length; i++) {
+			ReportablePropertyInfo property = this.array[i];
+			if (!visitor.accept(property)) {
+				continue;
+			}
+			Object value;
+			try {
+				value = this.methods[i].invoke(reportable);
+			}
+			catch (IllegalAccessException e) {
+				throw new JHOVE2Exception(
+						"ReflectiveReportableReader.read(): IllegalAccessException", e);
+			}
+			catch (InvocationTargetException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof JHOVE2Exception) {
+					throw (JHOVE2Exception) cause;
+				}
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new JHOVE2Exception(
+						"ReflectiveReportableReader.read(): InvocationTargetException", cause);
+			}
+			Class<?> type = this.types[i];
+			if (!type.isPrimitive()) {
+				visitor.visitObject(property, value);
+			}
+			else if (type == Boolean.TYPE) {
+				visitor.visitBoolean(property, ((Boolean) value).booleanValue());
+			}
+			else if (type == Integer.TYPE) {
+				visitor.visitInt(property, ((Integer) value).intValue());
+			}
+			else if (type == Long.TYPE) {
+				visitor.visitLong(property, ((Long) value).longValue());
+			}
+			else if (type == Double.TYPE) {
+				visitor.visitDouble(property, ((Double) value).doubleValue());
+			}
+			else if (type == Float.TYPE) {
+				visitor.visitFloat(property, ((Float) value).floatValue());
+			}
+			else if (type == Short.TYPE) {
+				visitor.visitShort(property, ((Short) value).shortValue());
+			}
+			else if (type == Byte.TYPE) {
+				visitor.visitByte(property, ((Byte) value).byteValue());
+			}
+			else if (type == Character.TYPE) {
+				visitor.visitChar(property, ((Character) value).charValue());
+			}
+			else {
+				visitor.visitObject(property, value);
+			}
+		}
+	}
+}
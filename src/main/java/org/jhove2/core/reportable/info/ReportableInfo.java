@@ -89,7 +89,21 @@ public class ReportableInfo {
 		// get the scope identifier for the Reportable object
 		this.identifier = reportable.getReportableIdentifier();
 		this.name = reportable.getReportableName();
-		this.properties = new ArrayList<ReportableSourceInfo>();
+		this.properties = getProperties(cl);
+	}
+
+	/**
+	 * Introspect on a {@link org.jhove2.core.reportable.Reportable} class to
+	 * retrieve its reportable properties.
+	 * 
+	 * @param cl
+	 *            Reportable class
+	 * @return Reportable properties defined for the class, grouped by the
+	 *         class, superclass, or interface defining them
+	 */
+	@SuppressWarnings("unchecked")
+	public static List<ReportableSourceInfo> getProperties(Class<? extends Reportable> cl) {
+		List<ReportableSourceInfo> properties = new ArrayList<ReportableSourceInfo>();
 		Map<String, String> idMap = new HashMap<String, String>();
 		ReportablePropertyComparator comparator = new ReportablePropertyComparator();
 		do {
@@ -121,15 +135,16 @@ public class ReportableInfo {
 				ReportableSourceInfo source =
 				    new ReportableSourceInfo(cl.getSimpleName(), Source.Class,
 				                             set);
-				this.properties.add(source);
+				properties.add(source);
 			}
 
 			/*
 			 * Introspect on the class's interface's methods (and all its
 			 * superinterfaces) to retrieve reportable properties.
 			 */
-			checkInterfaces(cl.getInterfaces(), idMap, comparator);
+			checkInterfaces(cl.getInterfaces(), idMap, comparator, properties);
 		} while ((cl = (Class<? extends Reportable>) cl.getSuperclass()) != null);
+		return properties;
 	}
 
 	/**
@@ -142,9 +157,14 @@ public class ReportableInfo {
 	 *            Map of properties identifiers already retrieved
 	 * @param comparator
 	 *            Reportable property comparator
+	 * @param properties
+	 *            Reportable properties retrieved, to which those of the
+	 *            interfaces are added
 	 */
-	protected void checkInterfaces(Class<?>[] ifs, Map<String, String> idMap,
-			ReportablePropertyComparator comparator) {
+	@SuppressWarnings("unchecked")
+	protected static void checkInterfaces(Class<?>[] ifs, Map<String, String> idMap,
+			ReportablePropertyComparator comparator,
+			List<ReportableSourceInfo> properties) {
 		for (int i = 0; i < ifs.length; i++) {
 			Set<ReportablePropertyInfo> set = new TreeSet<ReportablePropertyInfo>(
 					comparator);
@@ -171,9 +191,10 @@ public class ReportableInfo {
 				ReportableSourceInfo source =
 				    new ReportableSourceInfo(ifs[i].getSimpleName(),
 				                             Source.Interface, set);
-				this.properties.add(source);
+				properties.add(source);
 			}
-			checkInterfaces(ifs[i].getInterfaces(), idMap, comparator);
+			checkInterfaces(ifs[i].getInterfaces(), idMap, comparator,
+					        properties);
 		}
 	}
 
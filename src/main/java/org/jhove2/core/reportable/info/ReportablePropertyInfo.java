@@ -68,6 +68,9 @@ public class ReportablePropertyInfo {
 	/** Method defining the property. */
 	protected Method method;
 
+	/** Property name: the method name, less any "get" prefix. */
+	protected String name;
+
 	/**
 	 * Property reference, as defined by the
 	 * {@link org.jhove2.annotation.ReportableProperty} annotation
@@ -103,6 +106,10 @@ public class ReportablePropertyInfo {
 			                      PropertyType type) {
 		this.identifier  = identifier;
 		this.method      = method;
+		this.name        = method.getName();
+		if (this.name.indexOf("get") == 0) {
+			this.name = this.name.substring(3);
+		}
 		this.genericType = method.getGenericReturnType();
 		this.description = description;
 		this.reference   = reference;
@@ -142,6 +149,16 @@ public class ReportablePropertyInfo {
 		return this.identifier;
 	}
 
+	/**
+	 * Get property name: the name of the method defining the property, less
+	 * any "get" prefix.
+	 * 
+	 * @return Property name
+	 */
+	public String getName() {
+		return this.name;
+	}
+
 	/**
 	 * Get method defining the property.
 	 * 
@@ -0,0 +1,70 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.core.reportable.info;
+
+import java.util.List;
+
+import org.jhove2.core.JHOVE2Exception;
+import org.jhove2.core.reportable.Reportable;
+
+/**
+ * Reader of the property values of one class of
+ * {@link org.jhove2.core.reportable.Reportable}.  Readers are obtained from
+ * {@link ReportableReaders}, which introspects each class once.
+ */
+public interface ReportableReader {
+	/**
+	 * Get the reportable properties of the class, in display order: the
+	 * properties of the class and its superclasses and interfaces, as
+	 * ordered by {@link ReportableInfo}.
+	 * 
+	 * @return Reportable properties
+	 */
+	public List<ReportablePropertyInfo> getProperties();
+
+	/**
+	 * Read the properties of a reportable into a visitor, in display order.
+	 * Exceptions thrown by the property accessors are propagated.
+	 * 
+	 * @param reportable
+	 *            Reportable, which must be an instance of exactly the class
+	 *            for which the reader was obtained
+	 * @param visitor
+	 *            Property visitor
+	 * @throws JHOVE2Exception
+	 */
+	public void read(Reportable reportable, ReportableVisitor visitor)
+		throws JHOVE2Exception;
+}
@@ -0,0 +1,525 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.core.reportable.info;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jhove2.core.reportable.Reportable;
+
+/**
+ * Generator of {@link ReportableReader}s that invoke the property accessors
+ * of a {@link org.jhove2.core.reportable.Reportable} class directly.  For
+ * each class, a subclass of {@link GeneratedReportableReader} is written as
+ * class file bytes and defined by a class loader of its own, whose parent
+ * is the loader of the reportable class.  The generated
+ * <code>read()</code> method is straight-line code that, for each property,
+ * asks the visitor whether to read the property and, if so, invokes the
+ * accessor and passes the result to the visit method for its type.
+ * <p>
+ * Readers can only be generated for public classes whose accessors are all
+ * public; {@link ReportableReaders} falls back to reflection otherwise.</p>
+ */
+class ReportableReaderGenerator {
+	/** Class file version: Java 5, which needs no stack map frames. */
+	private static final int CLASS_VERSION = 49;
+
+	/** Constant pool tags. */
+	private static final int CONSTANT_Utf8               = 1;
+	private static final int CONSTANT_Class              = 7;
+	private static final int CONSTANT_Methodref          = 10;
+	private static final int CONSTANT_InterfaceMethodref = 11;
+	private static final int CONSTANT_NameAndType        = 12;
+
+	/** Access flags. */
+	private static final int ACC_PUBLIC    = 0x0001;
+	private static final int ACC_FINAL     = 0x0010;
+	private static final int ACC_SUPER     = 0x0020;
+	private static final int ACC_PROTECTED = 0x0004;
+
+	/** Opcodes. */
+	private static final int ICONST_0        = 0x03;
+	private static final int BIPUSH          = 0x10;
+	private static final int SIPUSH          = 0x11;
+	private static final int ALOAD           = 0x19;
+	private static final int ALOAD_0         = 0x2A;
+	private static final int ALOAD_1         = 0x2B;
+	private static final int ALOAD_2         = 0x2C;
+	private static final int ALOAD_3         = 0x2D;
+	private static final int AALOAD          = 0x32;
+	private static final int ASTORE          = 0x3A;
+	private static final int IFEQ            = 0x99;
+	private static final int RETURN          = 0xB1;
+	private static final int INVOKEVIRTUAL   = 0xB6;
+	private static final int INVOKESPECIAL   = 0xB7;
+	private static final int INVOKEINTERFACE = 0xB9;
+	private static final int CHECKCAST       = 0xC0;
+
+	/** Internal names of the classes referenced by generated readers. */
+	private static final String SUPER      = internalName(GeneratedReportableReader.class);
+	private static final String VISITOR    = internalName(ReportableVisitor.class);
+	private static final String PROPERTY   = internalName(ReportablePropertyInfo.class);
+	private static final String REPORTABLE = internalName(Reportable.class);
+	private static final String ARRAY      = "[L" + PROPERTY + ";";
+
+	/** Local variable holding the cast reportable in the read method. */
+	private static final int LOCAL_REPORTABLE = 4;
+
+	/**
+	 * Determine whether a reader can be generated for a reportable class.
+	 * 
+	 * @param cl
+	 *            Reportable class
+	 * @param properties
+	 *            Reportable properties
+	 * @return True if the class and all accessors are public
+	 */
+	static boolean canGenerate(Class<?> cl, List<ReportablePropertyInfo> properties) {
+		if (!Modifier.isPublic(cl.getModifiers()) || cl.getClassLoader() == null ||
+			properties.size() > Short.MAX_VALUE) {
+			return false;
+		}
+		for (Class<?> outer = cl.getDeclaringClass(); outer != null;
+		     outer = outer.getDeclaringClass()) {
+			if (!Modifier.isPublic(outer.getModifiers())) {
+				return false;
+			}
+		}
+		for (ReportablePropertyInfo property : properties) {
+			Method method = property.getMethod();
+			if (!Modifier.isPublic(method.getModifiers()) ||
+				Modifier.isStatic(method.getModifiers()) ||
+				method.getParameterTypes().length > 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Generate a reader for a reportable class.
+	 * 
+	 * @param cl
+	 *            Reportable class
+	 * @param properties
+	 *            Reportable properties, in display order
+	 * @return Reader
+	 * @throws Exception
+	 *             if the reader cannot be defined or instantiated
+	 */
+	static ReportableReader generate(Class<?> cl,
+			                         List<ReportablePropertyInfo> properties)
+		throws Exception
+	{
+		String name = cl.getName() + "$$ReportableReader";
+		byte [] bytes = new ReportableReaderGenerator().write(
+				name.replace('.', '/'), internalName(cl), properties);
+		ReaderLoader loader = new ReaderLoader(cl.getClassLoader());
+		Class<?> readerClass = loader.define(name, bytes);
+		Constructor<?> constructor = readerClass.getConstructor(List.class);
+		return (ReportableReader) constructor.newInstance(properties);
+	}
+
+	/**
+	 * Get the internal (slash-separated) name of a class.
+	 * 
+	 * @param cl
+	 *            Class
+	 * @return Internal name
+	 */
+	static String internalName(Class<?> cl) {
+		return cl.getName().replace('.', '/');
+	}
+
+	/**
+	 * Get the descriptor of a type.
+	 * 
+	 * @param cl
+	 *            Type
+	 * @return Type descriptor
+	 */
+	static String descriptor(Class<?> cl) {
+		if (cl.isPrimitive()) {
+			if (cl == Boolean.TYPE)   return "Z";
+			if (cl == Byte.TYPE)      return "B";
+			if (cl == Character.TYPE) return "C";
+			if (cl == Short.TYPE)     return "S";
+			if (cl == Integer.TYPE)   return "I";
+			if (cl == Long.TYPE)      return "J";
+			if (cl == Float.TYPE)     return "F";
+			if (cl == Double.TYPE)    return "D";
+			return "V";
+		}
+		if (cl.isArray()) {
+			return internalName(cl);
+		}
+		return "L" + internalName(cl) + ";";
+	}
+
+	/** Constant pool entries, by key. */
+	private Map<String, Integer> constants = new HashMap<String, Integer>();
+
+	/** Constant pool. */
+	private ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+
+	/** Constant pool writer. */
+	private DataOutputStream pool = new DataOutputStream(this.poolBytes);
+
+	/** Number of constant pool entries, plus 1. */
+	private int poolCount = 1;
+
+	/**
+	 * Write the class file of a reader.
+	 * 
+	 * @param name
+	 *            Internal name of the reader class
+	 * @param owner
+	 *            Internal name of the reportable class
+	 * @param properties
+	 *            Reportable properties, in display order
+	 * @return Class file bytes
+	 * @throws IOException
+	 */
+	private byte [] write(String name, String owner,
+			              List<ReportablePropertyInfo> properties)
+		throws IOException
+	{
+		int thisClass  = this.classRef(name);
+		int superClass = this.classRef(SUPER);
+		int code       = this.utf8("Code");
+
+		/* Constructor: super(properties). */
+		ByteArrayOutputStream init = new ByteArrayOutputStream();
+		init.write(ALOAD_0);
+		init.write(ALOAD_1);
+		this.writeOp(init, INVOKESPECIAL,
+				this.methodRef(SUPER, "<init>", "(Ljava/util/List;)V"));
+		init.write(RETURN);
+
+		/* read(reportable, visitor, properties). */
+		ByteArrayOutputStream read = new ByteArrayOutputStream();
+		read.write(ALOAD_1);
+		this.writeOp(read, CHECKCAST, this.classRef(owner));
+		read.write(ASTORE);
+		read.write(LOCAL_REPORTABLE);
+		int accept = this.interfaceMethodRef(VISITOR, "accept",
+				"(L" + PROPERTY + ";)Z");
+		for (int i = 0; i < properties.size(); i++) {
+			Method method = properties.get(i).getMethod();
+			Class<?> type = method.getReturnType();
+			String desc = type.isPrimitive() ? descriptor(type) : "Ljava/lang/Object;";
+			String visit = visitMethod(desc);
+			int getter = this.methodRef(owner, method.getName(),
+					"()" + descriptor(type));
+			int visitRef = this.interfaceMethodRef(VISITOR, visit,
+					"(L" + PROPERTY + ";" + desc + ")V");
+
+			/* if (visitor.accept(properties[i])) */
+			read.write(ALOAD_2);
+			read.write(ALOAD_3);
+			int push = writePush(null, i);
+			writePush(read, i);
+			read.write(AALOAD);
+			this.writeInterfaceOp(read, accept, 2);
+			/* Skip the visit: 1 + 1 + push + 1 + 2 + 3 + 5 bytes. */
+			read.write(IFEQ);
+			writeShort(read, 3 + 13 + push);
+
+			/* visitor.visitX(properties[i], reportable.getX()) */
+			read.write(ALOAD_2);
+			read.write(ALOAD_3);
+			writePush(read, i);
+			read.write(AALOAD);
+			read.write(ALOAD);
+			read.write(LOCAL_REPORTABLE);
+			this.writeOp(read, INVOKEVIRTUAL, getter);
+			int slots = (desc.equals("J") || desc.equals("D")) ? 2 : 1;
+			this.writeInterfaceOp(read, visitRef, 2 + slots);
+		}
+		read.write(RETURN);
+		if (read.size() > 65535) {
+			throw new IOException("Too many reportable properties: " +
+					              properties.size());
+		}
+
+		int initName = this.utf8("<init>");
+		int initDesc = this.utf8("(Ljava/util/List;)V");
+		int readName = this.utf8("read");
+		int readDesc = this.utf8("(L" + REPORTABLE + ";L" + VISITOR + ";" +
+				                 ARRAY + ")V");
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(0xCAFEBABE);
+		out.writeShort(0);
+		out.writeShort(CLASS_VERSION);
+		this.pool.flush();
+		out.writeShort(this.poolCount);
+		this.poolBytes.writeTo(out);
+		out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+		out.writeShort(thisClass);
+		out.writeShort(superClass);
+		out.writeShort(0);	/* interfaces */
+		out.writeShort(0);	/* fields */
+		out.writeShort(2);	/* methods */
+		writeMethod(out, ACC_PUBLIC, initName, initDesc, code, 2, 2, init);
+		writeMethod(out, ACC_PROTECTED, readName, readDesc, code, 4,
+				    LOCAL_REPORTABLE + 1, read);
+		out.writeShort(0);	/* attributes */
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Get the name of the visitor method for a value descriptor.
+	 * 
+	 * @param desc
+	 *            Primitive descriptor, or that of Object
+	 * @return Visitor method name
+	 */
+	private static String visitMethod(String desc) {
+		switch (desc.charAt(0)) {
+		case 'Z': return "visitBoolean";
+		case 'B': return "visitByte";
+		case 'C': return "visitChar";
+		case 'S': return "visitShort";
+		case 'I': return "visitInt";
+		case 'J': return "visitLong";
+		case 'F': return "visitFloat";
+		case 'D': return "visitDouble";
+		default:  return "visitObject";
+		}
+	}
+
+	/**
+	 * Write a method.
+	 */
+	private static void writeMethod(DataOutputStream out, int access, int name,
+			                        int desc, int code, int maxStack,
+			                        int maxLocals, ByteArrayOutputStream body)
+		throws IOException
+	{
+		out.writeShort(access);
+		out.writeShort(name);
+		out.writeShort(desc);
+		out.writeShort(1);	/* attributes */
+		out.writeShort(code);
+		out.writeInt(12 + body.size());
+		out.writeShort(maxStack);
+		out.writeShort(maxLocals);
+		out.writeInt(body.size());
+		body.writeTo(out);
+		out.writeShort(0);	/* exception table */
+		out.writeShort(0);	/* attributes */
+	}
+
+	/**
+	 * Write an instruction pushing an int constant.
+	 * 
+	 * @param out
+	 *            Code, or null to only compute the instruction length
+	 * @param value
+	 *            Constant, from 0 to 32767
+	 * @return Instruction length
+	 */
+	private static int writePush(ByteArrayOutputStream out, int value) {
+		if (value <= 5) {
+			if (out != null) {
+				out.write(ICONST_0 + value);
+			}
+			return 1;
+		}
+		if (value <= Byte.MAX_VALUE) {
+			if (out != null) {
+				out.write(BIPUSH);
+				out.write(value);
+			}
+			return 2;
+		}
+		if (out != null) {
+			out.write(SIPUSH);
+			writeShort(out, value);
+		}
+		return 3;
+	}
+
+	/**
+	 * Write an unsigned big-endian short.
+	 */
+	private static void writeShort(ByteArrayOutputStream out, int value) {
+		out.write(value >> 8);
+		out.write(value);
+	}
+
+	/**
+	 * Write an instruction with a constant pool index operand.
+	 */
+	private void writeOp(ByteArrayOutputStream out, int opcode, int index) {
+		out.write(opcode);
+		writeShort(out, index);
+	}
+
+	/**
+	 * Write an <code>invokeinterface</code> instruction.
+	 * 
+	 * @param out
+	 *            Code
+	 * @param index
+	 *            Interface method reference
+	 * @param slots
+	 *            Argument slots, including the receiver
+	 */
+	private void writeInterfaceOp(ByteArrayOutputStream out, int index, int slots) {
+		out.write(INVOKEINTERFACE);
+		writeShort(out, index);
+		out.write(slots);
+		out.write(0);
+	}
+
+	/**
+	 * Get or add a UTF-8 constant.
+	 */
+	private int utf8(String s) throws IOException {
+		String key = "U" + s;
+		Integer index = this.constants.get(key);
+		if (index == null) {
+			this.pool.writeByte(CONSTANT_Utf8);
+			this.pool.writeUTF(s);
+			index = this.add(key);
+		}
+		return index.intValue();
+	}
+
+	/**
+	 * Get or add a class constant.
+	 */
+	private int classRef(String internalName) throws IOException {
+		String key = "C" + internalName;
+		Integer index = this.constants.get(key);
+		if (index == null) {
+			int name = this.utf8(internalName);
+			this.pool.writeByte(CONSTANT_Class);
+			this.pool.writeShort(name);
+			index = this.add(key);
+		}
+		return index.intValue();
+	}
+
+	/**
+	 * Get or add a method reference constant.
+	 */
+	private int methodRef(String owner, String name, String desc)
+		throws IOException
+	{
+		return this.memberRef(CONSTANT_Methodref, owner, name, desc);
+	}
+
+	/**
+	 * Get or add an interface method reference constant.
+	 */
+	private int interfaceMethodRef(String owner, String name, String desc)
+		throws IOException
+	{
+		return this.memberRef(CONSTANT_InterfaceMethodref, owner, name, desc);
+	}
+
+	/**
+	 * Get or add a member reference constant.
+	 */
+	private int memberRef(int tag, String owner, String name, String desc)
+		throws IOException
+	{
+		String key = "M" + tag + owner + "." + name + desc;
+		Integer index = this.constants.get(key);
+		if (index == null) {
+			int cl = this.classRef(owner);
+			int nameAndType = this.nameAndType(name, desc);
+			this.pool.writeByte(tag);
+			this.pool.writeShort(cl);
+			this.pool.writeShort(nameAndType);
+			index = this.add(key);
+		}
+		return index.intValue();
+	}
+
+	/**
+	 * Get or add a name and type constant.
+	 */
+	private int nameAndType(String name, String desc) throws IOException {
+		String key = "N" + name + ":" + desc;
+		Integer index = this.constants.get(key);
+		if (index == null) {
+			int n = this.utf8(name);
+			int d = this.utf8(desc);
+			this.pool.writeByte(CONSTANT_NameAndType);
+			this.pool.writeShort(n);
+			this.pool.writeShort(d);
+			index = this.add(key);
+		}
+		return index.intValue();
+	}
+
+	/**
+	 * Record a constant pool entry just written.
+	 */
+	private Integer add(String key) throws IOException {
+		if (this.poolCount >= 65535) {
+			throw new IOException("Constant pool overflow");
+		}
+		Integer index = Integer.valueOf(this.poolCount++);
+		this.constants.put(key, index);
+		return index;
+	}
+
+	/** Class loader defining one generated reader. */
+	private static class ReaderLoader
+		extends ClassLoader
+	{
+		ReaderLoader(ClassLoader parent) {
+			super(parent);
+		}
+
+		Class<?> define(String name, byte [] bytes) {
+			return this.defineClass(name, bytes, 0, bytes.length);
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.core.reportable.info;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jhove2.core.reportable.Reportable;
+
+/**
+ * Factory of {@link ReportableReader}s.  Each
+ * {@link org.jhove2.core.reportable.Reportable} class is introspected once,
+ * on first use, and a reader that invokes its property accessors directly
+ * is generated for it.  If no reader can be generated for a class, or
+ * generation is disabled by setting the {@link #GENERATE_PROPERTY} system
+ * property to <code>false</code>, a reader using reflection is used
+ * instead.
+ */
+public final class ReportableReaders {
+	/** System property which, if false, disables reader generation. */
+	public static final String GENERATE_PROPERTY = "jhove2.reportable.reader.generate";
+
+	/** Readers, by reportable class. */
+	private static final ConcurrentMap<Class<?>, ReportableReader> readers =
+		new ConcurrentHashMap<Class<?>, ReportableReader>();
+
+	/** Private constructor, as this class has only static methods. */
+	private ReportableReaders() {
+	}
+
+	/**
+	 * Get the reader for a reportable class.
+	 * 
+	 * @param cl
+	 *            Reportable class
+	 * @return Reader
+	 */
+	public static ReportableReader getReader(Class<? extends Reportable> cl) {
+		ReportableReader reader = readers.get(cl);
+		if (reader == null) {
+			reader = newReader(cl, isGenerationEnabled());
+			ReportableReader existing = readers.putIfAbsent(cl, reader);
+			if (existing != null) {
+				reader = existing;
+			}
+		}
+		return reader;
+	}
+
+	/**
+	 * Create a new reader for a reportable class.
+	 * 
+	 * @param cl
+	 *            Reportable class
+	 * @param generate
+	 *            If true, generate a reader if possible; otherwise, use
+	 *            reflection
+	 * @return Reader
+	 */
+	public static ReportableReader newReader(Class<? extends Reportable> cl,
+			                                 boolean generate) {
+		List<ReportablePropertyInfo> properties =
+			new ArrayList<ReportablePropertyInfo>();
+		for (ReportableSourceInfo source : ReportableInfo.getProperties(cl)) {
+			properties.addAll(source.getProperties());
+		}
+		properties = Collections.unmodifiableList(properties);
+		if (generate && ReportableReaderGenerator.canGenerate(cl, properties)) {
+			try {
+				return ReportableReaderGenerator.generate(cl, properties);
+			}
+			catch (Exception e) {
+				/* Fall back to reflection. */
+			}
+			catch (LinkageError e) {
+				/* Fall back to reflection. */
+			}
+		}
+		return new ReflectiveReportableReader(properties);
+	}
+
+	/**
+	 * Determine whether reader generation is enabled.
+	 * 
+	 * @return True unless the {@link #GENERATE_PROPERTY} system property is
+	 *         false
+	 */
+	public static boolean isGenerationEnabled() {
+		return !"false".equalsIgnoreCase(System.getProperty(GENERATE_PROPERTY));
+	}
+}
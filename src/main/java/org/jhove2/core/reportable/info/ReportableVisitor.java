@@ -0,0 +1,139 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.core.reportable.info;
+
+import org.jhove2.core.JHOVE2Exception;
+
+/**
+ * Visitor of the property values of a
+ * {@link org.jhove2.core.reportable.Reportable}, as read by a
+ * {@link ReportableReader}.  Primitive property values are passed to the
+ * primitive-specialized methods, so they need not be boxed.
+ */
+public interface ReportableVisitor {
+	/**
+	 * Determine whether a property should be read.  If not, the property
+	 * accessor is not invoked.
+	 * 
+	 * @param property
+	 *            Property
+	 * @return True if the property should be read and visited
+	 */
+	public boolean accept(ReportablePropertyInfo property);
+
+	/**
+	 * Visit a property with an object value.
+	 * 
+	 * @param property
+	 *            Property
+	 * @param value
+	 *            Property value, possibly null
+	 * @throws JHOVE2Exception
+	 */
+	public void visitObject(ReportablePropertyInfo property, Object value)
+		throws JHOVE2Exception;
+
+	/**
+	 * Visit a <code>boolean</code> property.
+	 * @param property Property
+	 * @param value Property value
+	 * @throws JHOVE2Exception
+	 */
+	public void visitBoolean(ReportablePropertyInfo property, boolean value)
+		throws JHOVE2Exception;
+
+	/**
+	 * Visit a <code>byte</code> property.
+	 * @param property Property
+	 * @param value Property value
+	 * @throws JHOVE2Exception
+	 */
+	public void visitByte(ReportablePropertyInfo property, byte value)
+		throws JHOVE2Exception;
+
+	/**
+	 * Visit a <code>char</code> property.
+	 * @param property Property
+	 * @param value Property value
+	 * @throws JHOVE2Exception
+	 */
+	public void visitChar(ReportablePropertyInfo property, char value)
+		throws JHOVE2Exception;
+
+	/**
+	 * Visit a <code>short</code> property.
+	 * @param property Property
+	 * @param value Property value
+	 * @throws JHOVE2Exception
+	 */
+	public void visitShort(ReportablePropertyInfo property, short value)
+		throws JHOVE2Exception;
+
+	/**
+	 * Visit an <code>int</code> property.
+	 * @param property Property
+	 * @param value Property value
+	 * @throws JHOVE2Exception
+	 */
+	public void visitInt(ReportablePropertyInfo property, int value)
+		throws JHOVE2Exception;
+
+	/**
+	 * Visit a <code>long</code> property.
+	 * @param property Property
+	 * @param value Property value
+	 * @throws JHOVE2Exception
+	 */
+	public void visitLong(ReportablePropertyInfo property, long value)
+		throws JHOVE2Exception;
+
+	/**
+	 * Visit a <code>float</code> property.
+	 * @param property Property
+	 * @param value Property value
+	 * @throws JHOVE2Exception
+	 */
+	public void visitFloat(ReportablePropertyInfo property, float value)
+		throws JHOVE2Exception;
+
+	/**
+	 * Visit a <code>double</code> property.
+	 * @param property Property
+	 * @param value Property value
+	 * @throws JHOVE2Exception
+	 */
+	public void visitDouble(ReportablePropertyInfo property, double value)
+		throws JHOVE2Exception;
+}
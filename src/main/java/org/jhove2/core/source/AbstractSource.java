@@ -49,11 +49,13 @@ import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jhove2.core.Invocation;
 import org.jhove2.core.JHOVE2;
@@ -62,6 +64,7 @@ import org.jhove2.core.Message;
 import org.jhove2.core.TimerInfo;
 import org.jhove2.core.format.FormatIdentification;
 import org.jhove2.core.io.Input;
+import org.jhove2.core.metrics.MetricsRegistry;
 import org.jhove2.core.reportable.AbstractReportable;
 import org.jhove2.core.reportable.Reportable;
 import org.jhove2.module.Module;
@@ -98,7 +101,8 @@ public abstract class AbstractSource
 	protected SourceAccessor sourceAccessor;
 	
 	/** Identifiers (I8R) of generic modules registered with the Source. */
-	protected static Set<String> moduleIDs = new HashSet<String>();
+	protected static Set<String> moduleIDs =
+		Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
 
 	/** Temporary file deletion flag; if true, delete on close. */
 	protected boolean deleteTempFileOnClose;
@@ -184,6 +188,23 @@ public abstract class AbstractSource
 		return this.sourceAccessor.addChildSource(this, child);
 	}
 
+	/**
+	 * Add child source units in a single batch.
+	 * 
+	 * @param children
+	 *            Child source units
+	 * @return child Sources
+	 * @throws JHOVE2Exception 
+	 * @see org.jhove2.core.source.Source#addChildSources(java.util.List)
+	 */
+	@Override
+	public List<Source> addChildSources(List<Source> children) throws JHOVE2Exception {
+		if (this.getSourceAccessor() == null){
+			throw new JHOVE2Exception("SourceAccessor is null");
+		}
+		return this.sourceAccessor.addChildSources(this, children);
+	}
+
 	   
     /** Add an extra properties {@link org.jhove2.core.reportable.Reportable}
      * to be associated with the source unit.  Extra properties are those not
@@ -230,8 +251,7 @@ public abstract class AbstractSource
 		}
 		else {
 			String id = module.getReportableIdentifier().toString();
-			if (!moduleIDs.contains(id)) {
-					moduleIDs.add(id);
+			if (moduleIDs.add(id)) {
 					module = this.sourceAccessor.addModule(this, module);
 			}
         }
@@ -280,20 +300,26 @@ public abstract class AbstractSource
 	 * @return file Temporary backing file
 	 * @throws IOException
 	 */
-	protected static synchronized File createTempFile(InputStream inStream,
-	                                                  String name,
-	                                                  File tmpDirectory,
-	                                                  String tmpPrefix,
-	                                                  String tmpSuffix,
-	                                                  int bufferSize)
+	protected static File createTempFile(InputStream inStream,
+	                                     String name,
+	                                     File tmpDirectory,
+	                                     String tmpPrefix,
+	                                     String tmpSuffix,
+	                                     int bufferSize)
 		throws IOException
 	{
 	    File tempFile = null;
-	    if (name == null || name.length() == 0) {
-	        tempFile = File.createTempFile(tmpPrefix, tmpSuffix, tmpDirectory);;
-	    }
-	    else {
+	    if (name != null && name.length() > 0) {
 	        tempFile = new File(tmpDirectory.getPath() + File.separator + name);
+	        /* Don't share a named file with a concurrently characterized
+	         * source unit of the same name.
+	         */
+	        if (!tempFile.createNewFile()) {
+	            tempFile = null;
+	        }
+	    }
+	    if (tempFile == null) {
+	        tempFile = File.createTempFile(tmpPrefix, tmpSuffix, tmpDirectory);
 	    }
 		OutputStream outStream = new FileOutputStream(tempFile);
 		ReadableByteChannel in = Channels.newChannel(inStream);
@@ -316,6 +342,7 @@ public abstract class AbstractSource
 		    out.close();
 		    outStream.close();
 		}
+		recordTempFile(tempFile);
 
 		return tempFile;
 	}
@@ -332,11 +359,11 @@ public abstract class AbstractSource
      * @return file Temporary backing file
      * @throws IOException
      */
-    protected static synchronized File createTempFile(File inFile, long offset,
-                                                      long size, File tmpDirectory,
-                                                      String tmpPrefix,
-                                                      String tmpSuffix,
-                                                      int bufferSize)
+    protected static File createTempFile(File inFile, long offset,
+                                         long size, File tmpDirectory,
+                                         String tmpPrefix,
+                                         String tmpSuffix,
+                                         int bufferSize)
         throws IOException
     {
         /* Position input stream to starting offset. */
@@ -377,10 +404,22 @@ public abstract class AbstractSource
             inStream.close();
             outStream.close();
         }
+        recordTempFile(tempFile);
 
         return tempFile;
     }
 
+    /**
+     * Record the creation of a temporary backing file in the framework
+     * metrics.
+     * @param tempFile Temporary backing file
+     */
+    protected static void recordTempFile(File tempFile) {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.increment(MetricsRegistry.TEMP_FILES);
+        metrics.add(MetricsRegistry.BYTES_SPOOLED, tempFile.length());
+    }
+
 	/**
 	 * Delete child source unit.
 	 * Will set parentSourceId in child Source to null
@@ -429,6 +468,21 @@ public abstract class AbstractSource
 		}
 		return this.sourceAccessor.getChildSources(this);
 	}
+
+	/**
+	 * Get an iterator over the child source units.
+	 * 
+	 * @return Iterator over child source units
+	 * @throws JHOVE2Exception 
+	 * @see org.jhove2.core.source.Source#getChildSourceIterator()
+	 */
+	@Override
+	public Iterator<Source> getChildSourceIterator() throws JHOVE2Exception {
+		if (this.getSourceAccessor()==null){
+			throw new JHOVE2Exception("SourceAccessor is null");
+		}
+		return this.sourceAccessor.getChildSourceIterator(this);
+	}
     
     /** Get extra properties.  Extra properties are those not known at the
      * time the source unit is instantiated but which are not associated with
@@ -89,6 +89,21 @@ public abstract class AbstractSourceFactory
 		return source;
 	}
 
+	/** Get source from a directory entry whose file system metadata has
+	 * already been retrieved.
+     * @param jhove2 JHOVE2 framework object
+	 * @param entry Directory entry
+	 * @see org.jhove2.core.source.SourceFactory#getSource(org.jhove2.core.JHOVE2, org.jhove2.core.source.DirectoryEntries.Entry)
+	 */
+	@Override
+	public Source getSource(JHOVE2 jhove2, DirectoryEntries.Entry entry)
+	    throws JHOVE2Exception
+	{
+		Source source = SourceFactoryUtil.getSource(jhove2, entry);
+		source = source.getSourceAccessor().persistSource(source);
+		return source;
+	}
+
 	/** Get source unit from a URL.  Note that this requires the creation of a
 	 * temporary file.
 	 * @param jhove2 JHOVE2 framework object
@@ -41,10 +41,14 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteOrder;
 
 import org.jhove2.core.Invocation;
 import org.jhove2.core.JHOVE2;
 import org.jhove2.core.JHOVE2Exception;
+import org.jhove2.core.io.Input;
+import org.jhove2.core.io.InputFactory;
+import org.jhove2.core.io.RangeInputStream;
 
 import com.sleepycat.persist.model.Persistent;
 
@@ -166,7 +170,9 @@ public class ByteStreamSource
     /**
      * Get {@link java.io.File} backing byte stream subset of its
      * parent source.  Note that this File is not created until
-     * actually required, and will be deleted on close().
+     * actually required, and will be deleted on close().  Inputs and input
+     * streams read the parent file in place, so only consumers that need a
+     * tangible file cause it to be created.
      * 
      * @return File backing the byte stream; or null if the backing
      *         file cannot be created successfully
@@ -196,7 +202,35 @@ public class ByteStreamSource
     }
 
     /**
-     * Get {@link java.io.InputStream} backing the source unit.
+     * Get {@link org.jhove2.core.io.Input} for the byte stream.  The input
+     * reads the byte range of the parent file in place, so no temporary
+     * backing file is created; its positions are relative to the start of
+     * the byte stream.
+     * If this method is called explicitly, then the corresponding Input.close()
+     * method must be called to avoid a resource leak.
+     * @param jhove2 JHOVE2 framework object
+     * @param order
+     *            Byte order
+     * @return Input for the byte stream
+     * @throws IOException
+     *             I/O exception getting input
+     * @see org.jhove2.core.source.Source#getInput(JHOVE2, ByteOrder)
+     */
+    @Override
+    public Input getInput(JHOVE2 jhove2, ByteOrder order)
+        throws IOException
+    {
+        if (this.file != null) {
+            return InputFactory.getInput(jhove2, this.file, this.isTemp, order);
+        }
+        return InputFactory.getInput(jhove2, this.parentFile,
+                                     this.startingOffset, this.size, order);
+    }
+
+    /**
+     * Get {@link java.io.InputStream} backing the source unit.  Unless a
+     * backing file has already been created, the stream reads the byte range
+     * of the parent file in place.
      * If this method is called explicitly, then the corresponding
      * InputStream.close() method must be called to avoid a resource leak. 
      * 
@@ -210,7 +244,14 @@ public class ByteStreamSource
         throws IOException
     {
         InputStream stream = null;
-        stream = new FileInputStream(this.getFile());
+        if (this.file == null && this.parentFile != null) {
+            stream = new RangeInputStream(this.parentFile,
+                                          this.startingOffset, this.size,
+                                          this.bufferSize);
+        }
+        else {
+            stream = new FileInputStream(this.getFile());
+        }
         return stream;
     }
      
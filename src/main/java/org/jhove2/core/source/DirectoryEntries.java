@@ -0,0 +1,322 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.jhove2.core.source;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Iterator over the entries of a file system directory, for creating child
+ * source units one at a time as the directory is characterized rather than
+ * all at once.  Only the entry names are listed up front.
+ * <p>
+ * If a prefetch depth is given, a producer thread walks the entries ahead of
+ * the iterator, retrieving the file system metadata of each into an
+ * {@link Entry}, and hands the entries over through a queue bounded by that
+ * depth; the metadata of the entry last returned is available from
+ * {@link #getEntry()}, from which the source factory creates the child
+ * source unit without retrieving it again.  On network file systems this
+ * takes the per-entry metadata round trips off the characterization thread.
+ * The iterator must be {@link #close() closed} if it is not exhausted.
+ */
+public class DirectoryEntries
+    implements Iterator<File>
+{
+	/** End of entries marker. */
+	private static final Entry END = new Entry(new File(""), false, 0L, null);
+
+	/** Directory. */
+	protected File directory;
+
+	/** Entry names. */
+	protected String[] names;
+
+	/** Index of the next entry name, if not prefetching. */
+	protected int index;
+
+	/** Prefetched entries, or null if not prefetching. */
+	protected BlockingQueue<Entry> queue;
+
+	/** Prefetch thread, or null if not prefetching. */
+	protected Thread prefetcher;
+
+	/** Next entry, once taken from the queue. */
+	protected Entry next;
+
+	/** Entry last returned, if prefetched. */
+	protected Entry current;
+
+	/**
+	 * Instantiate a new <code>DirectoryEntries</code>.
+	 * 
+	 * @param directory
+	 *            Directory
+	 * @param prefetch
+	 *            Number of entries whose metadata is retrieved ahead of the
+	 *            iterator; 0 for none
+	 */
+	public DirectoryEntries(File directory, int prefetch) {
+		this.directory = directory;
+		this.names = directory.list();
+		if (this.names == null) {
+			this.names = new String[0];
+		}
+		if (prefetch > 0 && this.names.length > 0) {
+			final String[] list = this.names;
+			final BlockingQueue<Entry> q = new ArrayBlockingQueue<Entry>(prefetch);
+			this.queue = q;
+			this.prefetcher = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					prefetch(list, q);
+				}
+			}, "jhove2-directory-prefetch");
+			this.prefetcher.setDaemon(true);
+			this.prefetcher.start();
+		}
+	}
+
+	/**
+	 * Stop prefetching entries.
+	 */
+	public void close() {
+		if (this.prefetcher != null) {
+			this.prefetcher.interrupt();
+			this.prefetcher = null;
+		}
+		this.names   = new String[0];
+		this.queue   = null;
+		this.next    = END;
+		this.current = null;
+	}
+
+	/**
+	 * Get the prefetched metadata of the entry last returned by
+	 * {@link #next()}.
+	 * 
+	 * @return Entry metadata, or null if not prefetching
+	 */
+	public Entry getEntry() {
+		return this.current;
+	}
+
+	/**
+	 * Determine if there are more entries.
+	 * 
+	 * @return True if there are more entries
+	 * @see java.util.Iterator#hasNext()
+	 */
+	@Override
+	public boolean hasNext() {
+		if (this.queue == null) {
+			return this.next != END && this.index < this.names.length;
+		}
+		if (this.next == null) {
+			try {
+				this.next = this.queue.take();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				close();
+			}
+		}
+		return this.next != END;
+	}
+
+	/**
+	 * Get the next entry.
+	 * 
+	 * @return Next entry
+	 * @see java.util.Iterator#next()
+	 */
+	@Override
+	public File next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		if (this.queue == null) {
+			return new File(this.directory, this.names[this.index++]);
+		}
+		this.current = this.next;
+		this.next = null;
+		return this.current.getFile();
+	}
+
+	/**
+	 * Unsupported.
+	 * 
+	 * @see java.util.Iterator#remove()
+	 */
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Retrieve the metadata of each entry in turn, and queue the entry.
+	 * 
+	 * @param list
+	 *            Entry names
+	 * @param q
+	 *            Queue of prefetched entries
+	 */
+	protected void prefetch(String[] list, BlockingQueue<Entry> q) {
+		try {
+			for (int i = 0; i < list.length; i++) {
+				q.put(Entry.stat(new File(this.directory, list[i])));
+			}
+			q.put(END);
+		}
+		catch (InterruptedException e) {
+			/* Closed before all entries were taken. */
+		}
+	}
+
+	/**
+	 * File system metadata of a directory entry, retrieved as the
+	 * {@link FileSource} and {@link DirectorySource} constructors would.
+	 */
+	public static class Entry
+	{
+		/** Entry file. */
+		protected final File file;
+
+		/** Directory flag. */
+		protected final boolean isDirectory;
+
+		/** Size, in bytes. */
+		protected final long size;
+
+		/** File system properties. */
+		protected final FileSystemProperties properties;
+
+		/**
+		 * Instantiate a new <code>Entry</code>.
+		 * 
+		 * @param file
+		 *            Entry file
+		 * @param isDirectory
+		 *            Directory flag
+		 * @param size
+		 *            Size, in bytes
+		 * @param properties
+		 *            File system properties
+		 */
+		protected Entry(File file, boolean isDirectory, long size,
+				        FileSystemProperties properties)
+		{
+			this.file        = file;
+			this.isDirectory = isDirectory;
+			this.size        = size;
+			this.properties  = properties;
+		}
+
+		/**
+		 * Retrieve the file system metadata of a file.
+		 * 
+		 * @param file
+		 *            File
+		 * @return Entry
+		 */
+		public static Entry stat(File file) {
+			String path = file.getName();
+			try {
+				path = file.getCanonicalPath();
+			}
+			catch (IOException e) {
+				/* Let path stay initialized to just the file name. */
+			}
+			boolean isDirectory = file.isDirectory();
+			long    size        = isDirectory ? 0L : file.length();
+			boolean exists      = file.exists();
+			FileSystemProperties properties;
+			if (isDirectory) {
+				properties = new FileSystemProperties(path, exists,
+						file.canRead(), file.isHidden(), false,
+						new Date(file.lastModified()));
+			}
+			else if (exists) {
+				properties = new FileSystemProperties(path, true,
+						file.canRead(), file.isHidden(), !file.isFile(),
+						new Date(file.lastModified()));
+			}
+			else {
+				properties = new FileSystemProperties(path, false, false,
+						false, false, null);
+			}
+			return new Entry(file, isDirectory, size, properties);
+		}
+
+		/**
+		 * Get entry file.
+		 * 
+		 * @return Entry file
+		 */
+		public File getFile() {
+			return this.file;
+		}
+
+		/**
+		 * Get file system properties.
+		 * 
+		 * @return File system properties
+		 */
+		public FileSystemProperties getFileSystemProperties() {
+			return this.properties;
+		}
+
+		/**
+		 * Get size.
+		 * 
+		 * @return Size, in bytes
+		 */
+		public long getSize() {
+			return this.size;
+		}
+
+		/**
+		 * Determine if the entry is a directory.
+		 * 
+		 * @return True if a directory
+		 */
+		public boolean isDirectory() {
+			return this.isDirectory;
+		}
+	}
+}
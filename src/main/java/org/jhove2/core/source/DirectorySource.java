@@ -47,7 +47,11 @@ import org.jhove2.core.JHOVE2Exception;
 import com.sleepycat.persist.model.Persistent;
 
 /**
- * File system directory source unit.
+ * File system directory source unit.  The child source units of a physical
+ * directory are not created when the directory source unit is, but one at a
+ * time from its {@link #getEntries(int) entries} as the directory is
+ * characterized; those of a directory embedded in a container are added by
+ * the container's format module.
  * 
  * @author mstrong, slabrams
  */
@@ -146,8 +150,31 @@ public class DirectorySource
 		
 		init(jhove2, file.getName(), file, fileSystemDirectory);
 	}
+
+	/**
+	 * Instantiate a new physical <code>DirectorySource</code> from file
+	 * system properties already retrieved.
+	 * 
+     * @param jhove2 JHOVE2 framework object
+	 * @param file
+	 *            Java {@link java.io.File} representing a directory
+	 * @param properties File system properties
+	 * @throws JHOVE2Exception 
+	 */
+	protected DirectorySource(JHOVE2 jhove2, File file,
+	                          FileSystemProperties properties)
+	    throws JHOVE2Exception
+	{
+		super(jhove2);
+
+		this.name = file.getName();
+		this.file = file;
+		this.fileSystemProperties = properties;
+		this.isAggregate = true;
+	}
 	
-	/** Initialize the directory source.
+	/** Initialize the directory source.  The directory entries are not
+	 * listed here; see {@link #getEntries(int)}.
 	 * @param jhove2 JHOVE2 framework object
 	 * @param name   Directory name
 	 * @param file   Directory file, if a physical directory
@@ -161,13 +188,7 @@ public class DirectorySource
 	{
         this.name = name;
 		if (fileSystemDirectory) { 
-		    /* Get child source units. */
-		    File[] list = file.listFiles();
-		    for (int i = 0; i < list.length; i++) {
-		        Source source = jhove2.getSourceFactory().getSource(jhove2,
-		                                                            list[i]);
-		        source = this.addChildSource(source);
-		    }
+		    this.file = file;
 		    /* Get file system-specific properties. */
             String path = name;
 	        try {
@@ -183,6 +204,22 @@ public class DirectorySource
 		this.isAggregate = true;
 	}
 
+    /**
+     * Get the entries of a physical directory, from which its child source
+     * units are created.
+     * 
+     * @param prefetch
+     *            Number of entries whose file system metadata is retrieved
+     *            ahead of the iterator; 0 for none
+     * @return Directory entries, or null if not a physical directory
+     */
+    public DirectoryEntries getEntries(int prefetch) {
+        if (this.file == null) {
+            return null;
+        }
+        return new DirectoryEntries(this.file, prefetch);
+    }
+
     /**
      * Get directory source name.
      * 
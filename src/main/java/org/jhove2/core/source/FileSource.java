@@ -176,6 +176,36 @@ public class FileSource
         }
 	}
 
+	/**
+	 * Instantiate a new file system <code>FileSource</code> from file system
+	 * metadata already retrieved.
+	 * 
+     * @param jhove2 JHOVE2 framework object
+	 * @param file
+	 *            Java {@link java.io.File}
+	 * @param size
+	 *            File size, in bytes
+	 * @param properties
+	 *            File system properties
+	 * @throws JHOVE2Exception 
+	 */
+	protected FileSource(JHOVE2 jhove2, File file, long size,
+	                     FileSystemProperties properties)
+	    throws JHOVE2Exception
+	{
+		super(jhove2);
+
+		this.file = file;
+		this.name = file.getName();
+        this.size = size;
+		this.startingOffset = 0L;
+		this.endingOffset = this.size;
+        if (this.size > 0L) {
+            this.endingOffset--;
+        }
+        this.fileSystemProperties = properties;
+	}
+
     /** Get ending offset of the source unit, in bytes, relative to the
      * parent source.  If there is no parent, the ending offset is the
      * size.
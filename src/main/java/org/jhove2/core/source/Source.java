@@ -41,6 +41,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteOrder;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -78,6 +79,17 @@ public interface Source
 	 * @throws JHOVE2Exception 
 	 */
 	public Source addChildSource(Source child) throws JHOVE2Exception;
+
+	/**
+	 * Add child source units in a single batch.  Has the same effect as
+	 * calling {@link #addChildSource(Source)} for each child in turn, but
+	 * lets the persistence layer store the children together.
+	 * @param children
+	 *            Child source units
+	 * @return Child Sources, in the order given
+	 * @throws JHOVE2Exception 
+	 */
+	public List<Source> addChildSources(List<Source> children) throws JHOVE2Exception;
 	
 	/** Add an extra properties {@link org.jhove2.core.reportable.Reportable}
 	 * to be associated with the source unit.  Extra properties are those not
@@ -157,6 +169,14 @@ public interface Source
 	 */
 	@ReportableProperty(order=8, value="Child source units.")
 	public List<Source> getChildSources() throws JHOVE2Exception;
+
+	/**
+	 * Get an iterator over the child source units, which may retrieve each
+	 * child only as it is reached.
+	 * @return Iterator over child source units
+	 * @throws JHOVE2Exception 
+	 */
+	public Iterator<Source> getChildSourceIterator() throws JHOVE2Exception;
 	
 	/** Get extra properties.  Extra properties are those not known at the
 	 * time the source unit is instantiated but which are not associated with
@@ -42,7 +42,9 @@ import com.sleepycat.persist.model.Persistent;
 
 /**
  * Convenvience class for tallying the number and kind of sources
- * processed by JHOVE2 engine.
+ * processed by JHOVE2 engine.  The counters may be incremented
+ * concurrently by container modules that characterize their children in
+ * parallel.
  * 
  * @author mstrong, slabrams, smorrissey
  * 
@@ -78,7 +80,7 @@ public class SourceCounter
 	 * Increment appropriate counter, depending on scope of Source
 	 * @param source Source whose scope determines which counter to increment
 	 */
-	public void incrementSourceCounter(Source source){
+	public synchronized void incrementSourceCounter(Source source){
 		if (source instanceof ByteStreamSource) {
 		    this.numBytestreams++;
 		} else if (source instanceof ClumpSource) {
@@ -97,7 +99,7 @@ public class SourceCounter
 	/**
 	 * reinitializes counters 
 	 */
-	public void clearCounters(){
+	public synchronized void clearCounters(){
 		this.numBytestreams = 0;
 		this.numClumps = 0;
 		this.numDirectories = 0;
@@ -109,14 +111,14 @@ public class SourceCounter
 	/**
 	 * Increment the number of bytestream source units.
 	 */
-	public void incrementNumBytestreams() {
+	public synchronized void incrementNumBytestreams() {
 		this.numBytestreams++;
 	}
 
 	/**
 	 * Increment the number of clump source units.
 	 */
-	public void incrementNumClumps() {
+	public synchronized void incrementNumClumps() {
 		this.numClumps++;
 	}
 
@@ -124,7 +126,7 @@ public class SourceCounter
 	 * Increment the number of directory source units, including source units
 	 * for both file system files and Zip entry files.
 	 */
-	public void incrementNumDirectories() {
+	public synchronized void incrementNumDirectories() {
 		this.numDirectories++;
 	}
 
@@ -132,19 +134,19 @@ public class SourceCounter
 	 * Increment the number of file source units, including source units for
 	 * both file system files and Zip entry files.
 	 */
-	public void incrementNumFiles() {
+	public synchronized void incrementNumFiles() {
 		this.numFiles++;
 	}
 
 	/**
 	 * Increment the number of file set source units.
 	 */
-	public void incrementNumFileSets() {
+	public synchronized void incrementNumFileSets() {
 		this.numFileSets++;
 	}
 	
 	/** Increment the number of URL source units. */
-	public void incrementNumURLs() {
+	public synchronized void incrementNumURLs() {
 	    this.numURLs++;
 	}
 	
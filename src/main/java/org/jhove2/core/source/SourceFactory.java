@@ -80,6 +80,19 @@ public interface SourceFactory {
 	public Source getSource(JHOVE2 jhove2, File file)
 		throws IOException, JHOVE2Exception;
 
+	/**
+	 * Get source unit from a directory entry whose file system metadata has
+	 * already been retrieved.
+	 * 
+     * @param jhove2 JHOVE2 framework object
+	 * @param entry
+	 *            Directory entry
+	 * @return File or Directory source unit
+	 * @throws JHOVE2Exception 
+	 */
+	public Source getSource(JHOVE2 jhove2, DirectoryEntries.Entry entry)
+		throws JHOVE2Exception;
+
 	/**
 	 * Get URL source unit from a URL by creating a local temporary file.
 	 * 
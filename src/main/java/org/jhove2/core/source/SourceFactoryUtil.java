@@ -66,7 +66,7 @@ public class SourceFactoryUtil
 	 *             I/O exception instantiating source
 	 * @throws JHOVE2Exception 
 	 */
-	public static synchronized Source getSource(JHOVE2 jhove2, String name)
+	public static Source getSource(JHOVE2 jhove2, String name)
 		throws IOException, JHOVE2Exception
 	{
 	    Source source = null;
@@ -97,7 +97,7 @@ public class SourceFactoryUtil
 	 *             I/O exception instantiating source
 	 * @throws JHOVE2Exception 
 	 */
-	public static synchronized Source getSource(JHOVE2 jhove2, File file)
+	public static Source getSource(JHOVE2 jhove2, File file)
 		throws IOException, JHOVE2Exception
 	{
 		Source source = null;
@@ -114,6 +114,31 @@ public class SourceFactoryUtil
 		return source;
 	}
 
+	/**
+	 * Get source unit from a directory entry whose file system metadata has
+	 * already been retrieved.
+	 * 
+     * @param jhove2 JHOVE2 framework object
+	 * @param entry
+	 *            Directory entry
+	 * @return Source unit
+	 * @throws JHOVE2Exception 
+	 */
+	public static Source getSource(JHOVE2 jhove2, DirectoryEntries.Entry entry)
+		throws JHOVE2Exception
+	{
+		Source source = null;
+		if (entry.isDirectory()) {
+			source = new DirectorySource(jhove2, entry.getFile(),
+			                             entry.getFileSystemProperties());
+		}
+		else {
+			source = new FileSource(jhove2, entry.getFile(), entry.getSize(),
+			                        entry.getFileSystemProperties());
+		}
+		return source;
+	}
+
 	/**
 	 * Get source unit from a URL by creating a local temporary file.
      * @param jhove2 JHOVE2 framework object
@@ -122,7 +147,7 @@ public class SourceFactoryUtil
 	 * @throws IOException
 	 *             I/O exception instantiating source
 	 */
-	public static synchronized Source getSource(JHOVE2 jhove2, URL url)
+	public static Source getSource(JHOVE2 jhove2, URL url)
 		throws IOException
 	{
 		Source source = new URLSource(jhove2, url);
@@ -140,7 +165,7 @@ public class SourceFactoryUtil
 	 * @throws IOException
 	 * @throws JHOVE2Exception 
 	 */
-	public static synchronized Source getSource(JHOVE2 jhove2, 
+	public static Source getSource(JHOVE2 jhove2, 
 			InputStream stream, 
 			String name,
 			Reportable otherProperties)
@@ -187,7 +212,7 @@ public class SourceFactoryUtil
 	 * @throws IOException
 	 * @throws JHOVE2Exception
 	 */
-	public static synchronized Source getSource(JHOVE2 jhove2, 
+	public static Source getSource(JHOVE2 jhove2, 
 	                                            SourceFactory sourceFactory,
 	                                            String name, String...names)
 		throws IOException, JHOVE2Exception
@@ -214,7 +239,7 @@ public class SourceFactoryUtil
      * @throws IOException
      * @throws JHOVE2Exception
      */
-    public static synchronized Source getSource(JHOVE2 jhove2,
+    public static Source getSource(JHOVE2 jhove2,
                                                 List<String> pathNames)
         throws IOException, JHOVE2Exception
     {
@@ -246,7 +271,7 @@ public class SourceFactoryUtil
      * @throws IOException
      * @throws JHOVE2Exception
      */
-    public static synchronized ByteStreamSource getByteStreamSource(JHOVE2 jhove2,
+    public static ByteStreamSource getByteStreamSource(JHOVE2 jhove2,
                                                     Source parent, long offset,
                                                     long size, String name)
         throws IOException, JHOVE2Exception
@@ -263,7 +288,7 @@ public class SourceFactoryUtil
 	 * @return Clump source unit
 	 * @throws JHOVE2Exception 
 	 */
-	public static synchronized ClumpSource getClumpSource(JHOVE2 jhove2) 
+	public static ClumpSource getClumpSource(JHOVE2 jhove2) 
 	    throws JHOVE2Exception
 	{		
 		ClumpSource source = new ClumpSource(jhove2);
@@ -279,7 +304,7 @@ public class SourceFactoryUtil
      * @throws JHOVE2Exception 
      * @throws IOException 
      */
-	public static synchronized DirectorySource getDirectorySource(JHOVE2 jhove2,
+	public static DirectorySource getDirectorySource(JHOVE2 jhove2,
 			String name,
 			boolean isFileSystemDirectory)
 	    throws IOException, JHOVE2Exception 
@@ -293,7 +318,7 @@ public class SourceFactoryUtil
      * @param jhove2 JHOVE2 framework object
 	 * @return FileSet source unit
 	 */
-	public static synchronized FileSetSource getFileSetSource(JHOVE2 jhove2) {
+	public static FileSetSource getFileSetSource(JHOVE2 jhove2) {
 		FileSetSource source = new FileSetSource(jhove2);
 		return source;
 	}
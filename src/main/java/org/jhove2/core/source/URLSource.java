@@ -117,7 +117,7 @@ public class URLSource
 	 * @param path URL path
 	 * @return Trailing part of the URL path
 	 */
-    private static synchronized String trimPath(String path) {
+    private static String trimPath(String path) {
         int in = path.lastIndexOf("/");
         if (in > -1) {
             path = path.substring(in+1);
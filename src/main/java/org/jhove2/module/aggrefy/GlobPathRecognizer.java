@@ -37,8 +37,11 @@ package org.jhove2.module.aggrefy;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.regex.Matcher;
@@ -226,7 +229,9 @@ extends AbstractRecognizer
 	{
 		HashMap<String,  GlobPathMatchInfoGroup> groupMap = 
 			new HashMap<String, GlobPathMatchInfoGroup>();
-		for (Source childSource:source.getChildSources()){
+		Iterator<Source> children = source.getChildSourceIterator();
+		while (children.hasNext()){
+			Source childSource = children.next();
 			File sourceFile = childSource.getFile();
 			if (sourceFile !=  null){
 				String filePath = childSource.getFile().getPath();
@@ -296,7 +301,7 @@ extends AbstractRecognizer
 					}
 				}// end if (m.matches()){
 			}//end if sourceFile != null
-		}// end for (Source childSource:source.getChildSources())
+		}// end while (children.hasNext())
 		// we don't need the keys to the map any more; just return the values
 		return groupMap.values();	
 	}
@@ -322,14 +327,20 @@ extends AbstractRecognizer
 			}
 			clumpSource = jhove2.getSourceFactory().getClumpSource(jhove2);
 			clumpSource = (ClumpSource) clumpSource.addPresumptiveFormat(fi);
+			List<GlobPathMatchInfo> members = new ArrayList<GlobPathMatchInfo>();
+			List<Source> memberSources = new ArrayList<Source>();
 			for (GlobPathMatchInfo sourceInfo:fileGroup.getSourceMatchInfoList()){
 				if ((sourceInfo.isMustHave() || sourceInfo.isMayHave()) ||
 						(this.includeUnmatchedFromGroup)) {
-					Source sourceInfoSource = sourceInfo.getSource(); 
-					sourceInfoSource=clumpSource.addChildSource(sourceInfoSource);
-					sourceInfo.setSource(sourceInfoSource);
+					members.add(sourceInfo);
+					memberSources.add(sourceInfo.getSource());
 				}	
 			}
+			// add the clump's members in one batch
+			memberSources = clumpSource.addChildSources(memberSources);
+			for (int i=0; i<members.size(); i++){
+				members.get(i).setSource(memberSources.get(i));
+			}
 		}
 		return clumpSource;
 	}
@@ -39,6 +39,14 @@ package org.jhove2.module.assess;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jhove2.annotation.ReportableProperty;
 import org.jhove2.config.ConfigInfo;
@@ -74,9 +82,26 @@ public class AssessmentModule extends AbstractModule implements Assessor {
             + "Stanford Junior University. "
             + "Available under the terms of the BSD license.";
 
+    /** Worker pools for concurrent RuleSet evaluation, shared by all
+     * assessment modules configured with the same number of threads. */
+    private static final ConcurrentMap<Integer, ExecutorService> ruleSetPools =
+        new ConcurrentHashMap<Integer, ExecutorService>();
+
     /** The factory object for creating {@link org.jhove2.module.assess.RuleSet RuleSet} instances */
     protected RuleSetFactory ruleSetFactory;
 
+    /**
+     * Number of threads used to evaluate the independent RuleSets that apply
+     * to an assessed object concurrently; 0 or 1 to evaluate them in turn.
+     */
+    protected int parallelRuleSets = 0;
+
+    /**
+     * If true, only the outcome of each rule is recorded, not the
+     * predicate evaluations and assessment messages.
+     */
+    protected boolean outcomeOnly = false;
+
     /**
      * The list of all {@link org.jhove2.module.assess.AssessmentResultSet
      * AssessmentResultSet} instances that where created during assessment of the
@@ -182,20 +207,100 @@ public class AssessmentModule extends AbstractModule implements Assessor {
 	 *             the JHOVE2 exception
      */
     private void assessObject(Object assessedObject) throws JHOVE2Exception {
-		String objectFilter = assessedObject.getClass().getName();
-		List<RuleSet> ruleSetList = getRuleSetFactory().getRuleSetList(objectFilter);
-		if (ruleSetList != null) {
-			for (RuleSet ruleSet : ruleSetList) {
-				if (ruleSet.isEnabled()) {
-            AssessmentResultSet resultSet = new AssessmentResultSet();
-					assessmentResultSets.add(resultSet);
-            resultSet.setRuleSet(ruleSet);
-            resultSet.fireAllRules(assessedObject);
-        }
-    }
+		List<RuleSet> ruleSetList =
+			getRuleSetFactory().getRuleSetList(assessedObject.getClass());
+		if (ruleSetList == null) {
+			return;
+		}
+		List<AssessmentResultSet> resultSets = new ArrayList<AssessmentResultSet>();
+		for (RuleSet ruleSet : ruleSetList) {
+			if (ruleSet.isEnabled()) {
+				AssessmentResultSet resultSet = new AssessmentResultSet();
+				assessmentResultSets.add(resultSet);
+				resultSet.setRuleSet(ruleSet);
+				resultSets.add(resultSet);
+			}
+		}
+		if (parallelRuleSets > 1 && resultSets.size() > 1) {
+			fireConcurrently(resultSets, assessedObject);
+		}
+		else {
+			for (AssessmentResultSet resultSet : resultSets) {
+				resultSet.fireAllRules(assessedObject, outcomeOnly);
+			}
 		}
 	}
 
+    /**
+     * Evaluate independent RuleSets against the same object on the shared
+     * worker pool.  The first RuleSet is evaluated on the calling thread.
+     * 
+     * @param resultSets
+     *            result sets, one per RuleSet, in reporting order
+     * @param assessedObject
+     *            the assessed object
+     * @throws JHOVE2Exception
+     *             if a RuleSet evaluation fails or the wait is interrupted
+     */
+    private void fireConcurrently(List<AssessmentResultSet> resultSets,
+                                  final Object assessedObject)
+        throws JHOVE2Exception
+    {
+        ExecutorService pool = getRuleSetPool(parallelRuleSets);
+        List<Future<?>> futures = new ArrayList<Future<?>>(resultSets.size());
+        for (final AssessmentResultSet resultSet :
+                 resultSets.subList(1, resultSets.size())) {
+            futures.add(pool.submit(new Runnable() {
+                @Override
+                public void run() {
+                    resultSet.fireAllRules(assessedObject, outcomeOnly);
+                }
+            }));
+        }
+        resultSets.get(0).fireAllRules(assessedObject, outcomeOnly);
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JHOVE2Exception("Interrupted evaluating RuleSets", e);
+        } catch (ExecutionException e) {
+            throw new JHOVE2Exception("Exception evaluating RuleSet",
+                                      e.getCause());
+        }
+    }
+
+    /**
+     * Get the worker pool used for concurrent RuleSet evaluation with a
+     * number of threads, creating it on first use.
+     * 
+     * @param threads
+     *            number of worker threads
+     * @return worker pool
+     */
+    private static ExecutorService getRuleSetPool(int threads) {
+        ExecutorService pool = ruleSetPools.get(threads);
+        if (pool == null) {
+            final AtomicInteger count = new AtomicInteger();
+            pool = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "jhove2-assess-" +
+                                               count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            ExecutorService existing = ruleSetPools.putIfAbsent(threads, pool);
+            if (existing != null) {
+                pool.shutdown();
+                pool = existing;
+            }
+        }
+        return pool;
+    }
+
     /**
      * Gets the {@link #ruleSetFactory}
      * 
@@ -215,6 +320,44 @@ public class AssessmentModule extends AbstractModule implements Assessor {
         this.ruleSetFactory = ruleSetFactory;
     }
 
+    /**
+     * Gets the {@link #parallelRuleSets} thread count
+     * 
+     * @return parallelRuleSets
+     */
+    public int getParallelRuleSets() {
+        return parallelRuleSets;
+    }
+
+    /**
+     * Sets the {@link #parallelRuleSets} thread count
+     * 
+     * @param parallelRuleSets
+     *            number of threads; 0 or 1 to evaluate RuleSets in turn
+     */
+    public void setParallelRuleSets(int parallelRuleSets) {
+        this.parallelRuleSets = parallelRuleSets;
+    }
+
+    /**
+     * Gets the {@link #outcomeOnly} flag
+     * 
+     * @return outcomeOnly
+     */
+    public boolean isOutcomeOnly() {
+        return outcomeOnly;
+    }
+
+    /**
+     * Sets the {@link #outcomeOnly} flag
+     * 
+     * @param outcomeOnly
+     *            true if only rule outcomes are to be recorded
+     */
+    public void setOutcomeOnly(boolean outcomeOnly) {
+        this.outcomeOnly = outcomeOnly;
+    }
+
 	/**
 	 * @return the configInfo
 	 */
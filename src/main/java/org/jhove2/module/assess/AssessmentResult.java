@@ -46,8 +46,8 @@ import java.util.regex.*;
 import org.jhove2.annotation.ReportableProperty;
 import org.jhove2.core.JHOVE2Exception;
 import org.jhove2.core.reportable.AbstractReportable;
+import org.jhove2.module.assess.Rule.Quantor;
 import org.jhove2.module.format.Validator.Validity;
-import org.mvel2.MVEL;
 
 import com.sleepycat.persist.model.Persistent;
 
@@ -83,6 +83,14 @@ public class AssessmentResult extends AbstractReportable {
     /** Assessment Messages. */
     protected List<String> assessmentMessages = new ArrayList<String>();
 
+    /** Predicate expressions not evaluated, as the outcome of the rule was
+     * decided by an earlier predicate. */
+    protected List<String> skippedPredicates = new ArrayList<String>();
+
+    /** If true, only the outcome of the rule is recorded, not the 
+     * {@link #predicateEvaluations} or {@link #assessmentMessages}. */
+    protected boolean outcomeOnly;
+
     
     public AssessmentResult(){
     	super();
@@ -186,6 +194,9 @@ public class AssessmentResult extends AbstractReportable {
      */
     @ReportableProperty(order = 5, value = "Conditional Details")
     public String getAssessmentDetails() {
+        if (outcomeOnly) {
+            return null;
+        }
         StringBuilder sb = new StringBuilder();
         sb.append(rule.getQuantifier().toString());
         sb.append(" { ");
@@ -196,10 +207,23 @@ public class AssessmentResult extends AbstractReportable {
             sb.append(entry.getValue());
             sb.append(";");
         }
+        for (String predicate : getSkippedPredicates()) {
+            sb.append(predicate);
+            sb.append(" => not evaluated;");
+        }
         sb.append(" }");
         return sb.toString();
     }
     
+    /**
+     * Gets the {@link #skippedPredicates}
+     * 
+     * @return predicate expressions not evaluated
+     */
+    public List<String> getSkippedPredicates() {
+        return skippedPredicates;
+    }
+
     /**
      * Get Assessment messages.
      * 
@@ -226,49 +250,89 @@ public class AssessmentResult extends AbstractReportable {
      * The outcome includes a boolean evaluation of the Rule's conditional
      * expression, and a textual statement based on the true or false value of
      * the evaluation.
+     * The predicates are evaluated in order, using the compiled form 
+     * returned by {@link Rule#compile()}, and evaluation stops at the first
+     * predicate that decides the outcome for the rule's quantifier: a false
+     * predicate for ALL_OF, or a true predicate for ANY_OF or NONE_OF.
+     * Predicates that were not evaluated are listed in the
+     * {@link #skippedPredicates}, and reported as not evaluated in the
+     * assessment details.
+     * Once a predicate cannot be evaluated the outcome is Undetermined, as
+     * it is if any predicate failed to compile, and the remaining
+     * predicates are all evaluated, so that every error is reported; an
+     * error in a predicate skipped after the outcome was decided is not
+     * seen.
      * @param assessedObject Object (Source or Module) to be assessed
      */
     protected void fireRule(Object assessedObject) {
-        /* Evaluate each of the Rule's predicates */
-        for (String predicate : rule.getPredicates()) {
+        fireRule(assessedObject, false);
+    }
+
+    /**
+     * Evaluate the rule against the assessed object, as in
+     * {@link #fireRule(Object)}.  If <code>outcomeOnly</code> is true, only the
+     * boolean and narrative results are kept: the predicate evaluations and
+     * assessment messages are not recorded.
+     * @param assessedObject Object (Source or Module) to be assessed
+     * @param outcomeOnly true if only the outcome is to be recorded
+     */
+    protected void fireRule(Object assessedObject, boolean outcomeOnly) {
+        this.outcomeOnly = outcomeOnly;
+        CompiledPredicate[] predicates = rule.compile();
+        /* A predicate that failed to compile leaves the outcome
+         * undetermined, wherever it is in the rule. */
+        boolean undetermined = false;
+        for (CompiledPredicate predicate : predicates) {
+            if (predicate.getError() != null) {
+                undetermined = true;
+            }
+        }
+        Quantor quantifier = rule.getQuantifier();
+        boolean ruleTruth = !Quantor.ANY_OF.equals(quantifier);
+        boolean decided = false;
+        /* Evaluate the Rule's predicates until the outcome is decided */
+        for (CompiledPredicate predicate : predicates) {
+            if (undetermined && outcomeOnly) {
+                break;
+            }
+            if (decided) {
+                if (!outcomeOnly) {
+                    getSkippedPredicates().add(predicate.getPredicate());
+                }
+                continue;
+            }
             Boolean predicateTruth;
-            predicateTruth = false;
             try {
-            	if (containsAssignmentOperator(predicate))
-            		throw new Exception("Predicate contains assigment operator: " + predicate);
-                predicateTruth = MVEL.evalToBoolean(predicate, assessedObject);
+                predicateTruth = predicate.evaluate(assessedObject);
             } catch (Exception e) {
                 predicateTruth = null;
-                assessmentMessages.add(e.getMessage());
+                undetermined = true;
+                if (!outcomeOnly) {
+                    assessmentMessages.add(e.getMessage());
+                }
             }
-            getPredicateEvaluations().put(predicate, predicateTruth);
-        }
-        /* Evaluate the overall outcome of the Rule evaluation */
-        if (getAssessmentMessages().size() == 0) {
-            boolean ruleTruth = false;
-            switch (rule.getQuantifier()) {
+            if (!outcomeOnly) {
+                getPredicateEvaluations().put(predicate.getPredicate(),
+                                              predicateTruth);
+            }
+            if (undetermined) {
+                continue;
+            }
+            switch (quantifier) {
                 case ALL_OF:
-                    ruleTruth = true;
-                    for (Boolean predicateTruth : getPredicateEvaluations()
-                            .values()) {
-                        ruleTruth = (ruleTruth && predicateTruth.booleanValue());
-                    }
+                    decided = !predicateTruth.booleanValue();
                     break;
                 case ANY_OF:
-                    ruleTruth = false;
-                    for (Boolean predicateTruth : getPredicateEvaluations()
-                            .values()) {
-                        ruleTruth = (ruleTruth || predicateTruth.booleanValue());
-                    }
-                    break;
                 case NONE_OF:
-                    ruleTruth = true;
-                    for (Boolean predicateTruth : getPredicateEvaluations()
-                            .values()) {
-                        ruleTruth = (ruleTruth || ! predicateTruth.booleanValue());
-                    }
+                    decided = predicateTruth.booleanValue();
                     break;
             }
+            if (decided) {
+                ruleTruth = !ruleTruth;
+            }
+        }
+        /* Evaluate the overall outcome of the Rule evaluation */
+        if (!undetermined) {
             setBooleanResult(ruleTruth ? Validity.True : Validity.False );
         } else {
             setBooleanResult(Validity.Undetermined);
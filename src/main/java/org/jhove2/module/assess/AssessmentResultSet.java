@@ -176,9 +176,21 @@ public class AssessmentResultSet extends AbstractReportable {
      * @throws JHOVE2Exception
      */
     public void fireAllRules(Object assessedObject)  {
+        fireAllRules(assessedObject, false);
+    }
+
+    /**
+     * Evaluate each rule of the {@link #ruleSet} against the assessed object,
+     * as in {@link #fireAllRules(Object)}.  If <code>outcomeOnly</code> is
+     * true, the individual rule results record only their outcome.
+     * @param assessedObject Object (Source or Module) to be assessed
+     * @param outcomeOnly true if predicate evaluations and assessment messages
+     *            are not to be recorded
+     */
+    public void fireAllRules(Object assessedObject, boolean outcomeOnly)  {
         /* Evaluate each Rule */
         for (AssessmentResult result : getAssessmentResults()) {
-            result.fireRule(assessedObject);
+            result.fireRule(assessedObject, outcomeOnly);
         }
         /* Evaluate overall outcome of the RuleSet */
         Validity ruleSetTruth = null;
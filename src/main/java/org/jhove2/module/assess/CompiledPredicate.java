@@ -0,0 +1,118 @@
+/**
+ * JHOVE2 - Next-generation architecture for format-aware characterization
+ * <p>
+ * Copyright (c) 2009 by The Regents of the University of California, Ithaka
+ * Harbors, Inc., and The Board of Trustees of the Leland Stanford Junior
+ * University. All rights reserved.
+ * </p>
+ * <p>
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * </p>
+ * <ul>
+ * <li>Redistributions of source code must retain the above copyright notice,
+ * this list of conditions and the following disclaimer.</li>
+ * <li>Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.</li>
+ * <li>Neither the name of the University of California/California Digital
+ * Library, Ithaka Harbors/Portico, or Stanford University, nor the names of its
+ * contributors may be used to endorse or promote products derived from this
+ * software without specific prior written permission.</li>
+ * </ul>
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * </p>
+ */
+package org.jhove2.module.assess;
+
+import java.io.Serializable;
+
+import org.jhove2.core.JHOVE2Exception;
+import org.mvel2.MVEL;
+
+/**
+ * A {@link Rule} predicate compiled once into an MVEL expression so that it
+ * can be evaluated repeatedly against assessed objects without re-parsing the
+ * predicate text.  Predicates that are rejected at compile time (for example
+ * because they contain an assignment operator or have invalid syntax) keep
+ * the failure message and report it each time they are evaluated.
+ */
+public class CompiledPredicate {
+
+    /** The predicate expression text */
+    protected String predicate;
+
+    /** The compiled MVEL expression, or null if compilation failed */
+    protected Serializable expression;
+
+    /** The reason the predicate could not be compiled, or null */
+    protected String error;
+
+    /**
+     * Instantiates a new CompiledPredicate by compiling the predicate text.
+     * 
+     * @param predicate
+     *            the predicate expression text
+     */
+    public CompiledPredicate(String predicate) {
+        this.predicate = predicate;
+        if (AssessmentResult.containsAssignmentOperator(predicate)) {
+            this.error = "Predicate contains assigment operator: " + predicate;
+        }
+        else {
+            try {
+                this.expression = MVEL.compileExpression(predicate);
+            } catch (Exception e) {
+                this.error = e.getMessage();
+            }
+        }
+    }
+
+    /**
+     * Gets the {@link #predicate} text
+     * 
+     * @return predicate
+     */
+    public String getPredicate() {
+        return predicate;
+    }
+
+    /**
+     * Gets the compilation {@link #error}, if any
+     * 
+     * @return error message, or null if the predicate compiled
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Evaluate the compiled predicate against an object.
+     * 
+     * @param assessedObject
+     *            Object (Source or Module) to be assessed
+     * @return boolean value of the predicate
+     * @throws Exception
+     *             if the predicate did not compile, or cannot be evaluated
+     *             against the object
+     */
+    public boolean evaluate(Object assessedObject) throws Exception {
+        if (expression == null) {
+            throw new JHOVE2Exception(error);
+        }
+        Boolean truth = MVEL.executeExpression(expression, assessedObject,
+                                               Boolean.class);
+        return truth != null && truth.booleanValue();
+    }
+}
@@ -38,6 +38,7 @@ package org.jhove2.module.assess;
 
 import java.util.List;
 
+import com.sleepycat.persist.model.NotPersistent;
 import com.sleepycat.persist.model.Persistent;
 
 /**
@@ -121,6 +122,10 @@ public class Rule {
     /** Whether or not to evaluate this Rule */
     protected boolean enabled = true;
 
+    /** The {@link #predicates} compiled for evaluation, built on first use */
+    @NotPersistent
+    protected volatile CompiledPredicate[] compiledPredicates;
+
     /**
      * Instantiates a new Rule object.
      */
@@ -201,6 +206,32 @@ public class Rule {
      */
     public void setPredicates(List<String> predicates) {
         this.predicates = predicates;
+        this.compiledPredicates = null;
+    }
+
+    /**
+     * Gets the rule {@link #predicates} compiled into MVEL expressions.
+     * The predicates are compiled the first time this method is called,
+     * and the compiled form is reused for every subsequent evaluation.
+     * 
+     * @return compiled predicates, in the order of {@link #predicates}
+     */
+    public CompiledPredicate[] compile() {
+        CompiledPredicate[] compiled = compiledPredicates;
+        if (compiled == null) {
+            if (predicates == null) {
+                compiled = new CompiledPredicate[0];
+            }
+            else {
+                compiled = new CompiledPredicate[predicates.size()];
+                int i = 0;
+                for (String predicate : predicates) {
+                    compiled[i++] = new CompiledPredicate(predicate);
+                }
+            }
+            compiledPredicates = compiled;
+        }
+        return compiled;
     }
 
     /**
@@ -149,6 +149,19 @@ public class RuleSet {
         this.rules = rules;
     }
 
+    /**
+     * Compile the predicates of each of the ruleSet's {@link #rules}, so that
+     * the cost of parsing the predicate expressions is paid once, when the
+     * RuleSet is loaded, rather than on every assessment.
+     */
+    public void compile() {
+        if (rules != null) {
+            for (Rule rule : rules) {
+                rule.compile();
+            }
+        }
+    }
+
     /**
      * @return the enabled status for the RuleSet
      */
@@ -63,4 +63,17 @@ public interface RuleSetFactory {
      */
     public List<RuleSet> getRuleSetList(String className) throws JHOVE2Exception;
 
+    /**
+     * Construct a list of {@link RuleSet} instances to be used for assessment of 
+     * objects of the specified class.  This includes the RuleSets whose
+     * {@link RuleSet#getObjectFilter() objectFilter} names the class itself,
+     * any of its superclasses, or any interface it implements, in that order.
+     * 
+     * @param objectClass
+     *            The class (type) of the object to be assessed
+     * @return List<{@link RuleSet}>, empty if no RuleSet applies to the class
+     * @throws JHOVE2Exception
+     */
+    public List<RuleSet> getRuleSetList(Class<?> objectClass) throws JHOVE2Exception;
+
 }
@@ -73,7 +73,7 @@ public abstract class AbstractArrayDigester extends AbstractReportable implement
 	 *            Message digest value
 	 * @return Message digest value as a hexadecimal string
 	 */
-	public static synchronized String toHexString(long digest) {
+	public static String toHexString(long digest) {
 		StringBuffer hex = new StringBuffer();
 		String h = Long.toHexString(digest);
 		int len = h.length();
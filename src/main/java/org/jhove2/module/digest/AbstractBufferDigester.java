@@ -114,7 +114,7 @@ implements BufferDigester {
 	 *            Message digest value
 	 * @return Message digest value as a hexadecimal string
 	 */
-	public static synchronized String toHexString(byte[] digest) {
+	public static String toHexString(byte[] digest) {
 		StringBuffer hex = new StringBuffer();
 		for (int i = 0; i < digest.length; i++) {
 			int in = digest[i];
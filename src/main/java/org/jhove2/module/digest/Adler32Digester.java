@@ -78,6 +78,22 @@ public class Adler32Digester extends AbstractArrayDigester {
 		this.digester.update(array);
 	}
 
+	/**
+	 * Update a message digest with a region of a byte array.
+	 * 
+	 * @param array
+	 *            Byte array
+	 * @param offset
+	 *            Offset of the region in the array
+	 * @param length
+	 *            Length of the region
+	 * @see org.jhove2.module.digest.ArrayDigester#update(byte[], int, int)
+	 */
+	@Override
+	public void update(byte[] array, int offset, int length) {
+		this.digester.update(array, offset, length);
+	}
+
 	/**
 	 * Get message digest value, as a hexadecimal string.
 	 * 
@@ -50,4 +50,16 @@ public interface ArrayDigester extends DigesterAlgorithm {
 	 *            Byte array
 	 */
 	public void update(byte[] array);
+
+	/**
+	 * Update a message digest with a region of a byte array.
+	 * 
+	 * @param array
+	 *            Byte array
+	 * @param offset
+	 *            Offset of the region in the array
+	 * @param length
+	 *            Length of the region
+	 */
+	public void update(byte[] array, int offset, int length);
 }
@@ -120,16 +120,44 @@ public class DigesterModule
 	    long inputSize = ((MeasurableSource) source).getSize();
 	    long bufferSize = input.getMaxBufferSize();
 	    long ptr = ((MeasurableSource) source).getStartingOffset();
+	    byte[] chunk = null;
 	    while (inputSize - ptr > -1L) {
 	        input.setPosition(ptr);
 	        if (this.arrayDigesters != null &&
 	            this.arrayDigesters.size() > 0) {
-	            byte[] array = input.getByteArray();
-	            Iterator<ArrayDigester> iter =
-	                this.arrayDigesters.iterator();
-	            while (iter.hasNext()) {
-	                ArrayDigester digester = iter.next();
-	                digester.update(array);
+	            ByteBuffer buffer = input.getBuffer();
+	            if (buffer.hasArray()) {
+	                /* Only the bytes up to the limit belong to this window. */
+	                byte[] array = input.getByteArray();
+	                Iterator<ArrayDigester> iter =
+	                    this.arrayDigesters.iterator();
+	                while (iter.hasNext()) {
+	                    ArrayDigester digester = iter.next();
+	                    digester.update(array, buffer.arrayOffset(),
+	                                    buffer.limit());
+	                }
+	            }
+	            else {
+	                /* A direct or mapped buffer (a mapped segment may be
+	                 * as large as the file) is passed to the array digesters
+	                 * a bounded chunk at a time, rather than copied whole.
+	                 */
+	                if (chunk == null) {
+	                    chunk = new byte[Math.max(1,
+	                        jhove2.getInvocation().getBufferSize())];
+	                }
+	                ByteBuffer window = buffer.duplicate();
+	                window.position(0);
+	                while (window.hasRemaining()) {
+	                    int n = Math.min(chunk.length, window.remaining());
+	                    window.get(chunk, 0, n);
+	                    Iterator<ArrayDigester> iter =
+	                        this.arrayDigesters.iterator();
+	                    while (iter.hasNext()) {
+	                        ArrayDigester digester = iter.next();
+	                        digester.update(chunk, 0, n);
+	                    }
+	                }
 	            }
 	        }
 	        if (this.bufferDigesters != null &&
@@ -40,17 +40,28 @@ import static com.sleepycat.persist.model.DeleteAction.NULLIFY;
 import static com.sleepycat.persist.model.Relationship.ONE_TO_ONE;
 
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
 import java.io.UnsupportedEncodingException;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jhove2.annotation.ReportableProperty.PropertyType;
 import org.jhove2.config.ConfigInfo;
@@ -58,13 +69,17 @@ import org.jhove2.core.I8R;
 import org.jhove2.core.JHOVE2Exception;
 import org.jhove2.core.app.Application;
 import org.jhove2.core.reportable.Reportable;
-import org.jhove2.core.reportable.info.ReportableInfo;
 import org.jhove2.core.reportable.info.ReportablePropertyInfo;
-import org.jhove2.core.reportable.info.ReportableSourceInfo;
+import org.jhove2.core.reportable.info.ReportableReader;
+import org.jhove2.core.reportable.info.ReportableReaders;
+import org.jhove2.core.reportable.info.ReportableVisitor;
 import org.jhove2.module.AbstractModule;
+import org.jhove2.module.display.util.BufferedDisplayStream;
+import org.jhove2.module.display.util.DisplaySegment;
 import org.jhove2.persist.DisplayerAccessor;
 import org.jhove2.persist.ModuleAccessor;
 
+import com.sleepycat.persist.model.NotPersistent;
 import com.sleepycat.persist.model.Persistent;
 import com.sleepycat.persist.model.SecondaryKey;
 
@@ -89,6 +104,16 @@ public abstract class AbstractDisplayer
 		Always, IfFalse, IfNegative, IfNonNegative, IfNonPositive, IfNonZero, IfPositive, IfTrue, IfZero, Never
 	}
 
+	/** Precomputed indentation strings, by nesting level. */
+	private static final String[] INDENTS = new String[128];
+	static {
+		StringBuffer indent = new StringBuffer(INDENTS.length);
+		for (int i = 0; i < INDENTS.length; i++) {
+			INDENTS[i] = indent.toString();
+			indent.append(' ');
+		}
+	}
+
 	/** Units of measure configured by the user. */
 	private static ConcurrentMap<String, String> units;
 
@@ -122,6 +147,29 @@ public abstract class AbstractDisplayer
     
     /** Show raw properties flag: if true, show properties. */
     protected boolean showRawProperties;
+
+    /**
+     * Number of threads used to render the subtrees of the top-level
+     * collections (such as the child sources of a file set) concurrently;
+     * 0 or 1 to render them in turn.  Only displayers that render each
+     * subtree independently of the rest of the display support this.
+     * @see #canRenderConcurrently()
+     */
+    protected int parallelSubtrees = 0;
+
+    /**
+     * Number of characters of a concurrently rendered subtree held in
+     * memory before the rest is spilled to a temporary file.
+     * @see DisplaySegment
+     */
+    protected int segmentSpillThreshold = DisplaySegment.DEFAULT_SPILL_THRESHOLD;
+
+    /**
+     * Worker pool for concurrent subtree rendering, sized by
+     * {@link #parallelSubtrees}; created on first use.
+     */
+    @NotPersistent
+    protected ExecutorService renderPool;
     /**
      * Instantiate a new <code>AbstractDisplayer</code>.
      */
@@ -177,7 +225,10 @@ public abstract class AbstractDisplayer
 	}
 
 	/**
-	 * Display {@link org.jhove2.core.reportable.Reportable} to a named file.
+	 * Display {@link org.jhove2.core.reportable.Reportable} to a named file,
+	 * or to the standard output stream if the file pathname is null.  Output
+	 * is written through a {@link BufferedDisplayStream}, which is flushed
+	 * (or, for a file, closed) once the display is complete.
 	 *  
 	 * @param reportable
 	 *            Reportable
@@ -193,15 +244,26 @@ public abstract class AbstractDisplayer
 	public void display(Reportable reportable, String filePathname)
 		throws FileNotFoundException, JHOVE2Exception, UnsupportedEncodingException
 	{
-		PrintStream out = System.out;
+		BufferedDisplayStream out = null;
 		if (filePathname == null) {
-		    out = new PrintStream(System.out, false, this.characterEncoding);
+		    out = new BufferedDisplayStream(System.out, this.characterEncoding);
 		}
 		else {
 			this.filePathname = filePathname;
-			out = new PrintStream(filePathname, this.characterEncoding);
+			out = new BufferedDisplayStream(new FileOutputStream(filePathname),
+					                        this.characterEncoding);
 		}	
-		this.display(reportable, out);
+		try {
+			this.display(reportable, out);
+		}
+		finally {
+			if (filePathname == null) {
+				out.flush();
+			}
+			else {
+				out.close();
+			}
+		}
 	}
 	
 	/**
@@ -276,76 +338,238 @@ public abstract class AbstractDisplayer
 			               Map<String, DisplayVisibility> visibilities)
 		throws JHOVE2Exception
 	{
-		ReportableInfo reportableInfo = new ReportableInfo(reportable);
-		String name = reportableInfo.getName();
-		I8R identifier = reportableInfo.getIdentifier();
+		String name = reportable.getReportableName();
+		I8R identifier = reportable.getReportableIdentifier();
 		if (shouldNestReportable){
 			this.startReportable(out, level, name, identifier, order);
 		}
-		int or = 0;
-		List<ReportableSourceInfo> list = reportableInfo.getProperties();
-		for (ReportableSourceInfo source : list) {
-			Set<ReportablePropertyInfo> props = source.getProperties();
-			for (ReportablePropertyInfo prop : props) {
-			    /* Check if descriptive or raw properties should be displayed. */
-			    PropertyType type = prop.getPropertyType();
-			    if ((type == PropertyType.Descriptive && !this.showDescriptiveProperties) ||
-			        (type == PropertyType.Raw         && !this.showRawProperties)) {
-			        continue;
-			    }
-				I8R id = prop.getIdentifier();
-				String ident = id.getValue();
-				
-				/* Check if a displayer directive applies. */
-				DisplayVisibility visbility = visibilities.get(ident);
-				if (visbility != null && visbility == DisplayVisibility.Never) {
-					continue;
-				}
-				Method method       = prop.getMethod();
-				String methodName   = method.getName();
-				String propertyName = methodName;
-				if (propertyName.indexOf("get") == 0) {
-					propertyName = propertyName.substring(3);
+		ReportableReader reader =
+			ReportableReaders.getReader(reportable.getClass());
+		reader.read(reportable,
+				    new PropertyVisitor(out, level, units, visibilities));
+		if (shouldNestReportable){
+			this.endReportable(out, level, name, identifier);
+		}
+	}
+
+	/**
+	 * Visitor displaying the properties of a
+	 * {@link org.jhove2.core.reportable.Reportable}, as read by its
+	 * {@link org.jhove2.core.reportable.info.ReportableReader}.  Primitive
+	 * values are checked against the display visibilities unboxed, and boxed
+	 * only if they are displayed.
+	 */
+	protected class PropertyVisitor
+		implements ReportableVisitor
+	{
+		/** Print stream. */
+		protected PrintStream out;
+
+		/** Nesting level of the reportable. */
+		protected int level;
+
+		/** Map of units of measure. */
+		protected Map<String, String> units;
+
+		/** Map of display visibilities. */
+		protected Map<String, DisplayVisibility> visibilities;
+
+		/** Ordinal position of the next property displayed. */
+		protected int order;
+
+		/**
+		 * Instantiate a new <code>PropertyVisitor</code>.
+		 * 
+		 * @param out
+		 *            Print stream
+		 * @param level
+		 *            Nesting level of the reportable
+		 * @param units
+		 *            Map of units of measure
+		 * @param visibilities
+		 *            Map of display visibilities
+		 */
+		public PropertyVisitor(PrintStream out, int level,
+				               Map<String, String> units,
+				               Map<String, DisplayVisibility> visibilities) {
+			this.out          = out;
+			this.level        = level;
+			this.units        = units;
+			this.visibilities = visibilities;
+		}
+
+		/**
+		 * Check if descriptive or raw properties should be displayed, and
+		 * if a displayer directive suppresses the property.
+		 * 
+		 * @see org.jhove2.core.reportable.info.ReportableVisitor#accept(org.jhove2.core.reportable.info.ReportablePropertyInfo)
+		 */
+		@Override
+		public boolean accept(ReportablePropertyInfo property) {
+			PropertyType type = property.getPropertyType();
+			if ((type == PropertyType.Descriptive && !showDescriptiveProperties) ||
+				(type == PropertyType.Raw         && !showRawProperties)) {
+				return false;
+			}
+			return this.visibilities.get(property.getIdentifier().getValue()) !=
+				DisplayVisibility.Never;
+		}
+
+		/**
+		 * Display a property value.
+		 * 
+		 * @param property
+		 *            Property
+		 * @param value
+		 *            Property value
+		 * @throws JHOVE2Exception
+		 */
+		protected void display(ReportablePropertyInfo property, Object value)
+			throws JHOVE2Exception
+		{
+			I8R id = property.getIdentifier();
+			String unit = this.units.get(id.getValue());
+			AbstractDisplayer.this.display(this.out, this.level,
+					property.getName(), id, value, this.order++, unit);
+		}
+
+		/**
+		 * Get the display visibility of a property.
+		 * 
+		 * @param property
+		 *            Property
+		 * @return Display visibility, or null if none applies
+		 */
+		protected DisplayVisibility getVisibility(ReportablePropertyInfo property) {
+			return this.visibilities.get(property.getIdentifier().getValue());
+		}
+
+		/**
+		 * Determine whether a numeric value is hidden by a display
+		 * visibility.
+		 * 
+		 * @param d
+		 *            Value
+		 * @param visibility
+		 *            Display visibility, possibly null
+		 * @return True if the value is not displayed
+		 */
+		protected boolean isHidden(double d, DisplayVisibility visibility) {
+			return visibility != null &&
+				((d == 0.0 && visibility == DisplayVisibility.IfNonZero)     ||
+				 (d != 0.0 && visibility == DisplayVisibility.IfZero)        ||
+				 (d <  0.0 && visibility == DisplayVisibility.IfNonNegative) ||
+				 (d >  0.0 && visibility == DisplayVisibility.IfNonPositive) ||
+				 (d <= 0.0 && visibility == DisplayVisibility.IfPositive)    ||
+				 (d >= 0.0 && visibility == DisplayVisibility.IfNegative));
+		}
+
+		/**
+		 * Determine whether a boolean value is hidden by a display
+		 * visibility.
+		 * 
+		 * @param b
+		 *            Value
+		 * @param visibility
+		 *            Display visibility, possibly null
+		 * @return True if the value is not displayed
+		 */
+		protected boolean isHidden(boolean b, DisplayVisibility visibility) {
+			return ( b && visibility == DisplayVisibility.IfFalse) ||
+				   (!b && visibility == DisplayVisibility.IfTrue);
+		}
+
+		@Override
+		public void visitObject(ReportablePropertyInfo property, Object value)
+			throws JHOVE2Exception
+		{
+			if (value == null) {
+				return;
+			}
+			DisplayVisibility visibility = this.getVisibility(property);
+			if (visibility != null) {
+				if (value instanceof Boolean) {
+					if (this.isHidden(((Boolean) value).booleanValue(), visibility)) {
+						return;
+					}
 				}
-				try {
-					Object value = method.invoke(reportable);
-					if (value != null) {
-						if (visbility != null) {
-							if (value instanceof Boolean) {
-								boolean b = ((Boolean) value).booleanValue();
-								if (( b && visbility == DisplayVisibility.IfFalse) ||
-								    (!b && visbility == DisplayVisibility.IfTrue)) {
-									continue;
-								}
-							} else if (value instanceof Number) {
-								double d = ((Number) value).doubleValue();
-								if ((d == 0.0 && visbility == DisplayVisibility.IfNonZero)     ||
-								    (d != 0.0 && visbility == DisplayVisibility.IfZero)        ||
-									(d <  0.0 && visbility == DisplayVisibility.IfNonNegative) ||
-									(d >  0.0 && visbility == DisplayVisibility.IfNonPositive) ||
-									(d <= 0.0 && visbility == DisplayVisibility.IfPositive)    ||
-									(d >= 0.0 && visbility == DisplayVisibility.IfNegative)) {
-									continue;
-								}
-							}
-						}
-						String unit = units.get(ident);
-						display(out, level, propertyName, id, value, or++, unit);
+				else if (value instanceof Number) {
+					if (this.isHidden(((Number) value).doubleValue(), visibility)) {
+						return;
 					}
-				} catch (IllegalArgumentException e) {
-					throw new JHOVE2Exception(
-							"AbstractDisplayer.display(): IllegalArgumentException", e);
-				} catch (IllegalAccessException e) {
-					throw new JHOVE2Exception(
-							"AbstractDisplayer.display(): IllegalAccessException", e);
-				} catch (InvocationTargetException e) {
-					throw new JHOVE2Exception(
-							"AbstractDisplayer.display(): InvocationTargetException", e);
 				}
 			}
+			this.display(property, value);
 		}
-		if (shouldNestReportable){
-			this.endReportable(out, level, name, identifier);
+
+		@Override
+		public void visitBoolean(ReportablePropertyInfo property, boolean value)
+			throws JHOVE2Exception
+		{
+			if (!this.isHidden(value, this.getVisibility(property))) {
+				this.display(property, Boolean.valueOf(value));
+			}
+		}
+
+		@Override
+		public void visitByte(ReportablePropertyInfo property, byte value)
+			throws JHOVE2Exception
+		{
+			if (!this.isHidden(value, this.getVisibility(property))) {
+				this.display(property, Byte.valueOf(value));
+			}
+		}
+
+		@Override
+		public void visitChar(ReportablePropertyInfo property, char value)
+			throws JHOVE2Exception
+		{
+			this.display(property, Character.valueOf(value));
+		}
+
+		@Override
+		public void visitShort(ReportablePropertyInfo property, short value)
+			throws JHOVE2Exception
+		{
+			if (!this.isHidden(value, this.getVisibility(property))) {
+				this.display(property, Short.valueOf(value));
+			}
+		}
+
+		@Override
+		public void visitInt(ReportablePropertyInfo property, int value)
+			throws JHOVE2Exception
+		{
+			if (!this.isHidden(value, this.getVisibility(property))) {
+				this.display(property, Integer.valueOf(value));
+			}
+		}
+
+		@Override
+		public void visitLong(ReportablePropertyInfo property, long value)
+			throws JHOVE2Exception
+		{
+			if (!this.isHidden(value, this.getVisibility(property))) {
+				this.display(property, Long.valueOf(value));
+			}
+		}
+
+		@Override
+		public void visitFloat(ReportablePropertyInfo property, float value)
+			throws JHOVE2Exception
+		{
+			if (!this.isHidden(value, this.getVisibility(property))) {
+				this.display(property, Float.valueOf(value));
+			}
+		}
+
+		@Override
+		public void visitDouble(ReportablePropertyInfo property, double value)
+			throws JHOVE2Exception
+		{
+			if (!this.isHidden(value, this.getVisibility(property))) {
+				this.display(property, Double.valueOf(value));
+			}
 		}
 	}
 
@@ -371,32 +595,24 @@ public abstract class AbstractDisplayer
 			               I8R identifier, Object value, int order, String unit)
 		throws JHOVE2Exception
 	{
-		if (value instanceof List<?>) {
-			List<?> valueList = (List<?>) value;
-			int size = valueList.size();
+		if (value instanceof List<?> || value instanceof Set<?>) {
+			Collection<?> collection = (Collection<?>) value;
+			int size = collection.size();
 			if (size > 0) {
 				this.startCollection(out, level + 1, name,
 						identifier, size, order);
 				String singularName = I8R.singularName(name);
 				I8R id = I8R.singularIdentifier(identifier);
-				int i = 0;
-				for (Object prop : valueList) {
-					this.display(out, level + 1, singularName, id, prop, i++, unit);
+				if (level == 0 && size > 1 && this.parallelSubtrees > 1 &&
+					this.canRenderConcurrently()) {
+					this.displayConcurrently(out, level + 1, singularName, id,
+							                 collection, unit);
 				}
-				this.endCollection(out, level + 1, name, identifier, size);
-			}
-		}
-		else if (value instanceof Set<?>) {
-			Set<?> set = (Set<?>) value;
-			int size = set.size();
-			if (size > 0) {
-				this.startCollection(out, level + 1, name,
-						identifier, size, order);
-				String singularName = I8R.singularName(name);
-				I8R id = I8R.singularIdentifier(identifier);
-				int i = 0;
-				for (Object prop : set) {
-					display(out, level + 1, singularName, id, prop, i++, unit);
+				else {
+					int i = 0;
+					for (Object prop : collection) {
+						this.display(out, level + 1, singularName, id, prop, i++, unit);
+					}
 				}
 				this.endCollection(out, level + 1, name, identifier, size);
 			}
@@ -420,6 +636,139 @@ public abstract class AbstractDisplayer
 		}
 	}
 
+	/**
+	 * Display the elements of a collection concurrently on the displayer's
+	 * worker pool.  Each element is rendered into its own
+	 * {@link DisplaySegment}, and the segments are written to the print
+	 * stream in collection order, so the output is identical to that of
+	 * rendering them in turn.  At most a few segments per thread are pending
+	 * at any time, and a segment larger than the spill threshold is held in
+	 * a temporary file, so that memory use grows with neither the size of
+	 * the collection nor the size of its elements.
+	 * 
+	 * @param out
+	 *            Print stream
+	 * @param level
+	 *            Nesting level of the collection
+	 * @param name
+	 *            Element name
+	 * @param identifier
+	 *            Element identifier
+	 * @param collection
+	 *            Collection elements
+	 * @param unit
+	 *            Unit of measure (optional, may be null)
+	 * @throws JHOVE2Exception
+	 *             if an element cannot be displayed or the wait is
+	 *             interrupted
+	 */
+	protected void displayConcurrently(PrintStream out, final int level,
+			                           final String name, final I8R identifier,
+			                           Collection<?> collection,
+			                           final String unit)
+		throws JHOVE2Exception
+	{
+		ExecutorService pool = this.getRenderPool();
+		int window = 4 * this.parallelSubtrees;
+		final int spillThreshold = this.segmentSpillThreshold;
+		LinkedList<Future<DisplaySegment>> pending =
+			new LinkedList<Future<DisplaySegment>>();
+		try {
+			int i = 0;
+			for (final Object value : collection) {
+				final int order = i++;
+				pending.add(pool.submit(new Callable<DisplaySegment>() {
+					@Override
+					public DisplaySegment call() throws JHOVE2Exception {
+						DisplaySegment segment = new DisplaySegment(spillThreshold);
+						display(segment, level, name, identifier, value, order,
+								unit);
+						if (Thread.currentThread().isInterrupted()) {
+							/* Cancelled: nobody will write the segment. */
+							segment.discard();
+						}
+						return segment;
+					}
+				}));
+				if (pending.size() >= window) {
+					pending.removeFirst().get().writeTo(out);
+				}
+			}
+			while (!pending.isEmpty()) {
+				pending.removeFirst().get().writeTo(out);
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JHOVE2Exception(
+					"AbstractDisplayer.display(): Interrupted rendering subtree", e);
+		}
+		catch (IOException e) {
+			throw new JHOVE2Exception(
+					"AbstractDisplayer.display(): Exception writing subtree", e);
+		}
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof JHOVE2Exception) {
+				throw (JHOVE2Exception) cause;
+			}
+			throw new JHOVE2Exception(
+					"AbstractDisplayer.display(): Exception rendering subtree", cause);
+		}
+		finally {
+			for (Future<DisplaySegment> future : pending) {
+				if (!future.cancel(true) && !future.isCancelled()) {
+					/* Already rendered: delete any spill file. */
+					try {
+						future.get().discard();
+					}
+					catch (Exception e) {
+						/* Nothing was rendered. */
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the worker pool used for concurrent subtree rendering, creating it
+	 * on first use with {@link #parallelSubtrees} threads.  Idle threads
+	 * exit, so a displayer that is no longer used holds no threads.
+	 * 
+	 * @return Worker pool
+	 */
+	protected synchronized ExecutorService getRenderPool() {
+		if (this.renderPool == null) {
+			final AtomicInteger count = new AtomicInteger();
+			ThreadPoolExecutor pool = new ThreadPoolExecutor(this.parallelSubtrees,
+					this.parallelSubtrees, 60L, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread thread = new Thread(r, "jhove2-display-" +
+							                   count.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			pool.allowCoreThreadTimeOut(true);
+			this.renderPool = pool;
+		}
+		return this.renderPool;
+	}
+
+	/**
+	 * Determine whether subtrees can be rendered concurrently.  This is only
+	 * true for displayers whose output for a subtree depends solely on the
+	 * arguments of the display methods and that print only text, not for
+	 * displayers that keep state across display events.
+	 * 
+	 * @return True if subtrees can be rendered concurrently; false by default
+	 */
+	protected boolean canRenderConcurrently() {
+		return false;
+	}
+
     /**
      * Display property with no unit of measure.
      * 
@@ -477,11 +826,15 @@ public abstract class AbstractDisplayer
 	 * @return Indentation string
 	 */
 	public static String getIndent(int level, boolean shouldIndent) {
-		StringBuffer indent = new StringBuffer("");
-		if (shouldIndent){
-			for (int i = 0; i < level; i++) {
-				indent.append(" ");
-			}
+		if (!shouldIndent || level <= 0) {
+			return "";
+		}
+		if (level < INDENTS.length) {
+			return INDENTS[level];
+		}
+		StringBuffer indent = new StringBuffer(level);
+		for (int i = 0; i < level; i++) {
+			indent.append(' ');
 		}
 		return indent.toString();
 	}
@@ -517,6 +870,21 @@ public abstract class AbstractDisplayer
 		return this.showIdentifiers;
 	}
 
+    /** Get the number of threads rendering top-level subtrees concurrently.
+     * @return Number of threads; 0 or 1 if subtrees are rendered in turn
+     */
+    public int getParallelSubtrees() {
+        return this.parallelSubtrees;
+    }
+
+    /** Get the number of characters of a concurrently rendered subtree held
+     * in memory before the rest is spilled to a temporary file.
+     * @return Spill threshold, in characters
+     */
+    public int getSegmentSpillThreshold() {
+        return this.segmentSpillThreshold;
+    }
+
     /** Get show raw properties flag.
      * @param Show raw properties flag: if true, show properties
      * @see org.jhove2.module.display.Displayer#getShowRawProperties()
@@ -623,6 +991,25 @@ public abstract class AbstractDisplayer
         this.showIdentifiers = flag;
     }
 
+    /** Set the number of threads rendering top-level subtrees concurrently.
+     * @param threads Number of threads; 0 or 1 to render subtrees in turn
+     */
+    public synchronized void setParallelSubtrees(int threads) {
+        if (threads != this.parallelSubtrees && this.renderPool != null) {
+            this.renderPool.shutdown();
+            this.renderPool = null;
+        }
+        this.parallelSubtrees = threads;
+    }
+
+    /** Set the number of characters of a concurrently rendered subtree held
+     * in memory before the rest is spilled to a temporary file.
+     * @param threshold Spill threshold, in characters
+     */
+    public void setSegmentSpillThreshold(int threshold) {
+        this.segmentSpillThreshold = threshold;
+    }
+
     /** Set show raw properties flag.
      * @param flag If true, show raw properties
      * @see org.jhove2.module.display.Displayer#setShowIdentifiers(boolean)
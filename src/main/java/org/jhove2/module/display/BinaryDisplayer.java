@@ -0,0 +1,567 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.module.display;
+
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jhove2.core.I8R;
+import org.jhove2.persist.ModuleAccessor;
+
+import com.sleepycat.persist.model.Persistent;
+
+/**
+ * Binary displayer.  The {@link org.jhove2.core.reportable.Reportable} tree
+ * is written as a compact sequence of records, one per displayer event,
+ * that can be converted back into the output of any other displayer by
+ * {@link org.jhove2.app.util.BinaryReportReader}.
+ * <p>
+ * A report starts with the four bytes <code>J2BR</code> and a format version
+ * byte, followed by the records.  Each record starts with a tag byte:</p>
+ * <pre>
+ * START_DISPLAY    level
+ * START_REPORTABLE level name identifier order type-identifier
+ * START_COLLECTION level name identifier size order
+ * PROPERTY         level name identifier order unit value
+ * END_COLLECTION
+ * END_REPORTABLE
+ * END_DISPLAY      level
+ * </pre>
+ * <p>
+ * Integers are unsigned variable-length quantities, 7 bits per byte with
+ * the high bit set on all but the last byte.  Names, units, and identifiers
+ * are dictionary-encoded once per report: a reference of 0 is null, a
+ * reference to an existing entry is its index plus 1, and the next unused
+ * reference is followed by the definition of a new entry (a string, or an
+ * identifier's namespace and value).  Strings are a byte count followed by
+ * the string in UTF-8 form, with each UTF-16 code unit encoded separately so
+ * that every Java string round-trips exactly.  Property values are a type
+ * byte followed by the value in its native form.  End records carry no
+ * operands; they close the most recently started reportable or collection.
+ * </p>
+ * <p>
+ * Since it maintains the dictionaries of the report being written, this
+ * displayer shall be configured (in JHOVE2 Spring configuration) with scope
+ * <code>prototype</code>.</p>
+ */
+@Persistent
+public class BinaryDisplayer
+	extends AbstractDisplayer
+{
+	/** Binary displayer version identifier. */
+	public static final String VERSION = "2.0.0";
+
+	/** Binary displayer release date. */
+	public static final String RELEASE = "2010-09-10";
+
+	/** Binary displayer rights statement. */
+	public static final String RIGHTS = "Copyright 2010 by The Regents of the University of California, "
+		+ "Ithaka Harbors, Inc., and The Board of Trustees of the Leland "
+		+ "Stanford Junior University. "
+		+ "Available under the terms of the BSD license.";
+
+	/** Binary report signature. */
+	public static final byte [] MAGIC = {'J', '2', 'B', 'R'};
+
+	/** Binary report format version. */
+	public static final int FORMAT_VERSION = 1;
+
+	/** Record tags. */
+	public static final int START_DISPLAY    = 1;
+	public static final int START_REPORTABLE = 2;
+	public static final int START_COLLECTION = 3;
+	public static final int PROPERTY         = 4;
+	public static final int END_COLLECTION   = 5;
+	public static final int END_REPORTABLE   = 6;
+	public static final int END_DISPLAY      = 7;
+
+	/** Property value types. */
+	public static final int VALUE_NULL    = 0;
+	public static final int VALUE_STRING  = 1;
+	public static final int VALUE_FALSE   = 2;
+	public static final int VALUE_TRUE    = 3;
+	public static final int VALUE_LONG    = 4;
+	public static final int VALUE_FLOAT   = 5;
+	public static final int VALUE_DOUBLE  = 6;
+	public static final int VALUE_NUMBER  = 7;
+
+	/** Size at which encoded records are written to the print stream. */
+	protected static final int BUFFER_SIZE = 8192;
+
+	/** Encoded records not yet written to the print stream. */
+	protected transient byte [] buffer;
+
+	/** Number of bytes in the buffer. */
+	protected transient int length;
+
+	/** Dictionary of names, units, and namespaces. */
+	protected transient Map<String, Integer> strings;
+
+	/** Dictionary of identifiers. */
+	protected transient Map<I8R, Integer> identifiers;
+
+	/**
+	 * Instantiate a new <code>BinaryDisplayer</code>.
+	 */
+	public BinaryDisplayer() {
+		this(null);
+	}
+
+	/**
+	 * Instantiate a new <code>BinaryDisplayer</code>.
+	 * @param moduleAccessor 
+	 * 		      Displayer persistence manager
+	 */
+	public BinaryDisplayer(ModuleAccessor moduleAccessor) {
+		super(VERSION, RELEASE, RIGHTS, moduleAccessor);
+	}
+
+	/**
+	 * Start display.  The report header is written and the dictionaries
+	 * are reset.
+	 * 
+	 * @param out
+	 *            Print stream
+	 * @param level
+	 *            Nesting level
+	 * @see org.jhove2.module.display.Displayer#startDisplay(java.io.PrintStream,
+	 *      int)
+	 */
+	@Override
+	public void startDisplay(PrintStream out, int level) {
+		this.buffer      = new byte[BUFFER_SIZE + 1024];
+		this.length      = 0;
+		this.strings     = new HashMap<String, Integer>();
+		this.identifiers = new HashMap<I8R, Integer>();
+		for (byte b : MAGIC) {
+			this.writeByte(b);
+		}
+		this.writeByte(FORMAT_VERSION);
+		this.writeByte(START_DISPLAY);
+		this.writeInt(level);
+		this.drain(out, false);
+	}
+
+	/**
+	 * Start display of a {@link org.jhove2.core.reportable.Reportable}.
+	 * 
+	 * @param out
+	 *            Print stream
+	 * @param level
+	 *            Nesting level
+	 * @param name
+	 *            Reportable name
+	 * @param identifier
+	 *            Reportable identifier in the JHOVE2 namespace
+	 * @param order
+	 *            Ordinal position of this reportable with respect to enclosing
+	 *            {@link org.jhove2.core.reportable.Reportable} or collection
+	 * @see org.jhove2.module.display.Displayer#startReportable(java.io.PrintStream,
+	 *      int, java.lang.String, org.jhove2.core.I8R, int)
+	 */
+	@Override
+	public void startReportable(PrintStream out, int level, String name,
+			                    I8R identifier, int order) {
+		this.startReportable(out, level, name, identifier, order, null);
+	}
+
+	/**
+	 * Start display of a {@link org.jhove2.core.reportable.Reportable}.
+	 * 
+	 * @param out
+	 *            Print stream
+	 * @param level
+	 *            Nesting level
+	 * @param name
+	 *            Reportable name
+	 * @param identifier
+	 *            Reportable identifier in the JHOVE2 namespace
+	 * @param order
+	 *            Ordinal position of this reportable with respect to enclosing
+	 *            {@link org.jhove2.core.reportable.Reportable} or collection
+	 * @param typeIdentifier 
+	 * 			  Reportable scope identifier in the JHOVE2 namespace
+	 * @see org.jhove2.module.display.Displayer#startReportable(java.io.PrintStream,
+	 *      int, java.lang.String, org.jhove2.core.I8R, int, org.jhove2.core.I8R)
+	 */
+	@Override
+	public void startReportable(PrintStream out, int level, String name,
+			                    I8R identifier, int order, I8R typeIdentifier) {
+		this.writeByte(START_REPORTABLE);
+		this.writeInt(level);
+		this.writeName(name);
+		this.writeIdentifier(identifier);
+		this.writeInt(order);
+		this.writeIdentifier(typeIdentifier);
+		this.drain(out, false);
+	}
+
+	/**
+	 * Start display of a property collection.
+	 * 
+	 * @param out
+	 *            Print stream
+	 * @param level
+	 *            Nesting level
+	 * @param name
+	 *            Property collection name
+	 * @param identifier
+	 *            Property collection identifier in the JHOVE2 namespace
+	 * @param size
+	 *            Property collection size
+	 * @param order
+	 *            Ordinal position of this reportable with respect to enclosing
+	 *            {@link org.jhove2.core.reportable.Reportable} or collection
+	 * @see org.jhove2.module.display.Displayer#startCollection(java.io.PrintStream,
+	 *      int, java.lang.String, org.jhove2.core.I8R, int, int)
+	 */
+	@Override
+	public void startCollection(PrintStream out, int level, String name,
+			                    I8R identifier, int size, int order) {
+		this.writeByte(START_COLLECTION);
+		this.writeInt(level);
+		this.writeName(name);
+		this.writeIdentifier(identifier);
+		this.writeInt(size);
+		this.writeInt(order);
+		this.drain(out, false);
+	}
+
+	/**
+	 * Display property.
+	 * 
+	 * @param out
+	 *            Print stream
+	 * @param level
+	 *            Nesting level
+	 * @param name
+	 *            Property name
+	 * @param identifier
+	 *            Property identifier in the JHOVE2 namespace
+	 * @param value
+	 *            Property value
+	 * @param order
+	 *            Ordinal position of this reportable with respect to enclosing
+	 *            {@link org.jhove2.core.reportable.Reportable} or collection
+	 * @param unit Unit of measure (optional, may be null)
+	 * @see org.jhove2.module.display.Displayer#displayProperty(java.io.PrintStream,
+	 *      int, java.lang.String, org.jhove2.core.I8R, java.lang.Object, int, java.lang.String)
+	 */
+	@Override
+	public void displayProperty(PrintStream out, int level, String name,
+			                    I8R identifier, Object value, int order,
+			                    String unit) {
+		this.writeByte(PROPERTY);
+		this.writeInt(level);
+		this.writeName(name);
+		this.writeIdentifier(identifier);
+		this.writeInt(order);
+		this.writeName(unit);
+		this.writeValue(value);
+		this.drain(out, false);
+	}
+
+	/**
+	 * End display of a property collection.
+	 * 
+	 * @param out
+	 *            Print stream
+	 * @param level
+	 *            Nesting level
+	 * @param name
+	 *            Property collection name
+	 * @param identifier
+	 *            Property identifier in the JHOVE2 namespace
+	 * @param size
+	 *            Property collection size
+	 * @see org.jhove2.module.display.Displayer#endCollection(java.io.PrintStream,
+	 *      int, java.lang.String, org.jhove2.core.I8R, int)
+	 */
+	@Override
+	public void endCollection(PrintStream out, int level, String name,
+			                  I8R identifier, int size) {
+		this.writeByte(END_COLLECTION);
+		this.drain(out, false);
+	}
+
+	/**
+	 * End display of a {@link org.jhove2.core.reportable.Reportable}.
+	 * 
+	 * @param out
+	 *            Print stream
+	 * @param level
+	 *            Nesting level
+	 * @param name
+	 *            Reportable name
+	 * @param identifier
+	 *            Reportable in the JHOVE2 namespace
+	 * @see org.jhove2.module.display.Displayer#endReportable(java.io.PrintStream,
+	 *      int, java.lang.String, org.jhove2.core.I8R)
+	 */
+	@Override
+	public void endReportable(PrintStream out, int level, String name,
+			                  I8R identifier) {
+		this.writeByte(END_REPORTABLE);
+		this.drain(out, false);
+	}
+
+	/**
+	 * End display.  All remaining records are written to the print stream
+	 * and the dictionaries are released.
+	 * 
+	 * @param out
+	 *            Print stream
+	 * @param level
+	 *            Nesting level
+	 * @see org.jhove2.module.display.Displayer#endDisplay(java.io.PrintStream,
+	 *      int)
+	 */
+	@Override
+	public void endDisplay(PrintStream out, int level) {
+		this.writeByte(END_DISPLAY);
+		this.writeInt(level);
+		this.drain(out, true);
+		out.flush();
+		this.buffer      = null;
+		this.strings     = null;
+		this.identifiers = null;
+	}
+
+	/**
+	 * Write buffered records to the print stream once the buffer is full.
+	 * 
+	 * @param out
+	 *            Print stream
+	 * @param force
+	 *            If true, write the buffer even if it is not full
+	 */
+	protected void drain(PrintStream out, boolean force) {
+		if (this.length > 0 && (force || this.length >= BUFFER_SIZE)) {
+			out.write(this.buffer, 0, this.length);
+			this.length = 0;
+		}
+	}
+
+	/**
+	 * Ensure there is room in the buffer.
+	 * 
+	 * @param n
+	 *            Number of bytes to be added to the buffer
+	 */
+	protected void ensureCapacity(int n) {
+		int capacity = this.length + n;
+		if (capacity > this.buffer.length) {
+			byte [] buffer = new byte[Math.max(capacity, 2 * this.buffer.length)];
+			System.arraycopy(this.buffer, 0, buffer, 0, this.length);
+			this.buffer = buffer;
+		}
+	}
+
+	/**
+	 * Write a byte.
+	 * 
+	 * @param b
+	 *            Byte, in the low-order 8 bits
+	 */
+	protected void writeByte(int b) {
+		this.ensureCapacity(1);
+		this.buffer[this.length++] = (byte) b;
+	}
+
+	/**
+	 * Write an unsigned variable-length integer.  Negative values, which
+	 * are not produced by the displayer traversal, occupy ten bytes.
+	 * 
+	 * @param value
+	 *            Value
+	 */
+	protected void writeInt(long value) {
+		this.ensureCapacity(10);
+		while ((value & ~0x7FL) != 0L) {
+			this.buffer[this.length++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		this.buffer[this.length++] = (byte) value;
+	}
+
+	/**
+	 * Write a string as a byte count followed by its UTF-8 form, with each
+	 * UTF-16 code unit encoded separately.
+	 * 
+	 * @param s
+	 *            String
+	 */
+	protected void writeString(String s) {
+		int len = s.length();
+		int count = len;
+		for (int i = 0; i < len; i++) {
+			char c = s.charAt(i);
+			if (c >= 0x80) {
+				count += (c >= 0x800) ? 2 : 1;
+			}
+		}
+		this.writeInt(count);
+		this.ensureCapacity(count);
+		byte [] buffer = this.buffer;
+		int n = this.length;
+		for (int i = 0; i < len; i++) {
+			char c = s.charAt(i);
+			if (c < 0x80) {
+				buffer[n++] = (byte) c;
+			}
+			else if (c < 0x800) {
+				buffer[n++] = (byte) (0xC0 | (c >> 6));
+				buffer[n++] = (byte) (0x80 | (c & 0x3F));
+			}
+			else {
+				buffer[n++] = (byte) (0xE0 | (c >> 12));
+				buffer[n++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+				buffer[n++] = (byte) (0x80 | (c & 0x3F));
+			}
+		}
+		this.length = n;
+	}
+
+	/**
+	 * Write a dictionary-encoded name, unit, or namespace.
+	 * 
+	 * @param s
+	 *            String, possibly null
+	 */
+	protected void writeName(String s) {
+		if (s == null) {
+			this.writeInt(0);
+			return;
+		}
+		Integer ref = this.strings.get(s);
+		if (ref != null) {
+			this.writeInt(ref.intValue());
+		}
+		else {
+			ref = Integer.valueOf(this.strings.size() + 1);
+			this.strings.put(s, ref);
+			this.writeInt(ref.intValue());
+			this.writeString(s);
+		}
+	}
+
+	/**
+	 * Write a dictionary-encoded identifier.
+	 * 
+	 * @param identifier
+	 *            Identifier, possibly null
+	 */
+	protected void writeIdentifier(I8R identifier) {
+		if (identifier == null) {
+			this.writeInt(0);
+			return;
+		}
+		Integer ref = this.identifiers.get(identifier);
+		if (ref != null) {
+			this.writeInt(ref.intValue());
+		}
+		else {
+			ref = Integer.valueOf(this.identifiers.size() + 1);
+			this.identifiers.put(identifier, ref);
+			this.writeInt(ref.intValue());
+			I8R.Namespace namespace = identifier.getNamespace();
+			this.writeName(namespace == null ? null : namespace.name());
+			this.writeName(identifier.getValue());
+		}
+	}
+
+	/**
+	 * Write a property value.  Integral numbers, floating point numbers,
+	 * and booleans are written in their native form.  Other numbers and
+	 * all other values are written as their string representation, which is
+	 * all the other displayers make use of, with numbers distinguished from
+	 * strings.
+	 * 
+	 * @param value
+	 *            Property value
+	 */
+	protected void writeValue(Object value) {
+		if (value == null) {
+			this.writeByte(VALUE_NULL);
+		}
+		else if (value instanceof Boolean) {
+			this.writeByte(((Boolean) value).booleanValue() ? VALUE_TRUE
+					                                        : VALUE_FALSE);
+		}
+		else if (value instanceof Integer || value instanceof Long  ||
+				 value instanceof Short   || value instanceof Byte  ||
+				 value instanceof AtomicInteger || value instanceof AtomicLong) {
+			long l = ((Number) value).longValue();
+			this.writeByte(VALUE_LONG);
+			this.writeInt((l << 1) ^ (l >> 63));
+		}
+		else if (value instanceof Float) {
+			int bits = Float.floatToRawIntBits(((Float) value).floatValue());
+			this.writeByte(VALUE_FLOAT);
+			this.writeFixed(bits, 4);
+		}
+		else if (value instanceof Double) {
+			long bits = Double.doubleToRawLongBits(((Double) value).doubleValue());
+			this.writeByte(VALUE_DOUBLE);
+			this.writeFixed(bits, 8);
+		}
+		else if (value instanceof Number) {
+			this.writeByte(VALUE_NUMBER);
+			this.writeString(value.toString());
+		}
+		else {
+			this.writeByte(VALUE_STRING);
+			this.writeString(value.toString());
+		}
+	}
+
+	/**
+	 * Write a fixed-length big-endian integer.
+	 * 
+	 * @param value
+	 *            Value
+	 * @param size
+	 *            Size, in bytes
+	 */
+	protected void writeFixed(long value, int size) {
+		this.ensureCapacity(size);
+		for (int i = size - 1; i >= 0; i--) {
+			this.buffer[this.length++] = (byte) (value >>> (8 * i));
+		}
+	}
+}
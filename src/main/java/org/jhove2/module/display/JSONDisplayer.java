@@ -93,10 +93,8 @@ public class JSONDisplayer
 	 */
 	@Override
 	public void startDisplay(PrintStream out, int level) {
-		String indent = getIndent(level, 
-				this.getShouldIndent());
-
-		out.println(indent + "{");
+		out.print(getIndent(level, this.getShouldIndent()));
+		out.println('{');
 	}
 
 	/**
@@ -144,39 +142,51 @@ public class JSONDisplayer
 	@Override
 	public void startReportable(PrintStream out, int level, String name,
 			                    I8R identifier, int order, I8R typeIdentifier) {
-		String indent = getIndent(this.getShowIdentifiers() ? 2 * level : level, 
-				this.getShouldIndent());
-		StringBuffer buffer = new StringBuffer(indent);
-
-		if (order == 0) {
-			buffer.append(" ");
-		} else {
-			buffer.append(",");
-		}
-		buffer.append("\"" + name + "\": {");
-		if (typeIdentifier != null){
-			String typeName = typeIdentifier.getValue();
-			int i = typeName.lastIndexOf("/");
-			if (i > -1 ){
-				typeName = typeName.substring(i+1);		
-				buffer.append("\n" + indent + "  \"scope\": \"" + typeName
-						+ "\"" + "\n" + indent + ",");
-				if (this.getShowIdentifiers()){
-					buffer.append("\"identifier\": \"" + identifier
-							+ "\"" + "\n" + indent + ",");
-				}
-				out.print(buffer);
+		boolean showIdentifiers = this.getShowIdentifiers();
+		String typeName = null;
+		if (typeIdentifier != null) {
+			typeName = typeIdentifier.getValue();
+			int i = typeName.lastIndexOf('/');
+			if (i < 0) {
+				return;
 			}
+			typeName = typeName.substring(i+1);
 		}
-		else if (this.getShowIdentifiers())  {			 
-			buffer.append("\n" + indent + "  \"identifier\": \"" + identifier
-					+ "\"" + "\n" + indent + ",");				out.println(buffer);
-
+		String indent = getIndent(showIdentifiers ? 2 * level : level, 
+				this.getShouldIndent());
+		printName(out, indent, name, order);
+		out.print('{');
+		if (typeName != null) {
+			out.print('\n');
+			out.print(indent);
+			out.print("  \"scope\": \"");
+			out.print(typeName);
+			out.print('"');
+			out.print('\n');
+			out.print(indent);
+			out.print(',');
+			if (showIdentifiers) {
+				out.print("\"identifier\": \"");
+				out.print(identifier);
+				out.print('"');
+				out.print('\n');
+				out.print(indent);
+				out.print(',');
+			}
 		}
-		else{
-			out.println(buffer);
+		else {
+			if (showIdentifiers) {
+				out.print('\n');
+				out.print(indent);
+				out.print("  \"identifier\": \"");
+				out.print(identifier);
+				out.print('"');
+				out.print('\n');
+				out.print(indent);
+				out.print(',');
+			}
+			out.println();
 		}
-
 	}
 
 	/**
@@ -203,19 +213,19 @@ public class JSONDisplayer
 			                    I8R identifier, int size, int order) {
 		String indent = getIndent(this.getShowIdentifiers() ? 2 * level : level, 
 				this.getShouldIndent());
-		StringBuffer buffer = new StringBuffer(indent);
-
-		if (order == 0) {
-			buffer.append(" ");
-		} else {
-			buffer.append(",");
-		}
-		buffer.append("\"" + name + "\": {");
+		printName(out, indent, name, order);
+		out.print('{');
 		if (this.getShowIdentifiers()) {
-			buffer.append("\n" + indent + "  \"identifier\": \"" + identifier
-					+ "\"" + "\n" + indent + " ,\"value\": {");
+			out.print('\n');
+			out.print(indent);
+			out.print("  \"identifier\": \"");
+			out.print(identifier);
+			out.print('"');
+			out.print('\n');
+			out.print(indent);
+			out.print(" ,\"value\": {");
 		}
-		out.println(buffer);
+		out.println();
 	}
 
 	/**
@@ -242,47 +252,43 @@ public class JSONDisplayer
 	public void displayProperty(PrintStream out, int level, String name,
 			                    I8R identifier, Object value, int order,
 			                    String unit) {
-		String indent = getIndent((this.getShowIdentifiers() ? 2 * level : level), 
-				this.getShouldIndent());
-		StringBuffer buffer = new StringBuffer(indent);
-
-		if (order == 0) {
-			buffer.append(" ");
-		} else {
-			buffer.append(",");   
-		}
-		buffer.append("\"" + name + "\": ");
 		boolean showIdentifiers = this.getShowIdentifiers();
+		String indent = getIndent((showIdentifiers ? 2 * level : level), 
+				this.getShouldIndent());
+		printName(out, indent, name, order);
 		boolean mustBracket = showIdentifiers || unit != null;
 		if (mustBracket){
-			buffer.append("{\n");
+			out.print("{\n");
 			if (showIdentifiers) {
-				buffer.append(indent + "   \"identifier\": \"" + identifier + "\"\n");
+				out.print(indent);
+				out.print("   \"identifier\": \"");
+				out.print(identifier);
+				out.print("\"\n");
 			}
 			if (unit != null) {
-				buffer.append(indent + "  ");
-				if (showIdentifiers) {
-					buffer.append(",");
-				}
-				else {
-					buffer.append(" ");
-				}
-				buffer.append("\"unit\": \"" + unit + "\"\n");
+				out.print(indent);
+				out.print(showIdentifiers ? "  ," : "   ");
+				out.print("\"unit\": \"");
+				out.print(unit);
+				out.print("\"\n");
 			}
-			buffer.append(indent + "  ,\"value\": ");
+			out.print(indent);
+			out.print("  ,\"value\": ");
 		}
 		if (value instanceof Number) {
-			buffer.append(value);
+			out.print(value.toString());
 		}
 		else {
-			buffer.append("\"");
-			buffer.append(escapeCntrlChars(escape(value.toString()).toString()));
-			buffer.append("\"");
+			out.print('"');
+			out.print(escapeCntrlChars(escape(value.toString())));
+			out.print('"');
 		}
 		if (mustBracket) {
-			buffer.append("\n" + indent + " }");
+			out.print('\n');
+			out.print(indent);
+			out.print(" }");
 		}
-		out.println(buffer);
+		out.println();
 	}
 
 	/**
@@ -307,13 +313,12 @@ public class JSONDisplayer
 		String indent = getIndent(this.getShowIdentifiers() ? (2 * level) + 1
 				: level + 1, 
 				this.getShouldIndent());
-		StringBuffer buffer = new StringBuffer(indent);
-
+		out.print(indent);
 		if (this.getShowIdentifiers()) {
-			buffer.append(" }\n" + indent);
+			out.print(" }\n");
+			out.print(indent);
 		}
-		buffer.append("}");
-		out.println(buffer);
+		out.println('}');
 	}
 
 	/**
@@ -336,9 +341,8 @@ public class JSONDisplayer
 		String indent = getIndent(this.getShowIdentifiers() ? (2 * level) + 1
 				: level + 1, 
 				this.getShouldIndent());
-		StringBuffer buffer = new StringBuffer(indent);
-		buffer.append("}");
-		out.println(buffer);
+		out.print(indent);
+		out.println('}');
 	}
 
 	/**
@@ -353,10 +357,20 @@ public class JSONDisplayer
 	 */
 	@Override
 	public void endDisplay(PrintStream out, int level) {
-		String indent = getIndent(level, 
-				this.getShouldIndent());
+		out.print(getIndent(level, this.getShouldIndent()));
+		out.println('}');
+	}
 
-		out.println(indent + "}");
+	/**
+	 * {@inheritDoc}  The JSON displayer holds no state between display events,
+	 * so subtrees may be rendered concurrently.
+	 * 
+	 * @return True
+	 * @see org.jhove2.module.display.AbstractDisplayer#canRenderConcurrently()
+	 */
+	@Override
+	protected boolean canRenderConcurrently() {
+		return true;
 	}
 
 	/**
@@ -369,8 +383,28 @@ public class JSONDisplayer
 	 * @return Escaped version of the string
 	 */
 	protected String escape(String value) {
-		value = value.replace("\\", "\\\\");
-		return value.replace("\"", "\\\"");
+		int len = value.length();
+		int i = 0;
+		while (i < len) {
+			char c = value.charAt(i);
+			if (c == '\\' || c == '"') {
+				break;
+			}
+			i++;
+		}
+		if (i == len) {
+			return value;
+		}
+		StringBuilder sb = new StringBuilder(len + 16);
+		sb.append(value, 0, i);
+		for (; i < len; i++) {
+			char c = value.charAt(i);
+			if (c == '\\' || c == '"') {
+				sb.append('\\');
+			}
+			sb.append(c);
+		}
+		return sb.toString();
 	}
 	/**
 	 * Replace control characters with escaped values. The escape character is a
@@ -381,11 +415,68 @@ public class JSONDisplayer
 	 * @return Escaped version of the string
 	 */
 	protected String escapeCntrlChars(String value) {
-		value = value.replace("\b", "\\b");
-		value = value.replace("\f", "\\f");
-		value = value.replace("\n", "\\n");
-		value = value.replace("\r", "\\r");
-		return value.replace("\t", "\\t");
+		int len = value.length();
+		int i = 0;
+		while (i < len && escapeCntrlChar(value.charAt(i)) == 0) {
+			i++;
+		}
+		if (i == len) {
+			return value;
+		}
+		StringBuilder sb = new StringBuilder(len + 16);
+		sb.append(value, 0, i);
+		for (; i < len; i++) {
+			char c = value.charAt(i);
+			char e = escapeCntrlChar(c);
+			if (e == 0) {
+				sb.append(c);
+			}
+			else {
+				sb.append('\\').append(e);
+			}
+		}
+		return sb.toString();
+	}
+
+
+	/**
+	 * Get the JSON escape letter for a control character.
+	 * 
+	 * @param c
+	 *            Character
+	 * @return Escape letter, or 0 if the character is not escaped
+	 */
+	private static char escapeCntrlChar(char c) {
+		switch (c) {
+		case '\b': return 'b';
+		case '\f': return 'f';
+		case '\n': return 'n';
+		case '\r': return 'r';
+		case '\t': return 't';
+		default:   return 0;
+		}
+	}
+
+	/**
+	 * Print the indented, comma-separated member name that precedes a
+	 * reportable, collection, or property value.
+	 * 
+	 * @param out
+	 *            Print stream
+	 * @param indent
+	 *            Indentation
+	 * @param name
+	 *            Member name
+	 * @param order
+	 *            Ordinal position of the member
+	 */
+	private static void printName(PrintStream out, String indent, String name,
+			                      int order) {
+		out.print(indent);
+		out.print(order == 0 ? ' ' : ',');
+		out.print('"');
+		out.print(name);
+		out.print("\": ");
 	}
 
 }
@@ -137,27 +137,24 @@ public class TextDisplayer extends AbstractDisplayer {
 	@Override
 	public void startReportable(PrintStream out, int level, String name,
 			I8R identifier, int order, I8R typeIdentifier) {
-		StringBuffer buffer = new StringBuffer(getIndent(level, 
-				this.getShouldIndent()));
-
-		buffer.append(name);
+		out.print(getIndent(level, this.getShouldIndent()));
+		out.print(name);
 		if (typeIdentifier != null){
 			String typeName = typeIdentifier.getValue();
-			int i = typeName.lastIndexOf("/");
+			int i = typeName.lastIndexOf('/');
 			if (i > -1 ){
 				typeName = typeName.substring(i+1);
 				if (!typeName.equals(name)) {
-					buffer.append(" {");
-					buffer.append(typeName);
-					buffer.append("}");
+					out.print(" {");
+					out.print(typeName);
+					out.print('}');
 				}
 			}
 		}
 		if (this.getShowIdentifiers()) {
-			buffer.append(" <" + identifier + ">");
+			printIdentifier(out, identifier);
 		}
-		buffer.append(":");
-		out.println(buffer);
+		out.println(':');
 	}
 	/**
 	 * Start display of a property collection.
@@ -181,15 +178,12 @@ public class TextDisplayer extends AbstractDisplayer {
 	@Override
 	public void startCollection(PrintStream out, int level, String name,
 			I8R identifier, int size, int order) {
-		StringBuffer buffer = new StringBuffer(getIndent(level,
-				this.getShouldIndent()));
-
-		buffer.append(name);
+		out.print(getIndent(level, this.getShouldIndent()));
+		out.print(name);
 		if (this.getShowIdentifiers()) {
-			buffer.append(" <" + identifier + ">");
+			printIdentifier(out, identifier);
 		}
-		buffer.append(":");
-		out.println(buffer);
+		out.println(':');
 	}
 
 	/**
@@ -216,17 +210,18 @@ public class TextDisplayer extends AbstractDisplayer {
 	public void displayProperty(PrintStream out, int level, String name,
 			                    I8R identifier, Object value, int order,
 			                    String unit) {
-		StringBuffer buffer =
-		    new StringBuffer(getIndent(level,this.getShouldIndent()));
-		buffer.append(name);
+		out.print(getIndent(level, this.getShouldIndent()));
+		out.print(name);
 		if (this.getShowIdentifiers()) {
-			buffer.append(" <" + identifier + ">");
+			printIdentifier(out, identifier);
 		}
 		if (unit != null){
-			buffer.append(" (" + unit + ")");
+			out.print(" (");
+			out.print(unit);
+			out.print(')');
 		}
-		buffer.append(": " + value);
-		out.println(buffer);
+		out.print(": ");
+		out.println(value);
 	}
 
 	/**
@@ -283,4 +278,30 @@ public class TextDisplayer extends AbstractDisplayer {
 	public void endDisplay(PrintStream out, int level) {
 	}
 
+	/**
+	 * {@inheritDoc}  The text displayer holds no state between display events,
+	 * so subtrees may be rendered concurrently.
+	 * 
+	 * @return True
+	 * @see org.jhove2.module.display.AbstractDisplayer#canRenderConcurrently()
+	 */
+	@Override
+	protected boolean canRenderConcurrently() {
+		return true;
+	}
+
+	/**
+	 * Print a bracketed identifier following a name.
+	 * 
+	 * @param out
+	 *            Print stream
+	 * @param identifier
+	 *            Identifier in the JHOVE2 namespace
+	 */
+	private static void printIdentifier(PrintStream out, I8R identifier) {
+		out.print(" <");
+		out.print(identifier);
+		out.print('>');
+	}
+
 }
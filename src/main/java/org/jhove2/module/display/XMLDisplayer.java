@@ -357,9 +357,13 @@ public class XMLDisplayer
 	 *            Tag name
 	 */
 	public void startTag(PrintStream out, int level, String name) {
-		String indent = getIndent(level, 
-				this.getShouldIndent());
-		out.print(indent + "<" + this.prefix + ":" + name + ">" + this.getLineEnd());
+		out.print(getIndent(level, this.getShouldIndent()));
+		out.print('<');
+		out.print(this.prefix);
+		out.print(':');
+		out.print(name);
+		out.print('>');
+		out.print(this.getLineEnd());
 	}
 
 	/**
@@ -376,13 +380,20 @@ public class XMLDisplayer
 	 */
 	public void startTag(PrintStream out, int level, String name,
 			String... attrs) {
-		String indent = AbstractDisplayer.getIndent(level, 
-				this.getShouldIndent());
-		out.print(indent + "<" + this.prefix + ":" + name);
+		out.print(getIndent(level, this.getShouldIndent()));
+		out.print('<');
+		out.print(this.prefix);
+		out.print(':');
+		out.print(name);
 		for (int i = 0; i < attrs.length; i += 2) {
-			out.print(" " + attrs[i] + "=\"" + escapeAttr(attrs[i + 1]) + "\"");
+			out.print(' ');
+			out.print(attrs[i]);
+			out.print("=\"");
+			out.print(escapeAttr(attrs[i + 1]));
+			out.print('"');
 		}
-		out.print(">" + this.getLineEnd());
+		out.print('>');
+		out.print(this.getLineEnd());
 	}
 
 	/**
@@ -398,10 +409,19 @@ public class XMLDisplayer
 	 *            Tag content
 	 */
 	public void tag(PrintStream out, int level, String name, String content) {
-		String indent = AbstractDisplayer.getIndent(level, 
-				this.getShouldIndent());
-		out.print(indent + "<" + this.prefix + ":" + name + ">" + escape(content)
-				+ "</" + this.prefix + ":" + name + ">" + this.getLineEnd());
+		out.print(getIndent(level, this.getShouldIndent()));
+		out.print('<');
+		out.print(this.prefix);
+		out.print(':');
+		out.print(name);
+		out.print('>');
+		out.print(escape(content));
+		out.print("</");
+		out.print(this.prefix);
+		out.print(':');
+		out.print(name);
+		out.print('>');
+		out.print(this.getLineEnd());
 	}
 
 	/**
@@ -415,9 +435,25 @@ public class XMLDisplayer
 	 *            Tag name
 	 */
 	public void endTag(PrintStream out, int level, String name) {
-		String indent = AbstractDisplayer.getIndent(level, 
-				this.getShouldIndent());
-		out.print(indent + "</" + this.prefix + ":" + name + ">" + this.getLineEnd());
+		out.print(getIndent(level, this.getShouldIndent()));
+		out.print("</");
+		out.print(this.prefix);
+		out.print(':');
+		out.print(name);
+		out.print('>');
+		out.print(this.getLineEnd());
+	}
+
+	/**
+	 * {@inheritDoc}  The XML displayer holds no state between display events,
+	 * so subtrees may be rendered concurrently.
+	 * 
+	 * @return True
+	 * @see org.jhove2.module.display.AbstractDisplayer#canRenderConcurrently()
+	 */
+	@Override
+	protected boolean canRenderConcurrently() {
+		return true;
 	}
 
 	/**
@@ -443,37 +479,81 @@ public class XMLDisplayer
 	 * @return
 	 */
 	protected static String encodeContent (String content)
+	{
+		return encode(content, false);
+	}
+
+	/**
+	 * Encode a String in XML-clean form in a single pass, converting
+	 * <code>&amp;</code>, <code>&lt;</code>, <code>&gt;</code> and, in
+	 * attribute values, <code>&quot;</code> to entities and removing control
+	 * characters disallowed by XML.  A string that needs no encoding is
+	 * returned as is.
+	 * 
+	 * @param content String to be encoded; null is encoded as the empty string
+	 * @param attr    True if the string is an attribute value
+	 * @return Encoded string
+	 */
+	protected static String encode(String content, boolean attr)
 	{
 		if (content == null) {
-			content = "";
+			return "";
 		}
-		StringBuffer buffer = new StringBuffer (content);
-		/* Remove disallowed control characters from the content string. */
-		int n = buffer.length ();
-		for (int i=0; i<n; i++) {
-			char ch = buffer.charAt (i);
-			if ((0x00 <= ch && ch <= 0x08) || (0x0b <= ch && ch <= 0x0c) ||
-					(0x0e <= ch && ch <= 0x1f) ||  0x7f == ch) {
-				buffer.deleteCharAt (i--);
-				n--;
-			}
+		int n = content.length();
+		int i = 0;
+		while (i < n && !mustEncode(content.charAt(i), attr)) {
+			i++;
 		}
-		n = 0;
-		while ((n = buffer.indexOf ("&", n)) > -1) {
-			buffer.insert (n+1, "amp;");
-			n +=5;
+		if (i == n) {
+			return content;
 		}
-		n = 0;
-		while ((n = buffer.indexOf ("<", n)) > -1) {
-			buffer.replace (n, n+1, "&lt;");
-			n += 4;
-		}
-		n = 0;
-		while ((n = buffer.indexOf (">", n)) > -1) {
-			buffer.replace (n, n+1, "&gt;");
-			n += 4;
+		StringBuilder buffer = new StringBuilder(n + 16);
+		buffer.append(content, 0, i);
+		for (; i < n; i++) {
+			char ch = content.charAt(i);
+			switch (ch) {
+			case '&':
+				buffer.append("&amp;");
+				break;
+			case '<':
+				buffer.append("&lt;");
+				break;
+			case '>':
+				buffer.append("&gt;");
+				break;
+			case '"':
+				buffer.append(attr ? "&quot;" : "\"");
+				break;
+			default:
+				if (!isDisallowed(ch)) {
+					buffer.append(ch);
+				}
+			}
 		}
-		return buffer.toString ();
+		return buffer.toString();
+	}
+
+	/**
+	 * Determine whether a character must be encoded.
+	 * 
+	 * @param ch   Character
+	 * @param attr True if the character is in an attribute value
+	 * @return True if the character must be encoded
+	 */
+	private static boolean mustEncode(char ch, boolean attr) {
+		return ch == '&' || ch == '<' || ch == '>' || (attr && ch == '"') ||
+		       isDisallowed(ch);
+	}
+
+	/**
+	 * Determine whether a character is a control character disallowed by XML.
+	 * 
+	 * @param ch Character
+	 * @return True if the character is disallowed
+	 */
+	private static boolean isDisallowed(char ch) {
+		return ch <= 0x08 || (0x0b <= ch && ch <= 0x0c) ||
+		       (0x0e <= ch && ch <= 0x1f) || 0x7f == ch;
 	}
 
 	/**
@@ -484,8 +564,7 @@ public class XMLDisplayer
 	 * @return Escaped version of the string
 	 */
 	protected String escapeAttr(String value) {
-		value = escape(value);
-		return value.replace("\"", "&quot;");
+		return encode(value, true);
 	}
 	/**
 	 * Determines EOL character
@@ -227,6 +227,16 @@ public class XSLDisplayer extends XMLDisplayer {
         }
     }
 
+    /**
+     * {@inheritDoc}  The XSLT processor receives the SAX events of the
+     * whole display in order, so subtrees are always rendered in turn.
+     * @return False
+     */
+    @Override
+    protected boolean canRenderConcurrently() {
+        return false;
+    }
+
     /**
      * Create a new TrAX Transformer object to apply the
      * {@link #setStylesheet specified XSLT stylesheet} to the XML
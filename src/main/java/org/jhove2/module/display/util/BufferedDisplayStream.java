@@ -0,0 +1,429 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.module.display.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+
+/**
+ * Print stream used by the displayers for report output.  A standard
+ * {@link java.io.PrintStream} encodes and hands every
+ * <code>print</code> call to the underlying stream immediately, which for
+ * an unbuffered file or for <code>System.out</code> means one system call
+ * per call.  This stream instead accumulates characters in a large buffer
+ * and encodes them in bulk, with a single reusable
+ * {@link java.nio.charset.CharsetEncoder}, into a reusable byte buffer
+ * that is written to the underlying stream when full.
+ * <p>
+ * The bytes written are identical to those that a
+ * <code>PrintStream</code> with the same character encoding would write:
+ * malformed and unmappable characters are replaced in the same way, and
+ * a surrogate pair split across calls is encoded as one character.  Output
+ * is only written to the underlying stream when the buffer fills, or on
+ * {@link #flush()} or {@link #close()}.
+ */
+public class BufferedDisplayStream
+	extends PrintStream
+{
+	/** Default character buffer size, in characters. */
+	public static final int DEFAULT_BUFFER_SIZE = 65536;
+
+	/** Line separator, as written by <code>println</code>. */
+	protected static final String LINE_SEPARATOR =
+		System.getProperty("line.separator");
+
+	/** Underlying output stream. */
+	protected OutputStream sink;
+
+	/** Character encoder. */
+	protected CharsetEncoder encoder;
+
+	/** Pending characters. */
+	protected CharBuffer chars;
+
+	/** Encoded bytes. */
+	protected ByteBuffer bytes;
+
+	/** Closed flag. */
+	protected boolean closed;
+
+	/**
+	 * Instantiate a new <code>BufferedDisplayStream</code>.
+	 * 
+	 * @param out      Underlying output stream
+	 * @param encoding Character encoding
+	 * @throws UnsupportedEncodingException
+	 */
+	public BufferedDisplayStream(OutputStream out, String encoding)
+		throws UnsupportedEncodingException
+	{
+		this(out, encoding, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Instantiate a new <code>BufferedDisplayStream</code>.
+	 * 
+	 * @param out        Underlying output stream
+	 * @param encoding   Character encoding
+	 * @param bufferSize Character buffer size, in characters
+	 * @throws UnsupportedEncodingException
+	 */
+	public BufferedDisplayStream(OutputStream out, String encoding,
+			                     int bufferSize)
+		throws UnsupportedEncodingException
+	{
+		super(out, false, encoding);
+		Charset charset;
+		try {
+			charset = Charset.forName(encoding);
+		}
+		catch (IllegalCharsetNameException e) {
+			throw new UnsupportedEncodingException(encoding);
+		}
+		catch (UnsupportedCharsetException e) {
+			throw new UnsupportedEncodingException(encoding);
+		}
+		this.sink    = out;
+		this.encoder = charset.newEncoder().
+			onMalformedInput(CodingErrorAction.REPLACE).
+			onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.chars   = CharBuffer.allocate(bufferSize);
+		this.bytes   = ByteBuffer.allocate(
+			(int) Math.ceil(bufferSize * this.encoder.maxBytesPerChar()));
+	}
+
+	/**
+	 * Append characters to the buffer, encoding the buffer whenever it fills.
+	 * 
+	 * @param s     Characters
+	 * @param start Start offset, inclusive
+	 * @param end   End offset, exclusive
+	 */
+	protected void buffer(String s, int start, int end) {
+		try {
+			while (start < end) {
+				if (!this.chars.hasRemaining()) {
+					this.encode(false);
+				}
+				int n = Math.min(end - start, this.chars.remaining());
+				int position = this.chars.position();
+				s.getChars(start, start + n, this.chars.array(),
+						   this.chars.arrayOffset() + position);
+				this.chars.position(position + n);
+				start += n;
+			}
+		}
+		catch (InterruptedIOException e) {
+			Thread.currentThread().interrupt();
+		}
+		catch (IOException e) {
+			this.setError();
+		}
+	}
+
+	/**
+	 * Append a character to the buffer.
+	 * 
+	 * @param c Character
+	 */
+	protected void buffer(char c) {
+		try {
+			if (!this.chars.hasRemaining()) {
+				this.encode(false);
+			}
+			this.chars.put(c);
+		}
+		catch (InterruptedIOException e) {
+			Thread.currentThread().interrupt();
+		}
+		catch (IOException e) {
+			this.setError();
+		}
+	}
+
+	/**
+	 * Encode the buffered characters, writing encoded bytes to the underlying
+	 * stream whenever the byte buffer fills.  Unless this is the end of the
+	 * input, a trailing high surrogate is retained until its low surrogate
+	 * is seen.
+	 * 
+	 * @param endOfInput True if no further characters will be written
+	 * @throws IOException
+	 */
+	protected void encode(boolean endOfInput)
+		throws IOException
+	{
+		this.chars.flip();
+		for (;;) {
+			CoderResult result = this.encoder.encode(this.chars, this.bytes,
+					                                 endOfInput);
+			if (result.isOverflow()) {
+				this.drain();
+				continue;
+			}
+			if (result.isError()) {
+				/* Not reached with replacement actions in force. */
+				result.throwException();
+			}
+			break;
+		}
+		if (endOfInput) {
+			while (this.encoder.flush(this.bytes).isOverflow()) {
+				this.drain();
+			}
+			this.encoder.reset();
+		}
+		this.chars.compact();
+	}
+
+	/**
+	 * Write the encoded bytes to the underlying stream.
+	 * 
+	 * @throws IOException
+	 */
+	protected void drain()
+		throws IOException
+	{
+		if (this.bytes.position() > 0) {
+			this.sink.write(this.bytes.array(), this.bytes.arrayOffset(),
+					        this.bytes.position());
+			this.bytes.clear();
+		}
+	}
+
+	@Override
+	public synchronized void print(String s) {
+		if (s == null) {
+			s = "null";
+		}
+		this.buffer(s, 0, s.length());
+	}
+
+	@Override
+	public synchronized void print(char c) {
+		this.buffer(c);
+	}
+
+	@Override
+	public synchronized void print(char[] s) {
+		this.print(new String(s));
+	}
+
+	@Override
+	public void print(boolean b) {
+		this.print(String.valueOf(b));
+	}
+
+	@Override
+	public void print(int i) {
+		this.print(String.valueOf(i));
+	}
+
+	@Override
+	public void print(long l) {
+		this.print(String.valueOf(l));
+	}
+
+	@Override
+	public void print(float f) {
+		this.print(String.valueOf(f));
+	}
+
+	@Override
+	public void print(double d) {
+		this.print(String.valueOf(d));
+	}
+
+	@Override
+	public void print(Object obj) {
+		this.print(String.valueOf(obj));
+	}
+
+	@Override
+	public synchronized void println() {
+		this.buffer(LINE_SEPARATOR, 0, LINE_SEPARATOR.length());
+	}
+
+	@Override
+	public synchronized void println(String s) {
+		this.print(s);
+		this.println();
+	}
+
+	@Override
+	public synchronized void println(char c) {
+		this.print(c);
+		this.println();
+	}
+
+	@Override
+	public synchronized void println(char[] s) {
+		this.print(s);
+		this.println();
+	}
+
+	@Override
+	public void println(boolean b) {
+		this.println(String.valueOf(b));
+	}
+
+	@Override
+	public void println(int i) {
+		this.println(String.valueOf(i));
+	}
+
+	@Override
+	public void println(long l) {
+		this.println(String.valueOf(l));
+	}
+
+	@Override
+	public void println(float f) {
+		this.println(String.valueOf(f));
+	}
+
+	@Override
+	public void println(double d) {
+		this.println(String.valueOf(d));
+	}
+
+	@Override
+	public void println(Object obj) {
+		this.println(String.valueOf(obj));
+	}
+
+	/**
+	 * Write a byte.  Any buffered characters are encoded first.
+	 * 
+	 * @param b Byte
+	 */
+	@Override
+	public synchronized void write(int b) {
+		try {
+			this.encode(false);
+			if (!this.bytes.hasRemaining()) {
+				this.drain();
+			}
+			this.bytes.put((byte) b);
+		}
+		catch (InterruptedIOException e) {
+			Thread.currentThread().interrupt();
+		}
+		catch (IOException e) {
+			this.setError();
+		}
+	}
+
+	/**
+	 * Write bytes.  Any buffered characters are encoded first.
+	 * 
+	 * @param buf Bytes
+	 * @param off Offset
+	 * @param len Length
+	 */
+	@Override
+	public synchronized void write(byte[] buf, int off, int len) {
+		try {
+			this.encode(false);
+			if (len < this.bytes.remaining()) {
+				this.bytes.put(buf, off, len);
+			}
+			else {
+				this.drain();
+				this.sink.write(buf, off, len);
+			}
+		}
+		catch (InterruptedIOException e) {
+			Thread.currentThread().interrupt();
+		}
+		catch (IOException e) {
+			this.setError();
+		}
+	}
+
+	/**
+	 * Write all buffered characters and flush the underlying stream.
+	 */
+	@Override
+	public synchronized void flush() {
+		if (this.closed) {
+			return;
+		}
+		try {
+			this.encode(false);
+			this.drain();
+			this.sink.flush();
+		}
+		catch (InterruptedIOException e) {
+			Thread.currentThread().interrupt();
+		}
+		catch (IOException e) {
+			this.setError();
+		}
+	}
+
+	/**
+	 * Write all buffered characters and close the underlying stream.
+	 */
+	@Override
+	public synchronized void close() {
+		if (this.closed) {
+			return;
+		}
+		try {
+			this.encode(true);
+			this.drain();
+			this.sink.close();
+		}
+		catch (InterruptedIOException e) {
+			Thread.currentThread().interrupt();
+		}
+		catch (IOException e) {
+			this.setError();
+		}
+		this.closed = true;
+	}
+}
@@ -0,0 +1,345 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.module.display.util;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * Print stream that collects the text of a displayed subtree, so that
+ * subtrees rendered concurrently can be written to the real output stream
+ * in order.  The text is held in memory as characters, so it is encoded
+ * only once, by the output stream it is finally written to; once more than
+ * the spill threshold is held, it is moved to a temporary file, so that a
+ * large subtree does not have to fit in memory.  Only text may be printed
+ * to a segment; raw bytes are rejected.
+ */
+public class DisplaySegment
+	extends PrintStream
+{
+	/** Default spill threshold, in characters. */
+	public static final int DEFAULT_SPILL_THRESHOLD = 1024 * 1024;
+
+	/** Line separator. */
+	protected static final String LINE_SEPARATOR =
+		System.getProperty("line.separator");
+
+	/** Segment text not yet spilled. */
+	protected StringBuilder text;
+
+	/** Number of characters held in memory before they are spilled. */
+	protected int spillThreshold;
+
+	/** Number of characters spilled. */
+	protected long spilled;
+
+	/** Spill file, or null if nothing has been spilled. */
+	protected File spillFile;
+
+	/** Spill file writer, or null if nothing has been spilled. */
+	protected Writer spillWriter;
+
+	/** Exception raised spilling the text, if any. */
+	protected IOException spillException;
+
+	/**
+	 * Instantiate a new <code>DisplaySegment</code> with the default spill
+	 * threshold.
+	 */
+	public DisplaySegment() {
+		this(DEFAULT_SPILL_THRESHOLD);
+	}
+
+	/**
+	 * Instantiate a new <code>DisplaySegment</code>.
+	 * 
+	 * @param spillThreshold
+	 *            Number of characters held in memory before they are
+	 *            spilled to a temporary file
+	 */
+	public DisplaySegment(int spillThreshold) {
+		super(new ByteArrayOutputStream(0));
+		this.spillThreshold = Math.max(1, spillThreshold);
+		this.text = new StringBuilder(Math.min(1024, this.spillThreshold));
+	}
+
+	/**
+	 * Get the length of the segment text.
+	 * 
+	 * @return Length, in characters
+	 */
+	public long length() {
+		return this.spilled + this.text.length();
+	}
+
+	/**
+	 * Determine whether any of the segment text has been spilled to a
+	 * temporary file.
+	 * 
+	 * @return True if text has been spilled
+	 */
+	public boolean isSpilled() {
+		return this.spillFile != null;
+	}
+
+	/**
+	 * Write the segment text to a print stream, then discard it.
+	 * 
+	 * @param out
+	 *            Print stream
+	 * @throws IOException
+	 *             if the text could not be spilled or read back
+	 */
+	public void writeTo(PrintStream out)
+		throws IOException
+	{
+		try {
+			if (this.spillException != null) {
+				throw this.spillException;
+			}
+			if (this.spillWriter != null) {
+				this.spillWriter.close();
+				this.spillWriter = null;
+				Reader in = new InputStreamReader(
+						new FileInputStream(this.spillFile), "UTF-8");
+				try {
+					char[] buffer = new char[8192];
+					int n;
+					while ((n = in.read(buffer)) > 0) {
+						out.print(new String(buffer, 0, n));
+					}
+				}
+				finally {
+					in.close();
+				}
+			}
+			out.print(this.text.toString());
+		}
+		finally {
+			this.discard();
+		}
+	}
+
+	/**
+	 * Discard the segment text, deleting its spill file, if any.
+	 */
+	public void discard() {
+		if (this.spillWriter != null) {
+			try {
+				this.spillWriter.close();
+			}
+			catch (IOException e) {
+				/* The file is deleted anyway. */
+			}
+			this.spillWriter = null;
+		}
+		if (this.spillFile != null) {
+			this.spillFile.delete();
+			this.spillFile = null;
+		}
+		this.text.setLength(0);
+		this.spilled = 0L;
+	}
+
+	/**
+	 * Spill the text held in memory to the spill file, if the spill
+	 * threshold has been reached.  A trailing high surrogate is held back,
+	 * so that a surrogate pair is not split across the spill.
+	 */
+	protected void checkSpill() {
+		int end = this.text.length();
+		if (end < this.spillThreshold || this.spillException != null) {
+			return;
+		}
+		if (Character.isHighSurrogate(this.text.charAt(end - 1))) {
+			end--;
+		}
+		try {
+			if (this.spillWriter == null) {
+				this.spillFile = File.createTempFile("jhove2-display", ".txt");
+				this.spillWriter = new BufferedWriter(new OutputStreamWriter(
+						new FileOutputStream(this.spillFile), "UTF-8"));
+			}
+			this.spillWriter.append(this.text, 0, end);
+			this.text.delete(0, end);
+			this.spilled += end;
+		}
+		catch (IOException e) {
+			/* Reported when the segment is written. */
+			this.spillException = e;
+		}
+	}
+
+	@Override
+	public void print(String s) {
+		this.text.append(s);
+		this.checkSpill();
+	}
+
+	@Override
+	public void print(char c) {
+		this.text.append(c);
+		this.checkSpill();
+	}
+
+	@Override
+	public void print(char[] s) {
+		this.text.append(s);
+		this.checkSpill();
+	}
+
+	@Override
+	public void print(boolean b) {
+		this.text.append(b);
+		this.checkSpill();
+	}
+
+	@Override
+	public void print(int i) {
+		this.text.append(i);
+		this.checkSpill();
+	}
+
+	@Override
+	public void print(long l) {
+		this.text.append(l);
+		this.checkSpill();
+	}
+
+	@Override
+	public void print(float f) {
+		this.text.append(f);
+		this.checkSpill();
+	}
+
+	@Override
+	public void print(double d) {
+		this.text.append(d);
+		this.checkSpill();
+	}
+
+	@Override
+	public void print(Object obj) {
+		this.text.append(String.valueOf(obj));
+		this.checkSpill();
+	}
+
+	@Override
+	public void println() {
+		this.text.append(LINE_SEPARATOR);
+		this.checkSpill();
+	}
+
+	@Override
+	public void println(String s) {
+		this.text.append(s).append(LINE_SEPARATOR);
+		this.checkSpill();
+	}
+
+	@Override
+	public void println(char c) {
+		this.text.append(c).append(LINE_SEPARATOR);
+		this.checkSpill();
+	}
+
+	@Override
+	public void println(char[] s) {
+		this.text.append(s).append(LINE_SEPARATOR);
+		this.checkSpill();
+	}
+
+	@Override
+	public void println(boolean b) {
+		this.text.append(b).append(LINE_SEPARATOR);
+		this.checkSpill();
+	}
+
+	@Override
+	public void println(int i) {
+		this.text.append(i).append(LINE_SEPARATOR);
+		this.checkSpill();
+	}
+
+	@Override
+	public void println(long l) {
+		this.text.append(l).append(LINE_SEPARATOR);
+		this.checkSpill();
+	}
+
+	@Override
+	public void println(float f) {
+		this.text.append(f).append(LINE_SEPARATOR);
+		this.checkSpill();
+	}
+
+	@Override
+	public void println(double d) {
+		this.text.append(d).append(LINE_SEPARATOR);
+		this.checkSpill();
+	}
+
+	@Override
+	public void println(Object obj) {
+		this.text.append(String.valueOf(obj)).append(LINE_SEPARATOR);
+		this.checkSpill();
+	}
+
+	/**
+	 * Raw bytes cannot be collected as text.
+	 * @throws UnsupportedOperationException
+	 */
+	@Override
+	public void write(int b) {
+		throw new UnsupportedOperationException("Display segments hold text only");
+	}
+
+	/**
+	 * Raw bytes cannot be collected as text.
+	 * @throws UnsupportedOperationException
+	 */
+	@Override
+	public void write(byte[] buf, int off, int len) {
+		throw new UnsupportedOperationException("Display segments hold text only");
+	}
+}
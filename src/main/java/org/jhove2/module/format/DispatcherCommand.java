@@ -48,6 +48,7 @@ import org.jhove2.core.format.Format;
 import org.jhove2.core.format.FormatFactory;
 import org.jhove2.core.format.FormatIdentification;
 import org.jhove2.core.io.Input;
+import org.jhove2.core.metrics.MetricsRegistry;
 import org.jhove2.core.source.Source;
 import org.jhove2.module.AbstractCommand;
 import org.jhove2.module.Module;
@@ -182,7 +183,15 @@ public class DispatcherCommand
                     visitedModules.add(formatModule.getReportableIdentifier());
                     formatModule = (FormatModule) formatModule.getModuleAccessor().startTimerInfo(formatModule);
                     formatModule = (FormatModule) source.addModule(formatModule);
-                    formatModule.invoke(jhove2, source, input);
+                    long start = System.nanoTime();
+                    try {
+                        formatModule.invoke(jhove2, source, input);
+                    }
+                    finally {
+                        MetricsRegistry.getInstance().recordElapsed(
+                            MetricsRegistry.MODULE_LATENCY_KEYS.get(formatModule.getClass()),
+                            start);
+                    }
                     formatModule = (FormatModule) formatModule.getModuleAccessor().endTimerInfo(formatModule);
                 }
             }
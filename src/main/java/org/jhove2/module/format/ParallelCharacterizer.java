@@ -0,0 +1,364 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.module.format;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jhove2.core.JHOVE2;
+import org.jhove2.core.JHOVE2Exception;
+import org.jhove2.core.io.Input;
+import org.jhove2.core.source.Source;
+
+/**
+ * Characterizes child source units of a container format (WARC and ARC
+ * records, GZip members) on a bounded pool of worker threads.
+ * <p>
+ * The container module remains responsible for reading the container and
+ * for attaching each child source to its parent, in container order, on
+ * the reading thread; only the (independent) recursive characterization of
+ * each child is handed to a worker.  The report is therefore the same as
+ * for sequential processing.  At most <code>2 * threads</code> children are
+ * in flight at any time, which bounds the number of spooled temporary files
+ * and the memory held by pending children.
+ * </p><p>
+ * With fewer than two threads no pool is created and each child is
+ * characterized synchronously, exactly as before.
+ * </p>
+ */
+public class ParallelCharacterizer {
+	/** JHOVE2 framework. */
+	protected final JHOVE2 jhove2;
+
+	/** Worker pool; null if characterization is synchronous. */
+	protected final ExecutorService pool;
+
+	/** Permits for children in flight. */
+	protected final Semaphore inFlight;
+
+	/** Maximum number of children in flight. */
+	protected final int maxInFlight;
+
+	/** First failure reported by a worker. */
+	protected Throwable failure;
+
+	/**
+	 * Children whose characterization is deferred until {@link #finish()};
+	 * null unless this characterizer was obtained from
+	 * {@link #deferred(JHOVE2)}.
+	 */
+	protected List<Source> deferred;
+
+	/**
+	 * Instantiate a new <code>ParallelCharacterizer</code>.
+	 * 
+	 * @param jhove2  JHOVE2 framework
+	 * @param threads Number of worker threads; 0 or 1 for synchronous
+	 *                characterization
+	 * @param name    Name used for the worker threads
+	 */
+	public ParallelCharacterizer(JHOVE2 jhove2, int threads, final String name) {
+		this.jhove2 = jhove2;
+		if (threads > 1) {
+			final AtomicInteger count = new AtomicInteger();
+			this.pool = new ThreadPoolExecutor(threads, threads, 0L,
+				TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+				new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable r) {
+						Thread thread = new Thread(r, name + "-" + count.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+			this.maxInFlight = 2 * threads;
+		}
+		else {
+			this.pool = null;
+			this.maxInFlight = 1;
+		}
+		this.inFlight = new Semaphore(this.maxInFlight);
+	}
+
+	/**
+	 * Get a characterizer that only queues children, and characterizes them
+	 * synchronously, in order, when {@link #finish()} is called.  Used by
+	 * a module that must release shared state before its children are
+	 * characterized.
+	 * 
+	 * @param jhove2 JHOVE2 framework
+	 * @return Deferring characterizer
+	 */
+	public static ParallelCharacterizer deferred(JHOVE2 jhove2) {
+		ParallelCharacterizer characterizer = new ParallelCharacterizer(jhove2, 0, null);
+		characterizer.deferred = new ArrayList<Source>();
+		return characterizer;
+	}
+
+	/**
+	 * Characterize a child source unit, which must already have been added
+	 * to its parent.  The child source and its input are closed once it has
+	 * been characterized.  If the pool is busy, blocks until a worker is
+	 * available.
+	 * 
+	 * @param source Child source unit
+	 * @throws IOException
+	 * @throws JHOVE2Exception
+	 *             if a previously submitted child failed, or the calling
+	 *             thread is interrupted
+	 */
+	public void characterize(final Source source)
+		throws IOException, JHOVE2Exception
+	{
+		this.characterize(source, null);
+	}
+
+	/**
+	 * Characterize a child source unit, as {@link #characterize(Source)},
+	 * and run a completion action once it has been characterized, whether
+	 * successfully or not.
+	 * 
+	 * @param source Child source unit
+	 * @param done   Completion action, run on the characterizing thread;
+	 *               may be null
+	 * @throws IOException
+	 * @throws JHOVE2Exception
+	 *             if a previously submitted child failed, or the calling
+	 *             thread is interrupted
+	 */
+	public void characterize(final Source source, final Runnable done)
+		throws IOException, JHOVE2Exception
+	{
+		if (this.deferred != null) {
+			this.deferred.add(source);
+			if (done != null) {
+				done.run();
+			}
+			return;
+		}
+		if (this.pool == null) {
+			try {
+				characterizeChild(source);
+			}
+			finally {
+				if (done != null) {
+					done.run();
+				}
+			}
+			return;
+		}
+		this.checkFailure();
+		try {
+			this.inFlight.acquire();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JHOVE2Exception("Interrupted waiting for worker", e);
+		}
+		try {
+			this.pool.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						characterizeChild(source);
+					}
+					catch (Throwable t) {
+						setFailure(t);
+					}
+					finally {
+						if (done != null) {
+							done.run();
+						}
+						inFlight.release();
+					}
+				}
+			});
+		}
+		catch (RuntimeException e) {
+			this.inFlight.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Determine whether children are characterized on a worker pool.
+	 * 
+	 * @return True if children are characterized on a worker pool
+	 */
+	public boolean isParallel() {
+		return this.pool != null;
+	}
+
+	/**
+	 * Wait for all submitted children to be characterized, and release the
+	 * worker pool.  Deferred children are characterized in order, and the
+	 * first failure is thrown at once, as in sequential processing; the
+	 * children after it are closed without being characterized.
+	 * 
+	 * @throws IOException
+	 *             if characterization of any child failed with an I/O
+	 *             exception
+	 * @throws JHOVE2Exception
+	 *             if characterization of any child failed
+	 */
+	public void finish()
+		throws IOException, JHOVE2Exception
+	{
+		if (this.deferred != null) {
+			List<Source> children = this.deferred;
+			this.deferred = new ArrayList<Source>();
+			Iterator<Source> iter = children.iterator();
+			try {
+				while (iter.hasNext()) {
+					characterizeChild(iter.next());
+				}
+			}
+			finally {
+				while (iter.hasNext()) {
+					try {
+						iter.next().close();
+					}
+					catch (Exception e) {
+						/* Already failing; nothing more can be done. */
+					}
+				}
+			}
+		}
+		if (this.pool != null) {
+			try {
+				this.inFlight.acquire(this.maxInFlight);
+				this.inFlight.release(this.maxInFlight);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new JHOVE2Exception("Interrupted waiting for workers", e);
+			}
+			finally {
+				this.pool.shutdown();
+			}
+			this.checkFailure();
+		}
+	}
+
+	/**
+	 * Abandon any children that have not yet started, and release the
+	 * worker pool.  Used when the container itself cannot be read.
+	 */
+	public void abort() {
+		if (this.deferred != null) {
+			for (Source child : this.deferred) {
+				try {
+					child.close();
+				}
+				catch (Exception e) {
+					/* Already failing; nothing more can be done. */
+				}
+			}
+			this.deferred.clear();
+		}
+		if (this.pool != null) {
+			this.pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Characterize a child source unit on the current thread.
+	 * 
+	 * @param source Child source unit
+	 * @throws IOException
+	 * @throws JHOVE2Exception
+	 */
+	protected void characterizeChild(Source source)
+		throws IOException, JHOVE2Exception
+	{
+		/* Make sure to close the Input after
+		 * characterization is completed.
+		 */
+		Input input = source.getInput(this.jhove2);
+		try {
+			source = this.jhove2.characterize(source, input);
+		}
+		finally {
+			if (input != null) {
+				input.close();
+			}
+			source.close();
+		}
+	}
+
+	/**
+	 * Record the first failure reported by a worker.
+	 * 
+	 * @param t Failure
+	 */
+	protected synchronized void setFailure(Throwable t) {
+		if (this.failure == null) {
+			this.failure = t;
+		}
+	}
+
+	/**
+	 * Rethrow the first failure reported by a worker, if any.
+	 * 
+	 * @throws IOException
+	 * @throws JHOVE2Exception
+	 */
+	protected synchronized void checkFailure()
+		throws IOException, JHOVE2Exception
+	{
+		if (this.failure instanceof IOException) {
+			throw (IOException) this.failure;
+		}
+		else if (this.failure instanceof JHOVE2Exception) {
+			throw (JHOVE2Exception) this.failure;
+		}
+		else if (this.failure instanceof Error) {
+			throw (Error) this.failure;
+		}
+		else if (this.failure != null) {
+			throw new JHOVE2Exception("Exception characterizing child source",
+					                  this.failure);
+		}
+	}
+}
@@ -0,0 +1,728 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.module.format;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.jhove2.core.JHOVE2Exception;
+import org.jhove2.core.io.RangeInputStream;
+
+/**
+ * Sidecar offset index of the records of an ARC or WARC archive, in the
+ * spirit of a CDX file: one line per record giving its offset, length,
+ * type, target URI and payload digest.
+ * <p>
+ * The index is written while the archive is characterized, one line per
+ * completed record, and flushed as it goes, so an interrupted run leaves
+ * a usable prefix; the header records the length and modification time of
+ * the archive when the run started, so that the prefix is only resumed
+ * from if the archive has not changed since.  When the run completes a
+ * trailer records the archive length and modification time, a checksum of
+ * the last indexed bytes, and a checksum of the first indexed bytes.  A
+ * later run can then tell whether the archive is unchanged (same length
+ * and modification time, and same head and tail), has only been appended
+ * to (same head, and same tail at the indexed length), or has been
+ * rewritten, and for GZip compressed archives can seek straight to a member
+ * boundary: to resume after the last indexed record, or to process only
+ * selected records.  The checksums cover bounded windows, so checking an
+ * index costs the same whatever the size of the archive; an edit confined
+ * to the middle of an archive that keeps its length and does not touch
+ * either window is not detected.
+ * </p><p>
+ * File layout (UTF-8, tab separated):
+ * <pre>
+ * #JHOVE2-RECORD-INDEX 1
+ * #ARCHIVE archiveLength lastModified
+ * offset length type uri digest
+ * ...
+ * #END archiveLength tailChecksum lastModified headChecksum
+ * </pre>
+ * An index without the archive line, or with a trailer of only the first
+ * two fields, is never taken to be current.
+ * </p>
+ */
+public class RecordIndex {
+	/** Index file name suffix, appended to the archive file name. */
+	public static final String SUFFIX = ".j2idx";
+
+	/** First line of an index file. */
+	public static final String MAGIC = "#JHOVE2-RECORD-INDEX 1";
+
+	/** Archive line prefix. */
+	public static final String ARCHIVE = "#ARCHIVE ";
+
+	/** Trailer line prefix. */
+	public static final String TRAILER = "#END ";
+
+	/** Value of a length, time or checksum not recorded in the index. */
+	public static final long UNKNOWN = -1L;
+
+	/** Number of trailing archive bytes covered by the tail checksum. */
+	public static final int TAIL_LENGTH = 4096;
+
+	/** Number of leading archive bytes covered by the head checksum. */
+	public static final int HEAD_LENGTH = 65536;
+
+	/** Read-ahead buffer size of streams over archive ranges. */
+	public static final int BUFFER_SIZE = 65536;
+
+	/** Archive file. */
+	protected File archive;
+
+	/** Index file. */
+	protected File indexFile;
+
+	/** Index entries, in archive order. */
+	protected List<RecordIndexEntry> entries;
+
+	/** Entries whose length is known only when the next member starts. */
+	protected List<RecordIndexEntry> pending;
+
+	/** Index writer; null unless the index is being built. */
+	protected Writer writer;
+
+	/** True if the index has a trailer. */
+	protected boolean complete;
+
+	/** Archive length recorded in the trailer. */
+	protected long indexedLength;
+
+	/** Tail checksum recorded in the trailer. */
+	protected long tailChecksum;
+
+	/** Archive modification time recorded in the trailer. */
+	protected long indexedModified = UNKNOWN;
+
+	/** Head checksum recorded in the trailer. */
+	protected long headChecksum = UNKNOWN;
+
+	/** Archive length when the index was (re)opened for writing. */
+	protected long startLength = UNKNOWN;
+
+	/** Archive modification time when the index was (re)opened for writing. */
+	protected long startModified = UNKNOWN;
+
+	/**
+	 * True if the index is only used to select records, and must not be
+	 * extended or rewritten.
+	 */
+	protected boolean readOnly;
+
+	/**
+	 * Instantiate a new <code>RecordIndex</code>.
+	 * 
+	 * @param archive
+	 *            Archive file
+	 * @param indexFile
+	 *            Index file
+	 */
+	protected RecordIndex(File archive, File indexFile) {
+		this.archive = archive;
+		this.indexFile = indexFile;
+		this.entries = new ArrayList<RecordIndexEntry>();
+		this.pending = new ArrayList<RecordIndexEntry>();
+	}
+
+	/**
+	 * Get the sidecar index file of an archive.
+	 * 
+	 * @param archive
+	 *            Archive file
+	 * @return Index file
+	 */
+	public static File getIndexFile(File archive) {
+		return new File(archive.getParentFile(), archive.getName() + SUFFIX);
+	}
+
+	/**
+	 * Start building a new index of an archive, replacing any existing one.
+	 * 
+	 * @param archive
+	 *            Archive file
+	 * @return Index, open for adding entries
+	 * @throws IOException
+	 *             I/O exception creating index file
+	 */
+	public static RecordIndex create(File archive)
+		throws IOException
+	{
+		RecordIndex index = new RecordIndex(archive, getIndexFile(archive));
+		index.open();
+		return index;
+	}
+
+	/**
+	 * Load the existing index of an archive.
+	 * 
+	 * @param archive
+	 *            Archive file
+	 * @return Index, or null if the archive has no index
+	 * @throws IOException
+	 *             I/O exception reading index file
+	 * @throws JHOVE2Exception
+	 *             if the index file is malformed
+	 */
+	public static RecordIndex load(File archive)
+		throws IOException, JHOVE2Exception
+	{
+		File indexFile = getIndexFile(archive);
+		if (!indexFile.isFile()) {
+			return null;
+		}
+		RecordIndex index = new RecordIndex(archive, indexFile);
+		BufferedReader in = new BufferedReader(new InputStreamReader(
+				new FileInputStream(indexFile), "UTF-8"));
+		try {
+			String line = in.readLine();
+			if (line == null || !line.equals(MAGIC)) {
+				throw new JHOVE2Exception("Not a record index: " +
+						indexFile.getPath());
+			}
+			while ((line = in.readLine()) != null) {
+				if (line.startsWith(TRAILER)) {
+					String[] fields = line.substring(TRAILER.length()).split(" ");
+					try {
+						index.indexedLength = Long.parseLong(fields[0]);
+						index.tailChecksum = Long.parseLong(fields[1]);
+						if (fields.length >= 4) {
+							index.indexedModified = Long.parseLong(fields[2]);
+							index.headChecksum = Long.parseLong(fields[3]);
+						}
+					}
+					catch (RuntimeException e) {
+						throw new JHOVE2Exception("Malformed record index trailer: "
+								+ line, e);
+					}
+					index.complete = true;
+					break;
+				}
+				else if (line.startsWith(ARCHIVE)) {
+					String[] fields = line.substring(ARCHIVE.length()).split(" ");
+					try {
+						index.startLength = Long.parseLong(fields[0]);
+						index.startModified = Long.parseLong(fields[1]);
+					}
+					catch (RuntimeException e) {
+						throw new JHOVE2Exception("Malformed record index archive line: "
+								+ line, e);
+					}
+				}
+				else if (line.length() > 0) {
+					index.entries.add(RecordIndexEntry.parse(line));
+				}
+			}
+		}
+		finally {
+			in.close();
+		}
+		return index;
+	}
+
+	/**
+	 * Open the index file for writing, (re)writing the header and all
+	 * entries already known.  Any trailer is dropped, so the index may be
+	 * extended with the records appended to the archive since it was built.
+	 * 
+	 * @throws IOException
+	 *             I/O exception writing index file
+	 */
+	public synchronized void open()
+		throws IOException
+	{
+		if (writer != null || readOnly) {
+			return;
+		}
+		writer = new BufferedWriter(new OutputStreamWriter(
+				new FileOutputStream(indexFile), "UTF-8"));
+		startLength = archive.length();
+		startModified = archive.lastModified();
+		writer.write(MAGIC);
+		writer.write('\n');
+		writer.write(ARCHIVE + startLength + " " + startModified);
+		writer.write('\n');
+		for (RecordIndexEntry entry : entries) {
+			writer.write(entry.toLine());
+			writer.write('\n');
+		}
+		writer.flush();
+		complete = false;
+	}
+
+	/**
+	 * Add a record to the index.  Entries of unknown length are held back
+	 * until a record at a later offset, or the end of the archive, fixes
+	 * their length; all other entries are written immediately.
+	 * 
+	 * @param entry
+	 *            Index entry
+	 * @throws IOException
+	 *             I/O exception writing index file
+	 */
+	public synchronized void add(RecordIndexEntry entry)
+		throws IOException
+	{
+		if (readOnly) {
+			return;
+		}
+		if (pending.size() > 0 &&
+				entry.getOffset() > pending.get(0).getOffset()) {
+			flushPending(entry.getOffset());
+		}
+		if (entry.getLength() == RecordIndexEntry.UNKNOWN) {
+			pending.add(entry);
+		}
+		else {
+			write(entry);
+		}
+	}
+
+	/**
+	 * Finish building the index: fix the length of any pending entries,
+	 * write the trailer, and close the index file.  Computing the checksums
+	 * reads only the first {@link #HEAD_LENGTH} and last
+	 * {@link #TAIL_LENGTH} bytes of the archive.
+	 * 
+	 * @param endOffset
+	 *            Offset of the end of the last record
+	 * @throws IOException
+	 *             I/O exception writing index file
+	 */
+	public synchronized void close(long endOffset)
+		throws IOException
+	{
+		if (writer == null) {
+			return;
+		}
+		try {
+			flushPending(endOffset);
+			indexedLength = archive.length();
+			indexedModified = archive.lastModified();
+			tailChecksum = computeTailChecksum(indexedLength);
+			headChecksum = computeHeadChecksum(indexedLength);
+			writer.write(TRAILER + indexedLength + " " + tailChecksum + " " +
+					indexedModified + " " + headChecksum);
+			writer.write('\n');
+			complete = true;
+		}
+		finally {
+			writer.close();
+			writer = null;
+		}
+	}
+
+	/**
+	 * Abandon building the index, leaving the entries written so far for
+	 * a later run to resume from.
+	 */
+	public synchronized void abandon() {
+		if (writer != null) {
+			try {
+				writer.close();
+			}
+			catch (IOException e) {
+				/* Nothing more can be done. */
+			}
+			writer = null;
+		}
+	}
+
+	/**
+	 * Write entries held back, now that their end is known.
+	 * 
+	 * @param endOffset
+	 *            Offset at which the pending entries end
+	 * @throws IOException
+	 *             I/O exception writing index file
+	 */
+	protected void flushPending(long endOffset)
+		throws IOException
+	{
+		for (RecordIndexEntry entry : pending) {
+			entry.setLength(endOffset - entry.getOffset());
+			write(entry);
+		}
+		pending.clear();
+	}
+
+	/**
+	 * Write an entry to the index file and remember it.
+	 * 
+	 * @param entry
+	 *            Index entry
+	 * @throws IOException
+	 *             I/O exception writing index file
+	 */
+	protected void write(RecordIndexEntry entry)
+		throws IOException
+	{
+		entries.add(entry);
+		if (writer != null) {
+			writer.write(entry.toLine());
+			writer.write('\n');
+			writer.flush();
+		}
+	}
+
+	/**
+	 * Compute the checksum of the archive bytes immediately preceding an
+	 * offset.
+	 * 
+	 * @param end
+	 *            Offset
+	 * @return CRC-32 of up to {@link #TAIL_LENGTH} bytes before the offset
+	 * @throws IOException
+	 *             I/O exception reading archive
+	 */
+	protected long computeTailChecksum(long end)
+		throws IOException
+	{
+		int len = (int) Math.min(end, TAIL_LENGTH);
+		byte[] buf = new byte[len];
+		RandomAccessFile raf = new RandomAccessFile(archive, "r");
+		try {
+			raf.seek(end - len);
+			raf.readFully(buf);
+		}
+		finally {
+			raf.close();
+		}
+		CRC32 crc = new CRC32();
+		crc.update(buf, 0, len);
+		return crc.getValue();
+	}
+
+	/**
+	 * Compute the checksum of the first archive bytes preceding an offset.
+	 * 
+	 * @param end
+	 *            Offset
+	 * @return CRC-32 of up to {@link #HEAD_LENGTH} bytes from the start of
+	 *         the archive, and no further than the offset
+	 * @throws IOException
+	 *             I/O exception reading archive
+	 */
+	protected long computeHeadChecksum(long end)
+		throws IOException
+	{
+		int len = (int) Math.min(end, HEAD_LENGTH);
+		byte[] buf = new byte[len];
+		RandomAccessFile raf = new RandomAccessFile(archive, "r");
+		try {
+			raf.readFully(buf);
+		}
+		finally {
+			raf.close();
+		}
+		CRC32 crc = new CRC32();
+		crc.update(buf, 0, len);
+		return crc.getValue();
+	}
+
+	/**
+	 * Determine whether the indexed archive bytes are still present,
+	 * unchanged, at the start of the archive: an archive at least as long
+	 * as the one indexed is checked against the head checksum, and against
+	 * the tail checksum at the indexed length.
+	 * 
+	 * @return True if the index is complete and the archive is unchanged or
+	 *         has only been appended to
+	 * @throws IOException
+	 *             I/O exception reading archive
+	 */
+	public boolean isPrefixOfArchive()
+		throws IOException
+	{
+		if (!complete || indexedModified == UNKNOWN) {
+			return false;
+		}
+		long length = archive.length();
+		if (length < indexedLength) {
+			return false;
+		}
+		return computeTailChecksum(indexedLength) == tailChecksum &&
+			computeHeadChecksum(indexedLength) == headChecksum;
+	}
+
+	/**
+	 * Determine whether a run may resume from this index.  A complete index
+	 * may be resumed from if the indexed bytes are a prefix of the archive;
+	 * an interrupted one only if the archive has the same length and
+	 * modification time as when the interrupted run started.
+	 * 
+	 * @return True if a run may resume from {@link #getResumeOffset()}
+	 * @throws IOException
+	 *             I/O exception reading archive
+	 */
+	public boolean isResumable()
+		throws IOException
+	{
+		if (complete) {
+			return isPrefixOfArchive();
+		}
+		return startModified != UNKNOWN &&
+			archive.length() == startLength &&
+			archive.lastModified() == startModified;
+	}
+
+	/**
+	 * Determine whether the archive is exactly the one indexed.
+	 * 
+	 * @return True if the index is complete and the archive is unchanged
+	 * @throws IOException
+	 *             I/O exception reading archive
+	 */
+	public boolean isCurrent()
+		throws IOException
+	{
+		return isPrefixOfArchive() && archive.length() == indexedLength;
+	}
+
+	/**
+	 * Get the offset from which a run should resume: the end of the archive
+	 * as indexed if the index is complete, otherwise the end of the last
+	 * record indexed before the interruption.
+	 * 
+	 * @return Resume offset
+	 */
+	public synchronized long getResumeOffset() {
+		if (complete) {
+			return indexedLength;
+		}
+		if (entries.size() == 0) {
+			return 0L;
+		}
+		RecordIndexEntry last = entries.get(entries.size() - 1);
+		return last.getOffset() + last.getLength();
+	}
+
+	/**
+	 * Select the entries of the given record types.
+	 * 
+	 * @param types
+	 *            Record types; all entries if null or empty
+	 * @return Selected entries, in archive order
+	 */
+	public synchronized List<RecordIndexEntry> select(Collection<String> types) {
+		if (types == null || types.size() == 0) {
+			return new ArrayList<RecordIndexEntry>(entries);
+		}
+		List<RecordIndexEntry> selected = new ArrayList<RecordIndexEntry>();
+		for (RecordIndexEntry entry : entries) {
+			if (entry.getType() != null && types.contains(entry.getType())) {
+				selected.add(entry);
+			}
+		}
+		return selected;
+	}
+
+	/**
+	 * Coalesce entries into contiguous byte ranges.  Entries sharing an
+	 * offset (several records in one GZip member) yield a single range.
+	 * 
+	 * @param selected
+	 *            Entries, in archive order
+	 * @return Ranges as <code>{offset, length}</code> pairs
+	 */
+	public static List<long[]> getRanges(List<RecordIndexEntry> selected) {
+		List<long[]> ranges = new ArrayList<long[]>();
+		long[] range = null;
+		for (RecordIndexEntry entry : selected) {
+			long start = entry.getOffset();
+			long end = start + entry.getLength();
+			if (range != null && start <= range[0] + range[1]) {
+				range[1] = Math.max(range[1], end - range[0]);
+			}
+			else {
+				range = new long[] {start, entry.getLength()};
+				ranges.add(range);
+			}
+		}
+		return ranges;
+	}
+
+	/**
+	 * Split the indexed archive into contiguous ranges of roughly equal
+	 * size, each starting on a record (or GZip member) boundary, so that
+	 * they may be processed independently.
+	 * 
+	 * @param parts
+	 *            Desired number of ranges
+	 * @return At most <code>parts</code> ranges, as
+	 *         <code>{offset, length}</code> pairs, in archive order
+	 */
+	public synchronized List<long[]> split(int parts) {
+		List<long[]> ranges = new ArrayList<long[]>();
+		for (RecordIndexEntry entry : entries) {
+			long[] last = ranges.size() > 0 ? ranges.get(ranges.size() - 1) : null;
+			if (last != null && last[0] == entry.getOffset()) {
+				last[1] = Math.max(last[1], entry.getLength());
+			}
+			else {
+				ranges.add(new long[] {entry.getOffset(), entry.getLength()});
+			}
+		}
+		if (parts < 1 || ranges.size() == 0) {
+			return Collections.emptyList();
+		}
+		long first = ranges.get(0)[0];
+		long[] lastRange = ranges.get(ranges.size() - 1);
+		long total = lastRange[0] + lastRange[1] - first;
+		long target = (total + parts - 1) / parts;
+		List<long[]> split = new ArrayList<long[]>(parts);
+		long[] current = null;
+		for (long[] range : ranges) {
+			if (current != null && current[1] < target) {
+				current[1] = range[0] + range[1] - current[0];
+			}
+			else {
+				current = new long[] {range[0], range[1]};
+				split.add(current);
+			}
+		}
+		return split;
+	}
+
+	/**
+	 * Open a stream over a byte range of the archive.
+	 * 
+	 * @param offset
+	 *            Range offset
+	 * @param length
+	 *            Range length, or a negative value to read to the end of the
+	 *            archive
+	 * @return Input stream over the range
+	 * @throws IOException
+	 *             I/O exception opening archive
+	 */
+	public InputStream openRange(long offset, long length)
+		throws IOException
+	{
+		return openRange(archive, offset, length);
+	}
+
+	/**
+	 * Open a stream over a byte range of a file.
+	 * 
+	 * @param file
+	 *            File
+	 * @param offset
+	 *            Range offset
+	 * @param length
+	 *            Range length, or a negative value to read to the end of the
+	 *            file
+	 * @return Input stream over the range
+	 * @throws IOException
+	 *             I/O exception opening file
+	 */
+	public static InputStream openRange(File file, long offset, long length)
+		throws IOException
+	{
+		if (length < 0) {
+			length = Math.max(0L, file.length() - offset);
+		}
+		return new RangeInputStream(file, offset, length, BUFFER_SIZE);
+	}
+
+	/**
+	 * Get the archive file.
+	 * 
+	 * @return Archive file
+	 */
+	public File getArchive() {
+		return archive;
+	}
+
+	/**
+	 * Get the index file.
+	 * 
+	 * @return Index file
+	 */
+	public File getIndexFile() {
+		return indexFile;
+	}
+
+	/**
+	 * Get the index entries.
+	 * 
+	 * @return Index entries, in archive order
+	 */
+	public synchronized List<RecordIndexEntry> getEntries() {
+		return new ArrayList<RecordIndexEntry>(entries);
+	}
+
+	/**
+	 * Determine whether the index is read-only.
+	 * 
+	 * @return True if read-only
+	 */
+	public synchronized boolean isReadOnly() {
+		return readOnly;
+	}
+
+	/**
+	 * Set read-only flag; a read-only index ignores new entries and is
+	 * never rewritten.
+	 * 
+	 * @param readOnly
+	 *            Read-only flag
+	 */
+	public synchronized void setReadOnly(boolean readOnly) {
+		this.readOnly = readOnly;
+	}
+
+	/**
+	 * Determine whether the index is complete, i.e. has a trailer.
+	 * 
+	 * @return True if complete
+	 */
+	public synchronized boolean isComplete() {
+		return complete;
+	}
+}
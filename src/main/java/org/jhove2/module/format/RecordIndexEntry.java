@@ -0,0 +1,278 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.module.format;
+
+import org.jhove2.core.JHOVE2Exception;
+
+/**
+ * One line of a {@link RecordIndex}: the location and identity of an
+ * ARC or WARC record within its archive.
+ * <p>
+ * For GZip compressed archives the offset and length are those of the GZip
+ * member holding the record, so an entry is always a valid point at which
+ * to start reading the archive.
+ * </p>
+ */
+public class RecordIndexEntry {
+	/** Field separator. */
+	public static final char SEPARATOR = '\t';
+
+	/** Placeholder for an absent field. */
+	public static final String ABSENT = "-";
+
+	/** Marker indicating a length not yet known. */
+	public static final long UNKNOWN = -1L;
+
+	/** Offset of the record, or its GZip member, in the archive. */
+	protected long offset;
+
+	/** Length of the record, or its GZip member, in bytes. */
+	protected long length;
+
+	/** Record type, e.g. WARC-Type. */
+	protected String type;
+
+	/** Target URI of the record. */
+	protected String uri;
+
+	/** Digest of the record payload (or block), as "algorithm:value". */
+	protected String digest;
+
+	/**
+	 * Instantiate a new <code>RecordIndexEntry</code>.
+	 * 
+	 * @param offset
+	 *            Offset of the record, or its GZip member
+	 * @param length
+	 *            Length of the record, or its GZip member, or
+	 *            {@link #UNKNOWN}
+	 * @param type
+	 *            Record type, may be null
+	 * @param uri
+	 *            Target URI, may be null
+	 * @param digest
+	 *            Payload digest, may be null
+	 */
+	public RecordIndexEntry(long offset, long length, String type,
+			String uri, String digest) {
+		this.offset = offset;
+		this.length = length;
+		this.type = type;
+		this.uri = uri;
+		this.digest = digest;
+	}
+
+	/**
+	 * Format a digest as "algorithm:value", the usual header notation.
+	 * 
+	 * @param algorithm
+	 *            Digest algorithm, may be null
+	 * @param value
+	 *            Digest value, may be null
+	 * @return Formatted digest, or null if there is no value
+	 */
+	public static String formatDigest(String algorithm, String value) {
+		if (value == null || value.length() == 0) {
+			return null;
+		}
+		if (algorithm == null || algorithm.length() == 0) {
+			return value;
+		}
+		return algorithm + ":" + value;
+	}
+
+	/**
+	 * Parse an index line.
+	 * 
+	 * @param line
+	 *            Index line
+	 * @return Index entry
+	 * @throws JHOVE2Exception
+	 *             if the line is malformed
+	 */
+	public static RecordIndexEntry parse(String line)
+		throws JHOVE2Exception
+	{
+		String[] fields = line.split(String.valueOf(SEPARATOR), -1);
+		if (fields.length != 5) {
+			throw new JHOVE2Exception("Malformed record index line: " + line);
+		}
+		try {
+			return new RecordIndexEntry(Long.parseLong(fields[0]),
+					Long.parseLong(fields[1]), decode(fields[2]),
+					decode(fields[3]), decode(fields[4]));
+		}
+		catch (NumberFormatException e) {
+			throw new JHOVE2Exception("Malformed record index line: " + line, e);
+		}
+	}
+
+	/**
+	 * Format the entry as an index line, without line terminator.
+	 * 
+	 * @return Index line
+	 */
+	public String toLine() {
+		StringBuilder sb = new StringBuilder(128);
+		sb.append(offset).append(SEPARATOR);
+		sb.append(length).append(SEPARATOR);
+		encode(sb, type).append(SEPARATOR);
+		encode(sb, uri).append(SEPARATOR);
+		encode(sb, digest);
+		return sb.toString();
+	}
+
+	/**
+	 * Append a field value, percent-encoding the characters that would
+	 * break the line structure.
+	 * 
+	 * @param sb
+	 *            Line buffer
+	 * @param value
+	 *            Field value, may be null
+	 * @return Line buffer
+	 */
+	protected static StringBuilder encode(StringBuilder sb, String value) {
+		if (value == null || value.length() == 0) {
+			return sb.append(ABSENT);
+		}
+		if (value.equals(ABSENT)) {
+			return sb.append("%2D");
+		}
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+			case '\t':
+				sb.append("%09");
+				break;
+			case '\n':
+				sb.append("%0A");
+				break;
+			case '\r':
+				sb.append("%0D");
+				break;
+			case '%':
+				sb.append("%25");
+				break;
+			default:
+				sb.append(c);
+			}
+		}
+		return sb;
+	}
+
+	/**
+	 * Decode a field value encoded by {@link #encode(StringBuilder, String)}.
+	 * 
+	 * @param field
+	 *            Encoded field
+	 * @return Field value, or null if absent
+	 */
+	protected static String decode(String field) {
+		if (field.equals(ABSENT)) {
+			return null;
+		}
+		if (field.indexOf('%') < 0) {
+			return field;
+		}
+		StringBuilder sb = new StringBuilder(field.length());
+		for (int i = 0; i < field.length(); i++) {
+			char c = field.charAt(i);
+			if (c == '%' && i + 2 < field.length()) {
+				sb.append((char) Integer.parseInt(field.substring(i + 1, i + 3), 16));
+				i += 2;
+			}
+			else {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Get offset of the record, or its GZip member, in the archive.
+	 * 
+	 * @return Offset, in bytes
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	/**
+	 * Get length of the record, or its GZip member.
+	 * 
+	 * @return Length, in bytes, or {@link #UNKNOWN}
+	 */
+	public long getLength() {
+		return length;
+	}
+
+	/**
+	 * Get record type.
+	 * 
+	 * @return Record type, or null
+	 */
+	public String getType() {
+		return type;
+	}
+
+	/**
+	 * Get target URI.
+	 * 
+	 * @return Target URI, or null
+	 */
+	public String getUri() {
+		return uri;
+	}
+
+	/**
+	 * Get payload digest.
+	 * 
+	 * @return Payload digest, or null
+	 */
+	public String getDigest() {
+		return digest;
+	}
+
+	/**
+	 * Set length of the record, or its GZip member.
+	 * 
+	 * @param length
+	 *            Length, in bytes
+	 */
+	public void setLength(long length) {
+		this.length = length;
+	}
+}
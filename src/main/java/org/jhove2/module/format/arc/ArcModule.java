@@ -58,14 +58,18 @@ import org.jhove2.core.format.Format;
 import org.jhove2.core.format.FormatIdentification;
 import org.jhove2.core.format.FormatIdentification.Confidence;
 import org.jhove2.core.io.Input;
+import org.jhove2.core.io.InputFactory;
 import org.jhove2.core.reportable.Reportable;
 import org.jhove2.core.source.Source;
 import org.jhove2.core.source.SourceFactory;
 import org.jhove2.module.Module;
 import org.jhove2.module.format.BaseFormatModule;
+import org.jhove2.module.format.ParallelCharacterizer;
+import org.jhove2.module.format.RecordIndex;
+import org.jhove2.module.format.RecordIndexEntry;
 import org.jhove2.module.format.Validator;
 import org.jhove2.module.format.arc.properties.ArcRecordData;
-import org.jhove2.module.format.gzip.GzipModule;
+import org.jhove2.module.format.gzip.GzipContext;
 import org.jhove2.module.format.gzip.GzipModule.GZipOffsetProperty;
 import org.jhove2.persist.FormatModuleAccessor;
 import org.jwat.arc.ArcReader;
@@ -99,9 +103,24 @@ public class ArcModule extends BaseFormatModule implements Validator {
     /** Module validation coverage. */
     public static final Coverage COVERAGE = Coverage.Selective;
 
+    /** Record index type of the (filedesc) version block record. */
+    public static final String INDEX_TYPE_VERSION_BLOCK = "filedesc";
+
+    /** Record index type of all other ARC records. */
+    public static final String INDEX_TYPE_RECORD = "record";
+
     /** Whether to recursively characterize ARC record objects. */
     private boolean recurse = true;
 
+    /**
+     * Number of threads used to characterize record payloads; 0 or 1 to
+     * characterize them sequentially on the reading thread.
+     */
+    private int parallelCharacterization = 0;
+
+    /** Whether to write a sidecar record index while parsing the file. */
+    private boolean buildRecordIndex = false;
+
     private boolean bComputeBlockDigest = false;
     private String blockDigestAlgorithm;
     private String blockDigestEncoding;
@@ -182,6 +201,8 @@ public class ArcModule extends BaseFormatModule implements Validator {
         ArcModule arcModule = new ArcModule(format, (FormatModuleAccessor)moduleAccessor);
         arcModule.isValid = Validity.Undetermined;
         arcModule.recurse = recurse;
+        arcModule.parallelCharacterization = parallelCharacterization;
+        arcModule.buildRecordIndex = buildRecordIndex;
         arcModule.bComputeBlockDigest = bComputeBlockDigest;
         arcModule.blockDigestAlgorithm = blockDigestAlgorithm;
         arcModule.blockDigestEncoding = blockDigestEncoding;
@@ -235,22 +256,42 @@ public class ArcModule extends BaseFormatModule implements Validator {
         /*
          * Module context.
          */
-        GzipModule gzipMod = null;
+        GzipContext gzipCtx = null;
         ArcModule arcMod = null;
         Module mod;
         Source parentSrc = source.getParentSource();
+        // GZip member offset and number, if a member of a GZip file.
+        long offset = -1;
+        long member = -1;
         if (parentSrc != null) {
+            // Lookup the state of the GZip file being parsed. Required since
+            // the JHove2 lookup returns a new GZipModule instance populated
+            // with persisted values and not the instance on the call stack.
+            gzipCtx = GzipContext.forSource(parentSrc);
+            if (gzipCtx != null) {
+            	// Obtain GZip startOffset from dummy property.
+            	List<Reportable> gzipProps = source.getExtraProperties();
+            	Reportable prop;
+            	int i = 0;
+            	while (i<gzipProps.size()) {
+            		prop = gzipProps.get(i);
+            		if (prop instanceof GZipOffsetProperty) {
+            			offset = ((GZipOffsetProperty)prop).offset;
+            			member = ((GZipOffsetProperty)prop).member;
+            			gzipProps.remove(i);
+            			// ...
+            			source.getSourceAccessor().persistSource(source);
+            		}
+            		else {
+            			++i;
+            		}
+            	}
+                // Records are parsed one GZip member at a time, in order.
+                gzipCtx.awaitTurn(member);
+            }
             List<Module> parentMods = parentSrc.getModules();
             for (int i=0; i<parentMods.size(); ++i) {
                 mod = parentMods.get(i);
-                if (mod instanceof GzipModule) {
-                    gzipMod = (GzipModule)mod;
-                    // Lookup the the GZipModule which is on the call stack.
-                    // Required since the JHove2 lookup returns a new instance
-                    // populated with persisted values and not the instance on
-                    // the call stack.
-                    gzipMod = GzipModule.gzipMap.get(gzipMod.instanceId);
-                }
                 if (mod instanceof ArcModule) {
                     // The same goes for the WarcModule except we do not need
                     // any transient fields here.
@@ -274,78 +315,104 @@ public class ArcModule extends BaseFormatModule implements Validator {
          * Read some ARC records.
          */
         ArcReader reader = null;
-        if (gzipMod != null) {
-        	// Obtain GZip startOffset from dummy property.
-        	long offset = -1;
-        	List<Reportable> gzipProps = source.getExtraProperties();
-        	Reportable prop;
-        	int i = 0;
-        	while (i<gzipProps.size()) {
-        		prop = gzipProps.get(i);
-        		if (prop instanceof GZipOffsetProperty) {
-        			offset = ((GZipOffsetProperty)prop).offset;
-        			gzipProps.remove(i);
-        			// ...
-        			source.getSourceAccessor().persistSource(source);
-        		}
-        		else {
-        			++i;
-        		}
-        	}
+        if (gzipCtx != null) {
         	// This should probably be changed according to success reading VersionBlock.
-            gzipMod.presumptiveFormat = new FormatIdentification(format.getIdentifier(), Confidence.Tentative);
+            gzipCtx.setPresumptiveFormat(new FormatIdentification(format.getIdentifier(), Confidence.Tentative));
             /*
              * GZip compressed.
              */
-            reader = (ArcReader)gzipMod.reader;
+            reader = (ArcReader)gzipCtx.getReader();
             if (reader == null) {
                 reader = ArcReaderFactory.getReaderUncompressed();
                 setReaderOptions(reader);
-                gzipMod.reader = reader;
+                gzipCtx.setReader(reader);
             }
-            if (arcMod == null) {
-                /*
-                 * First record. (Unless the parent modules are not correct!)
-                 */
-                mod = parentSrc.addModule(this);
-                parseRecordsCompressed(jhove2, sourceFactory, source, reader, offset, true);
-            } else {
-                arcMod.parseRecordsCompressed(jhove2, sourceFactory, source, reader, offset, false);
-                // Validity
-                if (arcMod.isValid != Validity.False) {
-                    if (reader.isCompliant()) {
-                        arcMod.isValid = Validity.True;
-                    } else {
-                        arcMod.isValid = Validity.False;
-                    }
+            /*
+             * Record index, completed by the GZip module after the last member.
+             */
+            RecordIndex index = null;
+            if (buildRecordIndex && !parentSrc.isTemp()) {
+                if (gzipCtx.getRecordIndex() == null) {
+                    gzipCtx.setRecordIndex(RecordIndex.create(parentSrc.getFile()));
+                } else {
+                    gzipCtx.getRecordIndex().open();
                 }
-                arcMod.arcReaderConsumedBytes = reader.getConsumed();
-                if (arcMod.blockDescVersions.size() == 1) {
-                	Entry<Integer, Integer> entry = arcMod.blockDescVersions.entrySet().iterator().next();
-                    if (entry.getValue() == arcMod.recordNumber) {
-                    	arcMod.arcBlockDescVersion = entry.getKey();
+                index = gzipCtx.getRecordIndex();
+            }
+            /*
+             * Payloads are characterized once the turn of this member has
+             * ended, so that later members can be parsed meanwhile.
+             */
+            ParallelCharacterizer payloads = ParallelCharacterizer.deferred(jhove2);
+            boolean bParsed = false;
+            try {
+                if (arcMod == null) {
+                    /*
+                     * First record. (Unless the parent modules are not correct!)
+                     */
+                    mod = parentSrc.addModule(this);
+                    parseRecordsCompressed(jhove2, sourceFactory, source, reader, offset, true,
+                                           index, payloads);
+                } else {
+                    arcMod.parseRecordsCompressed(jhove2, sourceFactory, source, reader, offset,
+                                                  false, index, payloads);
+                    // Validity
+                    if (arcMod.isValid != Validity.False) {
+                        if (reader.isCompliant()) {
+                            arcMod.isValid = Validity.True;
+                        } else {
+                            arcMod.isValid = Validity.False;
+                        }
                     }
+                    arcMod.arcReaderConsumedBytes = reader.getConsumed();
+                    if (arcMod.blockDescVersions.size() == 1) {
+                    	Entry<Integer, Integer> entry = arcMod.blockDescVersions.entrySet().iterator().next();
+                        if (entry.getValue() == arcMod.recordNumber) {
+                        	arcMod.arcBlockDescVersion = entry.getKey();
+                        }
+                    }
+                    arcMod = (ArcModule)arcMod.getModuleAccessor().persistModule(arcMod);
+                    // Remove ArcModule from source instance since we added one to the parent source.
+//                    this.setParentSourceId(null);
+                    this.getParentSource().deleteModule(this);
+                    // Reader diagnostics.
+                    reportValidationErrors(source, reader.diagnostics, jhove2);
+                    reader.diagnostics.reset();
+                    // Source update.
+                    source = source.getSourceAccessor().persistSource(source);
+                }
+                consumed = reader.getConsumed();
+                bParsed = true;
+            } finally {
+                gzipCtx.endTurn(member);
+                if (!bParsed) {
+                    payloads.abort();
                 }
-                arcMod = (ArcModule)arcMod.getModuleAccessor().persistModule(arcMod);
-                // Remove ArcModule from source instance since we added one to the parent source.
-//                this.setParentSourceId(null);
-                this.getParentSource().deleteModule(this);
-                // Reader diagnostics.
-                reportValidationErrors(source, reader.diagnostics, jhove2);
-                reader.diagnostics.reset();
-                // Source update.
-                source = source.getSourceAccessor().persistSource(source);
             }
-            consumed = reader.getConsumed();
+            payloads.finish();
         } else {
             /*
              * Not GZip compressed.
              */
-            reader = ArcReaderFactory.getReaderUncompressed(new InputStreamNoSkip(source.getInputStream()), 8192);
+            reader = ArcReaderFactory.getReaderUncompressed(new InputStreamNoSkip(
+                    InputFactory.getInputStream(source, input)), 8192);
             setReaderOptions(reader);
-            parseRecordsUncompressed(jhove2, sourceFactory, source, reader, true);
-            reader.close();
-            consumed = reader.getConsumed();
+            RecordIndex index = null;
+            if (buildRecordIndex && !source.isTemp()) {
+                index = RecordIndex.create(source.getFile());
+            }
+            try {
+                parseRecordsUncompressed(jhove2, sourceFactory, source, reader, true, index);
+                reader.close();
+                consumed = reader.getConsumed();
+                if (index != null) {
+                    index.close(consumed);
+                }
+            } finally {
+                if (index != null) {
+                    index.abandon();
+                }
+            }
             // Reader diagnostics.
             reportValidationErrors(source, reader.diagnostics, jhove2);
             reader.diagnostics.reset();
@@ -414,15 +481,52 @@ public class ArcModule extends BaseFormatModule implements Validator {
     protected void parseRecordsUncompressed(JHOVE2 jhove2, SourceFactory sourceFactory,
             Source parentSource, ArcReader reader, boolean bReadVersion)
                     throws EOFException, IOException, JHOVE2Exception {
+        parseRecordsUncompressed(jhove2, sourceFactory, parentSource, reader, bReadVersion, null);
+    }
+
+    /**
+     * Parse ARC records that are not encased in GZip entries, adding each
+     * record to a record index.
+     * @param jhove2 the JHove2 characterization context
+     * @param sourceFactory JHove2 source factory
+     * @param parentSource ARC source unit
+     * @param reader ARC reader used to parse records
+     * @param bReadVersion read version block first or go straight to parsing records
+     * @param index record index, or <code>null</code> if not indexing
+     * @throws EOFException if EOF occurs prematurely
+     * @throws IOException if an IO error occurs while processing
+     * @throws JHOVE2Exception if a serious problem needs to be reported
+     */
+    protected void parseRecordsUncompressed(JHOVE2 jhove2, SourceFactory sourceFactory,
+            Source parentSource, ArcReader reader, boolean bReadVersion, RecordIndex index)
+                    throws EOFException, IOException, JHOVE2Exception {
         ArcRecordBase record;
         // Ensure a ARC reader could be instantiated.
         if (reader != null) {
             parentSource.setIsAggregate(true);
             /*
-             * Loop through available records.
+             * Records are read, and their payloads spooled, on this thread;
+             * payload characterization may be handed to a worker pool.
              */
-            while ((record = reader.getNextRecord()) != null) {
-                processRecord(jhove2, sourceFactory, parentSource, record);
+            ParallelCharacterizer characterizer =
+                new ParallelCharacterizer(jhove2, parallelCharacterization, "jhove2-arc");
+            boolean bFinished = false;
+            try {
+                /*
+                 * Loop through available records.
+                 */
+                while ((record = reader.getNextRecord()) != null) {
+                    processRecord(jhove2, sourceFactory, parentSource, record, characterizer);
+                    if (index != null) {
+                        index.add(newRecordIndexEntry(record, record.getStartOffset()));
+                    }
+                }
+                bFinished = true;
+                characterizer.finish();
+            } finally {
+                if (!bFinished) {
+                    characterizer.abort();
+                }
             }
         } else {
             throw new JHOVE2Exception("ArcReader is null");
@@ -448,6 +552,32 @@ public class ArcModule extends BaseFormatModule implements Validator {
     protected void parseRecordsCompressed(JHOVE2 jhove2, SourceFactory sourceFactory,
             Source parentSource, ArcReader reader, Long offset, boolean bReadVersion)
                     throws EOFException, IOException, JHOVE2Exception {
+        ParallelCharacterizer characterizer = new ParallelCharacterizer(jhove2, 0, null);
+        parseRecordsCompressed(jhove2, sourceFactory, parentSource, reader, offset, bReadVersion,
+                               null, characterizer);
+        characterizer.finish();
+    }
+
+    /**
+     * Parse ARC record(s) where the source has been identified as a source of
+     * a GZip module instance, adding each record to a record index, and
+     * handing record payloads to the supplied characterizer.
+     * @param jhove2 the JHove2 characterization context
+     * @param sourceFactory JHove2 source factory
+     * @param parentSource ARC source unit
+     * @param reader ARC reader used to parse records
+     * @param offset GZip member offset relative to the GZip file
+     * @param bReadVersion read version block first or go straight to parsing records
+     * @param index record index, or <code>null</code> if not indexing
+     * @param characterizer payload characterizer
+     * @throws EOFException if EOF occurs prematurely
+     * @throws IOException if an IO error occurs while processing
+     * @throws JHOVE2Exception if a serious problem needs to be reported
+     */
+    protected void parseRecordsCompressed(JHOVE2 jhove2, SourceFactory sourceFactory,
+            Source parentSource, ArcReader reader, Long offset, boolean bReadVersion,
+            RecordIndex index, ParallelCharacterizer characterizer)
+                    throws EOFException, IOException, JHOVE2Exception {
         ArcRecordBase record;
         // Ensure a ARC reader could be instantiated.
         if (reader != null) {
@@ -457,7 +587,10 @@ public class ArcModule extends BaseFormatModule implements Validator {
              * Loop through available records.
              */
             while ((record = reader.getNextRecordFrom(in, offset, 8192)) != null) {
-                processRecord(jhove2, sourceFactory, parentSource, record);
+                processRecord(jhove2, sourceFactory, parentSource, record, characterizer);
+                if (index != null && offset >= 0L) {
+                    index.add(newRecordIndexEntry(record, offset));
+                }
             }
         } else {
             throw new JHOVE2Exception("ArcReader is null");
@@ -483,6 +616,28 @@ public class ArcModule extends BaseFormatModule implements Validator {
     protected void processRecord(JHOVE2 jhove2, SourceFactory sourceFactory,
             Source parentSource, ArcRecordBase record)
                     throws EOFException, IOException, JHOVE2Exception {
+        ParallelCharacterizer characterizer = new ParallelCharacterizer(jhove2, 0, null);
+        processRecord(jhove2, sourceFactory, parentSource, record, characterizer);
+        characterizer.finish();
+    }
+
+    /**
+     * Process an ARC record, handing the characterization of its payload, if
+     * any, to the supplied characterizer.  The record source unit, and its
+     * payload source unit, are attached to the parent on the calling thread
+     * so that records are reported in ARC order.
+     * @param jhove2 the JHove2 characterization context
+     * @param sourceFactory JHove2 source factory
+     * @param parentSource ARC source unit
+     * @param record ARC record from ARC reader
+     * @param characterizer payload characterizer
+     * @throws EOFException if EOF occurs prematurely
+     * @throws IOException if an IO error occurs while processing
+     * @throws JHOVE2Exception if a serious problem needs to be reported
+     */
+    protected void processRecord(JHOVE2 jhove2, SourceFactory sourceFactory,
+            Source parentSource, ArcRecordBase record, ParallelCharacterizer characterizer)
+                    throws EOFException, IOException, JHOVE2Exception {
         Payload payload;
         PayloadWithHeaderAbstract payloadHeaderWrapped;
         HttpHeader httpHeader;
@@ -554,7 +709,8 @@ public class ArcModule extends BaseFormatModule implements Validator {
          * Characterize payload.
          */
         if (recurse && payload_stream != null && !record.hasPseudoEmptyPayload()) {
-            characterizePayload(jhove2, sourceFactory, recordSrc, payload_stream, formatId);
+            characterizePayload(jhove2, sourceFactory, recordSrc, payload_stream, formatId,
+                                characterizer);
         }
         if (payload_stream != null) {
             payload_stream.close();
@@ -598,6 +754,31 @@ public class ArcModule extends BaseFormatModule implements Validator {
         protocols.put(recordData.protocol, number);
     }
 
+    /**
+     * Describe an ARC record for the record index: its kind
+     * ({@link #INDEX_TYPE_VERSION_BLOCK} or {@link #INDEX_TYPE_RECORD}), URL
+     * and digest (the computed block digest, if enabled, otherwise the
+     * checksum field).  The length is filled in by the index from the
+     * offset of the following record.
+     * @param record ARC record
+     * @param offset offset of the record, or of its GZip member
+     * @return record index entry
+     */
+    protected RecordIndexEntry newRecordIndexEntry(ArcRecordBase record, long offset) {
+        String type = (record.recordType == ArcRecordBase.RT_VERSION_BLOCK)
+                ? INDEX_TYPE_VERSION_BLOCK : INDEX_TYPE_RECORD;
+        String digest = null;
+        if (record.computedBlockDigest != null) {
+            digest = RecordIndexEntry.formatDigest(record.computedBlockDigest.algorithm,
+                    record.computedBlockDigest.digestString);
+        }
+        if (digest == null) {
+            digest = RecordIndexEntry.formatDigest(null, record.header.checksumStr);
+        }
+        return new RecordIndexEntry(offset, RecordIndexEntry.UNKNOWN,
+                type, record.header.urlStr, digest);
+    }
+
     /**
      * Process a ARC record payload, recursively if configured to do so.
      * @param jhove2 the JHove2 characterization context
@@ -605,12 +786,14 @@ public class ArcModule extends BaseFormatModule implements Validator {
      * @param recordSrc ARC record source unit
      * @param payload_stream payload inputstream
      * @param formatId JHove2 format identification based on contentType
+     * @param characterizer characterizer used for the spooled payload
      * @throws EOFException if EOF occurs prematurely
      * @throws IOException if an IO error occurs while processing
      * @throws JHOVE2Exception if a serious problem needs to be reported
      */
     protected void characterizePayload(JHOVE2 jhove2, SourceFactory sourceFactory,
-            Source recordSrc, InputStream payload_stream, FormatIdentification formatId)
+            Source recordSrc, InputStream payload_stream, FormatIdentification formatId,
+            ParallelCharacterizer characterizer)
                     throws EOFException, IOException, JHOVE2Exception {
         // Not all properties are ready yet, they are added as extras.
     	String name = null;
@@ -622,18 +805,10 @@ public class ArcModule extends BaseFormatModule implements Validator {
             if(formatId != null){
                 payloadSrc = payloadSrc.addPresumptiveFormat(formatId);
             }
-            /* Make sure to close the Input after
-             * characterization is completed.
+            /* The characterizer closes the Input and the payload source
+             * after characterization is completed.
              */
-            Input src_input = payloadSrc.getInput(jhove2);
-            try {
-                payloadSrc = jhove2.characterize(payloadSrc, src_input);
-            } finally {
-                if (src_input != null) {
-                    src_input.close();
-                }
-                payloadSrc.close();
-            }
+            characterizer.characterize(payloadSrc);
         }
     }
 
@@ -814,6 +989,25 @@ public class ArcModule extends BaseFormatModule implements Validator {
         this.recurse = recurse;
     }
 
+    /**
+     * Sets the number of threads used to characterize record payloads.
+     * Records are always read, and reported, in ARC order.
+     * @param parallelCharacterization number of threads; 0 or 1 to
+     * characterize payloads sequentially
+     */
+    public void setParallelCharacterization(int parallelCharacterization) {
+        this.parallelCharacterization = parallelCharacterization;
+    }
+
+    /**
+     * Sets whether to write a sidecar record index (offset, length, kind,
+     * URL and digest of each record) next to the ARC file.
+     * @param buildRecordIndex whether to build the record index
+     */
+    public void setBuildRecordIndex(boolean buildRecordIndex) {
+        this.buildRecordIndex = buildRecordIndex;
+    }
+
     /**
      * Enable or disable block digest computation.
      * @param bComputeBlockDigest block digest computation toggle
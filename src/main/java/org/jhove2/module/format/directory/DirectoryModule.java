@@ -37,15 +37,18 @@
 package org.jhove2.module.format.directory;
 
 import java.io.EOFException;
+import java.io.File;
 import java.io.IOException;
-import java.util.List;
+import java.util.Iterator;
 
 import org.jhove2.core.JHOVE2;
 import org.jhove2.core.JHOVE2Exception;
 import org.jhove2.core.format.Format;
 import org.jhove2.core.io.Input;
+import org.jhove2.core.source.DirectoryEntries;
 import org.jhove2.core.source.DirectorySource;
 import org.jhove2.core.source.Source;
+import org.jhove2.core.source.SourceFactory;
 import org.jhove2.module.format.BaseFormatModule;
 import org.jhove2.persist.FormatModuleAccessor;
 
@@ -72,6 +75,12 @@ public class DirectoryModule
 			+ "Stanford Junior University. "
 			+ "Available under the terms of the BSD license.";
 
+	/**
+	 * Number of directory entries whose file system metadata is retrieved
+	 * ahead of characterization; 0 for none.
+	 */
+	private int prefetch = 0;
+
 	/**
 	 * Instantiate a new <code>DirectoryModule</code>.
 	 * 
@@ -100,7 +109,8 @@ public class DirectoryModule
 		this(null, null);
 	}
 	/**
-	 * Parse a directory source unit.
+	 * Parse a directory source unit.  The child source units of a physical
+	 * directory are created, and characterized, one entry at a time.
 	 * 
 	 * @param jhove2
 	 *            JHOVE2 framework
@@ -122,20 +132,77 @@ public class DirectoryModule
 		throws EOFException, IOException, JHOVE2Exception
 	{
 		if (source instanceof DirectorySource) {
-			List<Source> children =
-			    ((DirectorySource) source).getChildSources();
-			for (Source src : children) {
-			    Input inpt = src.getInput(jhove2);
+			DirectoryEntries entries =
+			    ((DirectorySource) source).getEntries(this.prefetch);
+			if (entries != null) {
+			    SourceFactory factory = jhove2.getSourceFactory();
 			    try {
-			        jhove2.characterize(src, inpt);// will have been persisted by JHOVE2
+			        while (entries.hasNext()) {
+			            File file = entries.next();
+			            DirectoryEntries.Entry entry = entries.getEntry();
+			            Source src = (entry != null) ?
+			                factory.getSource(jhove2, entry) :
+			                factory.getSource(jhove2, file);
+			            src = source.addChildSource(src);
+			            characterize(jhove2, src);
+			        }
 			    }
 			    finally {
-			        if (inpt != null) {
-			            inpt.close();
-			        }
+			        entries.close();
+			    }
+			}
+			else {
+			    Iterator<Source> children = source.getChildSourceIterator();
+			    while (children.hasNext()) {
+			        characterize(jhove2, children.next());
 			    }
 			}
 		}
 		return 0;
 	}
+
+	/**
+	 * Characterize a child source unit.
+	 * 
+	 * @param jhove2
+	 *            JHOVE2 framework
+	 * @param src
+	 *            Child source unit
+	 * @throws IOException
+	 * @throws JHOVE2Exception
+	 */
+	protected void characterize(JHOVE2 jhove2, Source src)
+		throws IOException, JHOVE2Exception
+	{
+	    Input inpt = src.getInput(jhove2);
+	    try {
+	        jhove2.characterize(src, inpt);// will have been persisted by JHOVE2
+	    }
+	    finally {
+	        if (inpt != null) {
+	            inpt.close();
+	        }
+	    }
+	}
+
+	/**
+	 * <i>Dependency injection<i/> Sets the number of directory entries whose
+	 * file system metadata is retrieved, on a separate thread, ahead of
+	 * characterization.
+	 * @param prefetch number of entries; 0 to retrieve metadata only as
+	 *        each entry is characterized
+	 */
+	public void setPrefetch(int prefetch) {
+		this.prefetch = prefetch;
+	}
+
+	/**
+	 * Returns the number of directory entries whose file system metadata is
+	 * retrieved ahead of characterization.
+	 * @return number of entries; 0 if metadata is retrieved only as each
+	 *         entry is characterized
+	 */
+	public int getPrefetch() {
+		return this.prefetch;
+	}
 }
@@ -0,0 +1,265 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.module.format.gzip;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jhove2.core.JHOVE2Exception;
+import org.jhove2.core.format.FormatIdentification;
+import org.jhove2.core.source.Source;
+import org.jhove2.module.Module;
+import org.jhove2.module.format.RecordIndex;
+
+/**
+ * State shared between a {@link GzipModule} parsing a GZip file and the
+ * ARC/WARC modules characterizing its members: the ARC/WARC reader carried
+ * from member to member, the presumptive format of later members, and the
+ * record index being built.
+ * <p>
+ * Module instances obtained through a source are new instances populated
+ * from persisted values, so transient state cannot be reached through
+ * them; a child module looks the context up instead, by the id persisted
+ * with the GZip module.
+ * </p><p>
+ * When members are characterized concurrently, the ARC/WARC records they
+ * hold must still be parsed one member at a time, in GZip order, since
+ * they share one reader and update the same module.  Each member with a
+ * source unit has a turn, numbered from 0: a child module waits for the
+ * member's turn before parsing, and the turn ends when the child module
+ * says so or, at the latest, when the member has been characterized.
+ * </p>
+ */
+public class GzipContext {
+	/** Open contexts, by id. */
+	private static final ConcurrentMap<Integer, GzipContext> contexts =
+		new ConcurrentHashMap<Integer, GzipContext>();
+
+	/** Last context id issued. */
+	private static final AtomicInteger lastId = new AtomicInteger();
+
+	/** Context id. */
+	protected final Integer id;
+
+	/** ARC/WARC reader shared by the members of the GZip file. */
+	protected volatile Object reader;
+
+	/** Presumptive format of subsequent members. */
+	protected volatile FormatIdentification presumptiveFormat;
+
+	/** Record index of the GZip file. */
+	protected volatile RecordIndex recordIndex;
+
+	/** Member whose turn it is. */
+	protected long turn;
+
+	/** Members whose turn has ended ahead of the current turn. */
+	protected final Set<Long> ended = new HashSet<Long>();
+
+	/**
+	 * Instantiate a new <code>GzipContext</code>.
+	 * 
+	 * @param id
+	 *            Context id
+	 */
+	protected GzipContext(Integer id) {
+		this.id = id;
+	}
+
+	/**
+	 * Open a new context.
+	 * 
+	 * @return Context, registered under a new id
+	 */
+	public static GzipContext open() {
+		GzipContext context = new GzipContext(Integer.valueOf(lastId.incrementAndGet()));
+		contexts.put(context.id, context);
+		return context;
+	}
+
+	/**
+	 * Get an open context.
+	 * 
+	 * @param id
+	 *            Context id
+	 * @return Context, or null if no such context is open
+	 */
+	public static GzipContext get(Integer id) {
+		return (id == null) ? null : contexts.get(id);
+	}
+
+	/**
+	 * Get the context of the GZip module, if any, that characterized a
+	 * source unit.
+	 * 
+	 * @param gzipSource
+	 *            GZip source unit
+	 * @return Context, or null if the source is not being parsed as GZip
+	 * @throws JHOVE2Exception
+	 */
+	public static GzipContext forSource(Source gzipSource)
+		throws JHOVE2Exception
+	{
+		List<Module> modules = gzipSource.getModules();
+		for (int i = 0; i < modules.size(); ++i) {
+			Module module = modules.get(i);
+			if (module instanceof GzipModule) {
+				return get(((GzipModule) module).instanceId);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Close the context, so that it can no longer be looked up.
+	 */
+	public void close() {
+		contexts.remove(this.id);
+		synchronized (this) {
+			this.turn = Long.MAX_VALUE;
+			this.notifyAll();
+		}
+	}
+
+	/**
+	 * Wait for a member's turn.
+	 * 
+	 * @param member
+	 *            Member number; negative numbers do not wait
+	 * @throws JHOVE2Exception
+	 *             if the calling thread is interrupted
+	 */
+	public synchronized void awaitTurn(long member)
+		throws JHOVE2Exception
+	{
+		while (member > this.turn) {
+			try {
+				this.wait();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new JHOVE2Exception("Interrupted waiting for GZip member "
+						+ member, e);
+			}
+		}
+	}
+
+	/**
+	 * End a member's turn.  Ending a turn more than once has no effect.
+	 * 
+	 * @param member
+	 *            Member number; negative numbers are ignored
+	 */
+	public synchronized void endTurn(long member) {
+		if (member < this.turn) {
+			return;
+		}
+		this.ended.add(Long.valueOf(member));
+		while (this.ended.remove(Long.valueOf(this.turn))) {
+			this.turn++;
+		}
+		this.notifyAll();
+	}
+
+	/**
+	 * Get context id.
+	 * 
+	 * @return Context id
+	 */
+	public Integer getId() {
+		return this.id;
+	}
+
+	/**
+	 * Get the ARC/WARC reader shared by the members.
+	 * 
+	 * @return Reader, or null if not yet set
+	 */
+	public Object getReader() {
+		return this.reader;
+	}
+
+	/**
+	 * Get the presumptive format of subsequent members.
+	 * 
+	 * @return Presumptive format, or null
+	 */
+	public FormatIdentification getPresumptiveFormat() {
+		return this.presumptiveFormat;
+	}
+
+	/**
+	 * Get the record index of the GZip file.
+	 * 
+	 * @return Record index, or null
+	 */
+	public RecordIndex getRecordIndex() {
+		return this.recordIndex;
+	}
+
+	/**
+	 * Set the ARC/WARC reader shared by the members.
+	 * 
+	 * @param reader
+	 *            Reader
+	 */
+	public void setReader(Object reader) {
+		this.reader = reader;
+	}
+
+	/**
+	 * Set the presumptive format of subsequent members.
+	 * 
+	 * @param presumptiveFormat
+	 *            Presumptive format
+	 */
+	public void setPresumptiveFormat(FormatIdentification presumptiveFormat) {
+		this.presumptiveFormat = presumptiveFormat;
+	}
+
+	/**
+	 * Set the record index of the GZip file.
+	 * 
+	 * @param recordIndex
+	 *            Record index
+	 */
+	public void setRecordIndex(RecordIndex recordIndex) {
+		this.recordIndex = recordIndex;
+	}
+}
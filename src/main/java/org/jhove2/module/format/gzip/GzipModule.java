@@ -41,12 +41,12 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteOrder;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.LinkedList;
-import java.util.Map;
-import java.util.TreeMap;
+import java.util.List;
 import java.util.zip.DataFormatException;
 
 import org.jhove2.annotation.ReportableProperty;
@@ -57,10 +57,14 @@ import org.jhove2.core.Message.Severity;
 import org.jhove2.core.format.Format;
 import org.jhove2.core.format.FormatIdentification;
 import org.jhove2.core.io.Input;
+import org.jhove2.core.io.InputFactory;
 import org.jhove2.core.reportable.AbstractReportable;
+import org.jhove2.core.source.FileSource;
 import org.jhove2.core.source.Source;
 import org.jhove2.core.source.SourceFactory;
 import org.jhove2.module.format.BaseFormatModule;
+import org.jhove2.module.format.ParallelCharacterizer;
+import org.jhove2.module.format.RecordIndex;
 import org.jhove2.module.format.Validator;
 import org.jhove2.module.format.gzip.properties.GzipEntryData;
 import org.jhove2.persist.FormatModuleAccessor;
@@ -72,7 +76,6 @@ import org.jwat.gzip.GzipEntry;
 import org.jwat.gzip.GzipReader;
 import org.jwat.warc.WarcReader;
 
-import com.sleepycat.persist.model.NotPersistent;
 import com.sleepycat.persist.model.Persistent;
 
 /**
@@ -129,48 +132,45 @@ public class GzipModule extends BaseFormatModule implements Validator {
     /** Whether to recursively characterize GZip members. */
     private boolean recurse = true;
 
-    /** Thread pool size for parallel characterization of GZip member. */
-    //private int nThreads = 0;
-
     /**
-     * GZip instance id to GZipModule lookup <code>Map</code>.
-     * Used by ARC/WARC modules to access the ACTUAL parent GZipModule instead
-     * of only getting access to a new instance populated with persisted data.
+     * Thread pool size for parallel characterization of GZip members; 0 or 1
+     * to characterize them sequentially on the reading thread.
      */
-    @NotPersistent
-    public static final transient Map<Integer, GzipModule> gzipMap = new TreeMap<Integer, GzipModule>();
-
-    /** Used to generate a unique id for each file parsed. */
-    @NotPersistent
-    public static final transient AutoIncrement autoIncId = new AutoIncrement();
+    private int parallelCharacterization = 0;
 
-    /** Id used by this instance of the module. */
+    /**
+     * Id of the {@link GzipContext} used by this instance of the module.
+     * Used by ARC/WARC modules to reach the state of the GZip file being
+     * parsed, since the module instances they can look up are only
+     * populated with persisted data.
+     */
     public Integer instanceId;
 
+    /** Whether to skip the part of the file covered by its record index. */
+    private boolean resumeFromRecordIndex = false;
+
     /**
-     * ARC/WARC reader set by a child ARC/WARC module in order to use the same
-     * reader for all the entries in the same GZip file.
+     * Record types to characterize, located through the record index of
+     * the file; all records if empty.
      */
-    @NotPersistent
-    public transient Object reader;
+    private List<String> recordIndexTypes = new ArrayList<String>();
 
     @Persistent
     public static class GZipOffsetProperty extends AbstractReportable {
         public long offset;
+        /** Member number, i.e. turn in the GZip context; -1 if unknown. */
+        public long member = -1L;
         public GZipOffsetProperty() {
 		}
         public GZipOffsetProperty(long offset) {
         	this.offset = offset;
 		}
+        public GZipOffsetProperty(long offset, long member) {
+        	this.offset = offset;
+        	this.member = member;
+		}
     }
 
-    /**
-     * Presumptive format used to identify subsequent ARC/WARC records which are
-     * not identified by the identifier module.
-     */
-    @NotPersistent
-    public transient FormatIdentification presumptiveFormat;
-
     /**
      * Instantiate a new <code>ZipModule</code>.
      * This constructor is used by the Spring framework.
@@ -199,6 +199,9 @@ public class GzipModule extends BaseFormatModule implements Validator {
         GzipModule gzipModule = new GzipModule(format, (FormatModuleAccessor)moduleAccessor);
         gzipModule.isValid = Validity.Undetermined;
         gzipModule.recurse = recurse;
+        gzipModule.parallelCharacterization = parallelCharacterization;
+        gzipModule.resumeFromRecordIndex = resumeFromRecordIndex;
+        gzipModule.recordIndexTypes = recordIndexTypes;
         return gzipModule;
     }
 
@@ -225,7 +228,8 @@ public class GzipModule extends BaseFormatModule implements Validator {
         // In GZip format, least-significant bytes come first.
         input.setByteOrder(ByteOrder.LITTLE_ENDIAN);
 
-        instanceId = autoIncId.get();
+        GzipContext context = GzipContext.open();
+        instanceId = context.getId();
         // This is done because it is not persisted immediately.
         // It is needed in recursive calls and not when the gzip module exits.
         // Each time jhove2 looks up an existing module it actually
@@ -234,14 +238,17 @@ public class GzipModule extends BaseFormatModule implements Validator {
         // but every time someone requests it a new one is created and
         // populated with persisted data. Epic fail!
         getModuleAccessor().persistModule(this);
-        synchronized (gzipMap) {
-            gzipMap.put(instanceId, this);
-        }
 
         // Characterize each GZip member from the source, validating
         // the corresponding GZip headers and trailers.
         GzipReader gzipReader = null;
         GzipEntry gzipEntry = null;
+        // Offset of the GZip reader stream within the source.
+        long baseOffset = 0L;
+        // Members may be characterized on a worker pool while the next
+        // ones are inflated.
+        ParallelCharacterizer characterizer = new ParallelCharacterizer(jhove2,
+                recurse ? parallelCharacterization : 0, "jhove2-gzip");
         try {
             source.setIsAggregate(true);
             SourceFactory factory = jhove2.getSourceFactory();
@@ -254,65 +261,69 @@ public class GzipModule extends BaseFormatModule implements Validator {
                 gzipFileLastModified = new Date(source.getFile().lastModified());
             }
             /*
-             * Read some GZip entries.
+             * Read some GZip entries, either all of them or only those
+             * selected through an existing record index.
              */
-            gzipReader = new GzipReader(
-                    new BufferedInputStream(source.getInputStream(), 8192));
-            int memberCount = 0;
-            while ((gzipEntry = gzipReader.getNextEntry()) != null) {
-                // Wrap found member in a JHove2 Source object.
-                InputStream stream = gzipEntry.getInputStream();
-                String name = gzipEntry.fname;
-                Source src = factory.getSource(jhove2, stream, name, null);
-                if (src != null) {
-                    src.setDeleteTempFileOnClose(jhove2.getInvocation().getDeleteTempFilesOnClose());
-                    memberCount++;
-                    // Attach member to parent source.
-                    source.addChildSource(src);
-                    if (presumptiveFormat != null) {
-                        src.addPresumptiveFormat(presumptiveFormat);
-                    }
-
-                    if (recurse) {
-                    	// expose offset to ARC/WARC modules.
-                    	src.addExtraProperties(new GZipOffsetProperty(gzipEntry.getStartOffset()));
-                        characterizeMember(jhove2, src);
+            List<long[]> ranges = getIndexedRanges(source, context);
+            List<GzipReader> gzipReaders = new ArrayList<GzipReader>();
+            long member = 0L;
+            try {
+                if (ranges == null) {
+                    gzipReader = new GzipReader(new BufferedInputStream(
+                            InputFactory.getInputStream(source, input), 8192));
+                    gzipReaders.add(gzipReader);
+                    while ((gzipEntry = gzipReader.getNextEntry()) != null) {
+                        if (processMember(jhove2, factory, source, gzipEntry, baseOffset,
+                                          member, context, characterizer)) {
+                            ++member;
+                        }
                     }
-                    src.close();
+                    consumed = gzipReader.getConsumed();
                 }
-                gzipEntry.close();
-                /*
-                 * Properties.
-                 */
-                GzipEntryData gzipEntryData = new GzipEntryData(gzipEntry);
-                src.addExtraProperties(gzipEntryData.getGzipEntryProperties());
-                // Check member compression method (always deflate).
-                if (gzipEntry.cm == GzipConstants.CM_DEFLATE) {
-                    ++deflateMemberCount;
+                else {
+                    for (long[] range : ranges) {
+                        baseOffset = range[0];
+                        InputStream in = (input != null && source instanceof FileSource) ?
+                                input.asInputStream(range[0], range[1]) :
+                                RecordIndex.openRange(source.getFile(), range[0], range[1]);
+                        gzipReader = new GzipReader(new BufferedInputStream(in, 8192));
+                        gzipReaders.add(gzipReader);
+                        while ((gzipEntry = gzipReader.getNextEntry()) != null) {
+                            if (processMember(jhove2, factory, source, gzipEntry, baseOffset,
+                                              member, context, characterizer)) {
+                                ++member;
+                            }
+                        }
+                        consumed = baseOffset + gzipReader.getConsumed();
+                        gzipReader.close();
+                    }
                 }
-                // Check member validity.
-                if (! gzipEntry.isCompliant()) {
-                    ++invalidMembers;
+            }
+            finally {
+                // Members already handed off are characterized even if the
+                // rest of the GZip file cannot be read.
+                characterizer.finish();
+            }
+            // Report reader errors on source object.
+            for (GzipReader r : gzipReaders) {
+                reportValidationErrors(source, r.diagnostics, jhove2);
+                if (!r.isCompliant()) {
                     isValid = Validity.False;
-                    // Report errors on child source object.
-                    reportValidationErrors(src, gzipEntry.diagnostics, jhove2);
                 }
             }
-            // Report reader errors on source object.
-            reportValidationErrors(source, gzipReader.diagnostics, jhove2);
-        	if (!gzipReader.isCompliant()) {
-                isValid = Validity.False;
-        	}
-            consumed = gzipReader.getConsumed();
-            gzipReaderConsumedBytes = gzipReader.getConsumed();
+            gzipReaderConsumedBytes = consumed;
             if (isValid == Validity.Undetermined) {
                 // No invalid members found and EOF reached without
                 // any exception being thrown => Source is valid.
                 isValid = Validity.True;
             }
+            // Complete the record index built by the ARC/WARC module.
+            if (context.getRecordIndex() != null) {
+                context.getRecordIndex().close(consumed);
+            }
         }
         catch (IOException e) {
-            handleError(e, jhove2, gzipEntry.getStartOffset());
+            handleError(e, jhove2, baseOffset + gzipEntry.getStartOffset());
             if (e.getCause() != null && e.getCause() instanceof DataFormatException) {
             	isValid = Validity.False;
                 source.addMessage(newValidityError(jhove2, Message.Severity.ERROR,
@@ -329,10 +340,16 @@ public class GzipModule extends BaseFormatModule implements Validator {
                 gzipReader.close();
             }
             catch (Exception e) { /* Ignore... */ }
+            // An incomplete record index is kept for a later run to resume.
+            if (context.getRecordIndex() != null) {
+                context.getRecordIndex().abandon();
+            }
+            context.close();
         }
         /*
          * Cleanup.
          */
+        Object reader = context.getReader();
         if (reader != null) {
             if (reader instanceof ArcReader) {
                 ((ArcReader)reader).close();
@@ -341,15 +358,158 @@ public class GzipModule extends BaseFormatModule implements Validator {
                 ((WarcReader)reader).close();
             }
         }
-        synchronized (gzipMap) {
-            gzipMap.remove(instanceId);
-        }
         /*
          * Consumed.
          */
         return consumed;
     }
 
+    /**
+     * Process a GZip member: wrap it in a source unit attached to the
+     * GZip source, characterize it if so configured, and check its validity.
+     * <p>
+     * The member is inflated, and spooled, on the calling thread.  With a
+     * parallel characterizer its characterization is handed to a worker,
+     * except for the first member: an ARC/WARC module characterizing it
+     * sets the presumptive format needed to identify the following members.
+     * </p>
+     * @param jhove2 the JHove2 characterization context.
+     * @param factory JHove2 source factory
+     * @param source GZip source unit
+     * @param gzipEntry GZip member
+     * @param baseOffset offset of the GZip reader stream within the source
+     * @param member number of the member, among those with a source unit
+     * @param context GZip context shared with the ARC/WARC modules
+     * @param characterizer member characterizer
+     * @return <code>true</code> if the member has a source unit, and
+     *         therefore used up its member number
+     * @throws IOException if an IO error occurs while processing
+     * @throws JHOVE2Exception if a serious problem needs to be reported
+     */
+    private boolean processMember(JHOVE2 jhove2, SourceFactory factory, Source source,
+            GzipEntry gzipEntry, long baseOffset, final long member,
+            final GzipContext context, ParallelCharacterizer characterizer)
+                    throws IOException, JHOVE2Exception {
+        // Wrap found member in a JHove2 Source object.
+        InputStream stream = gzipEntry.getInputStream();
+        String name = gzipEntry.fname;
+        Source src = factory.getSource(jhove2, stream, name, null);
+        if (src != null) {
+            src.setDeleteTempFileOnClose(jhove2.getInvocation().getDeleteTempFilesOnClose());
+            // Attach member to parent source.
+            source.addChildSource(src);
+            FormatIdentification presumptiveFormat = context.getPresumptiveFormat();
+            if (presumptiveFormat != null) {
+                src.addPresumptiveFormat(presumptiveFormat);
+            }
+
+            if (recurse) {
+            	// expose offset to ARC/WARC modules.
+            	src.addExtraProperties(new GZipOffsetProperty(baseOffset + gzipEntry.getStartOffset(), member));
+            	if (member > 0L && characterizer.isParallel()) {
+            	    // The member is complete once its trailer has been read,
+            	    // so it can be handed to another thread.
+            	    gzipEntry.close();
+            	    checkMember(jhove2, src, gzipEntry, baseOffset);
+            	    characterizer.characterize(src, new Runnable() {
+            	        @Override
+            	        public void run() {
+            	            context.endTurn(member);
+            	        }
+            	    });
+            	    return true;
+            	}
+            	try {
+            	    characterizeMember(jhove2, src);
+            	}
+            	finally {
+            	    context.endTurn(member);
+            	}
+            }
+            src.close();
+        }
+        gzipEntry.close();
+        checkMember(jhove2, src, gzipEntry, baseOffset);
+        return src != null;
+    }
+
+    /**
+     * Add the properties of a GZip member to its source unit, and check
+     * its validity.
+     * @param jhove2 the JHove2 characterization context.
+     * @param src GZip member source unit
+     * @param gzipEntry GZip member, closed
+     * @param baseOffset offset of the GZip reader stream within the source
+     * @throws JHOVE2Exception if a serious problem needs to be reported
+     */
+    private void checkMember(JHOVE2 jhove2, Source src, GzipEntry gzipEntry,
+            long baseOffset) throws JHOVE2Exception {
+        /*
+         * Properties.
+         */
+        GzipEntryData gzipEntryData = new GzipEntryData(gzipEntry, baseOffset);
+        src.addExtraProperties(gzipEntryData.getGzipEntryProperties());
+        // Check member compression method (always deflate).
+        if (gzipEntry.cm == GzipConstants.CM_DEFLATE) {
+            ++deflateMemberCount;
+        }
+        // Check member validity.
+        if (! gzipEntry.isCompliant()) {
+            ++invalidMembers;
+            isValid = Validity.False;
+            // Report errors on child source object.
+            reportValidationErrors(src, gzipEntry.diagnostics, jhove2);
+        }
+    }
+
+    /**
+     * Use an existing record index of the source, if so configured, to
+     * select the byte ranges to read: either the records of the configured
+     * types, or everything past the end of the previous run.  Ranges
+     * always start on a GZip member boundary.
+     * @param source GZip source unit
+     * @param context GZip context, given the index for ARC/WARC modules
+     * @return ranges as <code>{offset, length}</code> pairs, a negative
+     *         length meaning up to the end of the source, or
+     *         <code>null</code> if the whole source is to be read
+     * @throws IOException if an IO error occurs reading the index
+     * @throws JHOVE2Exception if the index is malformed
+     */
+    protected List<long[]> getIndexedRanges(Source source, GzipContext context)
+            throws IOException, JHOVE2Exception {
+        if ((!resumeFromRecordIndex && recordIndexTypes.isEmpty())
+                || source.isTemp() || source.getFile() == null) {
+            return null;
+        }
+        RecordIndex index = RecordIndex.load(source.getFile());
+        if (index == null) {
+            return null;
+        }
+        List<long[]> ranges = null;
+        if (!recordIndexTypes.isEmpty()) {
+            if (!index.isPrefixOfArchive()) {
+                // Stale index; records cannot be located.
+                return null;
+            }
+            ranges = RecordIndex.getRanges(index.select(recordIndexTypes));
+            // Selected records are not re-indexed.
+            index.setReadOnly(true);
+        }
+        if (resumeFromRecordIndex) {
+            if (!index.isResumable()) {
+                // Archive changed since it was indexed.
+                return null;
+            }
+            if (ranges == null) {
+                ranges = new ArrayList<long[]>();
+            }
+            ranges.add(new long[] {index.getResumeOffset(), -1L});
+        }
+        // ARC/WARC modules extend (or only consult) this index.
+        context.setRecordIndex(index);
+        return ranges;
+    }
+
     private void characterizeMember(JHOVE2 jhove2, Source source)
             throws JHOVE2Exception, IOException {
         Input input = source.getInput(jhove2);
@@ -550,4 +710,61 @@ public class GzipModule extends BaseFormatModule implements Validator {
         return recurse;
     }
 
+    /**
+     * <i>Dependency injection<i/> Sets the number of threads used to
+     * characterize GZip members.  Members are always read, and reported, in
+     * GZip order.
+     * @param parallelCharacterization number of threads; 0 or 1 to
+     *        characterize members sequentially
+     */
+    public void setParallelCharacterization(int parallelCharacterization) {
+        this.parallelCharacterization = parallelCharacterization;
+    }
+
+    /**
+     * Returns the number of threads used to characterize GZip members.
+     * @return number of threads; 0 or 1 if members are characterized
+     *         sequentially
+     */
+    public int getParallelCharacterization() {
+        return parallelCharacterization;
+    }
+
+    /**
+     * <i>Dependency injection<i/> Sets whether to resume after the part
+     * of the file covered by its record index, if any.
+     * @param resumeFromRecordIndex whether to resume from the record index
+     */
+    public void setResumeFromRecordIndex(boolean resumeFromRecordIndex) {
+        this.resumeFromRecordIndex = resumeFromRecordIndex;
+    }
+
+    /**
+     * Returns whether to resume after the part of the file covered by its
+     * record index.
+     * @return <code>true</code> if resuming from the record index.
+     *         Defaults to <code>false</code>
+     */
+    public boolean getResumeFromRecordIndex() {
+        return resumeFromRecordIndex;
+    }
+
+    /**
+     * <i>Dependency injection<i/> Sets the record types to characterize,
+     * located through the record index of the file.
+     * @param recordIndexTypes record types, e.g. WARC-Type values; all
+     *        records if empty
+     */
+    public void setRecordIndexTypes(List<String> recordIndexTypes) {
+        this.recordIndexTypes = recordIndexTypes;
+    }
+
+    /**
+     * Returns the record types to characterize.
+     * @return record types; all records if empty
+     */
+    public List<String> getRecordIndexTypes() {
+        return recordIndexTypes;
+    }
+
 }
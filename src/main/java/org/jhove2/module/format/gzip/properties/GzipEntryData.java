@@ -112,11 +112,21 @@ public class GzipEntryData {
      * @param entry GZip entry data
      */
     public GzipEntryData(GzipEntry entry) {
+    	this(entry, 0L);
+    }
+
+    /**
+     * Given a GZip entry read from a stream starting part way into the
+     * GZip file, transfer the data to this object so it can be persisted.
+     * @param entry GZip entry data
+     * @param baseOffset offset of the stream the entry was read from
+     */
+    public GzipEntryData(GzipEntry entry, long baseOffset) {
     	if (entry == null) {
     		throw new IllegalArgumentException("'entry' should never be null");
     	}
     	this.isNonCompliant = !entry.isCompliant();
-    	this.offset = entry.getStartOffset();
+    	this.offset = baseOffset + entry.getStartOffset();
     	this.method = CompressionMethod.fromValue(entry.cm);
     	this.date = entry.date;
     	this.extraFlags = CompressionType.fromValue(entry.xfl);
@@ -77,7 +77,7 @@ import com.sleepycat.persist.model.Persistent;
 @Persistent
 public class ICCHeader
     extends AbstractReportable
-    implements Parser
+    implements Parser, Cloneable
 {
     /** D50 illuminant CIE XYZ values. These hexadecmial values are equivalent
      * to 0.9642, 1.0, 0.8249. */
@@ -802,6 +802,23 @@ public class ICCHeader
         return offset;
     }
 
+    /** Get a copy of the header rebased to another starting offset, for
+     * reuse of a cached profile found at a different offset.  The copy
+     * shares its field values with this header.
+     * @param delta Difference between the new and current starting offsets
+     * @return Rebased header
+     */
+    protected ICCHeader rebase(long delta) {
+        try {
+            ICCHeader header = (ICCHeader) super.clone();
+            header.offset += delta;
+            return header;
+        }
+        catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     /** Get non-zero data in reserved field error message.
      * @return Non-zero data in reserved field error message
      */
@@ -75,6 +75,11 @@ public class ICCModule
     /** Module validation coverage. */
     public static final Coverage COVERAGE = Coverage.Inclusive;
 
+    /** Profile cache status: true if parsed profiles are shared through
+     * the {@link ICCProfileCache}.
+     */
+    protected boolean cacheProfiles;
+
     /** Profile header. */
     protected ICCHeader header;
     
@@ -93,6 +98,7 @@ public class ICCModule
         super(VERSION, RELEASE, RIGHTS, format, formatModuleAccessor);
         
         this.isValid = Validity.Undetermined;
+        this.cacheProfiles = true;
     }
     
     @SuppressWarnings("unused")
@@ -131,6 +137,20 @@ public class ICCModule
         if ((start = input.getPosition()) == 0) {
             input.setPosition(0L);
         }
+        String key = null;
+        if (this.cacheProfiles) {
+            ICCProfileCache cache = ICCProfileCache.getInstance();
+            key = ICCProfileCache.getKey(input, start);
+            ICCProfileCache.Entry entry = (key != null) ?
+                cache.get(key, start) : null;
+            if (entry != null) {
+                this.header   = entry.getHeader();
+                this.tagTable = entry.getTagTable();
+                this.isValid  = entry.getValidity();
+                return entry.getConsumed();
+            }
+            input.setPosition(start);
+        }
         this.header = new ICCHeader();
         this.header.setOffset(start);
         consumed += this.header.parse(jhove2, source, input);
@@ -145,6 +165,11 @@ public class ICCModule
         if (validity != Validity.True) {
             this.isValid = validity;
         }
+        if (key != null) {
+            ICCProfileCache.getInstance().put(key,
+                new ICCProfileCache.Entry(this.header, this.tagTable,
+                                          this.isValid, consumed));
+        }
 
         return consumed;
     }
@@ -200,4 +225,21 @@ public class ICCModule
     {
         return this.isValid;
     }
+
+    /** Get profile cache status.
+     * @return True if parsed profiles are shared through the profile cache
+     */
+    public boolean getCacheProfiles()
+    {
+        return this.cacheProfiles;
+    }
+
+    /** Set profile cache status.
+     * @param cacheProfiles True if parsed profiles are to be shared through
+     *                      the profile cache
+     */
+    public void setCacheProfiles(boolean cacheProfiles)
+    {
+        this.cacheProfiles = cacheProfiles;
+    }
 }
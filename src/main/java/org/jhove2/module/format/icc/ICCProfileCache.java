@@ -0,0 +1,423 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.jhove2.module.format.icc;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import org.jhove2.core.io.Input;
+import org.jhove2.core.metrics.MetricsRegistry;
+import org.jhove2.module.format.Validator.Validity;
+
+/**
+ * JVM-wide cache of parsed ICC colour profiles.  The same profile is
+ * typically embedded in every image produced by a given device or
+ * application, so a profile that has already been parsed is reused rather
+ * than parsed again.  Profiles are keyed by their header profile ID (an MD5
+ * digest of the profile), or by an MD5 digest of the profile bytes computed
+ * here if the profile ID is zero, together with the profile size.  A
+ * profile ID is trusted as given: a profile edited without its ID being
+ * updated is reported as the profile it was edited from, so caching should
+ * be disabled in the ICC module when validating such profiles.
+ * <p>
+ * The cache is bounded by the total size of the cached profiles and evicts
+ * the least recently used profile first.  Cached headers and tag tables are
+ * shared between ICC modules and must not be modified; a profile found at a
+ * different offset than the one at which it was parsed is reused through
+ * copies of its header and tag table with their offsets rebased.
+ */
+public class ICCProfileCache
+{
+	/** Default maximum total size of the cached profiles, in bytes. */
+	public static final long DEFAULT_MAX_BYTES = 64L * 1024L * 1024L;
+
+	/** Size of the profile header, in bytes. */
+	protected static final int HEADER_SIZE = 128;
+
+	/** Offset of the profile ID within the profile header. */
+	protected static final int PROFILE_ID_OFFSET = 84;
+
+	/** Length of the profile ID, in bytes. */
+	protected static final int PROFILE_ID_LENGTH = 16;
+
+	/** Size of the chunks in which profiles without an ID are digested. */
+	protected static final int DIGEST_CHUNK_SIZE = 8192;
+
+	/** Singleton cache. */
+	private static final ICCProfileCache INSTANCE = new ICCProfileCache();
+
+	/** Cached profiles, in least recently used order. */
+	private final LinkedHashMap<String, Entry> entries;
+
+	/** Maximum total size of the cached profiles, in bytes. */
+	private long maxBytes;
+
+	/** Total size of the cached profiles, in bytes. */
+	private long bytes;
+
+	/**
+	 * Instantiate a new <code>ICCProfileCache</code>.
+	 */
+	protected ICCProfileCache() {
+		this.entries  = new LinkedHashMap<String, Entry>(64, 0.75f, true);
+		this.maxBytes = DEFAULT_MAX_BYTES;
+	}
+
+	/**
+	 * Get the JVM-wide ICC profile cache.
+	 * 
+	 * @return ICC profile cache
+	 */
+	public static ICCProfileCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Get the key of the profile starting at an offset of an input: the
+	 * profile ID, or an MD5 digest of the profile if its ID is zero, and
+	 * the profile size.  The input position is left undefined.
+	 * 
+	 * @param input
+	 *            Input, in big-endian byte order
+	 * @param start
+	 *            Starting offset of the profile
+	 * @return Profile key, or null if the profile is too short or truncated
+	 *         to be keyed
+	 * @throws IOException
+	 *             If an I/O exception is raised reading the input
+	 */
+	public static String getKey(Input input, long start)
+		throws IOException
+	{
+		long size = 0L;
+		byte[] id = new byte[PROFILE_ID_LENGTH];
+		try {
+			input.setPosition(start);
+			size = input.readUnsignedInt();
+			if (size < HEADER_SIZE) {
+				return null;
+			}
+			input.setPosition(start + PROFILE_ID_OFFSET);
+			input.readFully(id);
+		}
+		catch (EOFException e) {
+			return null;
+		}
+		boolean zero = true;
+		for (int i = 0; i < id.length && zero; i++) {
+			zero = id[i] == 0;
+		}
+		String prefix = "id:";
+		if (zero) {
+			id = digest(input, start, size);
+			if (id == null) {
+				return null;
+			}
+			prefix = "md5:";
+		}
+		StringBuilder key = new StringBuilder(prefix);
+		for (int i = 0; i < id.length; i++) {
+			key.append(Character.forDigit((id[i] >> 4) & 0x0f, 16));
+			key.append(Character.forDigit(id[i] & 0x0f, 16));
+		}
+		return key.append('-').append(size).toString();
+	}
+
+	/**
+	 * Compute the MD5 digest of a profile.
+	 * 
+	 * @param input
+	 *            Input
+	 * @param start
+	 *            Starting offset of the profile
+	 * @param size
+	 *            Profile size, in bytes
+	 * @return Digest, or null if the profile is truncated
+	 * @throws IOException
+	 *             If an I/O exception is raised reading the input
+	 */
+	protected static byte[] digest(Input input, long start, long size)
+		throws IOException
+	{
+		MessageDigest md5 = null;
+		try {
+			md5 = MessageDigest.getInstance("MD5");
+		}
+		catch (NoSuchAlgorithmException e) {
+			return null;
+		}
+		byte[] chunk = new byte[(int) Math.min(size, DIGEST_CHUNK_SIZE)];
+		try {
+			input.setPosition(start);
+			long remaining = size;
+			while (remaining > 0L) {
+				int n = (int) Math.min(remaining, chunk.length);
+				byte[] dst = (n == chunk.length) ? chunk : new byte[n];
+				input.readFully(dst);
+				md5.update(dst);
+				remaining -= n;
+			}
+		}
+		catch (EOFException e) {
+			return null;
+		}
+		return md5.digest();
+	}
+
+	/**
+	 * Get a cached profile, rebased to a starting offset.
+	 * 
+	 * @param key
+	 *            Profile key
+	 * @param start
+	 *            Starting offset of the profile being parsed
+	 * @return Cached profile, or null if the profile is not cached or
+	 *         cannot be rebased to the starting offset
+	 */
+	public Entry get(String key, long start) {
+		Entry entry = null;
+		synchronized (this) {
+			entry = this.entries.get(key);
+		}
+		if (entry != null && entry.offset != start && !entry.isRelocatable()) {
+			entry = null;
+		}
+		MetricsRegistry.getInstance().increment((entry != null) ?
+				MetricsRegistry.ICC_PROFILE_CACHE_HITS :
+				MetricsRegistry.ICC_PROFILE_CACHE_MISSES);
+		if (entry == null || entry.offset == start) {
+			return entry;
+		}
+		return entry.rebase(start);
+	}
+
+	/**
+	 * Cache a parsed profile, evicting the least recently used profiles if
+	 * the cache would otherwise exceed its maximum size.
+	 * 
+	 * @param key
+	 *            Profile key
+	 * @param entry
+	 *            Parsed profile
+	 */
+	public synchronized void put(String key, Entry entry) {
+		if (entry.size > this.maxBytes) {
+			return;
+		}
+		Entry old = this.entries.put(key, entry);
+		if (old != null) {
+			this.bytes -= old.size;
+		}
+		this.bytes += entry.size;
+		evict();
+	}
+
+	/**
+	 * Evict the least recently used profiles until the cache fits within
+	 * its maximum size.
+	 */
+	protected void evict() {
+		Iterator<Entry> iter = this.entries.values().iterator();
+		while (this.bytes > this.maxBytes && iter.hasNext()) {
+			this.bytes -= iter.next().size;
+			iter.remove();
+		}
+	}
+
+	/**
+	 * Remove all cached profiles.
+	 */
+	public synchronized void clear() {
+		this.entries.clear();
+		this.bytes = 0L;
+	}
+
+	/**
+	 * Get the number of cached profiles.
+	 * 
+	 * @return Number of cached profiles
+	 */
+	public synchronized int getCount() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Get the total size of the cached profiles.
+	 * 
+	 * @return Total size of the cached profiles, in bytes
+	 */
+	public synchronized long getBytes() {
+		return this.bytes;
+	}
+
+	/**
+	 * Get the maximum total size of the cached profiles.
+	 * 
+	 * @return Maximum total size of the cached profiles, in bytes
+	 */
+	public synchronized long getMaxBytes() {
+		return this.maxBytes;
+	}
+
+	/**
+	 * Set the maximum total size of the cached profiles.  A maximum of zero
+	 * disables caching.
+	 * 
+	 * @param maxBytes
+	 *            Maximum total size of the cached profiles, in bytes
+	 */
+	public synchronized void setMaxBytes(long maxBytes) {
+		this.maxBytes = maxBytes;
+		evict();
+	}
+
+	/**
+	 * A parsed ICC profile: its header, tag table, validity, and the number
+	 * of bytes consumed parsing it.
+	 */
+	public static class Entry
+	{
+		/** Profile header. */
+		protected final ICCHeader header;
+
+		/** Profile tag table. */
+		protected final ICCTagTable tagTable;
+
+		/** Profile validity. */
+		protected final Validity validity;
+
+		/** Starting offset at which the profile was parsed. */
+		protected final long offset;
+
+		/** Number of bytes consumed parsing the profile. */
+		protected final long consumed;
+
+		/** Profile size, in bytes. */
+		protected final long size;
+
+		/**
+		 * Instantiate a new <code>Entry</code>.
+		 * 
+		 * @param header
+		 *            Profile header
+		 * @param tagTable
+		 *            Profile tag table
+		 * @param validity
+		 *            Profile validity
+		 * @param consumed
+		 *            Number of bytes consumed parsing the profile
+		 */
+		public Entry(ICCHeader header, ICCTagTable tagTable,
+				Validity validity, long consumed)
+		{
+			this.header   = header;
+			this.tagTable = tagTable;
+			this.validity = validity;
+			this.offset   = header.getOffset();
+			this.consumed = consumed;
+			this.size     = Math.max(header.getProfileSize(), HEADER_SIZE);
+		}
+
+		/**
+		 * Determine whether the profile can be rebased to another starting
+		 * offset.  Profiles with tags not word aligned cannot, as the
+		 * messages reporting them include absolute offsets.
+		 * 
+		 * @return True if the profile can be rebased
+		 */
+		public boolean isRelocatable() {
+			if (this.tagTable.getTags() != null) {
+				for (ICCTag tag : this.tagTable.getTags()) {
+					if (tag.getOffsetNotWordAligned() != null) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Rebase the profile to another starting offset.
+		 * 
+		 * @param start
+		 *            Starting offset
+		 * @return Rebased profile
+		 */
+		protected Entry rebase(long start) {
+			long delta = start - this.offset;
+			return new Entry(this.header.rebase(delta),
+					this.tagTable.rebase(delta), this.validity, this.consumed);
+		}
+
+		/**
+		 * Get profile header.
+		 * 
+		 * @return Profile header
+		 */
+		public ICCHeader getHeader() {
+			return this.header;
+		}
+
+		/**
+		 * Get profile tag table.
+		 * 
+		 * @return Profile tag table
+		 */
+		public ICCTagTable getTagTable() {
+			return this.tagTable;
+		}
+
+		/**
+		 * Get profile validity.
+		 * 
+		 * @return Profile validity
+		 */
+		public Validity getValidity() {
+			return this.validity;
+		}
+
+		/**
+		 * Get number of bytes consumed parsing the profile.
+		 * 
+		 * @return Number of bytes consumed
+		 */
+		public long getConsumed() {
+			return this.consumed;
+		}
+	}
+}
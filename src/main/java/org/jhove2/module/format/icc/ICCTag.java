@@ -85,6 +85,7 @@ import com.sleepycat.persist.model.Persistent;
 @Persistent
 public class ICCTag
     extends AbstractReportable
+    implements Cloneable
 {
     /** Chromoticity type element. */
     protected ChromaticityType chromaticityType;
@@ -814,6 +815,24 @@ public class ICCTag
     public long getOffset() {
         return this.offset;
     }
+
+    /** Get a copy of the tag rebased to another profile starting offset,
+     * for reuse of a cached profile found at a different offset.  The copy
+     * shares its tag type elements with this tag.
+     * @param delta Difference between the new and current profile starting
+     *              offsets
+     * @return Rebased tag
+     */
+    protected ICCTag rebase(long delta) {
+        try {
+            ICCTag tag = (ICCTag) super.clone();
+            tag.offset += delta;
+            return tag;
+        }
+        catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
     
     /** Get tag offset not word aligned message.
      * @return Tag offset not word aligned message
@@ -60,6 +60,7 @@ import com.sleepycat.persist.model.Persistent;
 @Persistent
 public class ICCTagTable
     extends AbstractReportable
+    implements Cloneable
 {
     /** Tag count. */
     protected long count;
@@ -268,6 +269,28 @@ public class ICCTagTable
         return this.missingRequiredTagMessages;
     }
      
+    /** Get a copy of the tag table rebased to another profile starting
+     * offset, for reuse of a cached profile found at a different offset.
+     * @param delta Difference between the new and current profile starting
+     *              offsets
+     * @return Rebased tag table
+     */
+    protected ICCTagTable rebase(long delta) {
+        try {
+            ICCTagTable table = (ICCTagTable) super.clone();
+            if (this.tags != null) {
+                table.tags = new ArrayList<ICCTag>(this.tags.size());
+                for (ICCTag tag : this.tags) {
+                    table.tags.add(tag.rebase(delta));
+                }
+            }
+            return table;
+        }
+        catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     /** Get tags.
      * @return Tags
      */
@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.icc.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -50,7 +51,7 @@ public class ColorantEncoding
     implements Comparable<ColorantEncoding>
 {
     /** Singleton encoding parameters. */
-    protected static Set<ColorantEncoding> encodings;
+    protected static volatile Set<ColorantEncoding> encodings;
 
     /** Encoding value. */
     protected int value;
@@ -72,21 +73,26 @@ public class ColorantEncoding
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception 
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (encodings == null) {
-            /* Initialize the colorant encodings from a Java resource bundle. */
-            encodings = new TreeSet<ColorantEncoding>();
-            Properties props = jhove2.getConfigInfo().getProperties("ColorantEncodings");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String val = iter.next();
-                    String typ = props.getProperty(val);
-                    ColorantEncoding encoding = new ColorantEncoding(Integer.valueOf(val), typ);
-                    encodings.add(encoding);
+            synchronized (ColorantEncoding.class) {
+                if (encodings == null) {
+                    /* Initialize the colorant encodings from a Java resource bundle. */
+                    Set<ColorantEncoding> table = new TreeSet<ColorantEncoding>();
+                    Properties props = jhove2.getConfigInfo().getProperties("ColorantEncodings");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String val = iter.next();
+                            String typ = props.getProperty(val);
+                            ColorantEncoding encoding = new ColorantEncoding(Integer.valueOf(val), typ);
+                            table.add(encoding);
+                        }
+                    }
+                    encodings = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -99,7 +105,7 @@ public class ColorantEncoding
      * @return Function parameters, or null if the value is not defined
      * @throws JHOVE2Exception
      */
-    public static synchronized ColorantEncoding getColorantEncoding(int value, JHOVE2 jhove2)
+    public static ColorantEncoding getColorantEncoding(int value, JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         init(jhove2);
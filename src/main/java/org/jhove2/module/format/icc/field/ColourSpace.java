@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.icc.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -50,7 +51,7 @@ public class ColourSpace
 implements Comparable<ColourSpace>
 {
     /** Singleton data colour spaces. */
-    protected static Set<ColourSpace> spaces;
+    protected static volatile Set<ColourSpace> spaces;
 
     /** Profile class. */
     protected String colourSpace;
@@ -75,21 +76,26 @@ implements Comparable<ColourSpace>
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception 
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (spaces == null) {
-            /* Initialize the data colour spaces from a Java resource bundle. */
-            spaces = new TreeSet<ColourSpace>();
-            Properties props = jhove2.getConfigInfo().getProperties("ColourSpaces");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String sig = iter.next();
-                    String spa = props.getProperty(sig);
-                    ColourSpace space = new ColourSpace(sig, spa);
-                    spaces.add(space);
+            synchronized (ColourSpace.class) {
+                if (spaces == null) {
+                    /* Initialize the data colour spaces from a Java resource bundle. */
+                    Set<ColourSpace> table = new TreeSet<ColourSpace>();
+                    Properties props = jhove2.getConfigInfo().getProperties("ColourSpaces");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String sig = iter.next();
+                            String spa = props.getProperty(sig);
+                            ColourSpace space = new ColourSpace(sig, spa);
+                            table.add(space);
+                        }
+                    }
+                    spaces = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -102,7 +108,7 @@ implements Comparable<ColourSpace>
      * @return Data colour space, or null if the signature is not a colour space signature
      * @throws JHOVE2Exception
      */
-    public static synchronized ColourSpace getColourSpace(String signature, JHOVE2 jhove2)
+    public static ColourSpace getColourSpace(String signature, JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         init(jhove2);
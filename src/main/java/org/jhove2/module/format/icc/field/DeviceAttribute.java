@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.icc.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -50,7 +51,7 @@ public class DeviceAttribute
 implements Comparable<DeviceAttribute>
 {
     /** Singleton device attributes. */
-    protected static Set<DeviceAttribute> attrs;
+    protected static volatile Set<DeviceAttribute> attrs;
 
     /** Device attribute bit position. */
     protected int position;
@@ -80,29 +81,34 @@ implements Comparable<DeviceAttribute>
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (attrs == null) {
-            /* Initialize the device attributes from a Java resource bundle. */
-            attrs = new TreeSet<DeviceAttribute>();
-            Properties props =
-                jhove2.getConfigInfo().getProperties("DeviceAttributes");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String bit = iter.next();
-                    String neg = props.getProperty(bit);
-                    String pos = neg;
-                    int in = neg.indexOf('|');
-                    if (in > 0) {
-                        pos = neg.substring(in+1);
-                        neg = neg.substring(0, in);
+            synchronized (DeviceAttribute.class) {
+                if (attrs == null) {
+                    /* Initialize the device attributes from a Java resource bundle. */
+                    Set<DeviceAttribute> table = new TreeSet<DeviceAttribute>();
+                    Properties props =
+                        jhove2.getConfigInfo().getProperties("DeviceAttributes");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String bit = iter.next();
+                            String neg = props.getProperty(bit);
+                            String pos = neg;
+                            int in = neg.indexOf('|');
+                            if (in > 0) {
+                                pos = neg.substring(in+1);
+                                neg = neg.substring(0, in);
+                            }
+                            DeviceAttribute attr =
+                                new DeviceAttribute(Integer.valueOf(bit), neg, pos);
+                            table.add(attr);
+                        }
                     }
-                    DeviceAttribute attr =
-                        new DeviceAttribute(Integer.valueOf(bit), neg, pos);
-                    attrs.add(attr);
+                    attrs = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.icc.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -51,7 +52,7 @@ public class FunctionType
     implements Comparable<FunctionType>
 {
     /** Singleton function parameters. */
-    protected static Set<FunctionType> types;
+    protected static volatile Set<FunctionType> types;
 
     /** Function value. */
     protected int value;
@@ -74,21 +75,26 @@ public class FunctionType
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception 
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (types == null) {
-            /* Initialize the CMMs from a Java resource bundle. */
-            types = new TreeSet<FunctionType>();
-            Properties props = jhove2.getConfigInfo().getProperties("FunctionTypes");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String val  = iter.next();
-                    String par = props.getProperty(val);
-                    FunctionType type = new FunctionType(Integer.valueOf(val), par);
-                    types.add(type);
+            synchronized (FunctionType.class) {
+                if (types == null) {
+                    /* Initialize the CMMs from a Java resource bundle. */
+                    Set<FunctionType> table = new TreeSet<FunctionType>();
+                    Properties props = jhove2.getConfigInfo().getProperties("FunctionTypes");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String val  = iter.next();
+                            String par = props.getProperty(val);
+                            FunctionType type = new FunctionType(Integer.valueOf(val), par);
+                            table.add(type);
+                        }
+                    }
+                    types = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -102,7 +108,7 @@ public class FunctionType
      * @return Function parameters, or null if the value is not defined
      * @throws JHOVE2Exception
      */
-    public static synchronized FunctionType getFunctionType(int value, JHOVE2 jhove2)
+    public static FunctionType getFunctionType(int value, JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         init(jhove2);
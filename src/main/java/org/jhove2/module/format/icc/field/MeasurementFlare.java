@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.icc.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -50,7 +51,7 @@ public class MeasurementFlare
     implements Comparable<MeasurementFlare>
 {
     /** Singleton measurement flare. */
-    protected static Set<MeasurementFlare> flares;
+    protected static volatile Set<MeasurementFlare> flares;
 
     /** Measurement flare value. */
     protected long value;
@@ -73,21 +74,26 @@ public class MeasurementFlare
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception 
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (flares == null) {
-            /* Initialize the measurement flares from a Java resource bundle. */
-            flares = new TreeSet<MeasurementFlare>();
-            Properties props = jhove2.getConfigInfo().getProperties("MeasurementFlares");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String val  = iter.next();
-                    String fla = props.getProperty(val);
-                    MeasurementFlare flare = new MeasurementFlare(Integer.valueOf(val), fla);
-                    flares.add(flare);
+            synchronized (MeasurementFlare.class) {
+                if (flares == null) {
+                    /* Initialize the measurement flares from a Java resource bundle. */
+                    Set<MeasurementFlare> table = new TreeSet<MeasurementFlare>();
+                    Properties props = jhove2.getConfigInfo().getProperties("MeasurementFlares");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String val  = iter.next();
+                            String fla = props.getProperty(val);
+                            MeasurementFlare flare = new MeasurementFlare(Integer.valueOf(val), fla);
+                            table.add(flare);
+                        }
+                    }
+                    flares = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -101,7 +107,7 @@ public class MeasurementFlare
      * @return Measurement flare, or null if the value is not defined
      * @throws JHOVE2Exception
      */
-    public static synchronized MeasurementFlare getMeasurementFlare(long value, JHOVE2 jhove2)
+    public static MeasurementFlare getMeasurementFlare(long value, JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         init(jhove2);
@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.icc.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -50,7 +51,7 @@ public class MeasurementGeometry
     implements Comparable<MeasurementGeometry>
 {
     /** Singleton measurement geometry. */
-    protected static Set<MeasurementGeometry> geometries;
+    protected static volatile Set<MeasurementGeometry> geometries;
 
     /** Measurement geometry value. */
     protected long value;
@@ -73,21 +74,26 @@ public class MeasurementGeometry
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception 
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (geometries == null) {
-            /* Initialize the measurement geometrys from a Java resource bundle. */
-            geometries = new TreeSet<MeasurementGeometry>();
-            Properties props = jhove2.getConfigInfo().getProperties("MeasurementGeometries");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String val  = iter.next();
-                    String geo = props.getProperty(val);
-                    MeasurementGeometry geometry = new MeasurementGeometry(Integer.valueOf(val), geo);
-                    geometries.add(geometry);
+            synchronized (MeasurementGeometry.class) {
+                if (geometries == null) {
+                    /* Initialize the measurement geometrys from a Java resource bundle. */
+                    Set<MeasurementGeometry> table = new TreeSet<MeasurementGeometry>();
+                    Properties props = jhove2.getConfigInfo().getProperties("MeasurementGeometries");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String val  = iter.next();
+                            String geo = props.getProperty(val);
+                            MeasurementGeometry geometry = new MeasurementGeometry(Integer.valueOf(val), geo);
+                            table.add(geometry);
+                        }
+                    }
+                    geometries = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -101,7 +107,7 @@ public class MeasurementGeometry
      * @return Measurement geometry, or null if the value is not defined
      * @throws JHOVE2Exception
      */
-    public static synchronized MeasurementGeometry getMeasurementGeometry(long value, JHOVE2 jhove2)
+    public static MeasurementGeometry getMeasurementGeometry(long value, JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         init(jhove2);
@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.icc.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -50,7 +51,7 @@ public class PerceptualRenderingIntent
     implements Comparable<PerceptualRenderingIntent>
 {
     /** Singleton perceptual rendering intent gamuts. */
-    protected static Set<PerceptualRenderingIntent> gamuts;
+    protected static volatile Set<PerceptualRenderingIntent> gamuts;
 
     /** Perceptual rendering intent gamut. */
     protected String gamut;
@@ -75,21 +76,26 @@ public class PerceptualRenderingIntent
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception 
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (gamuts == null) {
-            /* Initialize the perceptual rendering intent gamuts from a Java resource bundle. */
-            gamuts = new TreeSet<PerceptualRenderingIntent>();
-            Properties props = jhove2.getConfigInfo().getProperties("PerceptualRenderingIntents");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String sig = iter.next();
-                    String gam = props.getProperty(sig);
-                    PerceptualRenderingIntent gamut = new PerceptualRenderingIntent(sig, gam);
-                    gamuts.add(gamut);
+            synchronized (PerceptualRenderingIntent.class) {
+                if (gamuts == null) {
+                    /* Initialize the perceptual rendering intent gamuts from a Java resource bundle. */
+                    Set<PerceptualRenderingIntent> table = new TreeSet<PerceptualRenderingIntent>();
+                    Properties props = jhove2.getConfigInfo().getProperties("PerceptualRenderingIntents");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String sig = iter.next();
+                            String gam = props.getProperty(sig);
+                            PerceptualRenderingIntent gamut = new PerceptualRenderingIntent(sig, gam);
+                            table.add(gamut);
+                        }
+                    }
+                    gamuts = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -102,7 +108,7 @@ public class PerceptualRenderingIntent
      * @return Data perceptual rendering intent gamut, or null if the signature is not a perceptual rendering intent gamut signature
      * @throws JHOVE2Exception
      */
-    public static synchronized PerceptualRenderingIntent getPerceptualRenderingIntent(String signature, JHOVE2 jhove2)
+    public static PerceptualRenderingIntent getPerceptualRenderingIntent(String signature, JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         init(jhove2);
@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.icc.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -50,7 +51,7 @@ public class PreferredCMM
     implements Comparable<PreferredCMM>
 {
     /** Singleton preferred CMMs. */
-    protected static Set<PreferredCMM> CMMs;
+    protected static volatile Set<PreferredCMM> CMMs;
 
     /** CMM description. */
     protected String description;
@@ -75,21 +76,26 @@ public class PreferredCMM
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception 
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (CMMs == null) {
-            /* Initialize the CMMs from a Java resource bundle. */
-            CMMs = new TreeSet<PreferredCMM>();
-            Properties props = jhove2.getConfigInfo().getProperties("PreferredCMM");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String sig  = iter.next();
-                    String desc = props.getProperty(sig);
-                    PreferredCMM prefCMM = new PreferredCMM(sig, desc);
-                    CMMs.add(prefCMM);
+            synchronized (PreferredCMM.class) {
+                if (CMMs == null) {
+                    /* Initialize the CMMs from a Java resource bundle. */
+                    Set<PreferredCMM> table = new TreeSet<PreferredCMM>();
+                    Properties props = jhove2.getConfigInfo().getProperties("PreferredCMM");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String sig  = iter.next();
+                            String desc = props.getProperty(sig);
+                            PreferredCMM prefCMM = new PreferredCMM(sig, desc);
+                            table.add(prefCMM);
+                        }
+                    }
+                    CMMs = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -103,7 +109,7 @@ public class PreferredCMM
      * @return Preferred CMM, or null if the signature is not a CMM signature
      * @throws JHOVE2Exception
      */
-    public static synchronized PreferredCMM getPreferredCMM(String signature, JHOVE2 jhove2)
+    public static PreferredCMM getPreferredCMM(String signature, JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         init(jhove2);
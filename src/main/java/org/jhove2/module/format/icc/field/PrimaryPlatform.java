@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.icc.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -50,7 +51,7 @@ public class PrimaryPlatform
 implements Comparable<PrimaryPlatform>
 {
     /** Singleton primary platforms. */
-    protected static Set<PrimaryPlatform> platforms;
+    protected static volatile Set<PrimaryPlatform> platforms;
 
     /** Profile class. */
     protected String primaryPlatform;
@@ -75,21 +76,26 @@ implements Comparable<PrimaryPlatform>
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception 
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (platforms == null) {
-            /* Initialize the primary platforms from a Java resource bundle. */
-            platforms = new TreeSet<PrimaryPlatform>();
-            Properties props = jhove2.getConfigInfo().getProperties("PrimaryPlatforms");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String sig = iter.next();
-                    String pla = props.getProperty(sig);
-                    PrimaryPlatform space = new PrimaryPlatform(sig, pla);
-                    platforms.add(space);
+            synchronized (PrimaryPlatform.class) {
+                if (platforms == null) {
+                    /* Initialize the primary platforms from a Java resource bundle. */
+                    Set<PrimaryPlatform> table = new TreeSet<PrimaryPlatform>();
+                    Properties props = jhove2.getConfigInfo().getProperties("PrimaryPlatforms");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String sig = iter.next();
+                            String pla = props.getProperty(sig);
+                            PrimaryPlatform space = new PrimaryPlatform(sig, pla);
+                            table.add(space);
+                        }
+                    }
+                    platforms = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -102,7 +108,7 @@ implements Comparable<PrimaryPlatform>
      * @return Primary platform, or null if the signature is not a colour space signature
      * @throws JHOVE2Exception
      */
-    public static synchronized PrimaryPlatform getPrimaryPlatform(String signature, JHOVE2 jhove2)
+    public static PrimaryPlatform getPrimaryPlatform(String signature, JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         init(jhove2);
@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.icc.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -50,7 +51,7 @@ public class ProfileDeviceClass
     implements Comparable<ProfileDeviceClass>
 {
     /** Singleton profile/device classes. */
-    protected static Set<ProfileDeviceClass> classes;
+    protected static volatile Set<ProfileDeviceClass> classes;
 
     /** Profile class. */
     protected String profileClass;
@@ -75,21 +76,26 @@ public class ProfileDeviceClass
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception 
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (classes == null) {
-            /* Initialize the profile/device classes from a Java resource bundle. */
-            classes = new TreeSet<ProfileDeviceClass>();
-            Properties props = jhove2.getConfigInfo().getProperties("ProfileClasses");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String sig = iter.next();
-                    String cls = props.getProperty(sig);
-                    ProfileDeviceClass pClass = new ProfileDeviceClass(sig, cls);
-                    classes.add(pClass);
+            synchronized (ProfileDeviceClass.class) {
+                if (classes == null) {
+                    /* Initialize the profile/device classes from a Java resource bundle. */
+                    Set<ProfileDeviceClass> table = new TreeSet<ProfileDeviceClass>();
+                    Properties props = jhove2.getConfigInfo().getProperties("ProfileClasses");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String sig = iter.next();
+                            String cls = props.getProperty(sig);
+                            ProfileDeviceClass pClass = new ProfileDeviceClass(sig, cls);
+                            table.add(pClass);
+                        }
+                    }
+                    classes = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -102,7 +108,7 @@ public class ProfileDeviceClass
      * @return profile/device class, or null if the signature is not a CMM signature
      * @throws JHOVE2Exception
      */
-    public static synchronized ProfileDeviceClass getProfileDeviceClass(String signature, JHOVE2 jhove2)
+    public static ProfileDeviceClass getProfileDeviceClass(String signature, JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         init(jhove2);
@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.icc.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -50,7 +51,7 @@ public class ProfileFlag
 implements Comparable<ProfileFlag>
 {
     /** Singleton profile flags. */
-    protected static Set<ProfileFlag> flags;
+    protected static volatile Set<ProfileFlag> flags;
 
     /** Profile flag bit position. */
     protected int position;
@@ -79,29 +80,34 @@ implements Comparable<ProfileFlag>
      * Initialize the profile flags from their properties file. 
      * @param jhove2 JHOVE2 framework
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (flags == null) {
-            /* Initialize the profile flags from a Java resource bundle. */
-            flags = new TreeSet<ProfileFlag>();
-            Properties props =
-                jhove2.getConfigInfo().getProperties("ProfileFlags");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String bit = iter.next();
-                    String neg = props.getProperty(bit);
-                    String pos = neg;
-                    int in = neg.indexOf('|');
-                    if (in > 0) {
-                        pos = neg.substring(in+1);
-                        neg = neg.substring(0, in);
+            synchronized (ProfileFlag.class) {
+                if (flags == null) {
+                    /* Initialize the profile flags from a Java resource bundle. */
+                    Set<ProfileFlag> table = new TreeSet<ProfileFlag>();
+                    Properties props =
+                        jhove2.getConfigInfo().getProperties("ProfileFlags");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String bit = iter.next();
+                            String neg = props.getProperty(bit);
+                            String pos = neg;
+                            int in = neg.indexOf('|');
+                            if (in > 0) {
+                                pos = neg.substring(in+1);
+                                neg = neg.substring(0, in);
+                            }
+                            ProfileFlag flag =
+                                new ProfileFlag(Integer.valueOf(bit), neg, pos);
+                            table.add(flag);
+                        }
                     }
-                    ProfileFlag flag =
-                        new ProfileFlag(Integer.valueOf(bit), neg, pos);
-                    flags.add(flag);
+                    flags = Collections.unmodifiableSet(table);
                 }
             }
         }
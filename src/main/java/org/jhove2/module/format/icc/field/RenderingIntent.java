@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.icc.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -50,7 +51,7 @@ public class RenderingIntent
     implements Comparable<RenderingIntent>
 {
     /** Singleton rendering intents. */
-    protected static Set<RenderingIntent> intents;
+    protected static volatile Set<RenderingIntent> intents;
 
     /** Rendering intent. */
     protected String intent;
@@ -75,23 +76,28 @@ public class RenderingIntent
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception 
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (intents == null) {
-            /* Initialize the rendering intents from a Java resource bundle. */
-            intents = new TreeSet<RenderingIntent>();
-            Properties props =
-                jhove2.getConfigInfo().getProperties("RenderingIntents");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String val = iter.next();
-                    String ren = props.getProperty(val);
-                    RenderingIntent intent =
-                        new RenderingIntent(Integer.valueOf(val), ren);
-                    intents.add(intent);
+            synchronized (RenderingIntent.class) {
+                if (intents == null) {
+                    /* Initialize the rendering intents from a Java resource bundle. */
+                    Set<RenderingIntent> table = new TreeSet<RenderingIntent>();
+                    Properties props =
+                        jhove2.getConfigInfo().getProperties("RenderingIntents");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String val = iter.next();
+                            String ren = props.getProperty(val);
+                            RenderingIntent intent =
+                                new RenderingIntent(Integer.valueOf(val), ren);
+                            table.add(intent);
+                        }
+                    }
+                    intents = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -104,8 +110,8 @@ public class RenderingIntent
      * @return Rendering intent, or null if the value is not a rendering intent value
      * @throws JHOVE2Exception
      */
-    public static synchronized RenderingIntent getRenderingIntent(int value,
-                                                                  JHOVE2 jhove2)
+    public static RenderingIntent getRenderingIntent(int value,
+                                                     JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         init(jhove2);
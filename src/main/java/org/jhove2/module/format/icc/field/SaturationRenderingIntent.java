@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.icc.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -50,7 +51,7 @@ public class SaturationRenderingIntent
     implements Comparable<SaturationRenderingIntent>
 {
     /** Singleton saturation rendering intent gamuts. */
-    protected static Set<SaturationRenderingIntent> gamuts;
+    protected static volatile Set<SaturationRenderingIntent> gamuts;
 
     /** Saturation rendering intent gamut. */
     protected String gamut;
@@ -75,21 +76,26 @@ public class SaturationRenderingIntent
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception 
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (gamuts == null) {
-            /* Initialize the saturation rendering intent gamuts from a Java resource bundle. */
-            gamuts = new TreeSet<SaturationRenderingIntent>();
-            Properties props = jhove2.getConfigInfo().getProperties("SaturationRenderingIntents");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String sig = iter.next();
-                    String gam = props.getProperty(sig);
-                    SaturationRenderingIntent gamut = new SaturationRenderingIntent(sig, gam);
-                    gamuts.add(gamut);
+            synchronized (SaturationRenderingIntent.class) {
+                if (gamuts == null) {
+                    /* Initialize the saturation rendering intent gamuts from a Java resource bundle. */
+                    Set<SaturationRenderingIntent> table = new TreeSet<SaturationRenderingIntent>();
+                    Properties props = jhove2.getConfigInfo().getProperties("SaturationRenderingIntents");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String sig = iter.next();
+                            String gam = props.getProperty(sig);
+                            SaturationRenderingIntent gamut = new SaturationRenderingIntent(sig, gam);
+                            table.add(gamut);
+                        }
+                    }
+                    gamuts = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -102,7 +108,7 @@ public class SaturationRenderingIntent
      * @return Data saturation rendering intent gamut, or null if the signature is not a saturation rendering intent gamut signature
      * @throws JHOVE2Exception
      */
-    public static synchronized SaturationRenderingIntent getSaturationRenderingIntent(String signature, JHOVE2 jhove2)
+    public static SaturationRenderingIntent getSaturationRenderingIntent(String signature, JHOVE2 jhove2)
         throws JHOVE2Exception    
     {
         init(jhove2);
@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.icc.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -50,7 +51,7 @@ public class StandardIlluminant
     implements Comparable<StandardIlluminant>
 {
     /** Singleton standard illuminant illuminant. */
-    protected static Set<StandardIlluminant> illuminants;
+    protected static volatile Set<StandardIlluminant> illuminants;
 
     /** Standard illuminant value. */
     protected long value;
@@ -73,21 +74,26 @@ public class StandardIlluminant
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception 
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (illuminants == null) {
-            /* Initialize the standard illuminants from a Java resource bundle. */
-            illuminants = new TreeSet<StandardIlluminant>();
-            Properties props = jhove2.getConfigInfo().getProperties("StandardIlluminants");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String val  = iter.next();
-                    String ill = props.getProperty(val);
-                    StandardIlluminant illuminant = new StandardIlluminant(Long.valueOf(val), ill);
-                    illuminants.add(illuminant);
+            synchronized (StandardIlluminant.class) {
+                if (illuminants == null) {
+                    /* Initialize the standard illuminants from a Java resource bundle. */
+                    Set<StandardIlluminant> table = new TreeSet<StandardIlluminant>();
+                    Properties props = jhove2.getConfigInfo().getProperties("StandardIlluminants");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String val  = iter.next();
+                            String ill = props.getProperty(val);
+                            StandardIlluminant illuminant = new StandardIlluminant(Long.valueOf(val), ill);
+                            table.add(illuminant);
+                        }
+                    }
+                    illuminants = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -101,7 +107,7 @@ public class StandardIlluminant
      * @return Standard illuminant, or null if the value is not defined
      * @throws JHOVE2Exception
      */
-    public static synchronized StandardIlluminant getStandardIlluminant(long value, JHOVE2 jhove2)
+    public static StandardIlluminant getStandardIlluminant(long value, JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         init(jhove2);
@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.icc.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -50,7 +51,7 @@ public class StandardObserver
     implements Comparable<StandardObserver>
 {
     /** Singleton standard observer observer. */
-    protected static Set<StandardObserver> observers;
+    protected static volatile Set<StandardObserver> observers;
 
     /** Standard observer value. */
     protected long value;
@@ -73,21 +74,26 @@ public class StandardObserver
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception 
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (observers == null) {
-            /* Initialize the standard observers from a Java resource bundle. */
-            observers = new TreeSet<StandardObserver>();
-            Properties props = jhove2.getConfigInfo().getProperties("StandardObservers");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String val  = iter.next();
-                    String obs = props.getProperty(val);
-                    StandardObserver observer = new StandardObserver(Integer.valueOf(val), obs);
-                    observers.add(observer);
+            synchronized (StandardObserver.class) {
+                if (observers == null) {
+                    /* Initialize the standard observers from a Java resource bundle. */
+                    Set<StandardObserver> table = new TreeSet<StandardObserver>();
+                    Properties props = jhove2.getConfigInfo().getProperties("StandardObservers");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String val  = iter.next();
+                            String obs = props.getProperty(val);
+                            StandardObserver observer = new StandardObserver(Integer.valueOf(val), obs);
+                            table.add(observer);
+                        }
+                    }
+                    observers = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -101,7 +107,7 @@ public class StandardObserver
      * @return Standard observer, or null if the value is not defined
      * @throws JHOVE2Exception
      */
-    public static synchronized StandardObserver getStandardObserver(long value, JHOVE2 jhove2)
+    public static StandardObserver getStandardObserver(long value, JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         init(jhove2);
@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.icc.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -50,7 +51,7 @@ public class Tag
 implements Comparable<Tag>
 {
     /** Singleton tags. */
-    protected static Set<Tag> tags;
+    protected static volatile Set<Tag> tags;
 
     /** Tag name. */
     protected String name;
@@ -79,28 +80,33 @@ implements Comparable<Tag>
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception 
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (tags == null) {
-            /* Initialize the tags from a Java resource bundle. */
-            tags = new TreeSet<Tag>();
-            Properties props =
-                jhove2.getConfigInfo().getProperties("Tags");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String sig = iter.next();
-                    String ven = props.getProperty(sig);
-                    String nam = null;
-                    int in = ven.indexOf('|');
-                    if (in > 0) {
-                        nam = ven.substring(in+1);
-                        ven = ven.substring(0, in);
+            synchronized (Tag.class) {
+                if (tags == null) {
+                    /* Initialize the tags from a Java resource bundle. */
+                    Set<Tag> table = new TreeSet<Tag>();
+                    Properties props =
+                        jhove2.getConfigInfo().getProperties("Tags");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String sig = iter.next();
+                            String ven = props.getProperty(sig);
+                            String nam = null;
+                            int in = ven.indexOf('|');
+                            if (in > 0) {
+                                nam = ven.substring(in+1);
+                                ven = ven.substring(0, in);
+                            }
+                            Tag tag = new Tag(ven, sig, nam);
+                            table.add(tag);
+                        }
                     }
-                    Tag tag = new Tag(ven, sig, nam);
-                    tags.add(tag);
+                    tags = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -113,8 +119,8 @@ implements Comparable<Tag>
      * @return Tag, or null if the signature is not a tag signature
      * @throws JHOVE2Exception
      */
-    public static synchronized Tag getTag(String signature,
-                                          JHOVE2 jhove2)
+    public static Tag getTag(String signature,
+                             JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         init(jhove2);
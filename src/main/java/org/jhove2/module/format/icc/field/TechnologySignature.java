@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.icc.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -50,7 +51,7 @@ public class TechnologySignature
     implements Comparable<TechnologySignature>
 {
     /** Singleton technology signatures. */
-    protected static Set<TechnologySignature> technologies;
+    protected static volatile Set<TechnologySignature> technologies;
 
     /** Technology signature. */
     protected String signature;
@@ -75,21 +76,26 @@ public class TechnologySignature
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception 
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (technologies == null) {
-            /* Initialize the technology signatures from a Java resource bundle. */
-            technologies = new TreeSet<TechnologySignature>();
-            Properties props = jhove2.getConfigInfo().getProperties("TechnologySignatures");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String sig = iter.next();
-                    String tec = props.getProperty(sig);
-                    TechnologySignature tech = new TechnologySignature(sig, tec);
-                    technologies.add(tech);
+            synchronized (TechnologySignature.class) {
+                if (technologies == null) {
+                    /* Initialize the technology signatures from a Java resource bundle. */
+                    Set<TechnologySignature> table = new TreeSet<TechnologySignature>();
+                    Properties props = jhove2.getConfigInfo().getProperties("TechnologySignatures");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String sig = iter.next();
+                            String tec = props.getProperty(sig);
+                            TechnologySignature tech = new TechnologySignature(sig, tec);
+                            table.add(tech);
+                        }
+                    }
+                    technologies = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -102,7 +108,7 @@ public class TechnologySignature
      * @return Technology, or null if the signature is not a technology signature
      * @throws JHOVE2Exception
      */
-    public static synchronized TechnologySignature getTechnology(String signature, JHOVE2 jhove2)
+    public static TechnologySignature getTechnology(String signature, JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         init(jhove2);
@@ -37,6 +37,7 @@ package org.jhove2.module.format.icc.type;
 import java.io.EOFException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.jhove2.annotation.ReportableProperty;
@@ -65,6 +66,9 @@ public class CurveType
 {
     /** Curve type signature. */
     public static final String SIGNATURE = "curv";
+
+    /** Maximum number of curve values read in a single bulk read. */
+    protected static final int CHUNK_SIZE = 4096;
     
     /** Count of curve values. */
     protected long count;
@@ -155,11 +159,22 @@ public class CurveType
             this.value = new U8Fixed8Number(in);
             consumed += 2;
         }
-        else {
-            for (int i=0; i<this.count; i++) {
-                int sh = input.readUnsignedShort();
-                this.values.add(sh);
-                consumed += 2;
+        else if (this.count > 0L) {
+            /* Read the values in bounded chunks, since the count is taken
+             * from the (possibly damaged) source.  As when the values are
+             * read one at a time, values past EOF are EOF.
+             */
+            int [] chunk = new int[(int) Math.min(this.count, CHUNK_SIZE)];
+            long remaining = this.count;
+            while (remaining > 0L) {
+                int n = (int) Math.min(remaining, chunk.length);
+                int read = input.readUnsignedShorts(chunk, n);
+                Arrays.fill(chunk, read, n, Input.EOF);
+                for (int i=0; i<n; i++) {
+                    this.values.add(chunk[i]);
+                }
+                consumed  += 2L*n;
+                remaining -= n;
             }
         }
           
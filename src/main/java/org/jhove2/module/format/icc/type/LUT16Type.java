@@ -36,6 +36,7 @@ package org.jhove2.module.format.icc.type;
 
 import java.io.EOFException;
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.jhove2.annotation.ReportableProperty;
 import org.jhove2.core.JHOVE2;
@@ -199,41 +200,20 @@ public class LUT16Type
         }
         consumed++;
 
-        /* E00 parameter. */
-        this.e00 = new S15Fixed16Number(input.readSignedInt());
-        consumed += 4;
-
-        /* E01 parameter. */
-        this.e01 = new S15Fixed16Number(input.readSignedInt());
-        consumed += 4;
-
-        /* E02 parameter. */
-        this.e02 = new S15Fixed16Number(input.readSignedInt());
-        consumed += 4;
-
-        /* E10 parameter. */
-        this.e10 = new S15Fixed16Number(input.readSignedInt());
-        consumed += 4;
-
-        /* E11 parameter. */
-        this.e11 = new S15Fixed16Number(input.readSignedInt());
-        consumed += 4;
-
-        /* E12 parameter. */
-        this.e12 = new S15Fixed16Number(input.readSignedInt());
-        consumed += 4;
-
-        /* E20 parameter. */
-        this.e20 = new S15Fixed16Number(input.readSignedInt());
-        consumed += 4;
-
-        /* E21 parameter. */
-        this.e21 = new S15Fixed16Number(input.readSignedInt());
-        consumed += 4;
-
-        /* E22 parameter. */
-        this.e22 = new S15Fixed16Number(input.readSignedInt());
-        consumed += 4;
+        /* E00 through E22 parameters, in row order. */
+        int [] e = new int[9];
+        int read = input.readInts(e, e.length);
+        Arrays.fill(e, read, e.length, Input.EOF);
+        this.e00 = new S15Fixed16Number(e[0]);
+        this.e01 = new S15Fixed16Number(e[1]);
+        this.e02 = new S15Fixed16Number(e[2]);
+        this.e10 = new S15Fixed16Number(e[3]);
+        this.e11 = new S15Fixed16Number(e[4]);
+        this.e12 = new S15Fixed16Number(e[5]);
+        this.e20 = new S15Fixed16Number(e[6]);
+        this.e21 = new S15Fixed16Number(e[7]);
+        this.e22 = new S15Fixed16Number(e[8]);
+        consumed += 36;
         
         /** Number of input table entries. */
         this.numInputTableEntries = input.readUnsignedInt();
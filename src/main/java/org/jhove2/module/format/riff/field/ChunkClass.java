@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.riff.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -49,7 +50,7 @@ public class ChunkClass
     implements Comparable<ChunkClass>
 {
     /** Singleton RIFF chunk form classes. */
-    protected static Set<ChunkClass> classes;
+    protected static volatile Set<ChunkClass> classes;
 
     /** RIFF chunk form identifier. */
     protected String identifier;
@@ -77,20 +78,25 @@ public class ChunkClass
      * @return RIFF chunk class, or null if the identifier is not defined
      * @throws JHOVE2Exception
      */
-    public static synchronized ChunkClass getChunkClass(String identifier, JHOVE2 jhove2)
+    public static ChunkClass getChunkClass(String identifier, JHOVE2 jhove2)
             throws JHOVE2Exception {
         if (classes == null) {
-            /* Initialize the RIFF classes from a Java resource bundle. */
-            classes = new TreeSet<ChunkClass>();
-            Properties props = jhove2.getConfigInfo().getProperties("ChunkClasses");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String id  = iter.next();
-                    String nam = props.getProperty(id);
-                    ChunkClass chunkClass = new ChunkClass(id, nam);
-                    classes.add(chunkClass);
+            synchronized (ChunkClass.class) {
+                if (classes == null) {
+                    /* Initialize the RIFF classes from a Java resource bundle. */
+                    Set<ChunkClass> table = new TreeSet<ChunkClass>();
+                    Properties props = jhove2.getConfigInfo().getProperties("ChunkClasses");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String id  = iter.next();
+                            String nam = props.getProperty(id);
+                            ChunkClass chunkClass = new ChunkClass(id, nam);
+                            table.add(chunkClass);
+                        }
+                    }
+                    classes = Collections.unmodifiableSet(table);
                 }
             }
         }
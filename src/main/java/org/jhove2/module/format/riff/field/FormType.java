@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.riff.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -49,7 +50,7 @@ public class FormType
     implements Comparable<FormType>
 {
     /** Singleton RIFF chunk form types. */
-    protected static Set<FormType> types;
+    protected static volatile Set<FormType> types;
 
     /** RIFF chunk form type. */
     protected String type;
@@ -77,20 +78,25 @@ public class FormType
      * @return RIFF chunk form type, or null if the type is not defined
      * @throws JHOVE2Exception
      */
-    public static synchronized FormType getFormType(String type, JHOVE2 jhove2)
+    public static FormType getFormType(String type, JHOVE2 jhove2)
             throws JHOVE2Exception {
         if (types == null) {
-            /* Initialize the RIFF chunk form types from a Java resource bundle. */
-            types = new TreeSet<FormType>();
-            Properties props = jhove2.getConfigInfo().getProperties("FormTypes");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String typ = iter.next();
-                    String des = props.getProperty(typ);
-                    FormType formType = new FormType(typ, des);
-                    types.add(formType);
+            synchronized (FormType.class) {
+                if (types == null) {
+                    /* Initialize the RIFF chunk form types from a Java resource bundle. */
+                    Set<FormType> table = new TreeSet<FormType>();
+                    Properties props = jhove2.getConfigInfo().getProperties("FormTypes");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String typ = iter.next();
+                            String des = props.getProperty(typ);
+                            FormType formType = new FormType(typ, des);
+                            table.add(formType);
+                        }
+                    }
+                    types = Collections.unmodifiableSet(table);
                 }
             }
         }
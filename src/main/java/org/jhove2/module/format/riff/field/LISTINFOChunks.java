@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.riff.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -49,7 +50,7 @@ public class LISTINFOChunks
 implements Comparable<LISTINFOChunks>
 {
     /** Singleton LIST INFO chunks. */
-    protected static Set<LISTINFOChunks> chunks;
+    protected static volatile Set<LISTINFOChunks> chunks;
 
     /** LIST INFO chunk identifier. */
     protected String identifier;
@@ -77,20 +78,25 @@ implements Comparable<LISTINFOChunks>
      * @return LIST INFO chunk, or null if the type is not defined
      * @throws JHOVE2Exception
      */
-    public static synchronized LISTINFOChunks getLISTINFOChunk(String identifier, JHOVE2 jhove2)
+    public static LISTINFOChunks getLISTINFOChunk(String identifier, JHOVE2 jhove2)
             throws JHOVE2Exception {
         if (chunks == null) {
-            /* Initialize the LIST INFO chunks from a Java resource bundle. */
-            chunks = new TreeSet<LISTINFOChunks>();
-            Properties props = jhove2.getConfigInfo().getProperties("LISTINFOChunks");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String id  = iter.next();
-                    String des = props.getProperty(id);
-                    LISTINFOChunks chunk = new LISTINFOChunks(id, des);
-                    chunks.add(chunk);
+            synchronized (LISTINFOChunks.class) {
+                if (chunks == null) {
+                    /* Initialize the LIST INFO chunks from a Java resource bundle. */
+                    Set<LISTINFOChunks> table = new TreeSet<LISTINFOChunks>();
+                    Properties props = jhove2.getConfigInfo().getProperties("LISTINFOChunks");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String id  = iter.next();
+                            String des = props.getProperty(id);
+                            LISTINFOChunks chunk = new LISTINFOChunks(id, des);
+                            table.add(chunk);
+                        }
+                    }
+                    chunks = Collections.unmodifiableSet(table);
                 }
             }
         }
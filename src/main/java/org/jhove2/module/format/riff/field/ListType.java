@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.riff.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -49,7 +50,7 @@ public class ListType
 implements Comparable<ListType>
 {
     /** Singleton LIST chunk list types. */
-    protected static Set<ListType> types;
+    protected static volatile Set<ListType> types;
 
     /** LIST chunk list type. */
     protected String type;
@@ -77,20 +78,25 @@ implements Comparable<ListType>
      * @return LIST chunk list type, or null if the type is not defined
      * @throws JHOVE2Exception
      */
-    public static synchronized ListType getListType(String type, JHOVE2 jhove2)
+    public static ListType getListType(String type, JHOVE2 jhove2)
             throws JHOVE2Exception {
         if (types == null) {
-            /* Initialize the LIST chunk list types from a Java resource bundle. */
-            types = new TreeSet<ListType>();
-            Properties props = jhove2.getConfigInfo().getProperties("ListTypes");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String typ = iter.next();
-                    String des = props.getProperty(typ);
-                    ListType listType = new ListType(typ, des);
-                    types.add(listType);
+            synchronized (ListType.class) {
+                if (types == null) {
+                    /* Initialize the LIST chunk list types from a Java resource bundle. */
+                    Set<ListType> table = new TreeSet<ListType>();
+                    Properties props = jhove2.getConfigInfo().getProperties("ListTypes");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String typ = iter.next();
+                            String des = props.getProperty(typ);
+                            ListType listType = new ListType(typ, des);
+                            table.add(listType);
+                        }
+                    }
+                    types = Collections.unmodifiableSet(table);
                 }
             }
         }
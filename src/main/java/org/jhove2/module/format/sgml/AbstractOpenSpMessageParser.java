@@ -35,6 +35,7 @@
  */
 package org.jhove2.module.format.sgml;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 
 import org.jhove2.core.JHOVE2;
@@ -62,6 +63,13 @@ public abstract class AbstractOpenSpMessageParser implements
 	@Override
 	public abstract void parseMessageFile(String messageFilePath, JHOVE2 jhove2,
 			Source source, SgmlModule sgm) throws JHOVE2Exception, IOException;
+
+	/* (non-Javadoc)
+	 * @see org.jhove2.module.format.sgml.OpenSpErrMessageParser#parseMessages(java.io.BufferedReader, org.jhove2.core.JHOVE2, org.jhove2.core.source.Source, org.jhove2.module.format.sgml.SgmlModule)
+	 */
+	@Override
+	public abstract void parseMessages(BufferedReader messageReader, JHOVE2 jhove2,
+			Source source, SgmlModule sgm) throws JHOVE2Exception, IOException;
 	/**
 	 * Same as createCodedMessageString(fileName, lineNumber, posNumber, messageText, null, null)
 	 * @param fileName String with SGML or DTD file name
@@ -78,165 +78,169 @@ OpenSpErrMessageParser {
 	@Override
 	public void parseMessageFile(String messageFilePath, JHOVE2 jhove2,
 			Source source, SgmlModule sgm) throws JHOVE2Exception, IOException {
-		BufferedReader onsgmlsOutput = null;
-		try{
-			onsgmlsOutput = new BufferedReader
+		BufferedReader onsgmlsOutput = new BufferedReader
 			(new InputStreamReader(new FileInputStream(messageFilePath), "utf-8"));
-			String tempMessage = null;
+		try {
+			this.parseMessages(onsgmlsOutput, jhove2, source, sgm);
+		}
+		finally {
+			onsgmlsOutput.close();
+		}
+		return;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jhove2.module.format.sgml.AbstractOpenSpMessageParser#parseMessages(java.io.BufferedReader, org.jhove2.core.JHOVE2, org.jhove2.core.source.Source, org.jhove2.module.format.sgml.SgmlModule)
+	 */
+	@Override
+	public void parseMessages(BufferedReader onsgmlsOutput, JHOVE2 jhove2,
+			Source source, SgmlModule sgm) throws JHOVE2Exception, IOException {
+		String tempMessage = null;
 
-			String fileName;
-			String lineNumber; 
-			String posNumber; 
-			String messageText; 
-			String messageLevel; 
-			String messageCode;
+		String fileName;
+		String lineNumber; 
+		String posNumber; 
+		String messageText; 
+		String messageLevel; 
+		String messageCode;
 
-			if (onsgmlsOutput.ready())
-				// read through output to get entity count and text count
-			{
-				while ((tempMessage = onsgmlsOutput.readLine()) != null)	                	
-				{				
-					/**
-				COLON is used as a delimiter, but is also part of paths and of message text
+		// read through output to get entity count and text count
+		while ((tempMessage = onsgmlsOutput.readLine()) != null)	                	
+		{				
+			/**
+		COLON is used as a delimiter, but is also part of paths and of message text
 
-				C:
-				/usr/bin/onsgmls:
-				C:                                                          2
-				/sgmlModule/examples/dir01/aipspacebeforedocytpe1_1.sgm:    3
-				17:                                                         4
-				73:                                                         5
-				1844095592.338:                                             6
-				W:                                                          7
-				cannot generate system identifier for general entity "uml"  8
+		C:
+		/usr/bin/onsgmls:
+		C:                                                          2
+		/sgmlModule/examples/dir01/aipspacebeforedocytpe1_1.sgm:    3
+		17:                                                         4
+		73:                                                         5
+		1844095592.338:                                             6
+		W:                                                          7
+		cannot generate system identifier for general entity "uml"  8
 
-				C:
-				/usr/bin/onsgmls:
-				C:                                                           2
-				/sgmlModule/examples/dir01/aipspacebeforedocytpe1_1.sgm:     3
-				827:                                                         4
-				231:                                                         5
-				relevant clauses:                                            6
-				ISO 8879:                                                    7
-				1986 11.2.4p11                                               8
+		C:
+		/usr/bin/onsgmls:
+		C:                                                           2
+		/sgmlModule/examples/dir01/aipspacebeforedocytpe1_1.sgm:     3
+		827:                                                         4
+		231:                                                         5
+		relevant clauses:                                            6
+		ISO 8879:                                                    7
+		1986 11.2.4p11                                               8
 
-				C:
-				/usr/bin/onsgmls:
-				/sgmlModule/examples/dir01/aipspacebeforedocytpe1_1.sgm:    2
-				17:                                                         3
-				73:                                                         4
-				1844095592.338:                                             5
-				W:                                                          6
-				cannot generate system identifier for general entity "uml"  7
+		C:
+		/usr/bin/onsgmls:
+		/sgmlModule/examples/dir01/aipspacebeforedocytpe1_1.sgm:    2
+		17:                                                         3
+		73:                                                         4
+		1844095592.338:                                             5
+		W:                                                          6
+		cannot generate system identifier for general entity "uml"  7
 
-				/usr/bin/onsgmls:                                           0
-				C:                                                          1
-				/sgmlModule/examples/dir01/aipspacebeforedocytpe1_1.sgm:    2
-				17:                                                         3
-				73:                                                         4
-				1844095592.338:                                             5
-				W:                                                          6
-				cannot generate system identifier for general entity "uml"  7
+		/usr/bin/onsgmls:                                           0
+		C:                                                          1
+		/sgmlModule/examples/dir01/aipspacebeforedocytpe1_1.sgm:    2
+		17:                                                         3
+		73:                                                         4
+		1844095592.338:                                             5
+		W:                                                          6
+		cannot generate system identifier for general entity "uml"  7
 
 
-				/usr/bin/onsgmls:
-				/sgmlModule/examples/dir01/aipspacebeforedocytpe1_1.sgm:    1
-				17:                                                         2
-				73:                                                         3
-				1844095592.338:                                             4
-				W:                                                          5
-				cannot generate system identifier for general entity "uml"  6
+		/usr/bin/onsgmls:
+		/sgmlModule/examples/dir01/aipspacebeforedocytpe1_1.sgm:    1
+		17:                                                         2
+		73:                                                         3
+		1844095592.338:                                             4
+		W:                                                          5
+		cannot generate system identifier for general entity "uml"  6
 
-				/usr/bin/onsgmls:
-				/cygdrive/c/svn_repository/portico-docs/data/RequiredFiles/requiredFiles/Elsevier_Full_Length_Article_DTD_4.3.1/art431.dtd:  2
-				827:                                                        2
-				231:                                                        3
-				relevant clauses:                                           4
-				ISO 8879:                                                   5
-				1986 11.2.4p11                                              6
-					 */	
-					fileName = "";
-					lineNumber = "";
-					posNumber = "";
-					messageText = "";
-					messageLevel = "";
-					messageCode = "";
-					String[] cmdInfo = tempMessage.split(":");
-					int cmdInfoLngth = cmdInfo.length;
-					switch (cmdInfoLngth){
-					case 9:
-						if (AbstractOpenSpMessageParser.isMessageCode(cmdInfo[7])){
-							messageLevel = cmdInfo[7];
-							fileName = cmdInfo[2].concat(cmdInfo[3]);
-							lineNumber = cmdInfo[4];
-							posNumber = cmdInfo[5];
-							messageText = cmdInfo[8];
-							messageCode = cmdInfo[6];
-							String messageString = AbstractOpenSpMessageParser.createCodedMessageString
-							(fileName, lineNumber, posNumber, messageText, messageLevel, messageCode);
-							this.openSpMessages.add(messageString);
-							this.updateMessageCounters(messageLevel);
-						}
-						else {
-							this.openSpMessages.add(tempMessage);
-						}
-						break;
-					case 8:
-						if (AbstractOpenSpMessageParser.isMessageCode(cmdInfo[6])){
-							messageLevel = cmdInfo[6];
-							if (cmdInfo[1].contains("/")){
-								fileName = cmdInfo[2];
-							}
-							else {
-								fileName = cmdInfo[1].concat(cmdInfo[2]);
-							}
+		/usr/bin/onsgmls:
+		/cygdrive/c/svn_repository/portico-docs/data/RequiredFiles/requiredFiles/Elsevier_Full_Length_Article_DTD_4.3.1/art431.dtd:  2
+		827:                                                        2
+		231:                                                        3
+		relevant clauses:                                           4
+		ISO 8879:                                                   5
+		1986 11.2.4p11                                              6
+			 */	
+			fileName = "";
+			lineNumber = "";
+			posNumber = "";
+			messageText = "";
+			messageLevel = "";
+			messageCode = "";
+			String[] cmdInfo = tempMessage.split(":");
+			int cmdInfoLngth = cmdInfo.length;
+			switch (cmdInfoLngth){
+			case 9:
+				if (AbstractOpenSpMessageParser.isMessageCode(cmdInfo[7])){
+					messageLevel = cmdInfo[7];
+					fileName = cmdInfo[2].concat(cmdInfo[3]);
+					lineNumber = cmdInfo[4];
+					posNumber = cmdInfo[5];
+					messageText = cmdInfo[8];
+					messageCode = cmdInfo[6];
+					String messageString = AbstractOpenSpMessageParser.createCodedMessageString
+					(fileName, lineNumber, posNumber, messageText, messageLevel, messageCode);
+					this.openSpMessages.add(messageString);
+					this.updateMessageCounters(messageLevel);
+				}
+				else {
+					this.openSpMessages.add(tempMessage);
+				}
+				break;
+			case 8:
+				if (AbstractOpenSpMessageParser.isMessageCode(cmdInfo[6])){
+					messageLevel = cmdInfo[6];
+					if (cmdInfo[1].contains("/")){
+						fileName = cmdInfo[2];
+					}
+					else {
+						fileName = cmdInfo[1].concat(cmdInfo[2]);
+					}
 
-							lineNumber = cmdInfo[3];
-							posNumber = cmdInfo[4];
-							messageText = cmdInfo[7];
-							messageCode = cmdInfo[5];
-							String messageString = AbstractOpenSpMessageParser.createCodedMessageString
-							(fileName, lineNumber, posNumber, messageText, messageLevel, messageCode);
-							this.openSpMessages.add(messageString);
-							this.updateMessageCounters(messageLevel);
-						}
-						else {
-							this.openSpMessages.add(tempMessage);
-						}
-						break;
-					case 7:
-						if (AbstractOpenSpMessageParser.isMessageCode(cmdInfo[5])){
-							messageLevel = cmdInfo[5];
-							fileName = cmdInfo[1];
-							lineNumber = cmdInfo[2];
-							posNumber = cmdInfo[3];
-							messageText = cmdInfo[6];
-							messageCode = cmdInfo[4];
-							String messageString = AbstractOpenSpMessageParser.createCodedMessageString
-							(fileName, lineNumber, posNumber, messageText, messageLevel, messageCode);
-							this.openSpMessages.add(messageString);
-							this.updateMessageCounters(messageLevel);
-						}
-						else {
-							this.openSpMessages.add(tempMessage);
-						}
-						break;					
-					default:
-						this.openSpMessages.add(tempMessage);
-						break;
-					}// end switch
-					totMessageCount++;
-				}// end while
-			}// end if (onsgmlsOutput.ready())
-			if (sgm.getDocumentProperties()==null){
-				sgm.setDocumentProperties(new SgmlDocumentProperties());
-			}
-			this.extractDocProperties(sgm.getDocumentProperties());
-		}
-		finally {
-			if (onsgmlsOutput != null){
-				onsgmlsOutput.close();
-			}
+					lineNumber = cmdInfo[3];
+					posNumber = cmdInfo[4];
+					messageText = cmdInfo[7];
+					messageCode = cmdInfo[5];
+					String messageString = AbstractOpenSpMessageParser.createCodedMessageString
+					(fileName, lineNumber, posNumber, messageText, messageLevel, messageCode);
+					this.openSpMessages.add(messageString);
+					this.updateMessageCounters(messageLevel);
+				}
+				else {
+					this.openSpMessages.add(tempMessage);
+				}
+				break;
+			case 7:
+				if (AbstractOpenSpMessageParser.isMessageCode(cmdInfo[5])){
+					messageLevel = cmdInfo[5];
+					fileName = cmdInfo[1];
+					lineNumber = cmdInfo[2];
+					posNumber = cmdInfo[3];
+					messageText = cmdInfo[6];
+					messageCode = cmdInfo[4];
+					String messageString = AbstractOpenSpMessageParser.createCodedMessageString
+					(fileName, lineNumber, posNumber, messageText, messageLevel, messageCode);
+					this.openSpMessages.add(messageString);
+					this.updateMessageCounters(messageLevel);
+				}
+				else {
+					this.openSpMessages.add(tempMessage);
+				}
+				break;					
+			default:
+				this.openSpMessages.add(tempMessage);
+				break;
+			}// end switch
+			totMessageCount++;
+		}// end while
+		if (sgm.getDocumentProperties()==null){
+			sgm.setDocumentProperties(new SgmlDocumentProperties());
 		}
+		this.extractDocProperties(sgm.getDocumentProperties());
 		return;
 	}
 
@@ -137,150 +137,153 @@ public class EsisFileParser implements OnsgmlsOutputParser {
 	@Override
 	public SgmlDocumentProperties parseEsisFile(String esisPath, JHOVE2 jhove2,
 			Source source, SgmlModule sgm) throws JHOVE2Exception, IOException {
-		BufferedReader onsgmlsOutput = null;		
+		BufferedReader onsgmlsOutput = new BufferedReader
+			(new InputStreamReader(new FileInputStream(esisPath), "utf-8"));
+		try {
+			return this.parseEsis(onsgmlsOutput, jhove2, source, sgm);
+		}
+		finally {
+			onsgmlsOutput.close();
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jhove2.module.format.sgml.OnsgmlsOutputParser#parseEsis(java.io.BufferedReader, org.jhove2.core.JHOVE2, org.jhove2.core.source.Source, org.jhove2.module.format.sgml.SgmlModule)
+	 */
+	@Override
+	public SgmlDocumentProperties parseEsis(BufferedReader onsgmlsOutput, JHOVE2 jhove2,
+			Source source, SgmlModule sgm) throws JHOVE2Exception, IOException {
 		String tempMessage = null;
 		boolean foundCInOutput = false;
 		boolean foundDataAfterCInInput = false;
-		try {
-			onsgmlsOutput = new BufferedReader
-			(new InputStreamReader(new FileInputStream(esisPath), "utf-8"));
-			if (onsgmlsOutput.ready())
-				// read through output to get counts, start element, sdata entities, entity references
+		// read through output to get counts, start element, sdata entities, entity references
+		while ((tempMessage = onsgmlsOutput.readLine()) != null)	                	
+		{
+			if (foundCInOutput){
+				//readLine() does not return line-termination characters
+				boolean isEmptyLine = (tempMessage.length()==0);
+				if (!isEmptyLine){
+					esisParseErrors.add(OnsgmlsOutputParser.ESISERR + "Content found Conforming File Message");
+					foundDataAfterCInInput = true;
+					continue;
+				}
+				continue;
+			}
+			if (tempMessage.startsWith(ACMD))
 			{
-				while ((tempMessage = onsgmlsOutput.readLine()) != null)	                	
-				{
-					if (foundCInOutput){
-						//readLine() does not return line-termination characters
-						boolean isEmptyLine = (tempMessage.length()==0);
-						if (!isEmptyLine){
-							esisParseErrors.add(OnsgmlsOutputParser.ESISERR + "Content found Conforming File Message");
-							foundDataAfterCInInput = true;
-							continue;
-						}
-						continue;
-					}
-					if (tempMessage.startsWith(ACMD))
-					{
-						elementAttributeCount++;
-						this.checkForSdataEntities(tempMessage);
-					}
-					else if (tempMessage.startsWith(DCMD))
-					{
-						dataAttrCount++;
-					}
-					else if (tempMessage.startsWith(LACMD))
-					{
-						linkAttrCount++; 
-					}
-					else if (tempMessage.startsWith(LEFTPAREN))
-					{
-						String elementName = tempMessage.substring(1);
-						if (elementCount==0){
-							if(tempMessage.length()>0){							
-								rootElementName = elementName;
-							}
-						}
-						elementCount++;
-						this.elementNames.add(elementName);
-					}
-					else if (tempMessage.startsWith(DASH))
-					{
-						dataCount++;
-						this.checkForSdataEntities(tempMessage);
-					}
-					else if (tempMessage.startsWith(RIGHTPAREN))
-					{
-						continue;
+				elementAttributeCount++;
+				this.checkForSdataEntities(tempMessage);
+			}
+			else if (tempMessage.startsWith(DCMD))
+			{
+				dataAttrCount++;
+			}
+			else if (tempMessage.startsWith(LACMD))
+			{
+				linkAttrCount++; 
+			}
+			else if (tempMessage.startsWith(LEFTPAREN))
+			{
+				String elementName = tempMessage.substring(1);
+				if (elementCount==0){
+					if(tempMessage.length()>0){							
+						rootElementName = elementName;
 					}
-					else if (tempMessage.startsWith(AMP))
-					{
-						entrefCount++;
-						if(tempMessage.length()>0){
-							String entRef = tempMessage.substring(1);
-							entRefNames.add(entRef);
-						}
+				}
+				elementCount++;
+				this.elementNames.add(elementName);
+			}
+			else if (tempMessage.startsWith(DASH))
+			{
+				dataCount++;
+				this.checkForSdataEntities(tempMessage);
+			}
+			else if (tempMessage.startsWith(RIGHTPAREN))
+			{
+				continue;
+			}
+			else if (tempMessage.startsWith(AMP))
+			{
+				entrefCount++;
+				if(tempMessage.length()>0){
+					String entRef = tempMessage.substring(1);
+					entRefNames.add(entRef);
+				}
 
-					}
-					else if (tempMessage.startsWith(PI))
-					{
-						piCount++;
-					}
-					else if (tempMessage.startsWith(NCMD))
-					{
-						notatDefCount++;
-					}
-					else if (tempMessage.startsWith(ECMD))
-					{
-						extDataEntCount++;
-					}
-					else if (tempMessage.startsWith(ICMD))
-					{
-						intDataEntCount++;
-					}
-					else if (tempMessage.startsWith(SCMD))
-					{
-						subDocEntityDefCount++;
-					}
-					else if (tempMessage.startsWith(TCMD))
-					{
-						extTextEntCount++;
-					}
-					else if (tempMessage.startsWith(LSCMD))
-					{
-						sysidsCount++; 
-					}
-					else if (tempMessage.startsWith(PCMD))
-					{
-						publicIdCount++; 
-					}
-					else if (tempMessage.startsWith(FCMD))
-					{
-						fileNamesCount++; 
-					}
-					else if (tempMessage.startsWith(LEFTBRACE))
-					{
-						subDocCommandCount++;
-					}
-					else if (tempMessage.startsWith(RIGHTBRACE))
-					{
-						continue;
-					}
-					else if (tempMessage.startsWith(LCMD))
-					{
-						continue;
-					}
-					else if (tempMessage.startsWith(POUND))
-					{
-						appInfoCount++;
-					}
-					else if (tempMessage.startsWith(CCMD))
-					{
-						foundCInOutput = true;
-					}
-					else if (tempMessage.startsWith(LCICMD))
-					{
-						includedSubElementsCount++;
-					}
-					else if (tempMessage.startsWith(LECMD))
-					{
-						emptyElementsCount++;
-					}
-					else if (tempMessage.startsWith(UNDER))
-					{
-						commentsCount++;
-					}
-					else if (tempMessage.startsWith(OCMD))
-					{
-						omitCommandCount++;
-					}
-				}// end while		
-			}// end if (onsgmlsOutput.ready())
-		}// end try
-		finally{
-			if (onsgmlsOutput != null){
-				onsgmlsOutput.close();
 			}
-		}
+			else if (tempMessage.startsWith(PI))
+			{
+				piCount++;
+			}
+			else if (tempMessage.startsWith(NCMD))
+			{
+				notatDefCount++;
+			}
+			else if (tempMessage.startsWith(ECMD))
+			{
+				extDataEntCount++;
+			}
+			else if (tempMessage.startsWith(ICMD))
+			{
+				intDataEntCount++;
+			}
+			else if (tempMessage.startsWith(SCMD))
+			{
+				subDocEntityDefCount++;
+			}
+			else if (tempMessage.startsWith(TCMD))
+			{
+				extTextEntCount++;
+			}
+			else if (tempMessage.startsWith(LSCMD))
+			{
+				sysidsCount++; 
+			}
+			else if (tempMessage.startsWith(PCMD))
+			{
+				publicIdCount++; 
+			}
+			else if (tempMessage.startsWith(FCMD))
+			{
+				fileNamesCount++; 
+			}
+			else if (tempMessage.startsWith(LEFTBRACE))
+			{
+				subDocCommandCount++;
+			}
+			else if (tempMessage.startsWith(RIGHTBRACE))
+			{
+				continue;
+			}
+			else if (tempMessage.startsWith(LCMD))
+			{
+				continue;
+			}
+			else if (tempMessage.startsWith(POUND))
+			{
+				appInfoCount++;
+			}
+			else if (tempMessage.startsWith(CCMD))
+			{
+				foundCInOutput = true;
+			}
+			else if (tempMessage.startsWith(LCICMD))
+			{
+				includedSubElementsCount++;
+			}
+			else if (tempMessage.startsWith(LECMD))
+			{
+				emptyElementsCount++;
+			}
+			else if (tempMessage.startsWith(UNDER))
+			{
+				commentsCount++;
+			}
+			else if (tempMessage.startsWith(OCMD))
+			{
+				omitCommandCount++;
+			}
+		}// end while		
 		if (foundCInOutput && !foundDataAfterCInInput){
 			isSgmlValid = true;
 		}
@@ -143,8 +143,12 @@ public class OnsgmlsOptions implements OpenSpOptions {
 			if (this.filepathFilter != null){
 				filteredCatalogPath = this.filepathFilter.filter(filteredCatalogPath);
 			}
-			opts.append(OpenSpOptions.CATALOGOPT);
-			opts.append(filteredCatalogPath);
+			String catalogOpt = OpenSpOptions.CATALOGOPT.concat(filteredCatalogPath);
+			if (catalogOpt.indexOf(' ') >= 0){
+				// quote, so that a path with spaces is passed as one argument
+				catalogOpt = "\"".concat(catalogOpt).concat("\"");
+			}
+			opts.append(catalogOpt);
 			opts.append(" ");
 		}		
 		return opts.toString();
@@ -35,6 +35,7 @@
  */
 package org.jhove2.module.format.sgml;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 
 import org.jhove2.core.JHOVE2;
@@ -81,4 +82,19 @@ public interface OnsgmlsOutputParser {
 	public SgmlDocumentProperties parseEsisFile(String esisPath, JHOVE2 jhove2,
 			Source source, SgmlModule sgm) throws JHOVE2Exception, IOException;
 
+	/**
+	 * Parses ESIS output read directly from onsgmls, for instance from the
+	 * standard output of the running process.  The reader is read to its
+	 * end but is not closed.
+	 * @param esisReader reader positioned at start of onsgmls ESIS output
+	 * @param sgm SgmlModule to which messages may be attached
+	 * @param JHOVE2 jhove2 object with ConfigInfo
+	 * @param Source object to which messages may be attached
+	 * @return SgmlDocumentProperties extracted properties
+	 * @throws JHOVE2Exception
+	 * @throws IOException 
+	 */
+	public SgmlDocumentProperties parseEsis(BufferedReader esisReader, JHOVE2 jhove2,
+			Source source, SgmlModule sgm) throws JHOVE2Exception, IOException;
+
 }
\ No newline at end of file
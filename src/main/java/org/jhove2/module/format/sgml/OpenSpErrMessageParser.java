@@ -35,6 +35,7 @@
 */
 package org.jhove2.module.format.sgml;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 
 import org.jhove2.core.JHOVE2;
@@ -68,4 +69,18 @@ public interface OpenSpErrMessageParser {
 	public void parseMessageFile(String messageFilePath, JHOVE2 jhove2,
 			Source source, SgmlModule sgm) throws JHOVE2Exception, IOException;
 
+	/**
+	 * Parses OpenSP messages read directly from the utility, for instance
+	 * from the standard error of the running process.  The reader is read
+	 * to its end but is not closed.
+	 * @param messageReader reader positioned at start of OpenSP messages
+	 * @param sgm SgmlModule to which messages can be attached
+	 * @param JHOVE2 jhove2 object with ConfigInfo
+	 * @param Source object to which messages may be attached
+	 * @throws JHOVE2Exception
+	 * @throws IOException 
+	 */
+	public void parseMessages(BufferedReader messageReader, JHOVE2 jhove2,
+			Source source, SgmlModule sgm) throws JHOVE2Exception, IOException;
+
 }
\ No newline at end of file
@@ -36,10 +36,15 @@
 package org.jhove2.module.format.sgml;
 
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.jhove2.core.JHOVE2Exception;
 import org.jhove2.core.Message;
@@ -52,6 +57,8 @@ import org.jhove2.util.externalprocess.ExternalProcessHandler;
 import org.jhove2.util.externalprocess.ExternalProcessUtils;
 import org.jhove2.util.externalprocess.FilepathFilter;
 import org.jhove2.util.externalprocess.NoSuchShellEnvException;
+import org.jhove2.util.externalprocess.ProcessBuilderHandler;
+import org.jhove2.util.externalprocess.ProcessOutputHandler;
 
 
 /**
@@ -68,6 +75,11 @@ import org.jhove2.util.externalprocess.NoSuchShellEnvException;
  * is configured to ask for doctype, then we run the onsgml "normalization"
  * utility, and extract the doctype from the first line of its output.
  * 
+ * If the process handler is a {@link ProcessBuilderHandler}, the utilities
+ * are run without a shell or temporary files: their output is parsed as it
+ * is produced, and the normalization pass runs concurrently with the
+ * onsgmls pass.
+ * 
  * @author smorrissey
  *
  */
@@ -103,6 +115,12 @@ public class OpenSpWrapper implements SgmlParser {
 	protected SgmlNormParser doctypeParser;
 	/** list of paths to any temporary files created by OpenSp to be deleted if JHOVE2 configured to delete temporary files */
 	protected List<String> tempFilePaths = new ArrayList<String>();
+	/** sgmlnorm pass running concurrently with the onsgmls pass, when output is streamed */
+	protected Future<Integer> normPass;
+
+	/** Module collecting the results of the background sgmlnorm pass, confined
+	 *  to that pass until it has been waited for */
+	protected SgmlModule normResults;
 
 	/**
 	 * Invokes onsmgls processor to parse and validate the SGML
@@ -128,6 +146,14 @@ public class OpenSpWrapper implements SgmlParser {
 		}
 		props.getSgmlParserConfigSettings().add("OpenSp onsgmls Options:  ".concat(esisCommandParms));
 
+		if (this.processHandler instanceof ProcessBuilderHandler){
+			ProcessBuilderHandler handler = (ProcessBuilderHandler) this.processHandler;
+			if (sgm.isShouldFindDoctype()){
+				this.normPass = this.startNormPass(handler, jhove2, source, sgm);
+			}
+			this.streamEsis(handler, jhove2, source, esisCommandParms, sgm);
+			return sgm.getDocumentProperties();
+		}
 		String [] onsgmlOutputs = 
 			this.parseSgmlFile(jhove2, source, ESIS_SUFFIX, this.onsgmlsPath, esisCommandParms, sgm);
 		String esisFilePath = onsgmlOutputs[0];
@@ -202,6 +228,16 @@ public class OpenSpWrapper implements SgmlParser {
 		}
 		props.getSgmlParserConfigSettings().add("OpenSp sgmlnorm Options:  ".concat(normOptions));
 
+		if (this.processHandler instanceof ProcessBuilderHandler){
+			if (this.normPass == null){
+				this.normPass = this.startNormPass(
+						(ProcessBuilderHandler) this.processHandler, jhove2, source, sgm);
+			}
+			if (this.normPass != null){
+				this.awaitNormPass(jhove2, sgm);
+			}
+			return;
+		}
 		String [] normOutputs = 
 			this.parseSgmlFile(jhove2, source, NORM_SUFFIX, this.sgmlnormPath, normOptions, sgm);
 		String normOutPath = normOutputs[0];
@@ -233,6 +269,14 @@ public class OpenSpWrapper implements SgmlParser {
 
 	@Override
 	public void cleanUp() throws JHOVE2Exception {
+		if (this.normPass != null){
+			try {
+				this.normPass.get();
+			} catch (Exception e){
+				// result of an unused doctype pass is of no interest
+			}
+			this.normPass = null;
+		}
 		this.getOnsgmlsOptions().setFilepathFilter(null);
 		this.setOnsgmlsOptions(null);
 		this.getSgmlnormOptions().setFilepathFilter(null);
@@ -475,6 +519,275 @@ public class OpenSpWrapper implements SgmlParser {
 		return onsgmlOutputs;
 	}
 
+	/**
+	 * Run onsgmls on the SGML file, parsing its ESIS output (standard output)
+	 * and its messages (standard error) as they are produced.  Each output is
+	 * parsed into its own scratch module, since the two are read on different
+	 * threads; their properties are merged into the SGML module once onsgmls
+	 * has completed.
+	 * @param handler ProcessBuilderHandler to run onsgmls
+	 * @param jhove2 Framework with configuration information
+	 * @param source Source to be parsed
+	 * @param commandParms string containing parameters for onsgmls command
+	 * @param sgmlModule sgml Module to which messages can be attached
+	 * @return true if onsgmls ran and its output was parsed, else false
+	 * @throws JHOVE2Exception
+	 */
+	protected boolean streamEsis(ProcessBuilderHandler handler, final JHOVE2 jhove2,
+			final Source source, String commandParms, final SgmlModule sgmlModule)
+	throws JHOVE2Exception {
+		final OnsgmlsOutputParser esisParser = this.esisFileParser;
+		final OpenSpErrMessageParser errParser = this.messageParser;
+		final SgmlModule esisResults = new SgmlModule();
+		final SgmlModule messageResults = new SgmlModule();
+		ProcessOutputHandler esisHandler = new ProcessOutputHandler(){
+			@Override
+			public void handle(InputStream output) throws IOException, JHOVE2Exception {
+				esisParser.parseEsis(new BufferedReader(new InputStreamReader(output, "utf-8")),
+						jhove2, source, esisResults);
+			}
+		};
+		ProcessOutputHandler messageHandler = new ProcessOutputHandler(){
+			@Override
+			public void handle(InputStream output) throws IOException, JHOVE2Exception {
+				errParser.parseMessages(new BufferedReader(new InputStreamReader(output, "utf-8")),
+						jhove2, source, messageResults);
+			}
+		};
+		List<String> command = this.getCommand(jhove2, source, this.onsgmlsPath, commandParms, sgmlModule);
+		if (command == null){
+			return false;
+		}
+		try {
+			handler.execute(command, esisHandler, messageHandler);
+		} catch (JHOVE2Exception je){
+			this.addExternalProcessException(jhove2, command, je, sgmlModule);
+			return false;
+		}
+		this.mergeEsisResults(sgmlModule.getDocumentProperties(),
+				esisResults.getDocumentProperties());
+		this.mergeMessageResults(sgmlModule.getDocumentProperties(),
+				messageResults.getDocumentProperties());
+		return true;
+	}
+
+	/**
+	 * Start sgmlnorm on the SGML file in the background, parsing its output
+	 * (standard output) as it is produced into a scratch module, which is merged
+	 * into the SGML module by {@link #awaitNormPass(JHOVE2, SgmlModule)}.  OpenSp
+	 * messages (standard error) from sgmlnorm are discarded.
+	 * @param handler ProcessBuilderHandler to run sgmlnorm
+	 * @param jhove2 Framework with configuration information
+	 * @param source Source to be parsed
+	 * @param sgmlModule sgml Module to which messages can be attached
+	 * @return Future for sgmlnorm pass, or null if command could not be constructed
+	 * @throws JHOVE2Exception
+	 */
+	protected Future<Integer> startNormPass(ProcessBuilderHandler handler, final JHOVE2 jhove2,
+			final Source source, final SgmlModule sgmlModule)
+	throws JHOVE2Exception {
+		final SgmlNormParser normParser = this.doctypeParser;
+		final SgmlModule results = new SgmlModule();
+		ProcessOutputHandler normHandler = new ProcessOutputHandler(){
+			@Override
+			public void handle(InputStream output) throws IOException, JHOVE2Exception {
+				normParser.parseNorm(new BufferedReader(new InputStreamReader(output, "utf-8")),
+						jhove2, source, results);
+			}
+		};
+		List<String> command = this.getCommand(jhove2, source, this.sgmlnormPath, 
+				this.getSgmlnormOptions().getOptionString(), sgmlModule);
+		if (command == null){
+			return null;
+		}
+		this.normResults = results;
+		return handler.submit(command, normHandler, null);
+	}
+
+	/**
+	 * Wait for the background sgmlnorm pass to complete, and merge its results
+	 * into the SGML module
+	 * @param jhove2 Framework with configuration information
+	 * @param sgmlModule sgml Module to which messages can be attached
+	 * @throws JHOVE2Exception
+	 */
+	protected void awaitNormPass(JHOVE2 jhove2, SgmlModule sgmlModule)
+	throws JHOVE2Exception {
+		Future<Integer> pass = this.normPass;
+		SgmlModule results = this.normResults;
+		this.normPass = null;
+		this.normResults = null;
+		try {
+			pass.get();
+			this.mergeNormResults(sgmlModule.getDocumentProperties(),
+					results.getDocumentProperties());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JHOVE2Exception("Interrupted waiting for sgmlnorm", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			JHOVE2Exception je = (cause instanceof JHOVE2Exception) ?
+					(JHOVE2Exception) cause : new JHOVE2Exception(cause.getMessage(), cause);
+			List<String> command = new ArrayList<String>();
+			command.add(this.sgmlnormPath);
+			this.addExternalProcessException(jhove2, command, je, sgmlModule);
+		}
+	}
+
+	/**
+	 * Merge the properties parsed from onsgmls ESIS output into the document properties
+	 * @param props document properties of the SGML module
+	 * @param esisProps properties parsed from the ESIS output, or null if none
+	 */
+	protected void mergeEsisResults(SgmlDocumentProperties props,
+			SgmlDocumentProperties esisProps) {
+		if (esisProps == null){
+			return;
+		}
+		if (esisProps.getParseErrors() != null){
+			if (props.getParseErrors() == null){
+				props.setParseErrors(new ArrayList<String>());
+			}
+			props.getParseErrors().addAll(esisProps.getParseErrors());
+		}
+		props.setAppInfoCount(esisProps.getAppInfoCount());
+		props.setCommentsCount(esisProps.getCommentsCount());
+		props.setDataAttrCount(esisProps.getDataAttrCount());
+		props.setDataCount(esisProps.getDataCount());
+		props.setElementAttributeCount(esisProps.getElementAttributeCount());
+		props.setElementCount(esisProps.getElementCount());
+		props.setElementNames(esisProps.getElementNames());
+		props.setEmptyElementsCount(esisProps.getEmptyElementsCount());
+		props.setEntRefNames(esisProps.getEntRefNames());
+		props.setEntityFileNamesCount(esisProps.getEntityFileNamesCount());
+		props.setEntrefCount(esisProps.getEntrefCount());
+		props.setExtDataEntCount(esisProps.getExtDataEntCount());
+		props.setExtTextEntCount(esisProps.getExtTextEntCount());
+		props.setIncludedSubElementsCount(esisProps.getIncludedSubElementsCount());
+		props.setIntDataEntCount(esisProps.getIntDataEntCount());
+		props.setLinkAttrCount(esisProps.getLinkAttrCount());
+		props.setNotatDefCount(esisProps.getNotatDefCount());
+		props.setOmitCommandCount(esisProps.getOmitCommandCount());
+		props.setProcessingInstructionsCount(esisProps.getProcessingInstructionsCount());
+		props.setPublicIdCount(esisProps.getPublicIdCount());
+		props.setRootElementName(esisProps.getRootElementName());
+		props.setsDataCount(esisProps.getSDataCount());
+		props.setSdataNames(esisProps.getSdataNames());
+		props.setSubDocCommandCount(esisProps.getSubDocCommandCount());
+		props.setSubDocEntityDefCount(esisProps.subDocEntityDefCount());
+		props.setSysidsCount(esisProps.getSysidsCount());
+		props.setSgmlValid(esisProps.isSgmlValid());
+	}
+
+	/**
+	 * Merge the message counts and messages parsed from onsgmls standard error
+	 * into the document properties
+	 * @param props document properties of the SGML module
+	 * @param messageProps properties parsed from the messages, or null if none
+	 */
+	protected void mergeMessageResults(SgmlDocumentProperties props,
+			SgmlDocumentProperties messageProps) {
+		if (messageProps == null){
+			return;
+		}
+		props.setErrorLevelMessageCount(messageProps.getErrorLevelMessageCount());
+		props.setWarningLevelMessageCount(messageProps.getWarningLevelMessageCount());
+		props.setInfoLevelMessageCount(messageProps.getInfoLevelMessageCount());
+		props.setQnameLevelMessageCount(messageProps.getQnameLevelMessageCount());
+		props.setXrefLevelMessageCount(messageProps.getXrefLevelMessageCount());
+		props.setTotMessageCount(messageProps.getTotMessageCount());
+		props.setSgmlParserMessages(messageProps.getSgmlParserMessages());
+	}
+
+	/**
+	 * Merge the DOCTYPE properties parsed from sgmlnorm output into the document properties
+	 * @param props document properties of the SGML module
+	 * @param normProps properties parsed from the sgmlnorm output, or null if none
+	 */
+	protected void mergeNormResults(SgmlDocumentProperties props,
+			SgmlDocumentProperties normProps) {
+		if (normProps == null){
+			return;
+		}
+		props.setFoundDoctype(normProps.getDocTypeFound());
+		props.setPublicIdentifier(normProps.getPublicIdentifier());
+		props.setFoundPubid(normProps.getPublicIdentifierFound());
+		props.setSystemIdentifier(normProps.getSystemIdentifier());
+		props.setFoundSysid(normProps.getSystemIdentifierFound());
+	}
+
+	/**
+	 * Construct command and arguments to run an OpenSp utility without a shell
+	 * @param jhove2 Framework with configuration information
+	 * @param source Source to be parsed
+	 * @param openSpCommand  String containing full path to OpenSp command
+	 * @param commandParms string containing parameters for OpenSp command
+	 * @param sgmlModule sgml Module to which messages can be attached
+	 * @return command and arguments, or null if path to SGML source could not be determined
+	 * @throws JHOVE2Exception
+	 */
+	protected List<String> getCommand(JHOVE2 jhove2, Source source, String openSpCommand,
+			String commandParms, SgmlModule sgmlModule)
+	throws JHOVE2Exception {
+		String sgmFilePath = null;
+		try {
+			sgmFilePath = source.getFile().getCanonicalPath();
+			if (this.filepathFilter != null){
+				sgmFilePath = this.filepathFilter.filter(sgmFilePath);
+			}
+		} catch (IOException e) {
+			String eMessage = e.getLocalizedMessage();
+			if (eMessage==null){
+				eMessage = "";
+			}
+			Object[]messageArgs = new Object[]{sgmFilePath, eMessage};
+			Message message = new Message(
+					Severity.ERROR,
+					Context.PROCESS,
+					"org.jhove2.module.format.sgml.OpenSpWrapper.IOExceptionForSGMLSourcePath",
+					messageArgs,
+					jhove2.getConfigInfo());
+			sgmlModule.getSgmlParserErrorMessages().add(message);
+			return null;
+		}
+		List<String> command = new ArrayList<String>();
+		command.add(openSpCommand);
+		command.addAll(ProcessBuilderHandler.tokenize(commandParms));
+		command.add(sgmFilePath);
+		return command;
+	}
+
+	/**
+	 * Attach message for exception thrown running external process to module
+	 * @param jhove2 Framework with configuration information
+	 * @param command command that was run
+	 * @param je exception
+	 * @param sgmlModule sgml Module to which message is attached
+	 * @throws JHOVE2Exception
+	 */
+	protected void addExternalProcessException(JHOVE2 jhove2, List<String> command,
+			JHOVE2Exception je, SgmlModule sgmlModule)
+	throws JHOVE2Exception {
+		Throwable cause = (je.getCause() != null) ? je.getCause() : je;
+		String eType = cause.getClass().getCanonicalName();
+		String eMessage = cause.getLocalizedMessage();
+		StringBuffer sbCommand = new StringBuffer();
+		for (String token:command){
+			if (sbCommand.length() > 0){
+				sbCommand.append(" ");
+			}
+			sbCommand.append(token);
+		}
+		Object[]messageArgs = new Object[]{sbCommand.toString(), eType, eMessage};
+		Message message = new Message(
+				Severity.ERROR,
+				Context.PROCESS,
+				"org.jhove2.module.format.sgml.OpenSpWrapper.externalProcessException",
+				messageArgs,
+				jhove2.getConfigInfo());
+		sgmlModule.getSgmlParserErrorMessages().add(message);
+	}
+
 	/**
 	 * @return the processHandler
 	 */
@@ -82,40 +82,43 @@ public class SgmlNormFileParser implements SgmlNormParser {
 	@Override
 	public void parseNormFile(String normFilepath, JHOVE2 jhove2,
 			Source source, SgmlModule sgm) throws JHOVE2Exception, IOException {
-		BufferedReader sgmlNormOutput = null;		
-		String tempMessage = null;
-	
-		try {
-			sgmlNormOutput = new BufferedReader
+		BufferedReader sgmlNormOutput = new BufferedReader
 			(new InputStreamReader(new FileInputStream(normFilepath), "utf-8"));
-			if (sgmlNormOutput.ready())
-			{
-				while ((tempMessage = sgmlNormOutput.readLine()) != null)	                	
-				{
-					if (foundDoctype){
-						continue;
-					}
-					if (tempMessage.startsWith(DOCTYPE)||tempMessage.startsWith(DOCTYPELC)){
-						foundDoctype=true;
-						int endPubId = this.lookForPubid(tempMessage);
-						String restOfMessage = tempMessage;
-						if (endPubId > -1 && tempMessage.length()>endPubId + 1){
-							restOfMessage = tempMessage.substring(endPubId + 1);
-						}
-						this.lookForSystemId(restOfMessage);
-						continue;
-					}
-					else {
-						continue;
-					}
-				}// end while
-			}// end if (sgmlNormOutput.ready())
-		}// end try
+		try {
+			this.parseNorm(sgmlNormOutput, jhove2, source, sgm);
+		}
 		finally {
-			if (sgmlNormOutput != null){
-				sgmlNormOutput.close();
-			}
+			sgmlNormOutput.close();
 		}
+		return;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.jhove2.module.format.sgml.SgmlNormParser#parseNorm(java.io.BufferedReader, org.jhove2.core.JHOVE2, org.jhove2.core.source.Source, org.jhove2.module.format.sgml.SgmlModule)
+	 */
+	@Override
+	public void parseNorm(BufferedReader sgmlNormOutput, JHOVE2 jhove2,
+			Source source, SgmlModule sgm) throws JHOVE2Exception, IOException {
+		String tempMessage = null;
+		while ((tempMessage = sgmlNormOutput.readLine()) != null)	                	
+		{
+			if (foundDoctype){
+				continue;
+			}
+			if (tempMessage.startsWith(DOCTYPE)||tempMessage.startsWith(DOCTYPELC)){
+				foundDoctype=true;
+				int endPubId = this.lookForPubid(tempMessage);
+				String restOfMessage = tempMessage;
+				if (endPubId > -1 && tempMessage.length()>endPubId + 1){
+					restOfMessage = tempMessage.substring(endPubId + 1);
+				}
+				this.lookForSystemId(restOfMessage);
+				continue;
+			}
+			else {
+				continue;
+			}
+		}// end while
 		if (sgm.getDocumentProperties()==null)	{
 			sgm.setDocumentProperties(new SgmlDocumentProperties());
 		}
@@ -35,6 +35,7 @@
  */
 package org.jhove2.module.format.sgml;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 
 
@@ -62,4 +63,18 @@ public interface SgmlNormParser {
 	public void parseNormFile(String normFilepath, JHOVE2 jhove2,
 			Source source, SgmlModule sgm) throws JHOVE2Exception, IOException;
 
+	/**
+	 * Parses sgmlnorm output read directly from the utility, for instance
+	 * from the standard output of the running process.  The reader is read
+	 * to its end but is not closed.
+	 * @param normReader reader positioned at start of sgmlnorm output
+	 * @param sgm  SgmlModule to which messages can be attached
+	 * @param JHOVE2 jhove2 object with ConfigInfo
+	 * @param Source object to which messages may be attached
+	 * @throws JHOVE2Exception
+	 * @throws IOException 
+	 */
+	public void parseNorm(BufferedReader normReader, JHOVE2 jhove2,
+			Source source, SgmlModule sgm) throws JHOVE2Exception, IOException;
+
 }
\ No newline at end of file
@@ -257,12 +257,16 @@ extends AbstractReportable {
         }
 
         try {
-            /* parse the IFD traversing through the list of Directory Entries (IFDEntry) */
-            IFDEntry.resetPrevTag(0);
+            /* parse the IFD traversing through the list of Directory Entries (IFDEntry),
+             * tracking the highest tag read so far to check their sort order */
+            int prevTag = 0;
             
             for (int i=0; i<this.numEntries; i++) {
                 IFDEntry ifdEntry = new IFDEntry();
-                ifdEntry.parse(jhove2, source, input, tiff2FormatMapper);
+                ifdEntry.parse(jhove2, source, input, tiff2FormatMapper, prevTag);
+                if (ifdEntry.getTag() > prevTag) {
+                    prevTag = ifdEntry.getTag();
+                }
                 Validity validity = ifdEntry.isValid();
                 switch (validity){
                 case Undetermined:
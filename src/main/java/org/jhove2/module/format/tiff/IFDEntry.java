@@ -109,9 +109,6 @@ public class IFDEntry
     /** Contains the offset to the value field */
     protected long offsetOfValue;
 
-    /** the previous tag read */
-    public static int prevTag;
-
     /** the field type */
     protected int type;
 
@@ -253,13 +250,25 @@ public class IFDEntry
     public void parse(JHOVE2 jhove2, Source source, Input input, 
     		Tiff2FormatMapFactory tiff2FormatMapper)  
         throws IOException, JHOVE2Exception
+    {
+        parse(jhove2, source, input, tiff2FormatMapper, 0);
+    }
+
+    /**
+     * parse the IFD Entry, checking that its tag follows the tag of the
+     * previous entry of the IFD in ascending order
+     * @param tiff2FormatMapper Factory to map tiff id to Format
+     * @param prevTag the tag of the previous entry of the IFD, or 0 if none
+     * @throws IOException, JHOVE2Exception 
+     */
+    public void parse(JHOVE2 jhove2, Source source, Input input, 
+            Tiff2FormatMapFactory tiff2FormatMapper, int prevTag)  
+        throws IOException, JHOVE2Exception
     {
         this.isValid = Validity.True;
         this.tagOffset = input.getPosition();
         this.tag = input.readUnsignedShort();
-        if (this.tag > prevTag)
-            prevTag = this.tag;
-        else {
+        if (this.tag <= prevTag) {
             this.isValid = Validity.False;
             Object[]messageArgs = new Object[]{tag, this.tagOffset};
             this.TagSortOrderErrorMessage = (new Message(Severity.ERROR,
@@ -928,12 +937,6 @@ public class IFDEntry
         return  count*fieldSize;
     }
 
-    /**
-     * reset the previous tag value 
-     */
-    public static void resetPrevTag(int value) {
-        prevTag = value;
-    }
     /**
      * The cardinality (number of values) for this TIFF tag  
      * @return long
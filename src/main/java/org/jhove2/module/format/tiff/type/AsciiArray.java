@@ -1,6 +1,8 @@
 package org.jhove2.module.format.tiff.type;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -56,8 +58,9 @@ extends AbstractReportable {
         StringBuffer sb = new StringBuffer();
 
 
+        int read = Math.max(input.readBytes(ByteBuffer.wrap(buf)), 0);
+        Arrays.fill(buf, read, buf.length, (byte) Input.EOF);
         for (int i=0; i<count; i++) {
-            buf[i] = (byte) input.readUnsignedByte();
             int b = buf[i];
             if (b == 0) {
                 list.add (sb.toString());
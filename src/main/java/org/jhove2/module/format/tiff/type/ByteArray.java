@@ -4,6 +4,8 @@
 package org.jhove2.module.format.tiff.type;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import org.jhove2.annotation.ReportableProperty;
 import org.jhove2.core.io.Input;
@@ -46,9 +48,12 @@ extends AbstractReportable {
     
     public void setValue(Input input, long count) throws IOException {
         valueArray = new short [(int) count];
-        for (int i=0; i<count; i++) {
-            valueArray[i] = (short) input.readUnsignedByte();
+        byte[] buf = new byte[valueArray.length];
+        int read = Math.max(input.readBytes(ByteBuffer.wrap(buf)), 0);
+        for (int i=0; i<read; i++) {
+            valueArray[i] = (short) (buf[i] & 0xff);
         }
+        Arrays.fill(valueArray, read, valueArray.length, (short) Input.EOF);
     }
     
     @Override
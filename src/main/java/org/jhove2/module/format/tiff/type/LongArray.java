@@ -4,6 +4,7 @@
 package org.jhove2.module.format.tiff.type;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.jhove2.annotation.ReportableProperty;
 import org.jhove2.core.io.Input;
@@ -41,9 +42,8 @@ public class LongArray
 
     public void setValue(Input input, long count) throws IOException {
         valueArray = new long [(int) count];
-        for (int i=0; i<count; i++) {
-            valueArray[i] = input.readUnsignedInt();
-        }
+        int read = input.readUnsignedInts(valueArray, valueArray.length);
+        Arrays.fill(valueArray, read, valueArray.length, Input.EOF);
     }
     
     /**
@@ -4,6 +4,8 @@
 package org.jhove2.module.format.tiff.type;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import org.jhove2.annotation.ReportableProperty;
 import org.jhove2.core.io.Input;
@@ -34,9 +36,8 @@ public class SByteArray
     
     public void setValue(Input input, long count) throws IOException {
         valueArray = new byte [(int) count];
-        for (int i=0; i<count; i++) {
-            valueArray[i] = input.readSignedByte();
-        }   
+        int read = Math.max(input.readBytes(ByteBuffer.wrap(valueArray)), 0);
+        Arrays.fill(valueArray, read, valueArray.length, (byte) Input.EOF);
     }
     
     @Override
@@ -4,6 +4,7 @@
 package org.jhove2.module.format.tiff.type;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.jhove2.annotation.ReportableProperty;
 import org.jhove2.core.io.Input;
@@ -44,9 +45,8 @@ public class SShortArray
     
     public void setValue(Input input, long count) throws IOException {
         valueArray = new short [(int) count];
-        for (int i=0; i<count; i++) {
-            valueArray[i] = input.readSignedShort();
-        }   
+        int read = input.readShorts(valueArray, valueArray.length);
+        Arrays.fill(valueArray, read, valueArray.length, (short) Input.EOF);
     }
     
     @Override
@@ -4,6 +4,7 @@
 package org.jhove2.module.format.tiff.type;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.jhove2.annotation.ReportableProperty;
 import org.jhove2.core.io.Input;
@@ -43,9 +44,8 @@ public class ShortArray
     
     public void setValue(Input input, long count) throws IOException {
         valueArray = new int [(int) count];
-        for (int i=0; i<count; i++) {
-            valueArray[i] = (int) input.readUnsignedShort();
-        }   
+        int read = input.readUnsignedShorts(valueArray, valueArray.length);
+        Arrays.fill(valueArray, read, valueArray.length, Input.EOF);
     }
     @Override
     public String toString() {
@@ -35,6 +35,7 @@
  */
 package org.jhove2.module.format.tiff.type.desc;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -50,7 +51,7 @@ import org.jhove2.core.JHOVE2Exception;
 public class Compression implements Comparable<Compression> {
 
     /** Singleton compression values and their descriptions. */
-    protected static Set<Compression> values;
+    protected static volatile Set<Compression> values;
 
     /** compression value */
     protected int value;
@@ -81,22 +82,27 @@ public class Compression implements Comparable<Compression> {
      * @return compression description, or null if the value is not defined
      * @throws JHOVE2Exception
      */
-    public static synchronized Compression getCompressionValue(int value,
+    public static Compression getCompressionValue(int value,
             JHOVE2 jhove2) throws JHOVE2Exception {
         if (values == null) {
-            /* Initialize the CMMs from a Java resource bundle. */
-            values = new TreeSet<Compression>();
-            Properties props = jhove2.getConfigInfo().getProperties(
-                    "Compression");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String val = iter.next();
-                    String desc = props.getProperty(val);
-                    Compression compression = new Compression(Integer
-                            .valueOf(val), desc);
-                    values.add(compression);
+            synchronized (Compression.class) {
+                if (values == null) {
+                    /* Initialize the CMMs from a Java resource bundle. */
+                    Set<Compression> table = new TreeSet<Compression>();
+                    Properties props = jhove2.getConfigInfo().getProperties(
+                            "Compression");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String val = iter.next();
+                            String desc = props.getProperty(val);
+                            Compression compression = new Compression(Integer
+                                    .valueOf(val), desc);
+                            table.add(compression);
+                        }
+                    }
+                    values = Collections.unmodifiableSet(table);
                 }
             }
         }
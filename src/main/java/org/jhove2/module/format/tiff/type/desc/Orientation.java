@@ -35,6 +35,7 @@
  */
 package org.jhove2.module.format.tiff.type.desc;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -50,7 +51,7 @@ import org.jhove2.core.JHOVE2Exception;
 public class Orientation implements Comparable<Orientation> {
 
     /** Singleton Orientation values and their descriptions. */
-    protected static Set<Orientation> values;
+    protected static volatile Set<Orientation> values;
 
     /** Orientation value */
     protected int value;
@@ -81,22 +82,27 @@ public class Orientation implements Comparable<Orientation> {
      * @return Orientation description, or null if the value is not defined
      * @throws JHOVE2Exception
      */
-    public static synchronized Orientation getOrientationValue(int value,
+    public static Orientation getOrientationValue(int value,
             JHOVE2 jhove2) throws JHOVE2Exception {
         if (values == null) {
-            /* Initialize the CMMs from a Java resource bundle. */
-            values = new TreeSet<Orientation>();
-            Properties props = jhove2.getConfigInfo().getProperties(
-                    "Orientation");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String val = iter.next();
-                    String desc = props.getProperty(val);
-                    Orientation orientation = new Orientation(Integer
-                            .valueOf(val), desc);
-                    values.add(orientation);
+            synchronized (Orientation.class) {
+                if (values == null) {
+                    /* Initialize the CMMs from a Java resource bundle. */
+                    Set<Orientation> table = new TreeSet<Orientation>();
+                    Properties props = jhove2.getConfigInfo().getProperties(
+                            "Orientation");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String val = iter.next();
+                            String desc = props.getProperty(val);
+                            Orientation orientation = new Orientation(Integer
+                                    .valueOf(val), desc);
+                            table.add(orientation);
+                        }
+                    }
+                    values = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -35,6 +35,7 @@
  */
 package org.jhove2.module.format.tiff.type.desc;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -50,7 +51,7 @@ import org.jhove2.core.JHOVE2Exception;
 public class Photometric implements Comparable<Photometric> {
 
     /** Singleton Photometric values and their descriptions. */
-    protected static Set<Photometric> values;
+    protected static volatile Set<Photometric> values;
 
     /** Photometric value */
     protected int value;
@@ -81,22 +82,27 @@ public class Photometric implements Comparable<Photometric> {
      * @return Photometric description, or null if the value is not defined
      * @throws JHOVE2Exception
      */
-    public static synchronized Photometric getPhotometricValue(int value,
+    public static Photometric getPhotometricValue(int value,
             JHOVE2 jhove2) throws JHOVE2Exception {
         if (values == null) {
-            /* Initialize the CMMs from a Java resource bundle. */
-            values = new TreeSet<Photometric>();
-            Properties props = jhove2.getConfigInfo().getProperties(
-                    "Photometric");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String val = iter.next();
-                    String desc = props.getProperty(val);
-                    Photometric photometric = new Photometric(Integer
-                            .valueOf(val), desc);
-                    values.add(photometric);
+            synchronized (Photometric.class) {
+                if (values == null) {
+                    /* Initialize the CMMs from a Java resource bundle. */
+                    Set<Photometric> table = new TreeSet<Photometric>();
+                    Properties props = jhove2.getConfigInfo().getProperties(
+                            "Photometric");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String val = iter.next();
+                            String desc = props.getProperty(val);
+                            Photometric photometric = new Photometric(Integer
+                                    .valueOf(val), desc);
+                            table.add(photometric);
+                        }
+                    }
+                    values = Collections.unmodifiableSet(table);
                 }
             }
         }
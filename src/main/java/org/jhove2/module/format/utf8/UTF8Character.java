@@ -304,7 +304,7 @@ public class UTF8Character
 	 * @return The line ending markers (CR, LF, or CRLF) or null if not at a
 	 *         line ending
 	 */
-	public static synchronized EOL getEOL(int prevCodePoint, int codePoint) {
+	public static EOL getEOL(int prevCodePoint, int codePoint) {
 		EOL eol = null;
 
 		if (codePoint == Unicode.LF) {
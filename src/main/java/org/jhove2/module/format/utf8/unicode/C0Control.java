@@ -35,7 +35,9 @@
  */
 package org.jhove2.module.format.utf8.unicode;
 
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeSet;
@@ -59,8 +61,11 @@ import com.sleepycat.persist.model.Persistent;
 public class C0Control
     implements Comparable<C0Control>
 {
-	/** Singleton C0 controls. */
-	protected static Set<C0Control> controls;
+	/** Singleton C0 controls, immutable once initialized. */
+	protected static volatile Set<C0Control> controls;
+
+	/** Singleton C0 controls, by code point; published by {@link #controls}. */
+	protected static Map<Integer, C0Control> controlsByCodePoint;
 
 	/** Control code point. */
 	protected int codePoint;
@@ -88,21 +93,31 @@ public class C0Control
 	 * @param jhove2 JHOVE2 framework
 	 * @throws JHOVE2Exception 
 	 */
-	protected static synchronized void init(JHOVE2 jhove2) throws JHOVE2Exception {
+	protected static void init(JHOVE2 jhove2)
+	    throws JHOVE2Exception
+	{
 	    if (controls == null) {
-	        /* Initialize the controls from s Java resource bundle. */
-	        controls = new TreeSet<C0Control>();
-	        Properties props = jhove2.getConfigInfo().getProperties("C0Control");
-	        if (props != null) {
-	            Set<String> set = props.stringPropertyNames();
-	            Iterator<String> iter = set.iterator();
-	            while (iter.hasNext()) {
-	                String mnemonic = iter.next();
-	                String value = props.getProperty(mnemonic);
-
-	                int point = Integer.parseInt(value, 16);
-	                C0Control control = new C0Control(mnemonic, point);
-	                    controls.add(control);
+	        synchronized (C0Control.class) {
+	            if (controls == null) {
+	                /* Initialize the controls from Java Properties. */
+	                Set<C0Control> set = new TreeSet<C0Control>();
+	                Map<Integer, C0Control> map =
+	                    new HashMap<Integer, C0Control>();
+	                Properties props =
+	                    jhove2.getConfigInfo().getProperties("C0Control");
+	                if (props != null) {
+	                    for (String mnemonic : props.stringPropertyNames()) {
+	                        String value = props.getProperty(mnemonic);
+
+	                        int point = Integer.parseInt(value, 16);
+	                        C0Control control = new C0Control(mnemonic, point);
+	                        if (set.add(control)) {
+	                            map.put(point, control);
+	                        }
+	                    }
+	                }
+	                controlsByCodePoint = map;
+	                controls = Collections.unmodifiableSet(set);
 	            }
 	        }
 	    }
@@ -117,20 +132,11 @@ public class C0Control
 	 * @return Control, or null if the code point is not a C0 control
 	 * @throws JHOVE2Exception
 	 */
-	public static synchronized C0Control getControl(int codePoint, JHOVE2 jhove2)
-			throws JHOVE2Exception {
+	public static C0Control getControl(int codePoint, JHOVE2 jhove2)
+	    throws JHOVE2Exception
+	{
 	    init(jhove2);
-		C0Control control = null;
-		Iterator<C0Control> iter = controls.iterator();
-		while (iter.hasNext()) {
-			C0Control ctrl = iter.next();
-			if (codePoint == ctrl.getCodePoint()) {
-				control = ctrl;
-				break;
-			}
-		}
-
-		return control;
+		return controlsByCodePoint.get(codePoint);
 	}
 
 	/**
@@ -35,7 +35,9 @@
  */
 package org.jhove2.module.format.utf8.unicode;
 
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeSet;
@@ -60,8 +62,11 @@ import com.sleepycat.persist.model.Persistent;
 public class C1Control
     implements Comparable<C1Control>
 {
-	/** Singleton C1 controls. */
-	protected static Set<C1Control> controls;
+	/** Singleton C1 controls, immutable once initialized. */
+	protected static volatile Set<C1Control> controls;
+
+	/** Singleton C1 controls, by code point; published by {@link #controls}. */
+	protected static Map<Integer, C1Control> controlsByCodePoint;
 
 	/** Control code point. */
 	protected int codePoint;
@@ -88,23 +93,31 @@ public class C1Control
 	 * @param jhove2 JHOVE2 framework
 	 * @throws JHOVE2Exception 
 	 */
-	protected static synchronized void init(JHOVE2 jhove2)
+	protected static void init(JHOVE2 jhove2)
 	    throws JHOVE2Exception
 	{
 	    if (controls == null) {
-	        /* Initialize the controls from Java Properties File */
-	        controls = new TreeSet<C1Control>();
-	        Properties props = jhove2.getConfigInfo().getProperties("C1Control");
-	        if (props != null) {
-	            Set<String> set = props.stringPropertyNames();
-	            Iterator<String> iter = set.iterator();
-	            while (iter.hasNext()) {
-	                String mnemonic = iter.next();
-	                String value = props.getProperty(mnemonic);
-
-	                int point = Integer.parseInt(value, 16);
-	                C1Control control = new C1Control(mnemonic, point);
-	                controls.add(control);
+	        synchronized (C1Control.class) {
+	            if (controls == null) {
+	                /* Initialize the controls from Java Properties. */
+	                Set<C1Control> set = new TreeSet<C1Control>();
+	                Map<Integer, C1Control> map =
+	                    new HashMap<Integer, C1Control>();
+	                Properties props =
+	                    jhove2.getConfigInfo().getProperties("C1Control");
+	                if (props != null) {
+	                    for (String mnemonic : props.stringPropertyNames()) {
+	                        String value = props.getProperty(mnemonic);
+
+	                        int point = Integer.parseInt(value, 16);
+	                        C1Control control = new C1Control(mnemonic, point);
+	                        if (set.add(control)) {
+	                            map.put(point, control);
+	                        }
+	                    }
+	                }
+	                controlsByCodePoint = map;
+	                controls = Collections.unmodifiableSet(set);
 	            }
 	        }
 	    }
@@ -119,21 +132,11 @@ public class C1Control
 	 * @return Control, or null if the code point is not a C1 control
 	 * @throws JHOVE2Exception
 	 */
-	public static synchronized C1Control getControl(int codePoint, JHOVE2 jhove2)
+	public static C1Control getControl(int codePoint, JHOVE2 jhove2)
 	    throws JHOVE2Exception
 	{
 	    init(jhove2);
-		C1Control control = null;
-		Iterator<C1Control> iter = controls.iterator();
-		while (iter.hasNext()) {
-			C1Control ctrl = iter.next();
-			if (codePoint == ctrl.getCodePoint()) {
-				control = ctrl;
-				break;
-			}
-		}
-
-		return control;
+		return controlsByCodePoint.get(codePoint);
 	}
 
 	/**
@@ -35,7 +35,7 @@
  */
 package org.jhove2.module.format.utf8.unicode;
 
-import java.util.Iterator;
+import java.util.Collections;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeSet;
@@ -60,8 +60,13 @@ import com.sleepycat.persist.model.Persistent;
 public class CodeBlock
     implements Comparable<CodeBlock>
 {
-	/** Singleton Unicode code blocks. */
-	protected static Set<CodeBlock> codeBlocks;
+	/** Singleton Unicode code blocks, immutable once initialized. */
+	protected static volatile Set<CodeBlock> codeBlocks;
+
+	/** Singleton Unicode code blocks, in order of their starting code points;
+	 * published by {@link #codeBlocks}.
+	 */
+	protected static CodeBlock[] blocks;
 
 	/** Unicode code block range ending value. */
 	protected int end;
@@ -94,32 +99,36 @@ public class CodeBlock
 	 * @param jhove2 JHOVE2 framework
 	 * @throws JHOVE2Exception 
 	 */
-	protected static synchronized void init(JHOVE2 jhove2)
+	protected static void init(JHOVE2 jhove2)
 	    throws JHOVE2Exception
 	{
         if (codeBlocks == null) {
-	        /* Initialize the code blocks from Java Properties. */
-	        codeBlocks = new TreeSet<CodeBlock>();
-	        Properties props = jhove2.getConfigInfo().getProperties("CodeBlock");
-	        if (props != null) {
-	            Set<String> set = props.stringPropertyNames();
-	            Iterator<String> iter = set.iterator();
-	            while (iter.hasNext()) {
-	                String range = iter.next();
-	                String name = props.getProperty(range);
-
-	                int st = range.indexOf('.');
-	                int en = range.indexOf(';');
-	                String start = range.substring(0, st);
-	                String end = range.substring(st + 2, en);
-
-	                st = Integer.parseInt(start, 16);
-	                en = Integer.parseInt(end, 16);
-	                CodeBlock block = new CodeBlock(st, en, name);
-	                codeBlocks.add(block);
-	            }
-	        }
-	    }
+            synchronized (CodeBlock.class) {
+                if (codeBlocks == null) {
+                    /* Initialize the code blocks from Java Properties. */
+                    Set<CodeBlock> set = new TreeSet<CodeBlock>();
+                    Properties props =
+                        jhove2.getConfigInfo().getProperties("CodeBlock");
+                    if (props != null) {
+                        for (String range : props.stringPropertyNames()) {
+                            String name = props.getProperty(range);
+
+                            int st = range.indexOf('.');
+                            int en = range.indexOf(';');
+                            String start = range.substring(0, st);
+                            String end = range.substring(st + 2, en);
+
+                            st = Integer.parseInt(start, 16);
+                            en = Integer.parseInt(end, 16);
+                            CodeBlock block = new CodeBlock(st, en, name);
+                            set.add(block);
+                        }
+                    }
+                    blocks = set.toArray(new CodeBlock[set.size()]);
+                    codeBlocks = Collections.unmodifiableSet(set);
+                }
+            }
+        }
 	}
 	
 	/**
@@ -145,17 +154,25 @@ public class CodeBlock
 	 *         blocks
 	 * @throws JHOVE2Exception
 	 */
-	public static synchronized CodeBlock getBlock(int codePoint, JHOVE2 jhove2)
-			throws JHOVE2Exception {
+	public static CodeBlock getBlock(int codePoint, JHOVE2 jhove2)
+	    throws JHOVE2Exception
+	{
 	    init(jhove2);
+	    /* Find the last block starting at or before the code point. */
+	    int low = 0;
+	    int high = blocks.length - 1;
+	    while (low <= high) {
+	        int mid = (low + high) >>> 1;
+	        if (blocks[mid].getStart() <= codePoint) {
+	            low = mid + 1;
+	        }
+	        else {
+	            high = mid - 1;
+	        }
+	    }
 		CodeBlock block = null;
-		Iterator<CodeBlock> iter = codeBlocks.iterator();
-		while (iter.hasNext()) {
-			CodeBlock blk = iter.next();
-			if (codePoint >= blk.getStart() && codePoint <= blk.getEnd()) {
-				block = blk;
-				break;
-			}
+		if (high >= 0 && codePoint <= blocks[high].getEnd()) {
+		    block = blocks[high];
 		}
 
 		return block;
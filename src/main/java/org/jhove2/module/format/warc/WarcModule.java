@@ -57,13 +57,17 @@ import org.jhove2.core.format.Format;
 import org.jhove2.core.format.FormatIdentification;
 import org.jhove2.core.format.FormatIdentification.Confidence;
 import org.jhove2.core.io.Input;
+import org.jhove2.core.io.InputFactory;
 import org.jhove2.core.reportable.Reportable;
 import org.jhove2.core.source.Source;
 import org.jhove2.core.source.SourceFactory;
 import org.jhove2.module.Module;
 import org.jhove2.module.format.BaseFormatModule;
+import org.jhove2.module.format.ParallelCharacterizer;
+import org.jhove2.module.format.RecordIndex;
+import org.jhove2.module.format.RecordIndexEntry;
 import org.jhove2.module.format.Validator;
-import org.jhove2.module.format.gzip.GzipModule;
+import org.jhove2.module.format.gzip.GzipContext;
 import org.jhove2.module.format.gzip.GzipModule.GZipOffsetProperty;
 import org.jhove2.module.format.warc.properties.WarcRecordData;
 import org.jhove2.persist.FormatModuleAccessor;
@@ -74,6 +78,7 @@ import org.jwat.common.InputStreamNoSkip;
 import org.jwat.common.Payload;
 import org.jwat.common.PayloadWithHeaderAbstract;
 import org.jwat.common.UriProfile;
+import org.jwat.warc.WarcHeader;
 import org.jwat.warc.WarcReader;
 import org.jwat.warc.WarcReaderFactory;
 import org.jwat.warc.WarcRecord;
@@ -101,6 +106,15 @@ public class WarcModule extends BaseFormatModule implements Validator {
     /** Whether to recursively characterize WARC record objects. */
     private boolean recurse = true;
 
+    /**
+     * Number of threads used to characterize record payloads; 0 or 1 to
+     * characterize them sequentially on the reading thread.
+     */
+    private int parallelCharacterization = 0;
+
+    /** Whether to write a sidecar record index while parsing the file. */
+    private boolean buildRecordIndex = false;
+
     private boolean bComputeBlockDigest = false;
     private String blockDigestAlgorithm;
     private String blockDigestEncoding;
@@ -172,6 +186,8 @@ public class WarcModule extends BaseFormatModule implements Validator {
         WarcModule warcModule = new WarcModule(format, (FormatModuleAccessor)moduleAccessor);
         warcModule.isValid = Validity.Undetermined;
         warcModule.recurse = recurse;
+        warcModule.parallelCharacterization = parallelCharacterization;
+        warcModule.buildRecordIndex = buildRecordIndex;
         warcModule.bComputeBlockDigest = bComputeBlockDigest;
         warcModule.blockDigestAlgorithm = blockDigestAlgorithm;
         warcModule.blockDigestEncoding = blockDigestEncoding;
@@ -226,22 +242,42 @@ public class WarcModule extends BaseFormatModule implements Validator {
         /*
          * Module context.
          */
-        GzipModule gzipMod = null;
+        GzipContext gzipCtx = null;
         WarcModule warcMod = null;
         Module mod;
         Source parentSrc = source.getParentSource();
+        // GZip member offset and number, if a member of a GZip file.
+        long offset = -1;
+        long member = -1;
         if (parentSrc != null) {
+            // Lookup the state of the GZip file being parsed. Required since
+            // the JHove2 lookup returns a new GZipModule instance populated
+            // with persisted values and not the instance on the call stack.
+            gzipCtx = GzipContext.forSource(parentSrc);
+            if (gzipCtx != null) {
+            	// Obtain GZip startOffset from dummy property.
+            	List<Reportable> gzipProps = source.getExtraProperties();
+            	Reportable prop;
+            	int i = 0;
+            	while (i<gzipProps.size()) {
+            		prop = gzipProps.get(i);
+            		if (prop instanceof GZipOffsetProperty) {
+            			offset = ((GZipOffsetProperty)prop).offset;
+            			member = ((GZipOffsetProperty)prop).member;
+            			gzipProps.remove(i);
+            			// ...
+            			source.getSourceAccessor().persistSource(source);
+            		}
+            		else {
+            			++i;
+            		}
+            	}
+                // Records are parsed one GZip member at a time, in order.
+                gzipCtx.awaitTurn(member);
+            }
             List<Module> parentMods = parentSrc.getModules();
             for (int i=0; i<parentMods.size(); ++i) {
                 mod = parentMods.get(i);
-                if (mod instanceof GzipModule) {
-                    gzipMod = (GzipModule)mod;
-                    // Lookup the the GZipModule which is on the call stack.
-                    // Required since the JHove2 lookup returns a new instance
-                    // populated with persisted values and not the instance on
-                    // the call stack.
-                    gzipMod = GzipModule.gzipMap.get(gzipMod.instanceId);
-                }
                 if (mod instanceof WarcModule) {
                     // The same goes for the WarcModule except we do not need
                     // any transient fields here.
@@ -265,80 +301,106 @@ public class WarcModule extends BaseFormatModule implements Validator {
          * Read some WARC records.
          */
         WarcReader reader = null;
-        if (gzipMod != null) {
-        	// Obtain GZip startOffset from dummy property.
-        	long offset = -1;
-        	List<Reportable> gzipProps = source.getExtraProperties();
-        	Reportable prop;
-        	int i = 0;
-        	while (i<gzipProps.size()) {
-        		prop = gzipProps.get(i);
-        		if (prop instanceof GZipOffsetProperty) {
-        			offset = ((GZipOffsetProperty)prop).offset;
-        			gzipProps.remove(i);
-        			// ...
-        			source.getSourceAccessor().persistSource(source);
-        		}
-        		else {
-        			++i;
-        		}
-        	}
+        if (gzipCtx != null) {
         	// Better safe than sorry.
-            gzipMod.presumptiveFormat = new FormatIdentification(format.getIdentifier(), Confidence.Tentative);
+            gzipCtx.setPresumptiveFormat(new FormatIdentification(format.getIdentifier(), Confidence.Tentative));
             /*
              * GZip compressed.
              */
-            reader = (WarcReader)gzipMod.reader;
+            reader = (WarcReader)gzipCtx.getReader();
             if (reader == null) {
                 reader = WarcReaderFactory.getReaderUncompressed();
                 setReaderOptions(reader);
-                gzipMod.reader = reader;
+                gzipCtx.setReader(reader);
             }
-            if (warcMod == null) {
-                /*
-                 * First record. (Unless the parent modules are not correct!)
-                 */
-                mod = parentSrc.addModule(this);
-                parseRecordsCompressed(jhove2, sourceFactory, source, reader, offset);
-            } else {
-                warcMod.parseRecordsCompressed(jhove2, sourceFactory, source, reader, offset);
-                // Validity
-                if (warcMod.isValid != Validity.False) {
-                    if (reader.isCompliant()) {
-                        warcMod.isValid = Validity.True;
-                    } else {
-                        warcMod.isValid = Validity.False;
-                    }
+            /*
+             * Record index, completed by the GZip module after the last member.
+             */
+            RecordIndex index = null;
+            if (buildRecordIndex && !parentSrc.isTemp()) {
+                if (gzipCtx.getRecordIndex() == null) {
+                    gzipCtx.setRecordIndex(RecordIndex.create(parentSrc.getFile()));
+                } else {
+                    gzipCtx.getRecordIndex().open();
                 }
-                // Reportable.
-                warcMod.warcReaderConsumedBytes = reader.getConsumed();
-                if (warcMod.versions.size() == 1) {
-                	Entry<String, Integer> entry = warcMod.versions.entrySet().iterator().next();
-                    if (entry.getValue() == warcMod.warcRecordNumber) {
-                    	warcMod.warcFileVersion = entry.getKey();
+                index = gzipCtx.getRecordIndex();
+            }
+            /*
+             * Payloads are characterized once the turn of this member has
+             * ended, so that later members can be parsed meanwhile.
+             */
+            ParallelCharacterizer payloads = ParallelCharacterizer.deferred(jhove2);
+            boolean bParsed = false;
+            try {
+                if (warcMod == null) {
+                    /*
+                     * First record. (Unless the parent modules are not correct!)
+                     */
+                    mod = parentSrc.addModule(this);
+                    parseRecordsCompressed(jhove2, sourceFactory, source, reader, offset, index,
+                                           payloads);
+                } else {
+                    warcMod.parseRecordsCompressed(jhove2, sourceFactory, source, reader, offset,
+                                                   index, payloads);
+                    // Validity
+                    if (warcMod.isValid != Validity.False) {
+                        if (reader.isCompliant()) {
+                            warcMod.isValid = Validity.True;
+                        } else {
+                            warcMod.isValid = Validity.False;
+                        }
                     }
+                    // Reportable.
+                    warcMod.warcReaderConsumedBytes = reader.getConsumed();
+                    if (warcMod.versions.size() == 1) {
+                    	Entry<String, Integer> entry = warcMod.versions.entrySet().iterator().next();
+                        if (entry.getValue() == warcMod.warcRecordNumber) {
+                        	warcMod.warcFileVersion = entry.getKey();
+                        }
+                    }
+                    warcMod = (WarcModule)warcMod.getModuleAccessor().persistModule(warcMod);
+                    // Remove WarcModule from source instance since we added one to the parent source.
+//                    this.setParentSourceId(null);
+                    this.getParentSource().deleteModule(this);
+                    // Reader diagnostics.
+                    reportValidationErrors(source, reader.diagnostics, jhove2);
+                    reader.diagnostics.reset();
+                    // Source update.
+                    source = source.getSourceAccessor().persistSource(source);
+                }
+                consumed = reader.getConsumed();
+                bParsed = true;
+            } finally {
+                gzipCtx.endTurn(member);
+                if (!bParsed) {
+                    payloads.abort();
                 }
-                warcMod = (WarcModule)warcMod.getModuleAccessor().persistModule(warcMod);
-                // Remove WarcModule from source instance since we added one to the parent source.
-//                this.setParentSourceId(null);
-                this.getParentSource().deleteModule(this);
-                // Reader diagnostics.
-                reportValidationErrors(source, reader.diagnostics, jhove2);
-                reader.diagnostics.reset();
-                // Source update.
-                source = source.getSourceAccessor().persistSource(source);
             }
-            consumed = reader.getConsumed();
+            payloads.finish();
         }
         else {
             /*
              * Not GZip compressed.
              */
-            reader = WarcReaderFactory.getReaderUncompressed(new InputStreamNoSkip(source.getInputStream()), 8192);
+            reader = WarcReaderFactory.getReaderUncompressed(new InputStreamNoSkip(
+                    InputFactory.getInputStream(source, input)), 8192);
             setReaderOptions(reader);
-            parseRecordsUncompressed(jhove2, sourceFactory, source, reader);
-            reader.close();
-            consumed = reader.getConsumed();
+            RecordIndex index = null;
+            if (buildRecordIndex && !source.isTemp()) {
+                index = RecordIndex.create(source.getFile());
+            }
+            try {
+                parseRecordsUncompressed(jhove2, sourceFactory, source, reader, index);
+                reader.close();
+                consumed = reader.getConsumed();
+                if (index != null) {
+                    index.close(consumed);
+                }
+            } finally {
+                if (index != null) {
+                    index.abandon();
+                }
+            }
             // Reader diagnostics.
             reportValidationErrors(source, reader.diagnostics, jhove2);
             reader.diagnostics.reset();
@@ -409,15 +471,51 @@ public class WarcModule extends BaseFormatModule implements Validator {
     protected void parseRecordsUncompressed(JHOVE2 jhove2, SourceFactory sourceFactory,
             Source parentSource, WarcReader reader)
                     throws EOFException, IOException, JHOVE2Exception {
+        parseRecordsUncompressed(jhove2, sourceFactory, parentSource, reader, null);
+    }
+
+    /**
+     * Parse WARC records that are not encased in GZip entries, adding each
+     * record to a record index.
+     * @param jhove2 the JHove2 characterization context
+     * @param sourceFactory JHove2 source factory
+     * @param parentSource WARC source unit
+     * @param reader WARC reader used to parse records
+     * @param index record index, or <code>null</code> if not indexing
+     * @throws EOFException if EOF occurs prematurely
+     * @throws IOException if an IO error occurs while processing
+     * @throws JHOVE2Exception if a serious problem needs to be reported
+     */
+    protected void parseRecordsUncompressed(JHOVE2 jhove2, SourceFactory sourceFactory,
+            Source parentSource, WarcReader reader, RecordIndex index)
+                    throws EOFException, IOException, JHOVE2Exception {
         WarcRecord record;
         // Ensure a WARC reader could be instantiated.
         if (reader != null) {
             parentSource.setIsAggregate(true);
             /*
-            * Loop through available records.
-            */
-            while ((record = reader.getNextRecord()) != null) {
-                processRecord(jhove2, sourceFactory, parentSource, record);
+             * Records are read, and their payloads spooled, on this thread;
+             * payload characterization may be handed to a worker pool.
+             */
+            ParallelCharacterizer characterizer =
+                new ParallelCharacterizer(jhove2, parallelCharacterization, "jhove2-warc");
+            boolean bFinished = false;
+            try {
+                /*
+                 * Loop through available records.
+                 */
+                while ((record = reader.getNextRecord()) != null) {
+                    processRecord(jhove2, sourceFactory, parentSource, record, characterizer);
+                    if (index != null) {
+                        index.add(newRecordIndexEntry(record, record.getStartOffset()));
+                    }
+                }
+                bFinished = true;
+                characterizer.finish();
+            } finally {
+                if (!bFinished) {
+                    characterizer.abort();
+                }
             }
         } else {
             throw new JHOVE2Exception("WarcReader is null");
@@ -440,6 +538,31 @@ public class WarcModule extends BaseFormatModule implements Validator {
     protected void parseRecordsCompressed(JHOVE2 jhove2, SourceFactory sourceFactory,
             Source parentSource, WarcReader reader, Long offset)
                     throws EOFException, IOException, JHOVE2Exception {
+        ParallelCharacterizer characterizer = new ParallelCharacterizer(jhove2, 0, null);
+        parseRecordsCompressed(jhove2, sourceFactory, parentSource, reader, offset, null,
+                               characterizer);
+        characterizer.finish();
+    }
+
+    /**
+     * Parse WARC record(s) where the source has been identified as a source of
+     * a GZip module instance, adding each record to a record index, and
+     * handing record payloads to the supplied characterizer.
+     * @param jhove2 the JHove2 characterization context
+     * @param sourceFactory JHove2 source factory
+     * @param parentSource WARC source unit
+     * @param reader WARC reader used to parse records
+     * @param offset GZip member offset relative to the GZip file
+     * @param index record index, or <code>null</code> if not indexing
+     * @param characterizer payload characterizer
+     * @throws EOFException if EOF occurs prematurely
+     * @throws IOException if an IO error occurs while processing
+     * @throws JHOVE2Exception if a serious problem needs to be reported
+     */
+    protected void parseRecordsCompressed(JHOVE2 jhove2, SourceFactory sourceFactory,
+            Source parentSource, WarcReader reader, Long offset, RecordIndex index,
+            ParallelCharacterizer characterizer)
+                    throws EOFException, IOException, JHOVE2Exception {
         WarcRecord record;
         // Ensure a WARC reader could be instantiated.
         if (reader != null) {
@@ -449,7 +572,10 @@ public class WarcModule extends BaseFormatModule implements Validator {
              * Loop through available records.
              */
             while ((record = reader.getNextRecordFrom(in, offset, 8192)) != null) {
-                processRecord(jhove2, sourceFactory, parentSource, record);
+                processRecord(jhove2, sourceFactory, parentSource, record, characterizer);
+                if (index != null && offset >= 0L) {
+                    index.add(newRecordIndexEntry(record, offset));
+                }
             }
         } else {
             throw new JHOVE2Exception("WarcReader is null");
@@ -474,6 +600,28 @@ public class WarcModule extends BaseFormatModule implements Validator {
      */
     protected void processRecord(JHOVE2 jhove2, SourceFactory sourceFactory,
             Source parentSource, WarcRecord record) throws EOFException, IOException, JHOVE2Exception {
+        ParallelCharacterizer characterizer = new ParallelCharacterizer(jhove2, 0, null);
+        processRecord(jhove2, sourceFactory, parentSource, record, characterizer);
+        characterizer.finish();
+    }
+
+    /**
+     * Process a WARC record, handing the characterization of its payload, if
+     * any, to the supplied characterizer.  The record source unit, and its
+     * payload source unit, are attached to the parent on the calling thread
+     * so that records are reported in WARC order.
+     * @param jhove2 the JHove2 characterization context
+     * @param sourceFactory JHove2 source factory
+     * @param parentSource WARC source unit
+     * @param record WARC record from WARC reader
+     * @param characterizer payload characterizer
+     * @throws EOFException if EOF occurs prematurely
+     * @throws IOException if an IO error occurs while processing
+     * @throws JHOVE2Exception if a serious problem needs to be reported
+     */
+    protected void processRecord(JHOVE2 jhove2, SourceFactory sourceFactory,
+            Source parentSource, WarcRecord record, ParallelCharacterizer characterizer)
+                    throws EOFException, IOException, JHOVE2Exception {
         Payload payload;
         PayloadWithHeaderAbstract payloadHeaderWrapped;
         HttpHeader httpHeader;
@@ -537,7 +685,8 @@ public class WarcModule extends BaseFormatModule implements Validator {
          * Characterize payload.
          */
         if (recurse && payload_stream != null) {
-            characterizePayload(jhove2, sourceFactory, recordSrc, payload_stream, formatId);
+            characterizePayload(jhove2, sourceFactory, recordSrc, payload_stream, formatId,
+                                characterizer);
         }
         if (payload_stream != null) {
             payload_stream.close();
@@ -562,6 +711,30 @@ public class WarcModule extends BaseFormatModule implements Validator {
         reportValidationErrors(recordSrc, record.diagnostics, jhove2);
     }
 
+    /**
+     * Describe a WARC record for the record index: its WARC-Type,
+     * WARC-Target-URI and payload digest (or block digest, if there is no
+     * payload digest).  The length is filled in by the index from the
+     * offset of the following record.
+     * @param record WARC record
+     * @param offset offset of the record, or of its GZip member
+     * @return record index entry
+     */
+    protected RecordIndexEntry newRecordIndexEntry(WarcRecord record, long offset) {
+        WarcHeader header = record.header;
+        String digest = null;
+        if (header.warcPayloadDigest != null) {
+            digest = RecordIndexEntry.formatDigest(header.warcPayloadDigest.algorithm,
+                    header.warcPayloadDigest.digestString);
+        }
+        if (digest == null && header.warcBlockDigest != null) {
+            digest = RecordIndexEntry.formatDigest(header.warcBlockDigest.algorithm,
+                    header.warcBlockDigest.digestString);
+        }
+        return new RecordIndexEntry(offset, RecordIndexEntry.UNKNOWN,
+                header.warcTypeStr, header.warcTargetUriStr, digest);
+    }
+
     /**
      * Process a WARC record payload, recursively if configured to do so.
      * @param jhove2 the JHove2 characterization context
@@ -569,12 +742,14 @@ public class WarcModule extends BaseFormatModule implements Validator {
      * @param recordSrc WARC record source unit
      * @param payload_stream payload inputstream
      * @param formatId JHove2 format identification based on contentType
+     * @param characterizer characterizer used for the spooled payload
      * @throws EOFException if EOF occurs prematurely
      * @throws IOException if an IO error occurs while processing
      * @throws JHOVE2Exception if a serious problem needs to be reported
      */
     protected void characterizePayload(JHOVE2 jhove2, SourceFactory sourceFactory,
-            Source recordSrc, InputStream payload_stream, FormatIdentification formatId)
+            Source recordSrc, InputStream payload_stream, FormatIdentification formatId,
+            ParallelCharacterizer characterizer)
                     throws EOFException, IOException, JHOVE2Exception {
         // Not all properties are ready yet, they are added as extras.
     	String name = null;
@@ -586,18 +761,10 @@ public class WarcModule extends BaseFormatModule implements Validator {
             if(formatId != null){
                 payloadSrc = payloadSrc.addPresumptiveFormat(formatId);
             }
-            /* Make sure to close the Input after
-             * characterization is completed.
+            /* The characterizer closes the Input and the payload source
+             * after characterization is completed.
              */
-            Input src_input = payloadSrc.getInput(jhove2);
-            try {
-                payloadSrc = jhove2.characterize(payloadSrc, src_input);
-            } finally {
-                if (src_input != null) {
-                    src_input.close();
-                }
-            }
-            payloadSrc.close();
+            characterizer.characterize(payloadSrc);
         }
     }
 
@@ -750,6 +917,25 @@ public class WarcModule extends BaseFormatModule implements Validator {
         this.recurse = recurse;
     }
 
+    /**
+     * Sets the number of threads used to characterize record payloads.
+     * Records are always read, and reported, in WARC order.
+     * @param parallelCharacterization number of threads; 0 or 1 to
+     * characterize payloads sequentially
+     */
+    public void setParallelCharacterization(int parallelCharacterization) {
+        this.parallelCharacterization = parallelCharacterization;
+    }
+
+    /**
+     * Sets whether to write a sidecar record index (offset, length, type,
+     * target URI and payload digest of each record) next to the WARC file.
+     * @param buildRecordIndex whether to build the record index
+     */
+    public void setBuildRecordIndex(boolean buildRecordIndex) {
+        this.buildRecordIndex = buildRecordIndex;
+    }
+
     /**
      * Enable or disable block digest computation.
      * @param bComputeBlockDigest block digest computation toggle
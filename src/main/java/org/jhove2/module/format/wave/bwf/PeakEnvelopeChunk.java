@@ -36,7 +36,9 @@ package org.jhove2.module.format.wave.bwf;
 
 import java.io.EOFException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.jhove2.annotation.ReportableProperty;
 import org.jhove2.annotation.ReportableProperty.PropertyType;
@@ -133,53 +135,49 @@ public class PeakEnvelopeChunk
         long consumed = super.parse(jhove2, source, input);
         long start    = ((MeasurableSource) source).getStartingOffset();
         
-        /* Version. */
-        this.version = input.readUnsignedInt();
-        consumed += 4;
-        
-        /* Format. */
-        this.format = input.readUnsignedInt();
+        /* Version, format, points per value, block size, number of peak
+         * channels, number of peak frames, and position of the peak of
+         * peaks.
+         */
+        long [] fields = new long[7];
+        int read = input.readUnsignedInts(fields, fields.length);
+        /* As when read one at a time, fields past EOF are EOF. */
+        Arrays.fill(fields, read, fields.length, Input.EOF);
+        this.version        = fields[0];
+        this.format         = fields[1];
+        this.pointsPerValue = fields[2];
+        this.blockSize      = fields[3];
+        this.numChannels    = fields[4];
+        this.numPeakFrames  = fields[5];
+        this.posPeakOfPeaks = fields[6];
         PeakFormat fmt = PeakFormat.getPeakFormat(this.format, jhove2);
         if (fmt != null) {
             this.format_d = fmt.getDescription();
         }
-        consumed += 4;
-        
-        /* Points per value. */
-        this.pointsPerValue = input.readUnsignedInt();
-        consumed += 4;
-        
-        /* Block size. */
-        this.blockSize = input.readUnsignedInt();
-        consumed += 4;
-        
-        /* Number of peak channels. */
-        this.numChannels = input.readUnsignedInt();
-        consumed += 4;
-        
-        /* Number of peak frames. */
-        this.numPeakFrames = input.readUnsignedInt();
-        consumed += 4;
-        
-        /* Position of the peak of peaks. */
-        this.posPeakOfPeaks = input.readUnsignedInt();
-        consumed += 4;
+        consumed += 28;
         
-        /* Time stamp. */
+        /* Time stamp and reserved field. */
+        short [] bytes = new short[88];
+        byte [] buf = new byte[bytes.length];
+        read = Math.max(input.readBytes(ByteBuffer.wrap(buf)), 0);
+        for (int i=0; i<read; i++) {
+            bytes[i] = (short) (buf[i] & 0xff);
+        }
+        Arrays.fill(bytes, read, bytes.length, (short) Input.EOF);
+        long reserved = input.getPosition() - read + 28L;
         StringBuffer sb = new StringBuffer(28);
         for (int i=0; i<28; i++) {
-            short b = input.readUnsignedByte();
-            sb.append((char) b);
+            sb.append((char) bytes[i]);
         }
         this.timeStamp = sb.toString();
         consumed += 28;
         
         /* Reserved: must be NUL. */
         for (int i=0; i<60; i++) {
-            short b = input.readUnsignedByte();
+            short b = bytes[28+i];
             if (b != 0) {
                 this.isValid = Validity.False;
-                Object [] args = new Object [] {input.getPosition()-1L-start, b};
+                Object [] args = new Object [] {reserved+i-start, b};
                 Message msg = new Message(Severity.ERROR,
                         Context.OBJECT,
                         "org.jhove2.module.format.wave.bwf.PeakEnvelopeChunk.nonNULDataInReservedField",
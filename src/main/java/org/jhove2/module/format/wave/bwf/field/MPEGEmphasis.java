@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.wave.bwf.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -49,7 +50,7 @@ public class MPEGEmphasis
 implements Comparable<MPEGEmphasis>
 {
     /** Singleton MPEG emphasis emphases. */
-    protected static Set<MPEGEmphasis> emphases;
+    protected static volatile Set<MPEGEmphasis> emphases;
 
     /** MPEG emphasis emphasis. */
     protected int emphasis;
@@ -74,22 +75,27 @@ implements Comparable<MPEGEmphasis>
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception 
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (emphases == null) {
-            /* Initialize the Emphasis emphases from a Java resource bundle. */
-            emphases = new TreeSet<MPEGEmphasis>();
-            Properties props = jhove2.getConfigInfo().getProperties("MPEGEmphases");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String emp  = iter.next();
-                    String des = props.getProperty(emp);
-                    MPEGEmphasis e =
-                        new MPEGEmphasis(Integer.valueOf(emp, 16), des);
-                    emphases.add(e);
+            synchronized (MPEGEmphasis.class) {
+                if (emphases == null) {
+                    /* Initialize the Emphasis emphases from a Java resource bundle. */
+                    Set<MPEGEmphasis> table = new TreeSet<MPEGEmphasis>();
+                    Properties props = jhove2.getConfigInfo().getProperties("MPEGEmphases");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String emp  = iter.next();
+                            String des = props.getProperty(emp);
+                            MPEGEmphasis e =
+                                new MPEGEmphasis(Integer.valueOf(emp, 16), des);
+                            table.add(e);
+                        }
+                    }
+                    emphases = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -102,7 +108,7 @@ implements Comparable<MPEGEmphasis>
      * @return Emphasis MPEG emphasis description, or null if the emphasis is not defined
      * @throws JHOVE2Exception
      */
-    public static synchronized MPEGEmphasis getMPEGEmphasis(int emphasis, JHOVE2 jhove2)
+    public static MPEGEmphasis getMPEGEmphasis(int emphasis, JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         init(jhove2);
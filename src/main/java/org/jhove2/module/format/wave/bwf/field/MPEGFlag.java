@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.wave.bwf.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -49,7 +50,7 @@ public class MPEGFlag
     implements Comparable<MPEGFlag>
 {
     /** Singleton MPEG flag flags. */
-    protected static Set<MPEGFlag> flags;
+    protected static volatile Set<MPEGFlag> flags;
 
     /** MPEG flag flag. */
     protected int flag;
@@ -74,22 +75,27 @@ public class MPEGFlag
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception 
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (flags == null) {
-            /* Initialize the Flag flags from a Java resource bundle. */
-            flags = new TreeSet<MPEGFlag>();
-            Properties props = jhove2.getConfigInfo().getProperties("MPEGFlags");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String flg  = iter.next();
-                    String des = props.getProperty(flg);
-                    MPEGFlag f =
-                        new MPEGFlag(Integer.valueOf(flg, 16), des);
-                    flags.add(f);
+            synchronized (MPEGFlag.class) {
+                if (flags == null) {
+                    /* Initialize the Flag flags from a Java resource bundle. */
+                    Set<MPEGFlag> table = new TreeSet<MPEGFlag>();
+                    Properties props = jhove2.getConfigInfo().getProperties("MPEGFlags");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String flg  = iter.next();
+                            String des = props.getProperty(flg);
+                            MPEGFlag f =
+                                new MPEGFlag(Integer.valueOf(flg, 16), des);
+                            table.add(f);
+                        }
+                    }
+                    flags = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -102,7 +108,7 @@ public class MPEGFlag
      * @return Flag MPEG flag description, or null if the flag is not defined
      * @throws JHOVE2Exception
      */
-    public static synchronized MPEGFlag getMPEGFlag(int flag, JHOVE2 jhove2)
+    public static MPEGFlag getMPEGFlag(int flag, JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         init(jhove2);
@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.wave.bwf.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -49,7 +50,7 @@ public class MPEGLayer
     implements Comparable<MPEGLayer>
 {
     /** Singleton MPEG layer layers. */
-    protected static Set<MPEGLayer> layers;
+    protected static volatile Set<MPEGLayer> layers;
 
     /** MPEG layer layer. */
     protected int layer;
@@ -74,22 +75,27 @@ public class MPEGLayer
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception 
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (layers == null) {
-            /* Initialize the Layer layers from a Java resource bundle. */
-            layers = new TreeSet<MPEGLayer>();
-            Properties props = jhove2.getConfigInfo().getProperties("MPEGLayers");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String lay  = iter.next();
-                    String des = props.getProperty(lay);
-                    MPEGLayer f =
-                        new MPEGLayer(Integer.valueOf(lay, 16), des);
-                    layers.add(f);
+            synchronized (MPEGLayer.class) {
+                if (layers == null) {
+                    /* Initialize the Layer layers from a Java resource bundle. */
+                    Set<MPEGLayer> table = new TreeSet<MPEGLayer>();
+                    Properties props = jhove2.getConfigInfo().getProperties("MPEGLayers");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String lay  = iter.next();
+                            String des = props.getProperty(lay);
+                            MPEGLayer f =
+                                new MPEGLayer(Integer.valueOf(lay, 16), des);
+                            table.add(f);
+                        }
+                    }
+                    layers = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -102,7 +108,7 @@ public class MPEGLayer
      * @return Layer MPEG layer description, or null if the layer is not defined
      * @throws JHOVE2Exception
      */
-    public static synchronized MPEGLayer getMPEGLayer(int layer, JHOVE2 jhove2)
+    public static MPEGLayer getMPEGLayer(int layer, JHOVE2 jhove2)
         throws JHOVE2Exception 
     {
         init(jhove2);
@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.wave.bwf.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -49,7 +50,7 @@ public class MPEGMode
     implements Comparable<MPEGMode>
 {
     /** Singleton MPEG mode modes. */
-    protected static Set<MPEGMode> modes;
+    protected static volatile Set<MPEGMode> modes;
 
     /** MPEG mode mode. */
     protected int mode;
@@ -74,22 +75,27 @@ public class MPEGMode
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception 
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (modes == null) {
-            /* Initialize the Mode modes from a Java resource bundle. */
-            modes = new TreeSet<MPEGMode>();
-            Properties props = jhove2.getConfigInfo().getProperties("MPEGModes");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String mod  = iter.next();
-                    String des = props.getProperty(mod);
-                    MPEGMode m =
-                        new MPEGMode(Integer.valueOf(mod, 16), des);
-                    modes.add(m);
+            synchronized (MPEGMode.class) {
+                if (modes == null) {
+                    /* Initialize the Mode modes from a Java resource bundle. */
+                    Set<MPEGMode> table = new TreeSet<MPEGMode>();
+                    Properties props = jhove2.getConfigInfo().getProperties("MPEGModes");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String mod  = iter.next();
+                            String des = props.getProperty(mod);
+                            MPEGMode m =
+                                new MPEGMode(Integer.valueOf(mod, 16), des);
+                            table.add(m);
+                        }
+                    }
+                    modes = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -102,7 +108,7 @@ public class MPEGMode
      * @return Mode MPEG mode description, or null if the mode is not defined
      * @throws JHOVE2Exception
      */
-    public static synchronized MPEGMode getMPEGMode(int mode, JHOVE2 jhove2)
+    public static MPEGMode getMPEGMode(int mode, JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         init(jhove2);
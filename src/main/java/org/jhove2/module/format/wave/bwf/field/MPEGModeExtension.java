@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.wave.bwf.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -49,7 +50,7 @@ public class MPEGModeExtension
     implements Comparable<MPEGModeExtension>
 {
     /** Singleton MPEG extension extensions. */
-    protected static Set<MPEGModeExtension> extensions;
+    protected static volatile Set<MPEGModeExtension> extensions;
 
     /** MPEG mode extension. */
     protected int extension;
@@ -74,22 +75,27 @@ public class MPEGModeExtension
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception 
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (extensions == null) {
-            /* Initialize the ModeExtension extensions from a Java resource bundle. */
-            extensions = new TreeSet<MPEGModeExtension>();
-            Properties props = jhove2.getConfigInfo().getProperties("MPEGModeExtensions");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String ext  = iter.next();
-                    String des = props.getProperty(ext);
-                    MPEGModeExtension ex =
-                        new MPEGModeExtension(Integer.valueOf(ext, 16), des);
-                    extensions.add(ex);
+            synchronized (MPEGModeExtension.class) {
+                if (extensions == null) {
+                    /* Initialize the ModeExtension extensions from a Java resource bundle. */
+                    Set<MPEGModeExtension> table = new TreeSet<MPEGModeExtension>();
+                    Properties props = jhove2.getConfigInfo().getProperties("MPEGModeExtensions");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String ext  = iter.next();
+                            String des = props.getProperty(ext);
+                            MPEGModeExtension ex =
+                                new MPEGModeExtension(Integer.valueOf(ext, 16), des);
+                            table.add(ex);
+                        }
+                    }
+                    extensions = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -102,7 +108,7 @@ public class MPEGModeExtension
      * @return ModeExtension MPEG mode extension description, or null if the extension is not defined
      * @throws JHOVE2Exception
      */
-    public static synchronized MPEGModeExtension getMPEGModeExtension(int extension, JHOVE2 jhove2)
+    public static MPEGModeExtension getMPEGModeExtension(int extension, JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         init(jhove2);
@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.wave.bwf.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -49,7 +50,7 @@ public class PeakFormat
     implements Comparable<PeakFormat>
 {
     /** Singleton Peak format formats. */
-    protected static Set<PeakFormat> formats;
+    protected static volatile Set<PeakFormat> formats;
 
     /** Peak format format. */
     protected long format;
@@ -74,22 +75,27 @@ public class PeakFormat
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception 
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (formats == null) {
-            /* Initialize the peak formats from a Java resource bundle. */
-            formats = new TreeSet<PeakFormat>();
-            Properties props = jhove2.getConfigInfo().getProperties("PeakFormats");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String fmt  = iter.next();
-                    String des = props.getProperty(fmt);
-                    PeakFormat f =
-                        new PeakFormat(Integer.valueOf(fmt), des);
-                    formats.add(f);
+            synchronized (PeakFormat.class) {
+                if (formats == null) {
+                    /* Initialize the peak formats from a Java resource bundle. */
+                    Set<PeakFormat> table = new TreeSet<PeakFormat>();
+                    Properties props = jhove2.getConfigInfo().getProperties("PeakFormats");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String fmt  = iter.next();
+                            String des = props.getProperty(fmt);
+                            PeakFormat f =
+                                new PeakFormat(Integer.valueOf(fmt), des);
+                            table.add(f);
+                        }
+                    }
+                    formats = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -102,7 +108,7 @@ public class PeakFormat
      * @return Format Peak format description, or null if the format is not defined
      * @throws JHOVE2Exception
      */
-    public static synchronized PeakFormat getPeakFormat(long format, JHOVE2 jhove2)
+    public static PeakFormat getPeakFormat(long format, JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         init(jhove2);
@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.wave.bwf.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -49,7 +50,7 @@ public class PeakPoint
     implements Comparable<PeakPoint>
 {
     /** Singleton peak points. */
-    protected static Set<PeakPoint> points;
+    protected static volatile Set<PeakPoint> points;
 
     /** Peak point. */
     protected long point;
@@ -74,22 +75,27 @@ public class PeakPoint
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception 
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (points == null) {
-            /* Initialize the peak points from a Java resource bundle. */
-            points = new TreeSet<PeakPoint>();
-            Properties props = jhove2.getConfigInfo().getProperties("PeakPoints");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String pt  = iter.next();
-                    String des = props.getProperty(pt);
-                    PeakPoint p =
-                        new PeakPoint(Integer.valueOf(pt), des);
-                    points.add(p);
+            synchronized (PeakPoint.class) {
+                if (points == null) {
+                    /* Initialize the peak points from a Java resource bundle. */
+                    Set<PeakPoint> table = new TreeSet<PeakPoint>();
+                    Properties props = jhove2.getConfigInfo().getProperties("PeakPoints");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String pt  = iter.next();
+                            String des = props.getProperty(pt);
+                            PeakPoint p =
+                                new PeakPoint(Integer.valueOf(pt), des);
+                            table.add(p);
+                        }
+                    }
+                    points = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -102,7 +108,7 @@ public class PeakPoint
      * @return Point Peak point description, or null if the point is not defined
      * @throws JHOVE2Exception
      */
-    public static synchronized PeakPoint getPeakPoint(long point, JHOVE2 jhove2)
+    public static PeakPoint getPeakPoint(long point, JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         init(jhove2);
@@ -34,6 +34,7 @@
 
 package org.jhove2.module.format.wave.field;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
@@ -49,7 +50,7 @@ public class FormatCategory
     implements Comparable<FormatCategory>
 {
     /** Singleton format chunk form categories. */
-    protected static Set<FormatCategory> categories;
+    protected static volatile Set<FormatCategory> categories;
 
     /** Format chunk form format. */
     protected int format;
@@ -74,22 +75,27 @@ public class FormatCategory
      * @param jhove2 JHOVE2 framework
      * @throws JHOVE2Exception 
      */
-    protected static synchronized void init(JHOVE2 jhove2)
+    protected static void init(JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         if (categories == null) {
-            /* Initialize the Format categories from a Java resource bundle. */
-            categories = new TreeSet<FormatCategory>();
-            Properties props = jhove2.getConfigInfo().getProperties("FormatCategories");
-            if (props != null) {
-                Set<String> set = props.stringPropertyNames();
-                Iterator<String> iter = set.iterator();
-                while (iter.hasNext()) {
-                    String fmt  = iter.next();
-                    String cat = props.getProperty(fmt);
-                    FormatCategory category =
-                        new FormatCategory(Integer.valueOf(fmt, 16), cat);
-                    categories.add(category);
+            synchronized (FormatCategory.class) {
+                if (categories == null) {
+                    /* Initialize the Format categories from a Java resource bundle. */
+                    Set<FormatCategory> table = new TreeSet<FormatCategory>();
+                    Properties props = jhove2.getConfigInfo().getProperties("FormatCategories");
+                    if (props != null) {
+                        Set<String> set = props.stringPropertyNames();
+                        Iterator<String> iter = set.iterator();
+                        while (iter.hasNext()) {
+                            String fmt  = iter.next();
+                            String cat = props.getProperty(fmt);
+                            FormatCategory category =
+                                new FormatCategory(Integer.valueOf(fmt, 16), cat);
+                            table.add(category);
+                        }
+                    }
+                    categories = Collections.unmodifiableSet(table);
                 }
             }
         }
@@ -102,7 +108,7 @@ public class FormatCategory
      * @return Format format chunk format category, or null if the format is not defined
      * @throws JHOVE2Exception
      */
-    public static synchronized FormatCategory getFormatCategory(int format, JHOVE2 jhove2)
+    public static FormatCategory getFormatCategory(int format, JHOVE2 jhove2)
         throws JHOVE2Exception
     {
         init(jhove2);
@@ -55,6 +55,7 @@ import org.jhove2.core.Message;
 import org.jhove2.core.Message.Context;
 import org.jhove2.core.Message.Severity;
 import org.jhove2.core.io.Input;
+import org.jhove2.core.io.InputFactory;
 import org.jhove2.core.reportable.AbstractReportable;
 import org.jhove2.core.source.FileSource;
 import org.jhove2.core.source.Source;
@@ -384,7 +385,7 @@ public class SaxParser
         XMLReader xmlReader = getXmlReader();
         
         /* Create the InputSource object containing the XML entity to be parsed */
-        InputStream stream = source.getInputStream();
+        InputStream stream = InputFactory.getInputStream(source, input);
         InputSource saxInputSource = new InputSource(stream);
         /* Provide the BASE path of the source file, in case relative paths need to be resolved */
         if (source instanceof URLSource){
@@ -44,6 +44,7 @@ import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -260,8 +261,13 @@ public class ZipModule
 	             * level entries, that is, child of the Zip file, characterize
 	             * them.  Lower level file entries (and directories) will be 
 	             * characterized later on as part of the recursive processing
-	             * of top-level directories.
+	             * of top-level directories.  Entries below the top level
+	             * are queued by directory and added to their directories in
+	             * batches once all entries have been seen, rather than one
+	             * at a time.
 	             */
+	            Map<String, List<Source>> pending =
+	                new HashMap<String, List<Source>>();
 	            en = zip.entries();
 	            while (en.hasMoreElements()) {
 	                ZipEntry entry = en.nextElement();
@@ -283,7 +289,7 @@ public class ZipModule
 	                 * pathname are also in the map.
 	                 */
 	                checkForImpliedDirectories(jhove2, name, map, source,
-	                                           factory);
+	                                           factory, pending);
 	                if (entry.isDirectory()) {
 	                    Source src = map.get(name);
 	                    
@@ -299,8 +305,7 @@ public class ZipModule
                              * from the map.
                              */
                             String key = name.substring(0, in);
-                            Source parent = map.get(key);
-                            src = parent.addChildSource(src);
+                            addPending(pending, key, src);
                         }
                         else {
                             /* Directory is a child of the Zip file. */
@@ -351,8 +356,7 @@ public class ZipModule
 	                             * from the map.
 	                             */
 	                            String key = name.substring(0, in);
-	                            Source parent = map.get(key);
-	                            src = parent.addChildSource(src);
+	                            addPending(pending, key, src);
 	                        }
 	                        else {
                                 /* File is a child of the Zip file and can be
@@ -379,11 +383,16 @@ public class ZipModule
 	                }
 	            }
 	            
+	            for (Map.Entry<String, List<Source>> children :
+	                     pending.entrySet()) {
+	                Source parent = map.get(children.getKey());
+	                parent.addChildSources(children.getValue());
+	            }
+	            
 	            /* (3) Characterize all top-level directories, implicitly
 	             * characterizing all lower-level files and directories.
 	             */
-	            List<Source> list = source.getChildSources();
-	            Iterator<Source> iter = list.iterator();
+	            Iterator<Source> iter = source.getChildSourceIterator();
 	            while (iter.hasNext()) {
 	                Source src = iter.next();
 	                if (src instanceof DirectorySource) {
@@ -466,8 +475,32 @@ public class ZipModule
                                               Source source,
                                               SourceFactory factory)
         throws IOException, JHOVE2Exception
+    {
+        checkForImpliedDirectories(jhove2, name, map, source, factory, null);
+    }
+    
+    /** Check for directories implied by the pathnames for file and directory
+     * entries, queueing new directories below the top level to be added to
+     * their parent directories later.
+     * @param jhove2  JHOVE2 framework object
+     * @param name    File or directory entry pathname
+     * @param map     Map of directories
+     * @param source  Zip file source unit
+     * @param factory Source factory
+     * @param pending Child source units queued by parent directory pathname,
+     *                or null to add new directories immediately
+     * @throws JHOVE2Exception 
+     * @throws IOException 
+     */
+    protected void checkForImpliedDirectories(JHOVE2 jhove2, String name,
+                                              Map<String, Source> map,
+                                              Source source,
+                                              SourceFactory factory,
+                                              Map<String, List<Source>> pending)
+        throws IOException, JHOVE2Exception
     {
         Source parent = source;
+        String parentKey = null;
         int n = 0;
         boolean again = true;
         
@@ -490,9 +523,15 @@ public class ZipModule
                 Source src = map.get(key);
                 if (src == null) {
                     src = factory.getDirectorySource(jhove2, key, false);
-                    src = parent.addChildSource(src);
+                    if (pending != null && parentKey != null) {
+                        addPending(pending, parentKey, src);
+                    }
+                    else {
+                        src = parent.addChildSource(src);
+                    }
                     map.put(key, src);
                     parent = src;
+                    parentKey = key;
                 }
             
                 n = in + 1;
@@ -502,4 +541,20 @@ public class ZipModule
             }
         }
     }
+    
+    /** Queue a child source unit to be added to its parent directory.
+     * @param pending Child source units queued by parent directory pathname
+     * @param key     Parent directory pathname
+     * @param src     Child source unit
+     */
+    protected static void addPending(Map<String, List<Source>> pending,
+                                     String key, Source src)
+    {
+        List<Source> children = pending.get(key);
+        if (children == null) {
+            children = new ArrayList<Source>();
+            pending.put(key, children);
+        }
+        children.add(src);
+    }
 }
@@ -53,6 +53,7 @@ import org.jhove2.core.Message.Severity;
 import org.jhove2.core.format.FormatIdentification;
 import org.jhove2.core.format.FormatIdentification.Confidence;
 import org.jhove2.core.io.Input;
+import org.jhove2.core.metrics.MetricsRegistry;
 import org.jhove2.core.source.Source;
 import org.jhove2.persist.ModuleAccessor;
 
@@ -111,15 +112,15 @@ public class DROIDIdentifier
 	
 	/** map from DROID PUIDs to JHOVE2 format ids */
 	@NotPersistent
-	private static ConcurrentMap<String, String> puidToJhoveId;
+	private static volatile ConcurrentMap<String, String> puidToJhoveId;
 
 	/** static member to cache parsed droid config file */
 	@NotPersistent
-	private static ConfigFile cachedConfigFile = null;
+	private static volatile ConfigFile cachedConfigFile = null;
 
 	/** static member to cache parsed droid signature file */
 	@NotPersistent
-	private static FFSignatureFile cachedSigFile = null;
+	private static volatile FFSignatureFile cachedSigFile = null;
 
 	/**Instantiate a new <code>DROIDIdentifier</code> module that wraps DROID.
 	 * @throws JHOVE2Exception 
@@ -213,6 +214,7 @@ public class DROIDIdentifier
 					}
 					FileFormat ff = ffh.getFileFormat();				
 					String puid = ff.getPUID();
+					MetricsRegistry.getInstance().increment(MetricsRegistry.DROID_HITS_KEYS.get(puid));
 					I8R droidId = new I8R(puid, I8R.Namespace.PUID);
 					Confidence jhoveConfidence = this.getJHOVE2Confidence(ffh);	
 					// look up the JHOVE2 format id corresponding to DROID format id (PUID)
@@ -259,11 +261,15 @@ public class DROIDIdentifier
 	 * @return parsed config file object
 	 * @throws Exception
 	 */
-	private static synchronized ConfigFile getCachedConfigFile(String configFilePath)
+	private static ConfigFile getCachedConfigFile(String configFilePath)
 		throws Exception
 	{
 		if (cachedConfigFile == null) {
-			cachedConfigFile = DROIDWrapper.parseConfigFile(configFilePath);
+			synchronized (DROIDIdentifier.class) {
+				if (cachedConfigFile == null) {
+					cachedConfigFile = DROIDWrapper.parseConfigFile(configFilePath);
+				}
+			}
 		}
 		return cachedConfigFile;
 	}
@@ -276,13 +282,17 @@ public class DROIDIdentifier
 	 * @return parsed signature file contents
 	 * @throws Exception
 	 */
-	private static synchronized FFSignatureFile getCachedSignatureFile(ConfigFile configFile,
-			                                                           String sigFilePath)
+	private static FFSignatureFile getCachedSignatureFile(ConfigFile configFile,
+			                                              String sigFilePath)
 		throws Exception
 	{
 		if (cachedSigFile == null) {
-			cachedSigFile = DROIDWrapper.parseSignatureFile(configFile,
-					                                               sigFilePath);
+			synchronized (DROIDIdentifier.class) {
+				if (cachedSigFile == null) {
+					cachedSigFile = DROIDWrapper.parseSignatureFile(configFile,
+							                                        sigFilePath);
+				}
+			}
 		}
 		return cachedSigFile;
 	}
@@ -81,7 +81,7 @@ public class LibmagicIdentifier extends AbstractFileSourceIdentifier
     private final static String MAGIC_DB_EXTENSION = ".mgc";
 
     /** Map MIME types to JHOVE2 format identifiers. */
-    private static Map<String,I8R> mimeTypesToFormatIds;
+    private static volatile Map<String,I8R> mimeTypesToFormatIds;
 
     /** The directory where source Magic definition files are stored. */
     private File magicFileDir = null;
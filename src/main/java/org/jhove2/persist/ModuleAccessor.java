@@ -75,6 +75,15 @@ public interface ModuleAccessor {
 	 * @throws JHOVE2Exception
 	 */
 	public Module resetTimerInfo(Module module) throws JHOVE2Exception;
+	/**
+	 * Adds the duration of one invocation to Module's TimerInfo; safe when
+	 * the Module is invoked from several threads at once
+	 * @param module
+	 * @param nanos Duration of the invocation, in nanoseconds
+	 * @return Module with TimerInfo updated
+	 * @throws JHOVE2Exception
+	 */
+	public Module addTimerInfo(Module module, long nanos) throws JHOVE2Exception;
 	/**
 	 * Get Source to which that Module is attached
 	 * @param module Module whose parent Source is being requested
@@ -35,6 +35,7 @@
  */
 package org.jhove2.persist;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -73,6 +74,19 @@ public interface SourceAccessor  {
 	 * @throws JHOVE2Exception
 	 */
 	public Source addChildSource(Source parentSource, Source childSource) throws JHOVE2Exception;
+
+	/**
+	 * Add child Sources to Source in a single batch.
+	 * Has the same effect as calling {@link #addChildSource(Source, Source)} for
+	 * each child in turn, but allows the implementation to persist the children
+	 * together (for example, in one transaction) rather than one at a time
+	 * @param parentSource Source to which child Sources are to be attached
+	 * @param childSources Sources to be added to parent
+	 * @return Child sources, in the order given
+	 * @throws JHOVE2Exception
+	 */
+	public List<Source> addChildSources(Source parentSource, List<Source> childSources)
+		throws JHOVE2Exception;
     
     /** Add an extra properties {@link org.jhove2.core.reportable.Reportable}
      * to be associated with the source unit.  Extra properties are those not
@@ -100,6 +114,25 @@ public interface SourceAccessor  {
 	 * @throws JHOVE2Exception
 	 */
 	public int getNumChildSources(Source parentSource) throws JHOVE2Exception;
+
+	/**
+	 * Get the source identifiers of the child Sources of a Source, without
+	 * retrieving the child Sources themselves
+	 * @param parentSource whose children's identifiers are to be returned
+	 * @return List of child Source identifiers
+	 * @throws JHOVE2Exception
+	 */
+	public List<Long> getChildSourceIds(Source parentSource) throws JHOVE2Exception;
+
+	/**
+	 * Get an iterator over the child Sources of a Source.  The iterator may
+	 * retrieve each child Source only as it is reached, so that a Source with
+	 * very many children need not have all of them in memory at once
+	 * @param parentSource whose children are to be iterated
+	 * @return Iterator over child Sources
+	 * @throws JHOVE2Exception
+	 */
+	public Iterator<Source> getChildSourceIterator(Source parentSource) throws JHOVE2Exception;
 	/**
 	 * Remove Source from list of a Source's children
 	 * Must ensure that, after completion of method, parentSource.getChildren().contains(childSource)==false
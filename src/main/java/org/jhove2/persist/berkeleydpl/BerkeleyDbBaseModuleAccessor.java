@@ -36,6 +36,7 @@
 package org.jhove2.persist.berkeleydpl;
 
 import org.jhove2.core.JHOVE2Exception;
+import org.jhove2.core.metrics.MetricsRegistry;
 import org.jhove2.core.source.Source;
 import org.jhove2.module.AbstractModule;
 import org.jhove2.module.Module;
@@ -68,6 +69,7 @@ public class BerkeleyDbBaseModuleAccessor
 			//is passed as a parameter
 			try{
 				getBerkeleyDbPersistenceManager().getModuleByModuleId().put((AbstractModule) module);
+				MetricsRegistry.getInstance().increment(MetricsRegistry.BDB_PUTS + "module");
 			}
 			catch(DatabaseException e){
 				throw new JHOVE2Exception("Could not persist Module" , e);
@@ -101,6 +103,14 @@ public class BerkeleyDbBaseModuleAccessor
 		}
 		return module;
 	}
+	@Override
+	public Module addTimerInfo(Module module, long nanos) throws JHOVE2Exception{
+		if (module != null){
+			module.getTimerInfo().addElapsedNanos(nanos);
+			this.persistModule(module);
+		}
+		return module;
+	}
 
 	@Override
 	public Source getParentSource(Module module) throws JHOVE2Exception{
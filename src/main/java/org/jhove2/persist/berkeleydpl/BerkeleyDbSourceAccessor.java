@@ -36,12 +36,15 @@
 package org.jhove2.persist.berkeleydpl;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 import org.jhove2.core.JHOVE2Exception;
 import org.jhove2.core.Message;
 import org.jhove2.core.format.FormatIdentification;
+import org.jhove2.core.metrics.MetricsRegistry;
 import org.jhove2.core.reportable.Reportable;
 import org.jhove2.core.source.AbstractSource;
 import org.jhove2.core.source.Source;
@@ -50,8 +53,10 @@ import org.jhove2.module.Module;
 import org.jhove2.persist.SourceAccessor;
 
 import com.sleepycat.je.DatabaseException;
+import com.sleepycat.je.Transaction;
 import com.sleepycat.persist.EntityCursor;
 import com.sleepycat.persist.EntityIndex;
+import com.sleepycat.persist.PrimaryIndex;
 import com.sleepycat.persist.model.Persistent;
 
 
@@ -67,6 +72,14 @@ public class BerkeleyDbSourceAccessor
 	extends BerkeleyDbBaseAccessor 
 	implements BerkeleyDbAccessor, SourceAccessor {
 	
+	/** Transaction in which the current thread is persisting a batch of
+	 * child Sources, or null if it is not in a batch (or the environment is
+	 * not transactional).  Static, so that it is shared by the accessors of
+	 * all of the Sources in the batch, and not part of the persistent state.
+	 */
+	private static final ThreadLocal<Transaction> batchTransaction =
+		new ThreadLocal<Transaction>();
+	
 	/**
 	 * Constructor
 	 */
@@ -99,6 +112,80 @@ public class BerkeleyDbSourceAccessor
 			return childSource;
 		}
 	}
+
+	/**
+	 * Add child Sources to Source in a single batch.  If the environment is
+	 * transactional, all of the children are updated in one transaction,
+	 * rather than one transaction per child, which is committed once every
+	 * child has been updated and aborted if any update fails.
+	 * @see org.jhove2.persist.SourceAccessor#addChildSources(org.jhove2.core.source.Source, java.util.List)
+	 */
+	@Override
+	public List<Source> addChildSources(Source parentSource, List<Source> childSources)
+			throws JHOVE2Exception {
+		List<Source> added = childSources;
+		if (parentSource != null && childSources != null && childSources.size() > 0){
+			if (parentSource.getSourceId()==null){
+				// key field in parentSource will be updated automatically
+				this.persistSource(parentSource);
+			}
+			Long parentSourceId = parentSource.getSourceId();
+			Transaction txn = this.beginBatch();
+			boolean committed = false;
+			try {
+				added = new ArrayList<Source>(childSources.size());
+				for (Source childSource : childSources){
+					if (childSource != null){
+						//set and update secondary index
+						childSource = childSource.setParentSourceId(parentSourceId);
+					}
+					added.add(childSource);
+				}
+				if (txn != null){
+					txn.commit();
+				}
+				committed = true;
+			}
+			catch (DatabaseException e){
+				throw new JHOVE2Exception("Unable to add Child Sources for parentSource id = "
+						+ parentSourceId, e);
+			}
+			finally {
+				batchTransaction.remove();
+				if (txn != null && !committed){
+					try {
+						txn.abort();
+					}
+					catch (DatabaseException e){
+						// already failing; report the original exception
+					}
+				}
+			}
+		}
+		return added;
+	}
+
+	/**
+	 * Begin a batch transaction for the current thread, if the environment is
+	 * transactional and the thread is not already in a batch.
+	 * @return Batch transaction, or null if there is none to commit
+	 * @throws JHOVE2Exception
+	 */
+	protected Transaction beginBatch() throws JHOVE2Exception {
+		BerkeleyDbPersistenceManager manager = this.getBerkeleyDbPersistenceManager();
+		if (batchTransaction.get() != null ||
+			manager.getEnvConfig() == null || !manager.getEnvConfig().getTransactional()){
+			return null;
+		}
+		try {
+			Transaction txn = manager.getEnv().beginTransaction(null, null);
+			batchTransaction.set(txn);
+			return txn;
+		}
+		catch (DatabaseException e){
+			throw new JHOVE2Exception("Unable to begin transaction", e);
+		}
+	}
 	 
     /** Add an extra properties {@link org.jhove2.core.reportable.Reportable}
      * to be associated with the source unit.  Extra properties are those not
@@ -210,6 +297,57 @@ public class BerkeleyDbSourceAccessor
 	}
 
 
+	/**
+	 * Get the source identifiers of the child Sources of a Source, reading
+	 * only the keys of the parent Source index, not the child Sources.
+	 * @see org.jhove2.persist.SourceAccessor#getChildSourceIds(org.jhove2.core.source.Source)
+	 */
+	@Override
+	public List<Long> getChildSourceIds(Source parentSource)
+			throws JHOVE2Exception {
+		ArrayList<Long> childSourceIds = new ArrayList<Long>();
+		if (parentSource != null){
+			EntityIndex<Long, AbstractSource> subIndex = null;
+			EntityCursor<Long> cursor = null;
+			try{
+				subIndex = 
+					this.getBerkeleyDbPersistenceManager().getSourceByParentSource().subIndex(parentSource.getSourceId());
+				cursor = subIndex.keys();
+				for (Long key: cursor){
+					childSourceIds.add(key);
+				}// end for
+			}
+			catch (DatabaseException e){
+				throw new JHOVE2Exception ("Unable to get Child Source ids for parentSource id = " 
+						+ parentSource.getSourceId(), e);
+			}
+			finally{
+				if (cursor != null){
+					try{
+						cursor.close();
+					}
+					catch (DatabaseException e){
+						throw new JHOVE2Exception ("Unable to close cursor", e);
+					}
+				}
+			}
+		}// end if
+		return childSourceIds;
+	}
+
+	/**
+	 * Get an iterator over the child Sources of a Source.  The identifiers
+	 * of the children are read up front, but each child Source is retrieved
+	 * only when the iterator reaches it.
+	 * @see org.jhove2.persist.SourceAccessor#getChildSourceIterator(org.jhove2.core.source.Source)
+	 */
+	@Override
+	public Iterator<Source> getChildSourceIterator(Source parentSource)
+			throws JHOVE2Exception {
+		return new ChildSourceIterator(this.getChildSourceIds(parentSource),
+				this.getBerkeleyDbPersistenceManager().getSourceBySourceId());
+	}
+
 	/* (non-Javadoc)
 	 * @see org.jhove2.persist.SourceAccessor#getModules(org.jhove2.core.source.Source)
 	 */
@@ -256,8 +394,31 @@ public class BerkeleyDbSourceAccessor
 	public int getNumChildSources(Source parentSource) throws JHOVE2Exception {
 		int size = 0;
 		if (parentSource != null){
-			List<Source> childSources = this.getChildSources(parentSource);
-			size = childSources.size();
+			EntityIndex<Long, AbstractSource> subIndex = null;
+			EntityCursor<Long> cursor = null;
+			try{
+				// count keys only; the child Sources need not be retrieved
+				subIndex = 
+					this.getBerkeleyDbPersistenceManager().getSourceByParentSource().subIndex(parentSource.getSourceId());
+				cursor = subIndex.keys();
+				while (cursor.next() != null){
+					size++;
+				}
+			}
+			catch (DatabaseException e){
+				throw new JHOVE2Exception ("Unable to count Child Sources for parentSource id = " 
+						+ parentSource.getSourceId(), e);
+			}
+			finally{
+				if (cursor != null){
+					try{
+						cursor.close();
+					}
+					catch (DatabaseException e){
+						throw new JHOVE2Exception ("Unable to close cursor", e);
+					}
+				}
+			}
 		}
 		return size;
 	}
@@ -285,7 +446,16 @@ public class BerkeleyDbSourceAccessor
 //      The returned source object has its key field updated
 		if (source != null){
 			try{
-				this.getBerkeleyDbPersistenceManager().getSourceBySourceId().put((AbstractSource) source);
+				PrimaryIndex<Long, AbstractSource> index =
+					this.getBerkeleyDbPersistenceManager().getSourceBySourceId();
+				Transaction txn = batchTransaction.get();
+				if (txn != null){
+					index.put(txn, (AbstractSource) source);
+				}
+				else {
+					index.put((AbstractSource) source);
+				}
+				MetricsRegistry.getInstance().increment(MetricsRegistry.BDB_PUTS + "source");
 			}
 			catch(DatabaseException e){
 				throw new JHOVE2Exception("Could not persist Source" , e);
@@ -365,4 +535,64 @@ public class BerkeleyDbSourceAccessor
 		}	
 	}
 
+	/**
+	 * Iterator over child Sources that retrieves each child from the primary
+	 * Source index as it is reached.  Children deleted after their
+	 * identifiers were read are skipped.
+	 */
+	protected static class ChildSourceIterator
+		implements Iterator<Source>
+	{
+		/** Identifiers of the child Sources. */
+		protected Iterator<Long> ids;
+		/** Primary Source index. */
+		protected PrimaryIndex<Long, AbstractSource> index;
+		/** Next child Source, once retrieved. */
+		protected Source next;
+
+		/**
+		 * Constructor
+		 * @param ids Identifiers of the child Sources
+		 * @param index Primary Source index
+		 */
+		protected ChildSourceIterator(List<Long> ids,
+				PrimaryIndex<Long, AbstractSource> index){
+			this.ids = ids.iterator();
+			this.index = index;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.Iterator#hasNext()
+		 */
+		@Override
+		public boolean hasNext() {
+			while (this.next == null && this.ids.hasNext()){
+				this.next = this.index.get(this.ids.next());
+			}
+			return this.next != null;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.Iterator#next()
+		 */
+		@Override
+		public Source next() {
+			if (!hasNext()){
+				throw new NoSuchElementException();
+			}
+			Source source = this.next;
+			this.next = null;
+			return source;
+		}
+
+		/**
+		 * Unsupported; use {@link org.jhove2.core.source.Source#deleteChildSource(Source)}.
+		 * @see java.util.Iterator#remove()
+		 */
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
 }
\ No newline at end of file
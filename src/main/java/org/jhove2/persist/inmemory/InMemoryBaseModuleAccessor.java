@@ -67,27 +67,31 @@ public class InMemoryBaseModuleAccessor implements ModuleAccessor {
 	}
 	@Override
 	public Module endTimerInfo(Module module) throws JHOVE2Exception {
-		if (this.module==null){
-			this.module = module;
+		if (module != null){
+			module.getTimerInfo().setEndTime();
 		}
-		this.module.getTimerInfo().setEndTime();
-		return this.module;
+		return module;
 	}
 	@Override
 	public Module startTimerInfo(Module module) throws JHOVE2Exception {
-		if (this.module==null){
-			this.module = module;
+		if (module != null){
+			module.getTimerInfo().setStartTime();
 		}
-		this.module.getTimerInfo().setStartTime();
-		return this.module;
+		return module;
 	}
 	@Override
 	public Module resetTimerInfo(Module module) throws JHOVE2Exception{
-		if (this.module==null){
-			this.module = module;
+		if (module != null){
+			module.getTimerInfo().resetStartTime();
 		}
-		this.module.getTimerInfo().resetStartTime();
-		return this.module;
+		return module;
+	}
+	@Override
+	public Module addTimerInfo(Module module, long nanos) throws JHOVE2Exception{
+		if (module != null){
+			module.getTimerInfo().addElapsedNanos(nanos);
+		}
+		return module;
 	}
 
 	@Override
@@ -36,6 +36,9 @@
 package org.jhove2.persist.inmemory;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -52,6 +55,12 @@ import org.jhove2.persist.SourceAccessor;
 /**
  * SourceAccessor for in-memory persistence model
  * Makes no attempt to cache or manage memory
+ * <p>
+ * The accessor is thread-safe, so that source units may be characterized
+ * on several threads at once: its lists are synchronized, compound updates
+ * lock the list they update, and the lists of child source units and
+ * modules are returned as snapshots that may be iterated while other
+ * threads add to them.
  * @author smorrissey
  *
  */
@@ -68,16 +77,16 @@ public class InMemorySourceAccessor implements SourceAccessor {
 	/** Source for which this is accessor*/
 	protected Source source;
 	/** Parent Source */
-	protected Source parentSource;
+	protected volatile Source parentSource;
 	
 	/**
 	 * Constructor
 	 */
 	public InMemorySourceAccessor(){
 		super();
-		this.children        = new ArrayList<Source>();
-		this.extraProperties = new ArrayList<Reportable>();
-		this.modules         = new ArrayList<Module>();
+		this.children        = Collections.synchronizedList(new ArrayList<Source>());
+		this.extraProperties = Collections.synchronizedList(new ArrayList<Reportable>());
+		this.modules         = Collections.synchronizedList(new ArrayList<Module>());
 	}
 	
 	/**
@@ -96,15 +105,28 @@ public class InMemorySourceAccessor implements SourceAccessor {
 		}
 	}
 
-	/* (non-Javadoc)
+	/**
+	 * Add child Source to Source, unless already in the list of children.
+	 * Children are recognized by identity, as by
+	 * {@link #addChildSources(Source, List)}: distinct child Sources are all
+	 * added, even if they compare equal before they are characterized.
 	 * @see org.jhove2.persist.SourceAccessor#addChildSource(org.jhove2.core.source.Source, org.jhove2.core.source.Source)
 	 */
 	@Override
 	public Source addChildSource(Source parentSource, Source childSource)
 			throws JHOVE2Exception {
 		if (childSource != null && parentSource==this.source){
-			if (!(this.children.contains(childSource))){
-				this.children.add(childSource);
+			synchronized (this.children) {
+				boolean present = false;
+				for (Source child : this.children){
+					if (child == childSource){
+						present = true;
+						break;
+					}
+				}
+				if (!present){
+					this.children.add(childSource);
+				}
 			}
 			// make sure child points to its parent
 			if (!(childSource.getParentSource()==parentSource)){
@@ -114,6 +136,39 @@ public class InMemorySourceAccessor implements SourceAccessor {
 		}
 		return childSource;
 	}
+
+	/**
+	 * Add child Sources to Source in a single batch, holding the lock on the
+	 * list of children once rather than once per child.  Children already
+	 * in the list are recognized by identity, as by
+	 * {@link #addChildSource(Source, Source)}, so that the cost of the batch
+	 * grows linearly with the number of children.
+	 * @see org.jhove2.persist.SourceAccessor#addChildSources(org.jhove2.core.source.Source, java.util.List)
+	 */
+	@Override
+	public List<Source> addChildSources(Source parentSource, List<Source> childSources)
+			throws JHOVE2Exception {
+		if (childSources != null && parentSource==this.source){
+			synchronized (this.children) {
+				Set<Source> present =
+					Collections.newSetFromMap(new IdentityHashMap<Source, Boolean>());
+				present.addAll(this.children);
+				for (Source childSource : childSources){
+					if (childSource != null && present.add(childSource)){
+						this.children.add(childSource);
+					}
+				}
+			}
+			// make sure children point to their parent
+			for (Source childSource : childSources){
+				if (childSource != null && !(childSource.getParentSource()==parentSource)){
+					InMemorySourceAccessor sa = (InMemorySourceAccessor) childSource.getSourceAccessor();
+					sa.parentSource=parentSource;
+				}
+			}
+		}
+		return childSources;
+	}
     
 	/* (non-Javadoc)
 	 * @see org.jhove2.persist.SourceAccessor#addModule(org.jhove2.core.source.Source, org.jhove2.module.Module)
@@ -122,8 +177,10 @@ public class InMemorySourceAccessor implements SourceAccessor {
 	public Module addModule(Source source, Module module)
 			throws JHOVE2Exception {
 		if (module != null && source==this.source){
-			if (!(this.modules.contains(module))){
-				this.modules.add(module);
+			synchronized (this.modules) {
+				if (!(this.modules.contains(module))){
+					this.modules.add(module);
+				}
 			}
 			// make sure module points to its parent source
 			if (!(module.getParentSource()==source)){
@@ -145,7 +202,9 @@ public class InMemorySourceAccessor implements SourceAccessor {
     public Source addExtraProperties(Source source, Reportable properties)
         throws JHOVE2Exception
     {
-        source.getExtraProperties().add(properties);
+        synchronized (source) {
+            source.getExtraProperties().add(properties);
+        }
         return  source;
     }
 
@@ -153,7 +212,14 @@ public class InMemorySourceAccessor implements SourceAccessor {
 	public Source deleteChildSource(Source parentSource, Source childSource)
 			throws JHOVE2Exception {
 		if (childSource != null && parentSource==this.source){
-			this.children.remove(childSource);
+			synchronized (this.children) {
+				for (Iterator<Source> iter = this.children.iterator(); iter.hasNext();){
+					if (iter.next() == childSource){
+						iter.remove();
+						break;
+					}
+				}
+			}
 			// make sure child no longer points to parent
 			if ((childSource.getParentSource()==parentSource)){
 				InMemorySourceAccessor sa = (InMemorySourceAccessor) childSource.getSourceAccessor();
@@ -179,12 +245,52 @@ public class InMemorySourceAccessor implements SourceAccessor {
 	@Override
 	public List<Source> getChildSources(Source parentSource)
 			throws JHOVE2Exception {
-		return this.children;
+		return snapshot(this.children);
+	}
+
+	/**
+	 * Get the source identifiers of the child Sources.  In-memory Sources
+	 * are not assigned identifiers, so the list holds whatever identifier
+	 * each child carries (typically null).
+	 * @see org.jhove2.persist.SourceAccessor#getChildSourceIds(org.jhove2.core.source.Source)
+	 */
+	@Override
+	public List<Long> getChildSourceIds(Source parentSource)
+			throws JHOVE2Exception {
+		List<Source> childSources = snapshot(this.children);
+		List<Long> ids = new ArrayList<Long>(childSources.size());
+		for (Source childSource : childSources){
+			ids.add(childSource.getSourceId());
+		}
+		return ids;
+	}
+
+	/**
+	 * Get an iterator over a snapshot of the child Sources, which are
+	 * already in memory.
+	 * @see org.jhove2.persist.SourceAccessor#getChildSourceIterator(org.jhove2.core.source.Source)
+	 */
+	@Override
+	public Iterator<Source> getChildSourceIterator(Source parentSource)
+			throws JHOVE2Exception {
+		return snapshot(this.children).iterator();
 	}
 
 	@Override
 	public List<Module> getModules(Source source) throws JHOVE2Exception {
-		return this.modules;
+		return snapshot(this.modules);
+	}
+
+	/**
+	 * Copy a synchronized list, so that the copy can be iterated while other
+	 * threads update the list.
+	 * @param list Synchronized list
+	 * @return Copy of the list
+	 */
+	protected static <T> List<T> snapshot(List<T> list) {
+		synchronized (list) {
+			return new ArrayList<T>(list);
+		}
 	}
 
 	@Override
@@ -210,8 +316,8 @@ public class InMemorySourceAccessor implements SourceAccessor {
 		}
 		List<Source> children = source.getChildSources();
 		List<Module> modules = source.getModules();
-		this.children = children;
-		this.modules = modules;
+		this.children = Collections.synchronizedList(children);
+		this.modules = Collections.synchronizedList(modules);
 		this.source = source;
 		this.parentSource = source.getParentSource();	
 		return this.source;
@@ -235,7 +341,9 @@ public class InMemorySourceAccessor implements SourceAccessor {
 	@Override
 	public Source addMessage(Source source, Message message)
 			throws JHOVE2Exception {
-		source.getMessages().add(message);
+		synchronized (source) {
+			source.getMessages().add(message);
+		}
 		return  source;
 	}
 
@@ -243,7 +351,9 @@ public class InMemorySourceAccessor implements SourceAccessor {
 	@Override
 	public Source addPresumptiveFormat(Source source, FormatIdentification fi)
 			throws JHOVE2Exception {
-		source.getPresumptiveFormats().add(fi);
+		synchronized (source) {
+			source.getPresumptiveFormats().add(fi);
+		}
 		return source;
 	}
 
@@ -251,7 +361,9 @@ public class InMemorySourceAccessor implements SourceAccessor {
 	@Override
 	public Source addPresumptiveFormats(Source source,
 			Set<FormatIdentification> fis) throws JHOVE2Exception {
-		source.getPresumptiveFormats().addAll(fis);
+		synchronized (source) {
+			source.getPresumptiveFormats().addAll(fis);
+		}
 		return source;
 	}
 
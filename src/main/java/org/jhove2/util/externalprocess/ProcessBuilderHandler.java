@@ -0,0 +1,277 @@
+/**
+ * JHOVE2 - Next-generation architecture for format-aware characterization
+ * <p>
+ * Copyright (c) 2010 by The Regents of the University of California, Ithaka
+ * Harbors, Inc., and The Board of Trustees of the Leland Stanford Junior
+ * University. All rights reserved.
+ * </p>
+ * <p>
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * </p>
+ * <ul>
+ * <li>Redistributions of source code must retain the above copyright notice,
+ * this list of conditions and the following disclaimer.</li>
+ * <li>Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.</li>
+ * <li>Neither the name of the University of California/California Digital
+ * Library, Ithaka Harbors/Portico, or Stanford University, nor the names of its
+ * contributors may be used to endorse or promote products derived from this
+ * software without specific prior written permission.</li>
+ * </ul>
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * </p>
+ */
+package org.jhove2.util.externalprocess;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jhove2.core.JHOVE2Exception;
+
+import com.sleepycat.persist.model.Persistent;
+
+/**
+ * This class creates a child process directly with {@link java.lang.ProcessBuilder},
+ * without an intermediate shell.  The standard output and standard error of the
+ * child process are passed, while the process runs, to {@link ProcessOutputHandler}s,
+ * so no temporary output files, shell redirection, or "sync" command are needed.
+ * 
+ * The number of child processes running at once is bounded by a process pool
+ * shared by all handlers configured with the same {@link #maxProcesses}.
+ */
+@Persistent
+public class ProcessBuilderHandler implements ExternalProcessHandler {
+
+	/** Default maximum number of concurrently running child processes */
+	public static final int DEFAULT_MAX_PROCESSES = 4;
+
+	/** Process pools (permits for running child processes), by pool size */
+	private static final ConcurrentMap<Integer, Semaphore> processPools =
+		new ConcurrentHashMap<Integer, Semaphore>();
+
+	/** Threads draining process output and running submitted commands */
+	private static final ExecutorService streamPool =
+		Executors.newCachedThreadPool(new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "jhove2-process-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+
+	/** maximum number of concurrently running child processes */
+	protected int maxProcesses = DEFAULT_MAX_PROCESSES;
+
+	/**
+	 * Invokes the command, split on white space as in {@link #tokenize(String)}, as a
+	 * child process, discarding its output.  Shell syntax such as redirection is not interpreted.
+	 * @param command String containing command to be invoked
+	 * @throws JHOVE2Exception
+	 * @throws NoSuchShellEnvException 
+	 */
+	@Override
+	public void executeCommand(String command) throws JHOVE2Exception, NoSuchShellEnvException {
+		this.execute(tokenize(command), null, null);
+	}
+
+	/**
+	 * Runs a child process, waiting for a slot in the process pool if necessary,
+	 * and passes its standard output and standard error to the handlers.  Standard
+	 * error is consumed on a separate thread, standard output on the calling thread.
+	 * @param command command and its arguments
+	 * @param stdoutHandler handler for standard output, or null to discard it
+	 * @param stderrHandler handler for standard error, or null to discard it
+	 * @return exit value of the process
+	 * @throws JHOVE2Exception if the process cannot be started, or a handler fails
+	 */
+	public int execute(List<String> command, ProcessOutputHandler stdoutHandler,
+			final ProcessOutputHandler stderrHandler)
+	throws JHOVE2Exception {
+		Semaphore pool = getProcessPool(this.maxProcesses);
+		try {
+			pool.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JHOVE2Exception("ProcessBuilderHandler.execute(" + command + ")", e);
+		}
+		Process process = null;
+		try {
+			process = new ProcessBuilder(command).start();
+			process.getOutputStream().close();
+			final InputStream stderr = process.getErrorStream();
+			Future<Void> errors = streamPool.submit(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					consume(stderr, stderrHandler);
+					return null;
+				}
+			});
+			consume(process.getInputStream(), stdoutHandler);
+			int exitValue = process.waitFor();
+			errors.get();
+			return exitValue;
+		} catch (ExecutionException e) {
+			throw new JHOVE2Exception("ProcessBuilderHandler.execute(" + command + ")",
+					e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JHOVE2Exception("ProcessBuilderHandler.execute(" + command + ")", e);
+		} catch (IOException e) {
+			throw new JHOVE2Exception("ProcessBuilderHandler.execute(" + command + ")", e);
+		}
+		finally {
+			if (process != null) {
+				process.destroy();
+			}
+			pool.release();
+		}
+	}
+
+	/**
+	 * Runs a child process asynchronously, as in 
+	 * {@link #execute(List, ProcessOutputHandler, ProcessOutputHandler)}.
+	 * @param command command and its arguments
+	 * @param stdoutHandler handler for standard output, or null to discard it
+	 * @param stderrHandler handler for standard error, or null to discard it
+	 * @return Future yielding the exit value of the process
+	 */
+	public Future<Integer> submit(final List<String> command,
+			final ProcessOutputHandler stdoutHandler,
+			final ProcessOutputHandler stderrHandler) {
+		return streamPool.submit(new Callable<Integer>() {
+			@Override
+			public Integer call() throws Exception {
+				return Integer.valueOf(execute(command, stdoutHandler, stderrHandler));
+			}
+		});
+	}
+
+	/**
+	 * Pass a process output stream to a handler, then discard anything the
+	 * handler left unread (so that the process is never blocked on a full pipe),
+	 * and close the stream.
+	 * @param output process output stream
+	 * @param handler handler, or null to discard the output
+	 * @throws IOException
+	 * @throws JHOVE2Exception
+	 */
+	protected static void consume(InputStream output, ProcessOutputHandler handler)
+	throws IOException, JHOVE2Exception {
+		try {
+			if (handler != null) {
+				handler.handle(output);
+			}
+			byte[] buffer = new byte[8192];
+			while (output.read(buffer) != -1) {
+				;
+			}
+		}
+		finally {
+			output.close();
+		}
+	}
+
+	/**
+	 * Split a command string into its white-space separated tokens.  White
+	 * space inside single or double quotes does not separate tokens, so that
+	 * paths containing spaces may be passed as one argument; the quotes
+	 * themselves are removed, as a shell would.
+	 * @param command command string
+	 * @return command tokens
+	 */
+	public static List<String> tokenize(String command) {
+		List<String> tokens = new ArrayList<String>();
+		if (command != null) {
+			StringBuilder token = new StringBuilder();
+			boolean inToken = false;
+			char quote = 0;
+			for (int i = 0; i < command.length(); i++) {
+				char c = command.charAt(i);
+				if (quote != 0) {
+					if (c == quote) {
+						quote = 0;
+					}
+					else {
+						token.append(c);
+					}
+				}
+				else if (c == '"' || c == '\'') {
+					quote = c;
+					inToken = true;
+				}
+				else if (Character.isWhitespace(c)) {
+					if (inToken) {
+						tokens.add(token.toString());
+						token.setLength(0);
+						inToken = false;
+					}
+				}
+				else {
+					token.append(c);
+					inToken = true;
+				}
+			}
+			if (inToken) {
+				tokens.add(token.toString());
+			}
+		}
+		return tokens;
+	}
+
+	/**
+	 * Get the process pool for a given maximum number of child processes
+	 * @param maxProcesses maximum number of concurrently running child processes
+	 * @return pool of permits to run a child process
+	 */
+	protected static Semaphore getProcessPool(int maxProcesses) {
+		Integer size = Integer.valueOf(Math.max(1, maxProcesses));
+		Semaphore pool = processPools.get(size);
+		if (pool == null) {
+			processPools.putIfAbsent(size, new Semaphore(size.intValue(), true));
+			pool = processPools.get(size);
+		}
+		return pool;
+	}
+
+	/**
+	 * @return the maxProcesses
+	 */
+	public int getMaxProcesses() {
+		return maxProcesses;
+	}
+
+	/**
+	 * @param maxProcesses the maxProcesses to set
+	 */
+	public void setMaxProcesses(int maxProcesses) {
+		this.maxProcesses = maxProcesses;
+	}
+
+}
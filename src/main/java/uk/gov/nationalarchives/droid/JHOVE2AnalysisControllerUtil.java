@@ -163,9 +163,22 @@ public class JHOVE2AnalysisControllerUtil {
 		configFile.setSigFile(theSigFileName);
 		//prepare for XML read
 		MessageDisplay.resetXMLRead();
-		//carry out XML read
-		sigFile = parseSigFile(theSigFileName);
-		sigFile.prepareForUse();
+		if (SignatureFileCache.isEnabled()) {
+			//restore the prepared model from its snapshot, if it is current
+			java.io.File file = new java.io.File(theSigFileName);
+			String checksum = SignatureFileCache.checksum(file);
+			sigFile = SignatureFileCache.read(file, checksum);
+			if (sigFile == null) {
+				sigFile = parseSigFile(theSigFileName);
+				sigFile.prepareForUse();
+				SignatureFileCache.write(file, checksum, sigFile);
+			}
+		}
+		else {
+			//carry out XML read
+			sigFile = parseSigFile(theSigFileName);
+			sigFile.prepareForUse();
+		}
 		String theVersion = sigFile.getVersion();
 		try {
 			configFile.setSigFileVersion(theVersion);
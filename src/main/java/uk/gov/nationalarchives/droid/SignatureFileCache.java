@@ -0,0 +1,327 @@
+/**
+ * JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2009 by The Regents of the University of California,
+ * Ithaka Harbors, Inc., and The Board of Trustees of the Leland Stanford
+ * Junior University.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library, Ithaka Harbors/Portico, or Stanford University, nor the names of
+ *   its contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ *
+ * Please see the file DROID-LICENSE.txt in the JHOVE2 distribution for a complete statement
+ *  of the BSD license rights governing the use of DROID source code.
+ */
+package uk.gov.nationalarchives.droid;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import uk.gov.nationalarchives.droid.signatureFile.FFSignatureFile;
+
+/**
+ * Binary snapshot of a prepared DROID signature file.  Parsing the XML
+ * signature file and preparing it for use (shift tables, fragment ordering,
+ * format priority relations) dominates the start-up cost of a JHOVE2
+ * invocation; the snapshot holds the fully prepared
+ * {@link uk.gov.nationalarchives.droid.signatureFile.FFSignatureFile} model
+ * so that it can be restored without re-parsing.
+ * <p>
+ * A snapshot is written next to the signature file, or in the directory
+ * named by the system property {@link #CACHE_DIR_PROPERTY}, with the suffix
+ * {@link #CACHE_SUFFIX}, and is keyed by the SHA-1 checksum of the signature
+ * file.  A snapshot whose checksum or {@link #FORMAT_VERSION format version}
+ * does not match, or which cannot be deserialized, is ignored and the
+ * signature file is parsed as usual.
+ * <p>
+ * Snapshots may be produced ahead of time by running this class's
+ * {@link #main(String[])} method (the build writes one under
+ * <code>target</code> for the release assembly), and are refreshed
+ * automatically by
+ * {@link JHOVE2AnalysisControllerUtil#loadSigFile(ConfigFile, String)}
+ * whenever the signature file location is writable.  Caching can be
+ * disabled by setting the system property {@link #ENABLED_PROPERTY} to
+ * <code>false</code>.
+ */
+public class SignatureFileCache {
+	/** Snapshot file suffix. */
+	public static final String CACHE_SUFFIX = ".bin";
+
+	/** System property that enables (default) or disables the snapshot. */
+	public static final String ENABLED_PROPERTY = "jhove2.droid.sigfile.cache";
+
+	/** System property naming the directory in which snapshots are kept,
+	 * instead of next to the signature file. */
+	public static final String CACHE_DIR_PROPERTY = "jhove2.droid.sigfile.cache.dir";
+
+	/** Snapshot magic number. */
+	protected static final int MAGIC = 0x4A324453;
+
+	/** Snapshot format version.  The signature model classes declare fixed
+	 * serialVersionUIDs, so this version must be incremented whenever one of
+	 * them changes incompatibly; snapshots of any other version are ignored.
+	 */
+	public static final int FORMAT_VERSION = 2;
+
+	/** Checksum algorithm. */
+	protected static final String ALGORITHM = "SHA-1";
+
+	/** Usage string */
+	public static final String USAGE =
+		"USAGE:  java -cp CLASSPATH " + SignatureFileCache.class.getName() + " signature-file-path ...";
+	/** Error return code for erroneous command line invocation */
+	public static final int EUSAGE = 1;
+	/** Error return code if any exception is thrown while executing program */
+	public static final int EEXCEPTION = 2;
+
+	/**
+	 * Is the signature file snapshot enabled?
+	 * 
+	 * @return True if enabled
+	 */
+	public static boolean isEnabled() {
+		return !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY));
+	}
+
+	/**
+	 * Get the snapshot file for a signature file.
+	 * 
+	 * @param sigFile Signature file
+	 * @return Snapshot file
+	 */
+	public static File getCacheFile(File sigFile) {
+		String dir = System.getProperty(CACHE_DIR_PROPERTY);
+		if (dir != null && dir.length() > 0) {
+			return new File(dir, sigFile.getName() + CACHE_SUFFIX);
+		}
+		return new File(sigFile.getPath() + CACHE_SUFFIX);
+	}
+
+	/**
+	 * Calculate the hexadecimal SHA-1 checksum of a signature file.
+	 * 
+	 * @param sigFile Signature file
+	 * @return Checksum
+	 * @throws IOException
+	 */
+	public static String checksum(File sigFile)
+		throws IOException
+	{
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance(ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e.getMessage());
+		}
+		InputStream in = new FileInputStream(sigFile);
+		try {
+			byte[] buffer = new byte[8192];
+			int n;
+			while ((n = in.read(buffer)) > 0) {
+				digest.update(buffer, 0, n);
+			}
+		} finally {
+			in.close();
+		}
+		byte[] bytes = digest.digest();
+		StringBuffer sb = new StringBuffer(2 * bytes.length);
+		for (int i = 0; i < bytes.length; i++) {
+			int b = bytes[i] & 0xff;
+			if (b < 0x10) {
+				sb.append('0');
+			}
+			sb.append(Integer.toHexString(b));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Read the prepared signature file model from its snapshot.
+	 * 
+	 * @param sigFile  Signature file
+	 * @param checksum Checksum of the signature file
+	 * @return Prepared signature file model, or null if there is no usable
+	 *         snapshot for this checksum
+	 */
+	public static FFSignatureFile read(File sigFile, String checksum) {
+		File cacheFile = getCacheFile(sigFile);
+		if (!cacheFile.isFile()) {
+			return null;
+		}
+		ObjectInputStream in = null;
+		try {
+			in = new ObjectInputStream(new BufferedInputStream(
+					new FileInputStream(cacheFile), 65536));
+			if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION ||
+				!checksum.equals(in.readUTF())) {
+				return null;
+			}
+			return (FFSignatureFile) in.readObject();
+		} catch (Exception e) {
+			/* Stale or damaged snapshot; fall back to the XML. */
+			return null;
+		} finally {
+			close(in);
+		}
+	}
+
+	/**
+	 * Write the prepared signature file model to its snapshot, ignoring any
+	 * failure (e.g. a read-only installation): the snapshot is only an
+	 * optimization.
+	 * 
+	 * @param sigFile  Signature file
+	 * @param checksum Checksum of the signature file
+	 * @param model    Prepared signature file model
+	 * @return True if the snapshot was written
+	 */
+	public static boolean write(File sigFile, String checksum,
+			                    FFSignatureFile model) {
+		try {
+			store(sigFile, checksum, model);
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Write the prepared signature file model to its snapshot.  The snapshot
+	 * is written to a temporary file which is then renamed, so concurrent
+	 * readers never see a partial snapshot.
+	 * 
+	 * @param sigFile  Signature file
+	 * @param checksum Checksum of the signature file
+	 * @param model    Prepared signature file model
+	 * @throws IOException
+	 */
+	public static void store(File sigFile, String checksum,
+			                 FFSignatureFile model)
+		throws IOException
+	{
+		File cacheFile = getCacheFile(sigFile);
+		File cacheDir = cacheFile.getAbsoluteFile().getParentFile();
+		if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+			throw new IOException("Unable to create directory " +
+					              cacheDir.getPath());
+		}
+		File tmpFile = File.createTempFile(cacheFile.getName(), ".tmp",
+				                           cacheDir);
+		ObjectOutputStream out = null;
+		try {
+			out = new ObjectOutputStream(new BufferedOutputStream(
+					new FileOutputStream(tmpFile), 65536));
+			out.writeInt(MAGIC);
+			out.writeInt(FORMAT_VERSION);
+			out.writeUTF(checksum);
+			out.writeObject(model);
+			out.close();
+			out = null;
+			if (!tmpFile.renameTo(cacheFile)) {
+				/* Some platforms will not rename over an existing file. */
+				cacheFile.delete();
+				if (!tmpFile.renameTo(cacheFile)) {
+					throw new IOException("Unable to rename " + tmpFile.getPath() +
+							              " to " + cacheFile.getPath());
+				}
+			}
+		} finally {
+			close(out);
+			tmpFile.delete();
+		}
+	}
+
+	/**
+	 * Parse and prepare a signature file and write its snapshot.
+	 * 
+	 * @param theSigFileName Signature file name
+	 * @return Prepared signature file model
+	 * @throws Exception
+	 */
+	public static FFSignatureFile compile(String theSigFileName)
+		throws Exception
+	{
+		JHOVE2AnalysisControllerUtil.checkFile(theSigFileName);
+		File sigFile = new File(theSigFileName);
+		String checksum = checksum(sigFile);
+		FFSignatureFile model =
+			JHOVE2AnalysisControllerUtil.parseSigFile(theSigFileName);
+		model.prepareForUse();
+		store(sigFile, checksum, model);
+		return model;
+	}
+
+	/**
+	 * Close a stream, ignoring any exception.
+	 * 
+	 * @param stream Stream, may be null
+	 */
+	private static void close(java.io.Closeable stream) {
+		if (stream != null) {
+			try {
+				stream.close();
+			} catch (IOException e) {
+				/* Nothing to be done. */
+			}
+		}
+	}
+
+	/**
+	 * Main method invoked to precompile signature file snapshots, e.g. at
+	 * build or installation time.  On success the method returns normally
+	 * rather than exiting, so that it can be run inside the build's JVM.
+	 * @param args Paths to one or more DROID signature files
+	 */
+	public static void main(String[] args) {
+		if (args.length < 1) {
+			System.out.println(USAGE);
+			System.exit(EUSAGE);
+		}
+		for (String arg : args) {
+			try {
+				FFSignatureFile model = compile(arg);
+				System.out.println("Compiled signature file " + arg +
+						           " (version " + model.getVersion() + ") to " +
+						           getCacheFile(new File(arg)).getPath());
+			} catch (Exception e) {
+				System.out.println("Exception thrown attempting to compile signature file " + arg);
+				System.out.println(e.getMessage());
+				e.printStackTrace();
+				System.exit(EEXCEPTION);
+			}
+		}
+	}
+}
@@ -46,6 +46,8 @@
 
 package uk.gov.nationalarchives.droid.signatureFile;
 
+import java.io.Serializable;
+
 import uk.gov.nationalarchives.droid.binFileReader.ByteReader;
 
 /**
@@ -54,7 +56,9 @@ import uk.gov.nationalarchives.droid.binFileReader.ByteReader;
  *
  * @author Richard Gault, Tessella
  */
-public class ByteSeqSpecifier {
+public class ByteSeqSpecifier implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     // Private members
     private byte[] minSeq;             // The minimum (inclusive) value which the sequence can take: 80, 80 in the example in the header (except that we take off 128 before storing a value in the array, since bytes are unsigned)
@@ -63,6 +63,8 @@ import uk.gov.nationalarchives.droid.xmlReader.SimpleElement;
  */
 public class ByteSequence extends SimpleElement {
 
+    private static final long serialVersionUID = 1L;
+
     int parentSignature;
     List<SubSequence> subSequences = new ArrayList<SubSequence>();
     String reference = "";
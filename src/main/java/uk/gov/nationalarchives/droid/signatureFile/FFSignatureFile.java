@@ -83,6 +83,8 @@ import uk.gov.nationalarchives.droid.xmlReader.SimpleElement;
  */
 public class FFSignatureFile extends SimpleElement {
 
+    private static final long serialVersionUID = 1L;
+
     private String version = "";
     private String dateCreated = "";
     private FileFormatCollection FFcollection;
@@ -35,6 +35,8 @@ import uk.gov.nationalarchives.droid.xmlReader.SimpleElement;
  * @version 4.0.0
  */
 public class FileFormat extends SimpleElement {
+    private static final long serialVersionUID = 1L;
+
     int identifier;
     String name;
     String version;
@@ -35,6 +35,8 @@ import uk.gov.nationalarchives.droid.xmlReader.SimpleElement;
  * @version 4.0.0
  */
 public class FileFormatCollection extends SimpleElement {
+    private static final long serialVersionUID = 1L;
+
     List<FileFormat> formats = new ArrayList<FileFormat>();
 
     /* setters */
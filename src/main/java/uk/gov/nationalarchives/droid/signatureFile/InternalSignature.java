@@ -57,6 +57,8 @@ import uk.gov.nationalarchives.droid.xmlReader.SimpleElement;
  */
 public class InternalSignature extends SimpleElement {
 
+    private static final long serialVersionUID = 1L;
+
     private List<ByteSequence> byteSequences = new ArrayList<ByteSequence>();
     int intSigID;
     String specificity;
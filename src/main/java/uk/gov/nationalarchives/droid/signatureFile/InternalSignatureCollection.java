@@ -37,6 +37,8 @@ import uk.gov.nationalarchives.droid.xmlReader.SimpleElement;
  */
 public class InternalSignatureCollection extends SimpleElement {
 
+    private static final long serialVersionUID = 1L;
+
     List<InternalSignature> intSigs = Collections.synchronizedList(new ArrayList<InternalSignature>());
 
     /* setters */
@@ -35,6 +35,8 @@ package uk.gov.nationalarchives.droid.signatureFile;
  */
 public class LeftFragment extends SideFragment {
 
+    private static final long serialVersionUID = 1L;
+
     public String toString() {
         return "";
     }
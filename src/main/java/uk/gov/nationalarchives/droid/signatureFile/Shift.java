@@ -38,6 +38,8 @@ import uk.gov.nationalarchives.droid.xmlReader.SimpleElement;
  * @version 4.0.0
  */
 public class Shift extends SimpleElement {
+    private static final long serialVersionUID = 1L;
+
     long myShiftValue;
     int myShiftByte = 999;
 
@@ -61,6 +61,8 @@ import uk.gov.nationalarchives.droid.xmlReader.SimpleElement;
  * @version 4.0.0
  */
 public class SideFragment extends SimpleElement {
+    private static final long serialVersionUID = 1L;
+
     int myPosition;
     int myMinOffset;
     int myMaxOffset;
@@ -81,7 +81,9 @@ import uk.gov.nationalarchives.droid.xmlReader.SimpleElement;
  */
 public class SubSequence extends SimpleElement {
 
-    private Log log = LogFactory.getLog(this.getClass());
+    private static final long serialVersionUID = 1L;
+
+    private static final Log log = LogFactory.getLog(SubSequence.class);
     private String reference;
     private int parentSignature;
     private boolean bigEndian = true;
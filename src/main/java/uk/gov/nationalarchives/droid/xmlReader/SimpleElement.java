@@ -17,15 +17,25 @@
  */
 package uk.gov.nationalarchives.droid.xmlReader;
 
+import java.io.Serializable;
+
 import uk.gov.nationalarchives.droid.MessageDisplay;
 
 /**
  * holds the basic details of an element read from an XML file
  *
+ * Elements are serializable so that a prepared signature file model can be
+ * snapshotted by {@link uk.gov.nationalarchives.droid.SignatureFileCache}.
+ * The model classes declare a fixed serialVersionUID; an incompatible change
+ * to any of them must be accompanied by a new snapshot format version,
+ * {@link uk.gov.nationalarchives.droid.SignatureFileCache#FORMAT_VERSION}.
+ *
  * @author Martin Waller
  * @version 4.0.0
  */
-public class SimpleElement {
+public class SimpleElement implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     String myText = "";
 
     /* setters */
@@ -0,0 +1,173 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.config.spring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.jhove2.core.I8R.Namespace;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the Spring configuration manifest.
+ */
+public class ConfigManifestTest {
+	protected static final String CONFIG = "spring/jhove2-test-config.xml";
+	protected static final String TIFF = "http://jhove2.org/terms/format/tiff";
+
+	protected File dir;
+	protected File config;
+	protected ClassLoader loader;
+
+	@Before
+	public void setUp() throws Exception {
+		this.dir = File.createTempFile("manifest", "");
+		this.dir.delete();
+		this.dir.mkdir();
+		new File(this.dir, "spring").mkdir();
+		this.config = new File(this.dir, CONFIG);
+		write(this.config, "<beans/>");
+		this.loader = new URLClassLoader(new URL[] {this.dir.toURI().toURL()},
+				                         null);
+	}
+
+	@After
+	public void tearDown() {
+		this.config.delete();
+		new File(this.dir, "spring").delete();
+		this.dir.delete();
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		ConfigManifest manifest = newManifest();
+		StringWriter writer = new StringWriter();
+		manifest.write(writer);
+		ConfigManifest copy = ConfigManifest.read(
+				new ByteArrayInputStream(writer.toString().getBytes("UTF-8")));
+		StringWriter copyWriter = new StringWriter();
+		copy.write(copyWriter);
+		assertEquals(writer.toString(), copyWriter.toString());
+
+		assertEquals(1, copy.getConfigLocations().length);
+		assertEquals("classpath:" + CONFIG, copy.getConfigLocations()[0]);
+		assertEquals("TiffModule", copy.getModuleBeanNames().get(TIFF));
+		assertEquals("TiffFormat", copy.getFormatBeanNames().get(TIFF));
+		assertEquals(TIFF, copy.getAliases(Namespace.PUID).get("fmt/353"));
+		assertTrue(copy.getAliases(Namespace.MIME).isEmpty());
+	}
+
+	@Test
+	public void testClasspathPath() throws Exception {
+		assertEquals(CONFIG, ConfigManifest.getClasspathPath(
+				this.config.toURI().toURL(), this.loader));
+		assertNull(ConfigManifest.getClasspathPath(
+				new File(this.dir.getParentFile(), "elsewhere.xml").toURI().toURL(),
+				this.loader));
+	}
+
+	@Test
+	public void testIsCurrent() throws Exception {
+		ConfigManifest manifest = newManifest();
+		assertTrue(manifest.isCurrent(this.loader));
+		File added = new File(this.dir, "spring/jhove2-added-config.xml");
+		write(added, "<beans/>");
+		try {
+			assertFalse(manifest.isCurrent(this.loader));
+		}
+		finally {
+			added.delete();
+		}
+		assertTrue(manifest.isCurrent(this.loader));
+		write(this.config, "<beans></beans>");
+		assertFalse(manifest.isCurrent(this.loader));
+		this.config.delete();
+		assertFalse(manifest.isCurrent(this.loader));
+	}
+
+	@Test
+	public void testFind() throws Exception {
+		File file = new File(this.dir, ConfigManifest.MANIFEST);
+		StringWriter writer = new StringWriter();
+		newManifest().write(writer);
+		write(file, writer.toString());
+		try {
+			System.setProperty(ConfigManifest.MANIFEST_PROPERTY, "false");
+			assertNull(ConfigManifest.find(this.loader));
+			System.setProperty(ConfigManifest.MANIFEST_PROPERTY, file.getPath());
+			assertNotNull(ConfigManifest.find(this.loader));
+			System.clearProperty(ConfigManifest.MANIFEST_PROPERTY);
+			assertNotNull(ConfigManifest.find(this.loader));
+			write(this.config, "<beans></beans>");
+			assertNull(ConfigManifest.find(this.loader));
+		}
+		finally {
+			System.clearProperty(ConfigManifest.MANIFEST_PROPERTY);
+			file.delete();
+		}
+	}
+
+	protected ConfigManifest newManifest() throws Exception {
+		ConfigManifest manifest = new ConfigManifest();
+		manifest.configFiles.put(CONFIG, ConfigManifest.checksum(CONFIG, this.loader));
+		manifest.moduleBeanNames.put(TIFF, "TiffModule");
+		manifest.formatBeanNames.put(TIFF, "TiffFormat");
+		manifest.addAlias(Namespace.PUID, "fmt/353", TIFF);
+		return manifest;
+	}
+
+	protected static void write(File file, String content) throws Exception {
+		OutputStream out = new FileOutputStream(file);
+		try {
+			out.write(content.getBytes("UTF-8"));
+		}
+		finally {
+			out.close();
+		}
+	}
+}
@@ -0,0 +1,298 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.jhove2.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Resource;
+
+import org.jhove2.ConfigTestBase;
+import org.jhove2.app.util.FeatureConfigurationUtil;
+import org.jhove2.core.format.FormatIdentification;
+import org.jhove2.core.io.Input;
+import org.jhove2.core.source.Source;
+import org.jhove2.module.Command;
+import org.jhove2.module.Module;
+import org.jhove2.module.format.DispatcherCommand;
+import org.jhove2.module.format.Validator;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+/**
+ * Test of concurrent characterization: a sample of the examples corpus, the
+ * smallest few files of each format, is characterized by one {@link JHOVE2}
+ * instance from several worker threads at once, and each result must match
+ * the result of characterizing the file alone.  The timers of the shared
+ * commands must accumulate the durations of all their invocations, and no
+ * more than the time spent characterizing.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations={
+		"classpath*:**/persist-test-config.xml",
+		"classpath*:**/abstractdisplayer-config.xml",
+		"classpath*:**/core/test-config.xml", 
+		"classpath*:**/module/**/test-config.xml", 
+		"classpath*:**/filepaths-config.xml"})
+public class ConcurrentCharacterizationTest extends ConfigTestBase {
+
+    /** Number of worker threads. */
+    static final int THREADS = 4;
+
+    /** Number of times each file is characterized concurrently. */
+    static final int ROUNDS = 2;
+
+    /** Number of files sampled from each examples subdirectory. */
+    static final int SAMPLE = 3;
+
+    /** Maximum time allowed for the concurrent rounds, in minutes. */
+    static final long TIMEOUT = 5L;
+
+    /** Examples subdirectory that tests write into. */
+    static final String TEMP_DIR = "temp";
+
+    private JHOVE2 jhove2;
+    private String emptyDirBasePath;
+    private List<File> corpus;
+
+    @Resource(name="JHOVE2")
+    public void setJHOVE2(JHOVE2 jhove2) {
+        this.jhove2 = jhove2;
+    }
+
+    @Resource
+    public void setEmptyDirBasePath(String emptyDirBasePath) {
+        this.emptyDirBasePath = emptyDirBasePath;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        String examplesDirPath = null;
+        try {
+            examplesDirPath = FeatureConfigurationUtil.getFilePathFromClasspath(
+                    emptyDirBasePath, "examples dir");
+        } catch (JHOVE2Exception e) {
+            fail("Could not create base directory");
+        }
+        corpus = new ArrayList<File>();
+        File[] formats = new File(examplesDirPath).listFiles();
+        assertTrue("No examples directory", formats != null);
+        for (File format : formats) {
+            if (format.isDirectory() && !format.getName().equals(TEMP_DIR) &&
+                !format.getName().startsWith(".")) {
+                List<File> files = new ArrayList<File>();
+                collect(format, files);
+                File[] sample = files.toArray(new File[files.size()]);
+                Arrays.sort(sample, new Comparator<File>() {
+                    @Override
+                    public int compare(File f1, File f2) {
+                        long d = f1.length() - f2.length();
+                        return (d < 0L) ? -1 : (d > 0L) ? 1 :
+                               f1.getPath().compareTo(f2.getPath());
+                    }
+                });
+                corpus.addAll(Arrays.asList(sample).subList(0,
+                              Math.min(SAMPLE, sample.length)));
+            }
+        }
+        assertTrue("Empty examples corpus", corpus.size() > 0);
+    }
+
+    @Test
+    public void testConcurrentCharacterization() throws Exception {
+        /* Characterize each file alone. */
+        Map<File, String> expected = new HashMap<File, String>();
+        for (File file : corpus) {
+            expected.put(file, characterize(file));
+        }
+
+        /* Characterize every file several times, in a different order each
+         * round, from all worker threads at once.
+         */
+        List<File> tasks = new ArrayList<File>();
+        Random random = new Random(corpus.size());
+        for (int i = 0; i < ROUNDS; i++) {
+            List<File> round = new ArrayList<File>(corpus);
+            Collections.shuffle(round, random);
+            tasks.addAll(round);
+        }
+        Map<Command, Long> added = new HashMap<Command, Long>();
+        for (Command command : jhove2.getCommands()) {
+            added.put(command, command.getTimerInfo().getAddedNanos());
+        }
+        final AtomicLong busy = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<String>> results = new ArrayList<Future<String>>();
+        try {
+            for (final File file : tasks) {
+                results.add(pool.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        long start = System.nanoTime();
+                        try {
+                            return characterize(file);
+                        }
+                        finally {
+                            busy.addAndGet(System.nanoTime() - start);
+                        }
+                    }
+                }));
+            }
+            pool.shutdown();
+            assertTrue("Concurrent characterization did not finish",
+                       pool.awaitTermination(TIMEOUT, TimeUnit.MINUTES));
+        }
+        finally {
+            pool.shutdownNow();
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            File file = tasks.get(i);
+            assertEquals("Concurrent result of " + file.getPath(),
+                         expected.get(file), results.get(i).get());
+        }
+
+        /* Every invocation of a shared command, however short, adds its
+         * duration to the command's timer.  Other than the dispatcher,
+         * whose format modules characterize child source units, the
+         * commands run one at a time in each characterization, so together
+         * they cannot take longer.
+         */
+        long total = 0L;
+        for (Command command : jhove2.getCommands()) {
+            long nanos = command.getTimerInfo().getAddedNanos() -
+                         added.get(command).longValue();
+            assertTrue("Invocations of " + command.getClass().getName() +
+                       " not timed", nanos > 0L);
+            if (!(command instanceof DispatcherCommand)) {
+                total += nanos;
+            }
+        }
+        assertTrue("Commands timed for longer than the characterizations",
+                   total <= busy.get());
+    }
+
+    /**
+     * Characterize a file as a new source unit, and summarize the result.
+     */
+    private String characterize(File file) throws Exception {
+        Source source = jhove2.getSourceFactory().getSource(jhove2, file);
+        Input input = source.getInput(jhove2);
+        try {
+            source = jhove2.characterize(source, input);
+        }
+        finally {
+            if (input != null) {
+                input.close();
+            }
+        }
+        return summarize(source);
+    }
+
+    /**
+     * Summarize the result of characterizing a source unit by its
+     * presumptive formats, the modules that processed it and their
+     * validity, its message codes, and the summaries of its children;
+     * everything but timing and the names of temporary files.
+     */
+    private static String summarize(Source source) throws JHOVE2Exception {
+        List<String> formats = new ArrayList<String>();
+        for (FormatIdentification fi : source.getPresumptiveFormats()) {
+            formats.add(String.valueOf(fi.getJHOVE2Identifier()));
+        }
+        Collections.sort(formats);
+        List<String> modules = new ArrayList<String>();
+        for (Module module : source.getModules()) {
+            String name = module.getClass().getName();
+            if (module instanceof Validator) {
+                name += "=" + ((Validator) module).isValid();
+            }
+            modules.add(name);
+        }
+        Collections.sort(modules);
+        List<String> messages = new ArrayList<String>();
+        for (Message message : source.getMessages()) {
+            messages.add(message.getMessageCode());
+        }
+        Collections.sort(messages);
+        List<String> children = new ArrayList<String>();
+        for (Source child : source.getChildSources()) {
+            children.add(summarize(child));
+        }
+        Collections.sort(children);
+        return source.getClass().getSimpleName() + formats + modules +
+               messages + children;
+    }
+
+    /**
+     * Collect the files of a directory tree, other than those of the
+     * directory that tests write into.
+     */
+    private static void collect(File dir, List<File> files) {
+        File[] entries = dir.listFiles();
+        if (entries == null) {
+            return;
+        }
+        for (File entry : entries) {
+            if (entry.isDirectory()) {
+                if (!entry.getName().equals(TEMP_DIR) &&
+                    !entry.getName().startsWith(".")) {
+                    collect(entry, files);
+                }
+            }
+            else if (entry.isFile()) {
+                files.add(entry);
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.jhove2.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests of {@link org.jhove2.core.TimerInfo}, whose elapsed time accumulates
+ * the durations of invocations that may overlap.
+ */
+public class TimerInfoTest {
+
+    /** Number of threads adding durations at once. */
+    static final int THREADS = 4;
+
+    /** Number of durations added by each thread. */
+    static final int ADDS = 10000;
+
+    /** Nanoseconds per millisecond. */
+    static final long MS = 1000000L;
+
+    @Test
+    public void testAddElapsedNanos() {
+        TimerInfo timer = new TimerInfo();
+        timer.addElapsedNanos(5L * MS);
+        assertEquals("Elapsed time of one invocation", 5L,
+                     timer.getElapsedTime().getDuration());
+        timer.addElapsedNanos(7L * MS);
+        assertEquals("Elapsed time of two invocations", 12L,
+                     timer.getElapsedTime().getDuration());
+    }
+
+    @Test
+    public void testAddElapsedNanosBelowOneMillisecond() {
+        TimerInfo timer = new TimerInfo();
+        for (int i = 0; i < 1000; i++) {
+            timer.addElapsedNanos(MS / 4L);
+        }
+        assertEquals("Accumulated duration of short invocations",
+                     250L * MS, timer.getAddedNanos());
+        assertEquals("Elapsed time of short invocations", 250L,
+                     timer.getElapsedTime().getDuration());
+    }
+
+    @Test
+    public void testAddElapsedNanosAfterReset() {
+        TimerInfo timer = new TimerInfo();
+        timer.resetStartTime();
+        timer.setEndTime();
+        long elapsed = timer.getElapsedTime().getDuration();
+        timer.addElapsedNanos(100L * MS);
+        long total = timer.getElapsedTime().getDuration();
+        assertTrue("Elapsed time of a reset and an added invocation",
+                   total >= 100L && total <= elapsed + 100L);
+    }
+
+    @Test
+    public void testConcurrentAddElapsedNanos() throws InterruptedException {
+        final TimerInfo timer = new TimerInfo();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < THREADS; i++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < ADDS; j++) {
+                        timer.addElapsedNanos(MS / 10L);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals("Accumulated duration of concurrent invocations",
+                     THREADS * ADDS * (MS / 10L), timer.getAddedNanos());
+        assertEquals("Elapsed time of concurrent invocations",
+                     (long) THREADS * ADDS / 10L,
+                     timer.getElapsedTime().getDuration());
+    }
+}
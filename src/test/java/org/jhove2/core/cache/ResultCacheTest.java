@@ -0,0 +1,324 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.jhove2.core.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Resource;
+
+import org.jhove2.ConfigTestBase;
+import org.jhove2.app.util.FeatureConfigurationUtil;
+import org.jhove2.core.JHOVE2;
+import org.jhove2.core.JHOVE2Exception;
+import org.jhove2.core.Message;
+import org.jhove2.core.io.Input;
+import org.jhove2.core.metrics.MetricsRegistry;
+import org.jhove2.core.metrics.StripedCounter;
+import org.jhove2.core.source.Source;
+import org.jhove2.module.Command;
+import org.jhove2.module.Module;
+import org.jhove2.module.format.FormatModule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+/**
+ * Tests of {@link org.jhove2.core.cache.ResultCache}, which reuses the
+ * format identifications of source units with identical content, or of
+ * files unchanged since they were last characterized.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations={
+		"classpath*:**/persist-test-config.xml",
+		"classpath*:**/abstractdisplayer-config.xml",
+		"classpath*:**/core/test-config.xml", 
+		"classpath*:**/module/**/test-config.xml", 
+		"classpath*:**/filepaths-config.xml"})
+public class ResultCacheTest extends ConfigTestBase {
+
+    /** Code of the message added to source units given a cached result. */
+    static final String REUSED =
+        "org.jhove2.core.cache.CachedResult.resultReusedMessage";
+
+    /** Code of the message added to unchanged files given their result. */
+    static final String UNCHANGED =
+        "org.jhove2.core.cache.CachedResult.resultUnchangedMessage";
+
+    private JHOVE2 jhove2;
+    private String utf8DirBasePath;
+    private String testFile01;
+    private File testFile;
+    private ResultCache cache;
+
+    @Resource(name="JHOVE2")
+    public void setJHOVE2(JHOVE2 jhove2) {
+        this.jhove2 = jhove2;
+    }
+
+    @Resource
+    public void setUtf8DirBasePath(String utf8DirBasePath) {
+        this.utf8DirBasePath = utf8DirBasePath;
+    }
+
+    @Resource
+    public void setTestFile01(String testFile01) {
+        this.testFile01 = testFile01;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        String utf8DirPath = null;
+        try {
+            utf8DirPath = 
+                FeatureConfigurationUtil.getFilePathFromClasspath(utf8DirBasePath, "utf8 dir");
+        } catch (JHOVE2Exception e) {
+            fail("Could not create base directory");
+        }
+        testFile = new File(utf8DirPath.concat(testFile01));
+        cache = ResultCache.open(null, 1);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ResultCache.closeInstance();
+    }
+
+    @Test
+    public void testReuse() throws Exception {
+        Source first = characterize();
+        assertFalse("First source given a cached result", isReused(first));
+
+        Source second = characterize();
+        assertTrue("Second source not given the cached result",
+                   isReused(second));
+        assertEquals("Presumptive formats of the cached result",
+                     first.getPresumptiveFormats(),
+                     second.getPresumptiveFormats());
+        assertTrue("No format module run", countFormatModules(first) > 0);
+        assertEquals("Format modules not run for the cached result",
+                     countFormatModules(first), countFormatModules(second));
+    }
+
+    @Test
+    public void testConfigFingerprint() throws Exception {
+        Source source = characterize();
+        Input input = source.getInput(jhove2);
+        try {
+            String key = cache.getKey(jhove2.getCommands(), source, input);
+            List<Command> commands =
+                new ArrayList<Command>(jhove2.getCommands());
+            commands.remove(commands.size() - 1);
+            assertFalse("Key independent of the configured commands",
+                        key.equals(cache.getKey(commands, source, input)));
+        }
+        finally {
+            input.close();
+        }
+    }
+
+    @Test
+    public void testConfirm() throws Exception {
+        byte[] content = new byte[3 * ResultCache.WINDOW_SIZE];
+        File original = File.createTempFile("jhove2", ".bin");
+        File changed  = File.createTempFile("jhove2", ".bin");
+        try {
+            write(original, content);
+            content[content.length / 2] = 1;
+            write(changed, content);
+
+            characterize(original);
+            assertTrue("Identical content not given the cached result",
+                       isReused(characterize(original)));
+            Source source = characterize(changed);
+            assertFalse("Different content with the same leading and trailing windows given the cached result",
+                        isReused(source));
+            Input input = source.getInput(jhove2);
+            try {
+                String key = cache.getKey(jhove2.getCommands(), source, input);
+                assertFalse("Key of a large source unit covers its whole content",
+                            ResultCache.isComplete(key));
+            }
+            finally {
+                input.close();
+            }
+        }
+        finally {
+            original.delete();
+            changed.delete();
+        }
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        Source source = characterize();
+        Input input = source.getInput(jhove2);
+        String key;
+        try {
+            key = cache.getKey(jhove2.getCommands(), source, input);
+        }
+        finally {
+            input.close();
+        }
+        assertNotNull("Result not cached", cache.get(key));
+        cache.put("other", source);
+        assertNotNull("Most recent result evicted", cache.get("other"));
+        assertNull("Least recent result kept beyond the cache size",
+                   cache.get(key));
+    }
+
+    @Test
+    public void testIncremental() throws Exception {
+        cache = ResultCache.open(null, 10, true);
+        StripedCounter unchanged = MetricsRegistry.getInstance()
+            .getCounter(MetricsRegistry.RESULT_CACHE_UNCHANGED);
+        long before = unchanged.sum();
+        Source first = characterize();
+        assertEquals("First run keyed by fingerprint", before, unchanged.sum());
+        Source second = characterize();
+        assertEquals("Unchanged file read again", before + 1,
+                     unchanged.sum());
+        assertTrue("Unchanged file not given its last characterization",
+                   hasMessage(second, UNCHANGED));
+        assertEquals("Presumptive formats of the unchanged file",
+                     first.getPresumptiveFormats(),
+                     second.getPresumptiveFormats());
+        assertTrue("No format module run", countFormatModules(first) > 0);
+        assertEquals("Format module run on the unchanged file", 0,
+                     countFormatModules(second));
+
+        long lastModified = testFile.lastModified();
+        try {
+            assertTrue(testFile.setLastModified(lastModified - 60000L));
+            characterize();
+            assertEquals("Modified file not read again", before + 1,
+                         unchanged.sum());
+        }
+        finally {
+            testFile.setLastModified(lastModified);
+        }
+    }
+
+    @Test
+    public void testIncrementalConfigChange() throws Exception {
+        cache = ResultCache.open(null, 10, true);
+        StripedCounter unchanged = MetricsRegistry.getInstance()
+            .getCounter(MetricsRegistry.RESULT_CACHE_UNCHANGED);
+        Source source = characterize();
+        long before = unchanged.sum();
+        List<Command> commands = new ArrayList<Command>(jhove2.getCommands());
+        commands.remove(commands.size() - 1);
+        Input input = source.getInput(jhove2);
+        try {
+            String key = cache.getKey(commands, source, input);
+            assertEquals("Key of a changed configuration taken from the file fingerprint",
+                         before, unchanged.sum());
+            assertEquals("Key of an unchanged file and configuration", key,
+                         cache.getKey(commands, source, input));
+            assertEquals("Unchanged file read again", before + 1,
+                         unchanged.sum());
+        }
+        finally {
+            input.close();
+        }
+    }
+
+    /**
+     * Characterize the test file as a new source unit.
+     */
+    private Source characterize() throws Exception {
+        return characterize(testFile);
+    }
+
+    /**
+     * Characterize a file as a new source unit.
+     */
+    private Source characterize(File file) throws Exception {
+        Source source = jhove2.getSourceFactory().getSource(jhove2, file);
+        Input input = source.getInput(jhove2);
+        try {
+            source = jhove2.characterize(source, input);
+        }
+        finally {
+            input.close();
+        }
+        return source;
+    }
+
+    private static void write(File file, byte[] content) throws Exception {
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content);
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    private static boolean isReused(Source source) {
+        return hasMessage(source, REUSED);
+    }
+
+    private static boolean hasMessage(Source source, String code) {
+        for (Message message : source.getMessages()) {
+            if (code.equals(message.getMessageCode())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int countFormatModules(Source source) throws JHOVE2Exception {
+        int n = 0;
+        for (Module module : source.getModules()) {
+            if (module instanceof FormatModule) {
+                n++;
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,150 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.jhove2.core.io;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.jhove2.core.JHOVE2;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link org.jhove2.core.io.AbstractInput} reads of values
+ * that straddle two buffer windows.  The buffers are small enough that
+ * every kind of value is read across a window boundary at some offset.
+ */
+public class AbstractInputTest {
+
+    /** Buffer size. */
+    static final int BUFFER_SIZE = 16;
+
+    private JHOVE2 jhove2;
+    private File file;
+    private byte[] contents;
+
+    @Before
+    public void setUp() throws Exception {
+        jhove2 = new JHOVE2();
+        jhove2.getInvocation().setBufferSize(BUFFER_SIZE);
+        contents = new byte[10 * BUFFER_SIZE + 3];
+        for (int i = 0; i < contents.length; i++) {
+            contents[i] = (byte) (0x81 + 37 * i);
+        }
+        file = File.createTempFile("abstractinput", ".dat");
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(contents);
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void testNonDirectStraddle() throws IOException {
+        for (ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN,
+                                                ByteOrder.LITTLE_ENDIAN}) {
+            for (int start = 0; start < 8; start++) {
+                checkReads(new NonDirectInput(jhove2, file, false, order),
+                           order, start);
+            }
+        }
+    }
+
+    @Test
+    public void testDirectStraddle() throws IOException {
+        for (ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN,
+                                                ByteOrder.LITTLE_ENDIAN}) {
+            for (int start = 0; start < 8; start++) {
+                checkReads(new DirectInput(jhove2, file, false, order),
+                           order, start);
+            }
+        }
+    }
+
+    /**
+     * Read every kind of value in turn, after skipping the first bytes one
+     * at a time, and check each value and the position after it against a
+     * buffer holding the whole file.
+     */
+    private void checkReads(Input input, ByteOrder order, int start)
+        throws IOException
+    {
+        try {
+            ByteBuffer expected = ByteBuffer.wrap(contents).order(order);
+            for (int i = 0; i < start; i++) {
+                assertEquals(expected.get(), input.readSignedByte());
+            }
+            String at = order + " from " + start + ": ";
+            while (expected.remaining() >= 34) {
+                assertEquals(at + "char at " + expected.position(),
+                        expected.getChar(), input.readChar());
+                assertEquals(at + "short at " + expected.position(),
+                        expected.getShort(), input.readSignedShort());
+                assertEquals(at + "unsigned short at " + expected.position(),
+                        expected.getShort() & 0xffff, input.readUnsignedShort());
+                assertEquals(at + "int at " + expected.position(),
+                        expected.getInt(), input.readSignedInt());
+                assertEquals(at + "unsigned int at " + expected.position(),
+                        expected.getInt() & 0xffffffffL, input.readUnsignedInt());
+                assertEquals(at + "long at " + expected.position(),
+                        expected.getLong(), input.readSignedLong());
+                assertEquals(at + "float at " + expected.position(),
+                        Float.floatToRawIntBits(expected.getFloat()),
+                        Float.floatToRawIntBits(input.readFloat()));
+                assertEquals(at + "double at " + expected.position(),
+                        Double.doubleToRawLongBits(expected.getDouble()),
+                        Double.doubleToRawLongBits(input.readDouble()));
+                assertEquals(at + "position", expected.position(),
+                        input.getPosition());
+            }
+        }
+        finally {
+            input.close();
+        }
+    }
+}
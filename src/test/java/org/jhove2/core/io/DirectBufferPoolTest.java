@@ -0,0 +1,94 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.jhove2.core.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.jhove2.core.metrics.MetricsRegistry;
+import org.junit.Test;
+
+/**
+ * Tests of {@link org.jhove2.core.io.DirectBufferPool}.
+ */
+public class DirectBufferPoolTest {
+
+    @Test
+    public void testReuse() {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        long hits = metrics.getCounter(MetricsRegistry.BUFFER_POOL_HITS).sum();
+
+        DirectBufferPool.Lease lease = DirectBufferPool.acquire(this, 1031);
+        ByteBuffer buffer = lease.getBuffer();
+        assertTrue("Buffer not direct", buffer.isDirect());
+        assertEquals("Buffer capacity", 1031, buffer.capacity());
+        buffer.order(ByteOrder.LITTLE_ENDIAN).position(17);
+        DirectBufferPool.release(lease);
+        DirectBufferPool.release(lease);
+
+        DirectBufferPool.Lease again = DirectBufferPool.acquire(this, 1031);
+        assertSame("Released buffer not reused", buffer, again.getBuffer());
+        assertEquals("Reused buffer not cleared", 0, buffer.position());
+        assertEquals("Reused buffer not big-endian", ByteOrder.BIG_ENDIAN,
+                buffer.order());
+        assertEquals("Hit not counted", hits + 1,
+                metrics.getCounter(MetricsRegistry.BUFFER_POOL_HITS).sum());
+
+        DirectBufferPool.Lease other = DirectBufferPool.acquire(this, 1031);
+        assertNotSame("Buffer leased twice", buffer, other.getBuffer());
+        DirectBufferPool.release(again);
+        DirectBufferPool.release(other);
+    }
+
+    @Test
+    public void testLeak() throws InterruptedException {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        long leaks = metrics.getCounter(MetricsRegistry.BUFFER_POOL_LEAKS).sum();
+
+        DirectBufferPool.acquire(new Object(), 1033);
+        for (int i = 0; i < 50 &&
+             metrics.getCounter(MetricsRegistry.BUFFER_POOL_LEAKS).sum() == leaks; i++) {
+            System.gc();
+            Thread.sleep(20L);
+            DirectBufferPool.release(DirectBufferPool.acquire(this, 1033));
+        }
+        assertEquals("Leak not detected", leaks + 1,
+                metrics.getCounter(MetricsRegistry.BUFFER_POOL_LEAKS).sum());
+    }
+}
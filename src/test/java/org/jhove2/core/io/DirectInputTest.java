@@ -33,6 +33,7 @@
 
 package org.jhove2.core.io;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -41,6 +42,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.nio.Buffer;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 
 import javax.annotation.Resource;
@@ -53,6 +55,9 @@ import org.jhove2.core.JHOVE2Exception;
 import org.jhove2.core.io.Input.Type;
 import org.jhove2.core.source.Source;
 import org.jhove2.core.source.SourceFactory;
+import org.jhove2.module.format.tiff.type.ByteArray;
+import org.jhove2.module.format.tiff.type.LongArray;
+import org.jhove2.module.format.tiff.type.ShortArray;
 import org.jhove2.persist.PersistenceManagerUtil;
 import org.junit.After;
 import org.junit.Before;
@@ -346,6 +351,96 @@ public class DirectInputTest extends ConfigTestBase {
         }
     }
 
+    /*
+     * Test that bulk reads across buffer windows match single-value reads
+     */
+    @Test
+    public void testReadBulk() {
+        try {
+            /* Start at an odd offset so values straddle the buffer windows. */
+            abstractInput.setPosition(1);
+            int[] shorts = new int[bufferSize];
+            assertTrue("Unsigned shorts not all read",
+                    abstractInput.readUnsignedShorts(shorts, bufferSize) == bufferSize);
+            int[] ints = new int[bufferSize];
+            assertTrue("Ints not all read",
+                    abstractInput.readInts(ints, bufferSize) == bufferSize);
+            byte[] bytes = new byte[bufferSize + 3];
+            abstractInput.readFully(bytes);
+            long position = abstractInput.getPosition();
+            assertTrue("Position not advanced by bulk reads",
+                    position == 1 + 2 * bufferSize + 4 * bufferSize + bytes.length);
+
+            /* Re-read the same bytes one at a time and decode them. */
+            byte[] raw = new byte[(int) position - 1];
+            abstractInput.setPosition(1);
+            for (int i = 0; i < raw.length; i++) {
+                raw[i] = abstractInput.readSignedByte();
+            }
+            ByteBuffer expected =
+                ByteBuffer.wrap(raw).order(abstractInput.getBuffer().order());
+            for (int i = 0; i < bufferSize; i++) {
+                assertTrue("Unsigned short " + i + " does not match",
+                        shorts[i] == (expected.getShort() & 0xffff));
+            }
+            for (int i = 0; i < bufferSize; i++) {
+                assertTrue("Int " + i + " does not match",
+                        ints[i] == expected.getInt());
+            }
+            for (int i = 0; i < bytes.length; i++) {
+                assertTrue("Byte " + i + " does not match",
+                        bytes[i] == expected.get());
+            }
+        } catch (IOException e) {
+            fail(e.getMessage());
+        }
+    }
+
+    /*
+     * Test that the TIFF array types read past EOF as EOF, as single-value
+     * reads do
+     */
+    @Test
+    public void testReadArraysAtEOF() {
+        try {
+            long size = testFile.length();
+            abstractInput.setPosition(size - 1L);
+            short[] bytes = new short[3];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = abstractInput.readUnsignedByte();
+            }
+            abstractInput.setPosition(size - 1L);
+            ByteArray byteArray = new ByteArray();
+            byteArray.setValue(abstractInput, bytes.length);
+            assertArrayEquals(bytes, byteArray.getByteArray());
+            assertTrue("Past EOF not EOF", bytes[2] == Input.EOF);
+
+            abstractInput.setPosition(size - 2L);
+            int[] shorts = new int[3];
+            for (int i = 0; i < shorts.length; i++) {
+                shorts[i] = abstractInput.readUnsignedShort();
+            }
+            abstractInput.setPosition(size - 2L);
+            ShortArray shortArray = new ShortArray();
+            shortArray.setValue(abstractInput, shorts.length);
+            assertArrayEquals(shorts, shortArray.getShortArrayValue());
+            assertTrue("Past EOF not EOF", shorts[2] == Input.EOF);
+
+            abstractInput.setPosition(size - 4L);
+            long[] longs = new long[3];
+            for (int i = 0; i < longs.length; i++) {
+                longs[i] = abstractInput.readUnsignedInt();
+            }
+            abstractInput.setPosition(size - 4L);
+            LongArray longArray = new LongArray();
+            longArray.setValue(abstractInput, longs.length);
+            assertArrayEquals(longs, longArray.getLongArrayValue());
+            assertTrue("Past EOF not EOF", longs[2] == Input.EOF);
+        } catch (IOException e) {
+            fail(e.getMessage());
+        }
+    }
+
     /*
      * Test that setByteOrder sets the byte order properly
      */
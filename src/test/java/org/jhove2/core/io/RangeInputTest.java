@@ -0,0 +1,227 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.jhove2.core.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import javax.annotation.Resource;
+
+import org.jhove2.ConfigTestBase;
+import org.jhove2.app.util.FeatureConfigurationUtil;
+import org.jhove2.core.Invocation;
+import org.jhove2.core.JHOVE2;
+import org.jhove2.core.JHOVE2Exception;
+import org.jhove2.core.io.Input.Type;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+/**
+ * Tests of {@link org.jhove2.core.io.RangeInput} and
+ * {@link org.jhove2.core.io.RangeInputStream}, which read a byte range of a
+ * file in place.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations={
+		"classpath*:**/persist-test-config.xml",
+		"classpath*:**/abstractdisplayer-config.xml",
+		"classpath*:**/core/test-config.xml", 
+		"classpath*:**/module/**/test-config.xml", 
+		"classpath*:**/filepaths-config.xml"})
+public class RangeInputTest extends ConfigTestBase {
+
+    /** Starting offset of the range. */
+    static final long OFFSET = 11L;
+
+    /** Size of the range. */
+    static final int SIZE = 500;
+
+    private JHOVE2 jhove2;
+    private String utf8DirBasePath;
+    private String testFile01;
+    private File testFile;
+    private byte[] range;
+
+    @Resource
+    public void setJHOVE2(JHOVE2 jhove2) {
+        this.jhove2 = jhove2;
+    }
+
+    @Resource
+    public void setUtf8DirBasePath(String utf8DirBasePath) {
+        this.utf8DirBasePath = utf8DirBasePath;
+    }
+
+    @Resource
+    public void setTestFile01(String testFile01) {
+        this.testFile01 = testFile01;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        String utf8DirPath = null;
+        try {
+            utf8DirPath = 
+                FeatureConfigurationUtil.getFilePathFromClasspath(utf8DirBasePath, "utf8 dir");
+        } catch (JHOVE2Exception e) {
+            fail("Could not create base directory");
+        }
+        testFile = new File(utf8DirPath.concat(testFile01));
+        range = new byte[SIZE];
+        RandomAccessFile raf = new RandomAccessFile(testFile, "r");
+        try {
+            raf.seek(OFFSET);
+            raf.readFully(range);
+        }
+        finally {
+            raf.close();
+        }
+    }
+
+    @Test
+    public void testInput() throws IOException {
+        Invocation inv = jhove2.getInvocation();
+        inv.setBufferSize(64);
+        for (Type type : Type.values()) {
+            inv.setBufferType(type);
+            Input input = InputFactory.getInput(jhove2, testFile, OFFSET, SIZE,
+                                                ByteOrder.BIG_ENDIAN);
+            try {
+                assertEquals("Position not relative to the range", 0L,
+                        input.getPosition());
+                assertEquals("First byte", range[0], input.readSignedByte());
+                byte[] bytes = new byte[SIZE - 1];
+                input.readFully(bytes);
+                for (int i = 0; i < bytes.length; i++) {
+                    assertEquals(type + " byte " + i, range[i + 1], bytes[i]);
+                }
+                assertEquals("Read past the end of the range", Input.EOF,
+                        input.readSignedByte());
+
+                input.setPosition(99);
+                assertEquals("Int after seek",
+                        ByteBuffer.wrap(range, 99, 4).getInt(),
+                        input.readSignedInt());
+                input.setPosition(SIZE - 2);
+                assertEquals("Last short",
+                        ByteBuffer.wrap(range, SIZE - 2, 2).getShort() & 0xffff,
+                        input.readUnsignedShort());
+            }
+            finally {
+                input.close();
+            }
+        }
+    }
+
+    @Test
+    public void testInputStream() throws IOException {
+        InputStream stream = new RangeInputStream(testFile, OFFSET, SIZE, 16);
+        try {
+            assertEquals("Available", SIZE, stream.available());
+            assertEquals("First byte", range[0] & 0xff, stream.read());
+            byte[] bytes = new byte[10];
+            assertEquals("Small read", 10, stream.read(bytes));
+            for (int i = 0; i < bytes.length; i++) {
+                assertEquals("Small read byte " + i, range[i + 1], bytes[i]);
+            }
+            assertEquals("Skip", 100L, stream.skip(100L));
+            byte[] rest = new byte[SIZE];
+            int n = 0;
+            int r;
+            while ((r = stream.read(rest, n, rest.length - n)) > 0) {
+                n += r;
+            }
+            assertEquals("Bytes remaining after skip", SIZE - 111, n);
+            byte[] expected = new byte[SIZE - 111];
+            System.arraycopy(range, 111, expected, 0, expected.length);
+            byte[] actual = new byte[n];
+            System.arraycopy(rest, 0, actual, 0, n);
+            assertArrayEquals("Bytes after skip", expected, actual);
+            assertEquals("Read past the end of the range", -1, stream.read());
+        }
+        finally {
+            stream.close();
+        }
+    }
+
+    @Test
+    public void testAsInputStream() throws IOException {
+        Invocation inv = jhove2.getInvocation();
+        inv.setBufferSize(64);
+        for (Type type : Type.values()) {
+            inv.setBufferType(type);
+            Input input = InputFactory.getInput(jhove2, testFile, OFFSET, SIZE,
+                                                ByteOrder.BIG_ENDIAN);
+            try {
+                input.setPosition(7);
+                InputStream stream = input.asInputStream(40L, 20L);
+                byte[] bytes = new byte[32];
+                int n = 0;
+                int r;
+                while ((r = stream.read(bytes, n, bytes.length - n)) > 0) {
+                    n += r;
+                }
+                stream.close();
+                assertEquals(type + " bytes in stream", 20, n);
+                for (int i = 0; i < n; i++) {
+                    assertEquals(type + " stream byte " + i, range[40 + i],
+                                 bytes[i]);
+                }
+                assertEquals("Input position moved by stream", 7L,
+                             input.getPosition());
+                assertEquals("Input unreadable after closing stream",
+                             range[7], input.readSignedByte());
+
+                stream = input.asInputStream(SIZE - 3, -1L);
+                assertEquals(type + " stream to end of input", 3,
+                             stream.available());
+                stream.close();
+            }
+            finally {
+                input.close();
+            }
+        }
+    }
+}
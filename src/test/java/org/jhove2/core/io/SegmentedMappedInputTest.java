@@ -0,0 +1,175 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.jhove2.core.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import javax.annotation.Resource;
+
+import org.jhove2.ConfigTestBase;
+import org.jhove2.app.util.FeatureConfigurationUtil;
+import org.jhove2.core.JHOVE2;
+import org.jhove2.core.JHOVE2Exception;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+/**
+ * Tests of {@link org.jhove2.core.io.SegmentedMappedInput}, using segments
+ * small enough that the test file spans many of them.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations={
+		"classpath*:**/persist-test-config.xml",
+		"classpath*:**/abstractdisplayer-config.xml",
+		"classpath*:**/core/test-config.xml", 
+		"classpath*:**/module/**/test-config.xml", 
+		"classpath*:**/filepaths-config.xml"})
+public class SegmentedMappedInputTest extends ConfigTestBase {
+
+    /** Segment size. */
+    static final int SEGMENT_SIZE = 64;
+
+    private JHOVE2 jhove2;
+    private String utf8DirBasePath;
+    private String testFile01;
+    private File testFile;
+    private byte[] contents;
+
+    @Resource
+    public void setJHOVE2(JHOVE2 jhove2) {
+        this.jhove2 = jhove2;
+    }
+
+    @Resource
+    public void setUtf8DirBasePath(String utf8DirBasePath) {
+        this.utf8DirBasePath = utf8DirBasePath;
+    }
+
+    @Resource
+    public void setTestFile01(String testFile01) {
+        this.testFile01 = testFile01;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        String utf8DirPath = null;
+        try {
+            utf8DirPath = 
+                FeatureConfigurationUtil.getFilePathFromClasspath(utf8DirBasePath, "utf8 dir");
+        } catch (JHOVE2Exception e) {
+            fail("Could not create base directory");
+        }
+        testFile = new File(utf8DirPath.concat(testFile01));
+        contents = new byte[(int) testFile.length()];
+        RandomAccessFile raf = new RandomAccessFile(testFile, "r");
+        try {
+            raf.readFully(contents);
+        }
+        finally {
+            raf.close();
+        }
+    }
+
+    @Test
+    public void testSequentialReads() throws IOException {
+        for (ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN,
+                                                ByteOrder.LITTLE_ENDIAN}) {
+            Input input = new SegmentedMappedInput(jhove2, testFile, false,
+                                                   order, SEGMENT_SIZE);
+            try {
+                ByteBuffer expected = ByteBuffer.wrap(contents).order(order);
+                /* Start at an odd offset so values straddle the segments. */
+                input.setPosition(1);
+                expected.position(1);
+                while (expected.remaining() >= 8) {
+                    assertEquals("Short at " + expected.position(),
+                            expected.getShort(), input.readSignedShort());
+                    assertEquals("Int at " + expected.position(),
+                            expected.getInt(), input.readSignedInt());
+                    assertEquals("Byte at " + expected.position(),
+                            expected.get(), input.readSignedByte());
+                    assertEquals("Position", expected.position(),
+                            input.getPosition());
+                }
+                while (expected.hasRemaining()) {
+                    assertEquals("Byte at " + expected.position(),
+                            expected.get(), input.readSignedByte());
+                }
+                assertEquals("Read past the end of the file", Input.EOF,
+                        input.readSignedByte());
+            }
+            finally {
+                input.close();
+            }
+        }
+    }
+
+    @Test
+    public void testSeekAndBulkReads() throws IOException {
+        Input input = new SegmentedMappedInput(jhove2, testFile, false,
+                                               ByteOrder.BIG_ENDIAN,
+                                               SEGMENT_SIZE);
+        try {
+            assertEquals("Stride is the segment size", SEGMENT_SIZE,
+                    input.getMaxBufferSize());
+            input.setPosition(3 * SEGMENT_SIZE - 1);
+            assertEquals("Unsigned short across segments",
+                    ByteBuffer.wrap(contents, 3 * SEGMENT_SIZE - 1, 2)
+                        .getShort() & 0xffff,
+                    input.readUnsignedShort());
+            input.setPosition(5);
+            byte[] bytes = new byte[contents.length - 5];
+            input.readFully(bytes);
+            for (int i = 0; i < bytes.length; i++) {
+                assertEquals("Byte " + (i + 5), contents[i + 5], bytes[i]);
+            }
+            input.setPosition(contents.length);
+            assertEquals("Read at the end of the file", Input.EOF,
+                    input.readSignedByte());
+        }
+        finally {
+            input.close();
+        }
+    }
+}
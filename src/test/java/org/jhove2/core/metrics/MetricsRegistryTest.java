@@ -0,0 +1,150 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.core.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests of {@link MetricsRegistry}, {@link StripedCounter}, and
+ * {@link Histogram}.
+ */
+public class MetricsRegistryTest {
+
+	/**
+	 * Test that concurrent increments are not lost.
+	 */
+	@Test
+	public void testStripedCounter()
+		throws Exception
+	{
+		final StripedCounter counter = new StripedCounter();
+		Thread[] threads = new Thread[8];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					for (int j = 0; j < 10000; j++) {
+						counter.increment();
+					}
+				}
+			};
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(80000L, counter.sum());
+		counter.reset();
+		assertEquals(0L, counter.sum());
+	}
+
+	/**
+	 * Test histogram percentiles are within the bucket precision.
+	 */
+	@Test
+	public void testHistogram() {
+		Histogram histogram = new Histogram();
+		for (long v = 1L; v <= 10000L; v++) {
+			histogram.record(v * 1000L);
+		}
+		assertEquals(10000L, histogram.getCount());
+		assertEquals(10000000L, histogram.getMax());
+		assertEquals(5000500.0, histogram.getMean(), 1.0);
+		long p50 = histogram.getValueAtPercentile(50.0);
+		long p99 = histogram.getValueAtPercentile(99.0);
+		assertTrue(Math.abs(p50 - 5000000L) <= 5000000L / Histogram.SUB_BUCKETS);
+		assertTrue(Math.abs(p99 - 9900000L) <= 9900000L / Histogram.SUB_BUCKETS);
+		assertEquals(10000000L, histogram.getValueAtPercentile(100.0));
+	}
+
+	/**
+	 * Test that each value maps to a bucket whose upper bound contains it.
+	 */
+	@Test
+	public void testBucketBounds() {
+		long[] values = {0L, 1L, 63L, 64L, 65L, 1000L, 123456789L,
+			             Long.MAX_VALUE / 3, Long.MAX_VALUE};
+		for (long value : values) {
+			int index = Histogram.bucketIndex(value);
+			assertTrue(Histogram.highestEquivalentValue(index) >= value);
+			if (index > 0) {
+				assertTrue(Histogram.highestEquivalentValue(index - 1) < value);
+			}
+		}
+	}
+
+	/**
+	 * Test registry snapshot reportable.
+	 */
+	@Test
+	public void testMetricsReportable() {
+		MetricsRegistry registry = new MetricsRegistry();
+		registry.increment("test.counter");
+		registry.add("test.counter", 2L);
+		registry.record("test.latency", 42L);
+		registry.setEnabled(false);
+		registry.increment("test.counter");
+		registry.setEnabled(true);
+
+		Metrics metrics = new Metrics(registry);
+		List<CounterMetric> counters = metrics.getCounters();
+		assertEquals(1, counters.size());
+		assertEquals("test.counter", counters.get(0).getName());
+		assertEquals(3L, counters.get(0).getValue());
+		List<HistogramMetric> histograms = metrics.getHistograms();
+		assertEquals(1, histograms.size());
+		assertEquals(1L, histograms.get(0).getCount());
+		assertEquals(42L, histograms.get(0).getMax());
+	}
+
+	/**
+	 * Test that metric names are built once per suffix.
+	 */
+	@Test
+	public void testKeys() {
+		MetricsRegistry.Keys keys = new MetricsRegistry.Keys("test.");
+		String key = keys.get(MetricsRegistryTest.class);
+		assertEquals("test.MetricsRegistryTest", key);
+		assertSame(key, keys.get(MetricsRegistryTest.class));
+		assertEquals("test.BLOCKED", keys.get(Thread.State.BLOCKED));
+		assertEquals("test.null", keys.get(null));
+	}
+}
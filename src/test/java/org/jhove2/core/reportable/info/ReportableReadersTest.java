@@ -0,0 +1,186 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.core.reportable.info;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jhove2.annotation.ReportableProperty;
+import org.jhove2.core.JHOVE2Exception;
+import org.jhove2.core.reportable.AbstractReportable;
+import org.junit.Test;
+
+/**
+ * Tests that generated and reflective {@link ReportableReader}s visit the
+ * same properties with the same values.
+ */
+public class ReportableReadersTest {
+
+	/** Reportable interface with a reportable property. */
+	public static interface Named {
+		@ReportableProperty(order=1, value="Name.")
+		public String getName();
+	}
+
+	/** Public reportable with properties of every type. */
+	public static class Sample
+		extends AbstractReportable
+		implements Named
+	{
+		public String getName() { return "sample"; }
+		@ReportableProperty(order=1, value="Boolean.")
+		public boolean getBoolean() { return true; }
+		@ReportableProperty(order=2, value="Byte.")
+		public byte getByte() { return -2; }
+		@ReportableProperty(order=3, value="Char.")
+		public char getChar() { return 'c'; }
+		@ReportableProperty(order=4, value="Short.")
+		public short getShort() { return 300; }
+		@ReportableProperty(order=5, value="Int.")
+		public int getInt() { return -70000; }
+		@ReportableProperty(order=6, value="Long.")
+		public long getLong() { return 1L << 40; }
+		@ReportableProperty(order=7, value="Float.")
+		public float getFloat() { return 1.5f; }
+		@ReportableProperty(order=8, value="Double.")
+		public double getDouble() { return -2.25; }
+		@ReportableProperty(order=9, value="List.")
+		public List<String> getList() { return Arrays.asList("a", "b"); }
+		@ReportableProperty(order=10, value="Null.")
+		public Integer getNull() { return null; }
+		@ReportableProperty(order=11, value="Failure.")
+		public String getFailure() throws JHOVE2Exception {
+			throw new JHOVE2Exception("failure");
+		}
+	}
+
+	/** Non-public reportable, for which no reader can be generated. */
+	static class Hidden
+		extends AbstractReportable
+	{
+		@ReportableProperty(order=1, value="Int.")
+		public int getInt() { return 7; }
+	}
+
+	/** Visitor recording the properties visited. */
+	static class Recorder
+		implements ReportableVisitor
+	{
+		List<String> visits = new ArrayList<String>();
+
+		public boolean accept(ReportablePropertyInfo property) {
+			return !property.getMethod().getName().equals("getFailure");
+		}
+		private void add(ReportablePropertyInfo property, String kind, Object value) {
+			visits.add(property.getMethod().getName() + ":" + kind + "=" + value);
+		}
+		public void visitObject(ReportablePropertyInfo p, Object v)  { add(p, "Object", v); }
+		public void visitBoolean(ReportablePropertyInfo p, boolean v) { add(p, "boolean", v); }
+		public void visitByte(ReportablePropertyInfo p, byte v)       { add(p, "byte", v); }
+		public void visitChar(ReportablePropertyInfo p, char v)       { add(p, "char", v); }
+		public void visitShort(ReportablePropertyInfo p, short v)     { add(p, "short", v); }
+		public void visitInt(ReportablePropertyInfo p, int v)         { add(p, "int", v); }
+		public void visitLong(ReportablePropertyInfo p, long v)       { add(p, "long", v); }
+		public void visitFloat(ReportablePropertyInfo p, float v)     { add(p, "float", v); }
+		public void visitDouble(ReportablePropertyInfo p, double v)   { add(p, "double", v); }
+	}
+
+	/** Visitor accepting all properties. */
+	static class AcceptAll
+		extends Recorder
+	{
+		public boolean accept(ReportablePropertyInfo property) {
+			return true;
+		}
+	}
+
+	@Test
+	public void testGenerated() throws JHOVE2Exception {
+		ReportableReader generated  = ReportableReaders.newReader(Sample.class, true);
+		ReportableReader reflective = ReportableReaders.newReader(Sample.class, false);
+		assertTrue(generated instanceof GeneratedReportableReader);
+		assertFalse(reflective instanceof GeneratedReportableReader);
+		List<ReportablePropertyInfo> properties = generated.getProperties();
+		assertEquals(reflective.getProperties().size(), properties.size());
+		for (int i = 0; i < properties.size(); i++) {
+			assertEquals(reflective.getProperties().get(i).getMethod(),
+					     properties.get(i).getMethod());
+		}
+
+		Sample sample = new Sample();
+		Recorder expected = new Recorder();
+		reflective.read(sample, expected);
+		Recorder actual = new Recorder();
+		generated.read(sample, actual);
+		assertEquals(properties.size() - 1, expected.visits.size());
+		assertEquals(expected.visits, actual.visits);
+		assertTrue(actual.visits.contains("getLong:long=1099511627776"));
+		assertTrue(actual.visits.contains("getName:Object=sample"));
+		assertTrue(actual.visits.contains("getNull:Object=null"));
+	}
+
+	@Test
+	public void testException() {
+		ReportableReader[] readers = {
+			ReportableReaders.newReader(Sample.class, true),
+			ReportableReaders.newReader(Sample.class, false)
+		};
+		for (ReportableReader reader : readers) {
+			try {
+				reader.read(new Sample(), new AcceptAll());
+				assertTrue("exception expected", false);
+			}
+			catch (JHOVE2Exception e) {
+				assertEquals("failure", e.getMessage());
+			}
+		}
+	}
+
+	@Test
+	public void testFallback() throws JHOVE2Exception {
+		ReportableReader reader = ReportableReaders.getReader(Hidden.class);
+		assertFalse(reader instanceof GeneratedReportableReader);
+		assertSame(reader, ReportableReaders.getReader(Hidden.class));
+		Recorder recorder = new Recorder();
+		reader.read(new Hidden(), recorder);
+		assertTrue(recorder.visits.contains("getInt:int=7"));
+	}
+}
@@ -0,0 +1,154 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.jhove2.core.source;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link org.jhove2.core.source.DirectoryEntries}, with and without
+ * prefetching.
+ */
+public class DirectoryEntriesTest {
+
+    /** Number of directory entries. */
+    static final int ENTRIES = 50;
+
+    private File directory;
+    private Set<File> expected;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = File.createTempFile("jhove2-entries", "");
+        assertTrue(directory.delete());
+        assertTrue(directory.mkdir());
+        expected = new HashSet<File>();
+        for (int i = 0; i < ENTRIES; i++) {
+            File file = new File(directory, "entry" + i);
+            assertTrue(file.createNewFile());
+            expected.add(file);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        for (File file : expected) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void testEntries() {
+        for (int prefetch : new int[] {0, 1, 8, 2 * ENTRIES}) {
+            Set<File> actual = new HashSet<File>();
+            DirectoryEntries entries = new DirectoryEntries(directory, prefetch);
+            try {
+                while (entries.hasNext()) {
+                    assertTrue("Duplicate entry, prefetch " + prefetch,
+                               actual.add(entries.next()));
+                }
+            }
+            finally {
+                entries.close();
+            }
+            assertEquals("Entries, prefetch " + prefetch, expected, actual);
+        }
+    }
+
+    @Test
+    public void testPrefetchedMetadata() throws IOException {
+        DirectoryEntries entries = new DirectoryEntries(directory, 4);
+        try {
+            while (entries.hasNext()) {
+                File file = entries.next();
+                DirectoryEntries.Entry entry = entries.getEntry();
+                assertNotNull("No prefetched metadata", entry);
+                assertEquals("Prefetched file", file, entry.getFile());
+                assertFalse("Prefetched directory flag", entry.isDirectory());
+                assertEquals("Prefetched size", file.length(), entry.getSize());
+                FileSystemProperties properties =
+                    entry.getFileSystemProperties();
+                assertEquals("Prefetched path", file.getCanonicalPath(),
+                             properties.getPath());
+                assertTrue("Prefetched existence", properties.isExtant());
+                assertEquals("Prefetched last modified date",
+                             file.lastModified(),
+                             properties.getLastModified().getTime());
+            }
+        }
+        finally {
+            entries.close();
+        }
+        entries = new DirectoryEntries(directory, 0);
+        entries.next();
+        assertNull("Metadata without prefetching", entries.getEntry());
+        entries.close();
+    }
+
+    @Test
+    public void testClose() {
+        for (int prefetch : new int[] {0, 4}) {
+            DirectoryEntries entries = new DirectoryEntries(directory, prefetch);
+            assertTrue(entries.hasNext());
+            entries.next();
+            entries.close();
+            assertFalse("Entries after close, prefetch " + prefetch,
+                        entries.hasNext());
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        for (File file : expected) {
+            assertTrue(file.delete());
+        }
+        expected.clear();
+        DirectoryEntries entries = new DirectoryEntries(directory, 4);
+        assertFalse("Entries in empty directory", entries.hasNext());
+        entries.close();
+    }
+}
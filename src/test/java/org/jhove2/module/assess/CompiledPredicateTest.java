@@ -0,0 +1,170 @@
+package org.jhove2.module.assess;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.jhove2.module.assess.Rule.Quantor;
+import org.jhove2.module.format.Validator.Validity;
+import org.junit.Test;
+
+public class CompiledPredicateTest {
+
+    /* A simple object to assess */
+    public static class Assessed {
+        public String getName() {
+            return "sample";
+        }
+        public long getSize() {
+            return 1234L;
+        }
+    }
+
+    private static Rule rule(Quantor quantifier, String... predicates) {
+        Rule rule = new Rule();
+        rule.setName("CompiledRule");
+        rule.setQuantifier(quantifier);
+        rule.setConsequent("true");
+        rule.setAlternative("false");
+        rule.setPredicates(Arrays.asList(predicates));
+        return rule;
+    }
+
+    private static AssessmentResult fire(Rule rule) {
+        AssessmentResult result = new AssessmentResult();
+        result.setRule(rule);
+        result.fireRule(new Assessed());
+        return result;
+    }
+
+    @Test
+    public void testEvaluate() throws Exception {
+        CompiledPredicate predicate = new CompiledPredicate("size > 1000");
+        assertNull(predicate.getError());
+        assertTrue(predicate.evaluate(new Assessed()));
+        predicate = new CompiledPredicate("name == 'other'");
+        assertFalse(predicate.evaluate(new Assessed()));
+    }
+
+    @Test
+    public void testAssignmentRejected() {
+        CompiledPredicate predicate = new CompiledPredicate("size = 0");
+        assertNotNull(predicate.getError());
+        try {
+            predicate.evaluate(new Assessed());
+            assertTrue("assignment should not be evaluated", false);
+        } catch (Exception e) {
+            assertEquals(predicate.getError(), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testCompiledOnce() {
+        Rule rule = rule(Quantor.ALL_OF, "size > 1000");
+        assertSame(rule.compile(), rule.compile());
+        rule.setPredicates(Arrays.asList("size > 1"));
+        assertEquals("size > 1", rule.compile()[0].getPredicate());
+    }
+
+    @Test
+    public void testQuantifierShortCircuit() {
+        AssessmentResult result = fire(rule(Quantor.ALL_OF,
+                "size > 1000", "name == 'other'", "size < 0"));
+        assertEquals(Validity.False, result.getBooleanResult());
+        assertEquals(2, result.getPredicateEvaluations().size());
+        assertEquals(Arrays.asList("size < 0"), result.getSkippedPredicates());
+        assertTrue(result.getAssessmentDetails().contains(
+                "size < 0 => not evaluated;"));
+
+        result = fire(rule(Quantor.ANY_OF,
+                "name == 'other'", "size > 1000", "size < 0"));
+        assertEquals(Validity.True, result.getBooleanResult());
+        assertEquals(2, result.getPredicateEvaluations().size());
+
+        result = fire(rule(Quantor.NONE_OF,
+                "name == 'other'", "size > 1000", "size < 0"));
+        assertEquals(Validity.False, result.getBooleanResult());
+        assertEquals(2, result.getPredicateEvaluations().size());
+
+        result = fire(rule(Quantor.NONE_OF, "name == 'other'", "size < 0"));
+        assertEquals(Validity.True, result.getBooleanResult());
+        assertEquals(2, result.getPredicateEvaluations().size());
+    }
+
+    @Test
+    public void testOutcomeOnly() {
+        AssessmentResult result = new AssessmentResult();
+        result.setRule(rule(Quantor.ALL_OF, "size > 1000", "name == 'sample'"));
+        result.fireRule(new Assessed(), true);
+        assertEquals(Validity.True, result.getBooleanResult());
+        assertTrue(result.getPredicateEvaluations().isEmpty());
+        assertNull(result.getAssessmentDetails());
+
+        result = new AssessmentResult();
+        result.setRule(rule(Quantor.ALL_OF, "size.count() == 4"));
+        result.fireRule(new Assessed(), true);
+        assertEquals(Validity.Undetermined, result.getBooleanResult());
+        assertTrue(result.getAssessmentMessages().isEmpty());
+    }
+
+    @Test
+    public void testUndetermined() {
+        AssessmentResult result = fire(rule(Quantor.ALL_OF,
+                "size.count() == 4", "size > 1000"));
+        assertEquals(Validity.Undetermined, result.getBooleanResult());
+        assertEquals(1, result.getAssessmentMessages().size());
+    }
+
+    @Test
+    public void testUndeterminedMixed() {
+        /* An error before the deciding predicate: every predicate is
+         * evaluated, and the outcome is undetermined. */
+        AssessmentResult result = fire(rule(Quantor.ALL_OF,
+                "size.count() == 4", "name == 'other'", "size > 1000"));
+        assertEquals(Validity.Undetermined, result.getBooleanResult());
+        assertEquals(3, result.getPredicateEvaluations().size());
+        assertTrue(result.getSkippedPredicates().isEmpty());
+
+        result = fire(rule(Quantor.ANY_OF,
+                "size.count() == 4", "size > 1000", "name.count() == 1"));
+        assertEquals(Validity.Undetermined, result.getBooleanResult());
+        assertEquals(3, result.getPredicateEvaluations().size());
+        assertEquals(2, result.getAssessmentMessages().size());
+
+        result = fire(rule(Quantor.NONE_OF,
+                "name == 'other'", "size.count() == 4", "size > 1000"));
+        assertEquals(Validity.Undetermined, result.getBooleanResult());
+
+        /* A predicate that fails to compile leaves the outcome undetermined
+         * even after the deciding predicate. */
+        result = fire(rule(Quantor.ALL_OF,
+                "name == 'other'", "size = 0"));
+        assertEquals(Validity.Undetermined, result.getBooleanResult());
+        assertEquals(2, result.getPredicateEvaluations().size());
+
+        result = fire(rule(Quantor.ANY_OF, "size > 1000", "size = 0"));
+        assertEquals(Validity.Undetermined, result.getBooleanResult());
+
+        /* An evaluation error after the deciding predicate is skipped. */
+        result = fire(rule(Quantor.ALL_OF,
+                "name == 'other'", "size.count() == 4", "size > 1000"));
+        assertEquals(Validity.False, result.getBooleanResult());
+        assertEquals(1, result.getPredicateEvaluations().size());
+        assertEquals(Arrays.asList("size.count() == 4", "size > 1000"),
+                     result.getSkippedPredicates());
+        assertTrue(result.getAssessmentMessages().isEmpty());
+
+        /* Outcome only: evaluation stops at the first error. */
+        result = new AssessmentResult();
+        result.setRule(rule(Quantor.ANY_OF,
+                "size.count() == 4", "size > 1000"));
+        result.fireRule(new Assessed(), true);
+        assertEquals(Validity.Undetermined, result.getBooleanResult());
+        assertTrue(result.getSkippedPredicates().isEmpty());
+    }
+}
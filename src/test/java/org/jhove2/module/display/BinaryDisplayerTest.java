@@ -0,0 +1,158 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.module.display;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import javax.annotation.Resource;
+
+import org.jhove2.ConfigTestBase;
+import org.jhove2.app.util.BinaryReportReader;
+import org.jhove2.core.JHOVE2;
+import org.jhove2.core.io.Input;
+import org.jhove2.core.source.Source;
+import org.jhove2.persist.PersistenceManagerUtil;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+/**
+ * Tests that a binary report converted back by the
+ * {@link org.jhove2.app.util.BinaryReportReader} is identical to the output
+ * of the JSON and XML displayers.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations={
+		"classpath*:**/abstractdisplayer-config.xml",
+		"classpath*:**/persist-test-config.xml",
+		"classpath*:**/test-config.xml", 
+		"classpath*:**/filepaths-config.xml"})
+public class BinaryDisplayerTest extends ConfigTestBase {
+
+	private JHOVE2 JHOVE2;
+	private String utf8DirBasePath;
+	private String testFile01;
+	private String persistenceFactoryClassName;
+	private Source source;
+
+	@Before
+	public void setUp() throws Exception {
+		PersistenceManagerUtil.createPersistenceManagerFactory(persistenceFactoryClassName);
+		PersistenceManagerUtil.getPersistenceManagerFactory().getInstance().initialize();
+		String filePath = utf8DirBasePath.concat(testFile01);
+		source = JHOVE2.getSourceFactory().getSource(JHOVE2, filePath);
+		Input  input  = source.getInput(JHOVE2);
+		source.addModule(JHOVE2);
+		source = JHOVE2.characterize(source, input);
+	}
+
+	@Test
+	public void testJSON() throws Exception {
+		JSONDisplayer displayer = new JSONDisplayer();
+		displayer.setShowIdentifiers(true);
+		roundTrip(displayer);
+	}
+
+	@Test
+	public void testXML() throws Exception {
+		XMLDisplayer displayer = new XMLDisplayer();
+		displayer.setShouldIndent(true);
+		roundTrip(displayer);
+	}
+
+	/**
+	 * Compare the direct output of a displayer with that of a converted
+	 * binary report.
+	 */
+	private void roundTrip(Displayer displayer) throws Exception {
+		displayer.setConfigInfo(JHOVE2.getConfigInfo());
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		PrintStream out = new PrintStream(expected, false, "UTF-8");
+		displayer.display(source, out);
+		out.flush();
+
+		Displayer binary = new BinaryDisplayer();
+		binary.setConfigInfo(JHOVE2.getConfigInfo());
+		ByteArrayOutputStream report = new ByteArrayOutputStream();
+		out = new PrintStream(report, false, "UTF-8");
+		binary.display(source, out);
+		out.flush();
+		assertTrue(report.size() < expected.size());
+
+		ByteArrayOutputStream actual = new ByteArrayOutputStream();
+		out = new PrintStream(actual, false, "UTF-8");
+		BinaryReportReader reader =
+			new BinaryReportReader(new ByteArrayInputStream(report.toByteArray()));
+		reader.display(displayer, out);
+		out.flush();
+		assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+	}
+
+	public JHOVE2 getJHOVE2() {
+		return JHOVE2;
+	}
+	@Resource
+	public void setJHOVE2(JHOVE2 jHOVE2) {
+		JHOVE2 = jHOVE2;
+	}
+	public String getTestFile01() {
+		return testFile01;
+	}
+	@Resource
+	public void setTestFile01(String testFile01) {
+		this.testFile01 = testFile01;
+	}
+	public String getUtf8DirBaseBath() {
+		return utf8DirBasePath;
+	}
+	@Resource
+	public void setUtf8DirBasePath(String testDir) {
+		this.utf8DirBasePath = testDir;
+	}
+	/**
+	 * @param persistenceFactoryClassName the persistenceFactoryClassName to set
+	 */
+	@Resource (name="PersistenceManagerFactoryClassName")
+	public void setPersistenceFactoryClassName(String persistenceFactoryClassName) {
+		this.persistenceFactoryClassName = persistenceFactoryClassName;
+	}
+}
@@ -35,8 +35,12 @@
  */
 package org.jhove2.module.display;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
 import javax.annotation.Resource;
 
 import org.jhove2.ConfigTestBase;
@@ -96,6 +100,48 @@ public class JSONDisplayerTest extends ConfigTestBase {
 			fail("exception");
 		}
 	}
+
+	/**
+	 * Test that rendering top-level subtrees concurrently produces the same
+	 * output as rendering them in turn.
+	 */
+	@Test
+	public void testParallelSubtrees() {
+		try {
+			String filePath = utf8DirBasePath.concat(testFile01);
+			Source source = JHOVE2.getSourceFactory().getSource(JHOVE2, filePath);
+			Input  input  = source.getInput(JHOVE2);
+			source.addModule(JHOVE2);
+			source = JHOVE2.characterize(source, input);
+			JSONDisplayer displayer = new JSONDisplayer();
+			displayer.setShowIdentifiers(true);
+			displayer.setConfigInfo(JHOVE2.getConfigInfo());
+
+			ByteArrayOutputStream serial = new ByteArrayOutputStream();
+			PrintStream out = new PrintStream(serial, false, "UTF-8");
+			displayer.display(source, out);
+			out.flush();
+
+			displayer.setParallelSubtrees(4);
+			ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+			out = new PrintStream(parallel, false, "UTF-8");
+			displayer.display(source, out);
+			out.flush();
+			assertArrayEquals(serial.toByteArray(), parallel.toByteArray());
+
+			/* Spill every subtree to a temporary file. */
+			displayer.setSegmentSpillThreshold(64);
+			parallel = new ByteArrayOutputStream();
+			out = new PrintStream(parallel, false, "UTF-8");
+			displayer.display(source, out);
+			out.flush();
+			assertArrayEquals(serial.toByteArray(), parallel.toByteArray());
+		}
+		catch (Exception e){
+			e.printStackTrace();
+			fail("exception");
+		}
+	}
 	public JHOVE2 getJHOVE2() {
 		return JHOVE2;
 	}
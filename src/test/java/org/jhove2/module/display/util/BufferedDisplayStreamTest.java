@@ -0,0 +1,109 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.module.display.util;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+
+import org.junit.Test;
+
+/**
+ * Tests that {@link BufferedDisplayStream} produces exactly the bytes of a
+ * plain {@link java.io.PrintStream} with the same character encoding.
+ */
+public class BufferedDisplayStreamTest {
+
+	/** Exercise the print methods used by the displayers. */
+	private static void print(PrintStream out) {
+		out.print("<jhove2>");
+		out.println();
+		out.print(' ');
+		out.print("caf\u00e9 \u00fcber \u20ac");
+		out.println(42);
+		out.println(-7L);
+		out.println(1.5d);
+		out.println(true);
+		out.println((Object) null);
+		out.println((String) null);
+		out.print(new char[] {'a', 'b', 'c'});
+		out.println('z');
+		out.write(0x41);
+		out.write(new byte[] {0x42, 0x43, 0x44}, 0, 3);
+		/* Surrogate pair split across calls. */
+		out.print('\ud834');
+		out.print('\udd1e');
+		out.print("\ud834");
+		out.println("\udd1e end");
+	}
+
+	/** Compare stream output with that of a plain PrintStream. */
+	private static void compare(String encoding, int bufferSize)
+		throws UnsupportedEncodingException
+	{
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		PrintStream plain = new PrintStream(expected, false, encoding);
+		print(plain);
+		plain.close();
+
+		ByteArrayOutputStream actual = new ByteArrayOutputStream();
+		BufferedDisplayStream buffered =
+			new BufferedDisplayStream(actual, encoding, bufferSize);
+		print(buffered);
+		buffered.close();
+
+		assertArrayEquals(encoding + "/" + bufferSize,
+				          expected.toByteArray(), actual.toByteArray());
+	}
+
+	@Test
+	public void testUtf8() throws UnsupportedEncodingException {
+		compare("UTF-8", BufferedDisplayStream.DEFAULT_BUFFER_SIZE);
+	}
+
+	@Test
+	public void testSmallBuffer() throws UnsupportedEncodingException {
+		compare("UTF-8", 3);
+		compare("UTF-16", 5);
+	}
+
+	@Test
+	public void testUnmappable() throws UnsupportedEncodingException {
+		compare("ISO-8859-1", BufferedDisplayStream.DEFAULT_BUFFER_SIZE);
+		compare("US-ASCII", 4);
+	}
+}
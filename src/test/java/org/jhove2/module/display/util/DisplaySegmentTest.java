@@ -0,0 +1,111 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.module.display.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+
+import org.junit.Test;
+
+/**
+ * Tests that a {@link DisplaySegment} writes exactly the text printed to
+ * it, whether it is held in memory or spilled to a temporary file.
+ */
+public class DisplaySegmentTest {
+
+	/** Exercise the print methods used by the displayers. */
+	private static void print(PrintStream out) {
+		for (int i = 0; i < 50; i++) {
+			out.print("<jhove2>");
+			out.println();
+			out.print("caf\u00e9 \u00fcber \u20ac ");
+			out.println(i);
+			out.println(-7L);
+			out.println(true);
+			/* Surrogate pair split across calls. */
+			out.print('\ud834');
+			out.print('\udd1e');
+		}
+	}
+
+	/** Compare segment output with that of a plain PrintStream. */
+	private static void compare(int spillThreshold, boolean spilled)
+		throws Exception
+	{
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		PrintStream plain = new PrintStream(expected, false, "UTF-8");
+		print(plain);
+		plain.flush();
+
+		DisplaySegment segment = new DisplaySegment(spillThreshold);
+		print(segment);
+		assertEquals(spilled, segment.isSpilled());
+		ByteArrayOutputStream actual = new ByteArrayOutputStream();
+		PrintStream out = new PrintStream(actual, false, "UTF-8");
+		segment.writeTo(out);
+		out.flush();
+		assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+		assertFalse(segment.isSpilled());
+		assertEquals(0L, segment.length());
+	}
+
+	@Test
+	public void testInMemory() throws Exception {
+		compare(DisplaySegment.DEFAULT_SPILL_THRESHOLD, false);
+	}
+
+	@Test
+	public void testSpilled() throws Exception {
+		compare(1, true);
+		compare(7, true);
+		compare(100, true);
+	}
+
+	@Test
+	public void testDiscard() throws Exception {
+		DisplaySegment segment = new DisplaySegment(16);
+		print(segment);
+		File spillFile = segment.spillFile;
+		assertTrue(spillFile.exists());
+		segment.discard();
+		assertFalse(spillFile.exists());
+	}
+}
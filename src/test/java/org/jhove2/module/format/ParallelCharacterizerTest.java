@@ -0,0 +1,125 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.jhove2.module.format;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jhove2.core.JHOVE2;
+import org.jhove2.core.JHOVE2Exception;
+import org.jhove2.core.io.Input;
+import org.jhove2.core.source.Source;
+import org.jhove2.persist.inmemory.InMemorySourceFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the deferred mode of
+ * {@link org.jhove2.module.format.ParallelCharacterizer}, which
+ * characterizes queued children in order and stops at the first failure.
+ */
+public class ParallelCharacterizerTest {
+
+    private File file;
+    private List<Source> characterized;
+    private JHOVE2Exception failure;
+    private JHOVE2 jhove2;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("jhove2-child", ".bin");
+        characterized = new ArrayList<Source>();
+        failure = new JHOVE2Exception("Child failed");
+        jhove2 = new JHOVE2() {
+            @Override
+            public Source characterize(Source source, Input input)
+                throws JHOVE2Exception
+            {
+                characterized.add(source);
+                if (characterized.size() == 2) {
+                    throw failure;
+                }
+                return source;
+            }
+        };
+        jhove2.setSourceFactory(new InMemorySourceFactory());
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void testDeferredInOrder() throws Exception {
+        ParallelCharacterizer characterizer =
+            ParallelCharacterizer.deferred(jhove2);
+        Source child = jhove2.getSourceFactory().getSource(jhove2, file);
+        characterizer.characterize(child);
+        assertEquals("Deferred child characterized before finish", 0,
+                     characterized.size());
+        characterizer.finish();
+        assertEquals(1, characterized.size());
+        assertSame(child, characterized.get(0));
+    }
+
+    @Test
+    public void testDeferredStopsAtFirstFailure() throws Exception {
+        ParallelCharacterizer characterizer =
+            ParallelCharacterizer.deferred(jhove2);
+        List<Source> children = new ArrayList<Source>();
+        for (int i = 0; i < 4; i++) {
+            Source child = jhove2.getSourceFactory().getSource(jhove2, file);
+            children.add(child);
+            characterizer.characterize(child);
+        }
+        try {
+            characterizer.finish();
+            fail("Failure of a deferred child not thrown");
+        }
+        catch (JHOVE2Exception e) {
+            assertSame(failure, e);
+        }
+        assertEquals("Children characterized after the first failure", 2,
+                     characterized.size());
+        assertSame(children.get(0), characterized.get(0));
+        assertSame(children.get(1), characterized.get(1));
+    }
+}
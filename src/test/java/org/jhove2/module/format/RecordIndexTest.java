@@ -0,0 +1,273 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.module.format;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link RecordIndex} and {@link RecordIndexEntry}.
+ */
+public class RecordIndexTest {
+	/** Scratch archive. */
+	protected File archive;
+
+	@Before
+	public void setUp()
+		throws Exception
+	{
+		archive = File.createTempFile("jhove2-index", ".warc.gz");
+		write(archive, 400, false);
+	}
+
+	@After
+	public void tearDown() {
+		RecordIndex.getIndexFile(archive).delete();
+		archive.delete();
+	}
+
+	/**
+	 * Write, or append, <code>n</code> bytes of test data.
+	 */
+	protected static void write(File file, int n, boolean append)
+		throws IOException
+	{
+		FileOutputStream out = new FileOutputStream(file, append);
+		try {
+			for (int i = 0; i < n; i++) {
+				out.write(i);
+			}
+		}
+		finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Build an index of three records, the middle one a "request".
+	 */
+	protected void build()
+		throws IOException
+	{
+		RecordIndex index = RecordIndex.create(archive);
+		index.add(new RecordIndexEntry(0L, RecordIndexEntry.UNKNOWN,
+				"warcinfo", null, null));
+		index.add(new RecordIndexEntry(100L, RecordIndexEntry.UNKNOWN,
+				"request", "http://example.org/", null));
+		index.add(new RecordIndexEntry(250L, RecordIndexEntry.UNKNOWN,
+				"response", "http://example.org/", "sha1:ABCD"));
+		index.close(400L);
+	}
+
+	@Test
+	public void testEntryLine()
+		throws Exception
+	{
+		RecordIndexEntry entry = new RecordIndexEntry(12L, 34L, "response",
+				"http://example.org/a\tb%c", null);
+		RecordIndexEntry parsed = RecordIndexEntry.parse(entry.toLine());
+		assertEquals(12L, parsed.getOffset());
+		assertEquals(34L, parsed.getLength());
+		assertEquals("response", parsed.getType());
+		assertEquals("http://example.org/a\tb%c", parsed.getUri());
+		assertNull(parsed.getDigest());
+		assertEquals("sha1:ABCD", RecordIndexEntry.formatDigest("sha1", "ABCD"));
+	}
+
+	@Test
+	public void testBuildAndLoad()
+		throws Exception
+	{
+		build();
+		RecordIndex index = RecordIndex.load(archive);
+		assertTrue(index.isComplete());
+		assertTrue(index.isCurrent());
+		List<RecordIndexEntry> entries = index.getEntries();
+		assertEquals(3, entries.size());
+		assertEquals(100L, entries.get(0).getLength());
+		assertEquals(150L, entries.get(1).getLength());
+		assertEquals(150L, entries.get(2).getLength());
+		assertEquals("sha1:ABCD", entries.get(2).getDigest());
+		assertEquals(400L, index.getResumeOffset());
+	}
+
+	@Test
+	public void testAppendAndRewrite()
+		throws Exception
+	{
+		build();
+		write(archive, 50, true);
+		RecordIndex index = RecordIndex.load(archive);
+		assertFalse(index.isCurrent());
+		assertTrue(index.isPrefixOfArchive());
+		assertEquals(400L, index.getResumeOffset());
+
+		RandomAccessFile raf = new RandomAccessFile(archive, "rw");
+		try {
+			raf.seek(399L);
+			raf.write(0);
+		}
+		finally {
+			raf.close();
+		}
+		index = RecordIndex.load(archive);
+		assertFalse(index.isPrefixOfArchive());
+	}
+
+	@Test
+	public void testEditInPlace()
+		throws Exception
+	{
+		build();
+		long modified = archive.lastModified();
+		RandomAccessFile raf = new RandomAccessFile(archive, "rw");
+		try {
+			raf.seek(10L);
+			raf.write(0xFF);
+		}
+		finally {
+			raf.close();
+		}
+		archive.setLastModified(modified + 2000L);
+		RecordIndex index = RecordIndex.load(archive);
+		assertFalse(index.isCurrent());
+		assertFalse(index.isPrefixOfArchive());
+		assertFalse(index.isResumable());
+
+		write(archive, 50, true);
+		index = RecordIndex.load(archive);
+		assertFalse(index.isPrefixOfArchive());
+	}
+
+	@Test
+	public void testLargeArchive()
+		throws Exception
+	{
+		int length = 4 * RecordIndex.HEAD_LENGTH;
+		write(archive, length, false);
+		RecordIndex index = RecordIndex.create(archive);
+		index.add(new RecordIndexEntry(0L, RecordIndexEntry.UNKNOWN,
+				"warcinfo", null, null));
+		index.close(length);
+
+		write(archive, 50, true);
+		index = RecordIndex.load(archive);
+		assertFalse(index.isCurrent());
+		assertTrue(index.isPrefixOfArchive());
+
+		RandomAccessFile raf = new RandomAccessFile(archive, "rw");
+		try {
+			raf.seek(RecordIndex.HEAD_LENGTH - 1);
+			raf.write(0);
+		}
+		finally {
+			raf.close();
+		}
+		index = RecordIndex.load(archive);
+		assertFalse(index.isPrefixOfArchive());
+	}
+
+	@Test
+	public void testInterrupted()
+		throws Exception
+	{
+		RecordIndex index = RecordIndex.create(archive);
+		index.add(new RecordIndexEntry(0L, RecordIndexEntry.UNKNOWN,
+				"warcinfo", null, null));
+		index.add(new RecordIndexEntry(100L, RecordIndexEntry.UNKNOWN,
+				"request", null, null));
+		index.abandon();
+		index = RecordIndex.load(archive);
+		assertFalse(index.isComplete());
+		assertEquals(1, index.getEntries().size());
+		assertEquals(100L, index.getResumeOffset());
+		assertTrue(index.isResumable());
+
+		archive.setLastModified(archive.lastModified() + 2000L);
+		index = RecordIndex.load(archive);
+		assertFalse(index.isResumable());
+	}
+
+	@Test
+	public void testSelectAndSplit()
+		throws Exception
+	{
+		build();
+		RecordIndex index = RecordIndex.load(archive);
+		List<long[]> ranges = RecordIndex.getRanges(
+				index.select(Arrays.asList("request", "response")));
+		assertEquals(1, ranges.size());
+		assertEquals(100L, ranges.get(0)[0]);
+		assertEquals(300L, ranges.get(0)[1]);
+
+		ranges = RecordIndex.getRanges(index.select(Arrays.asList("response")));
+		assertEquals(1, ranges.size());
+		assertEquals(250L, ranges.get(0)[0]);
+
+		List<long[]> split = index.split(2);
+		assertEquals(2, split.size());
+		assertEquals(0L, split.get(0)[0]);
+		assertEquals(250L, split.get(0)[1]);
+		assertEquals(250L, split.get(1)[0]);
+		assertEquals(150L, split.get(1)[1]);
+
+		InputStream in = index.openRange(250L, 150L);
+		try {
+			int n = 0;
+			assertEquals(250 & 0xFF, in.read());
+			while (in.read() >= 0) {
+				n++;
+			}
+			assertEquals(149, n);
+		}
+		finally {
+			in.close();
+		}
+	}
+}
@@ -36,6 +36,20 @@
  */
 package org.jhove2.module.format.gzip;
 
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+import org.jhove2.core.io.Input;
+import org.jhove2.core.source.FileSource;
+import org.jhove2.module.format.RecordIndex;
+import org.jhove2.module.format.RecordIndexEntry;
 import org.jhove2.module.format.Validator.Validity;
 import org.junit.Test;
 
@@ -98,4 +112,112 @@ public class GzipModuleTest extends GzipModuleTestBase {
 		test_cases(cases, false);
 	}
 
+	@Test
+	public void test_gzipmodule_parallel() {
+		gzipModuleMold.setParallelCharacterization(4);
+		try {
+			test_cases(cases, false);
+		}
+		finally {
+			gzipModuleMold.setParallelCharacterization(0);
+		}
+	}
+
+	/**
+	 * Test reading only the members selected by, or not yet covered by, a
+	 * record index, and ignoring a stale index.
+	 */
+	@Test
+	public void test_gzipmodule_recordindex()
+		throws Exception
+	{
+		File file = File.createTempFile("jhove2-gzip-index", ".gz");
+		try {
+			long[] offsets = writeMembers(file, "first", "second", "third");
+			RecordIndex index = RecordIndex.create(file);
+			index.add(new RecordIndexEntry(offsets[0], RecordIndexEntry.UNKNOWN, "a", null, null));
+			index.add(new RecordIndexEntry(offsets[1], RecordIndexEntry.UNKNOWN, "b", null, null));
+			index.add(new RecordIndexEntry(offsets[2], RecordIndexEntry.UNKNOWN, "c", null, null));
+			index.close(offsets[3]);
+
+			gzipModuleMold.setRecordIndexTypes(Arrays.asList("b"));
+			try {
+				assertEquals(1, countMembers(file));
+
+				/* Rewritten archive: the index is stale and ignored. */
+				long modified = file.lastModified();
+				writeMembers(file, "FIRST", "SECOND", "THIRD");
+				file.setLastModified(modified + 2000L);
+				assertEquals(3, countMembers(file));
+			}
+			finally {
+				gzipModuleMold.setRecordIndexTypes(new ArrayList<String>());
+			}
+
+			/* Interrupted index: resume after the last complete member. */
+			offsets = writeMembers(file, "first", "second", "third");
+			index = RecordIndex.create(file);
+			index.add(new RecordIndexEntry(offsets[0], RecordIndexEntry.UNKNOWN, "a", null, null));
+			index.add(new RecordIndexEntry(offsets[1], RecordIndexEntry.UNKNOWN, "b", null, null));
+			index.abandon();
+			gzipModuleMold.setResumeFromRecordIndex(true);
+			try {
+				assertEquals(2, countMembers(file));
+			}
+			finally {
+				gzipModuleMold.setResumeFromRecordIndex(false);
+			}
+		}
+		finally {
+			RecordIndex.getIndexFile(file).delete();
+			file.delete();
+		}
+	}
+
+	/**
+	 * Write one GZip member per text.
+	 * @return member offsets, followed by the file length
+	 */
+	protected static long[] writeMembers(File file, String... texts)
+		throws IOException
+	{
+		long[] offsets = new long[texts.length + 1];
+		FileOutputStream out = new FileOutputStream(file);
+		try {
+			for (int i = 0; i < texts.length; i++) {
+				offsets[i] = out.getChannel().position();
+				OutputStream gz = new GZIPOutputStream(out) {
+					@Override
+					public void close() throws IOException {
+						finish();
+					}
+				};
+				gz.write(texts[i].getBytes("UTF-8"));
+				gz.close();
+			}
+			offsets[texts.length] = out.getChannel().position();
+		}
+		finally {
+			out.close();
+		}
+		return offsets;
+	}
+
+	/**
+	 * Parse a GZip file and count the members characterized.
+	 */
+	protected int countMembers(File file)
+		throws Exception
+	{
+		FileSource fileSource = (FileSource) JHOVE2.getSourceFactory().getSource(JHOVE2, file);
+		Input input = fileSource.getInput(JHOVE2);
+		try {
+			GzipModule gzipModule = gzipModuleMold.getTestInstance();
+			gzipModule.parse(JHOVE2, fileSource, input);
+			return fileSource.getChildSources().size();
+		}
+		finally {
+			input.close();
+		}
+	}
 }
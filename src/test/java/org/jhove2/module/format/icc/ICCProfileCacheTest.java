@@ -0,0 +1,175 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.jhove2.module.format.icc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+
+import javax.annotation.Resource;
+
+import org.jhove2.ConfigTestBase;
+import org.jhove2.app.util.FeatureConfigurationUtil;
+import org.jhove2.core.JHOVE2;
+import org.jhove2.core.JHOVE2Exception;
+import org.jhove2.core.io.Input;
+import org.jhove2.core.io.InputFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+/**
+ * Tests of the keys by which {@link org.jhove2.module.format.icc.ICCProfileCache}
+ * shares parsed ICC profiles.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations={
+		"classpath*:**/persist-test-config.xml",
+		"classpath*:**/abstractdisplayer-config.xml",
+		"classpath*:**/core/test-config.xml", 
+		"classpath*:**/module/**/test-config.xml", 
+		"classpath*:**/filepaths-config.xml"})
+public class ICCProfileCacheTest extends ConfigTestBase {
+
+    /** Example profile, with a profile ID. */
+    static final String PROFILE = "sRGB_v4_ICC_preference.icc";
+
+    private JHOVE2 jhove2;
+    private String iccDirBasePath;
+    private byte[] profile;
+
+    @Resource
+    public void setJHOVE2(JHOVE2 jhove2) {
+        this.jhove2 = jhove2;
+    }
+
+    @Resource
+    public void setIccDirBasePath(String iccDirBasePath) {
+        this.iccDirBasePath = iccDirBasePath;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        String iccDirPath = null;
+        try {
+            iccDirPath = FeatureConfigurationUtil.getFilePathFromClasspath(
+                    iccDirBasePath, "ICC examples base directory");
+        } catch (JHOVE2Exception e) {
+            fail("Could not create base directory");
+        }
+        RandomAccessFile raf =
+            new RandomAccessFile(new File(iccDirPath, PROFILE), "r");
+        try {
+            profile = new byte[(int) raf.length()];
+            raf.readFully(profile);
+        }
+        finally {
+            raf.close();
+        }
+    }
+
+    @Test
+    public void testProfileID() throws IOException {
+        String key = getKey(profile, 0);
+        assertNotNull("Profile not keyed", key);
+        assertEquals("Profile not keyed by its ID",
+                "id:34562abf994ccd066d2c5721d0d68c5d-" + profile.length, key);
+        assertEquals("Key depends on the starting offset", key,
+                getKey(profile, 12));
+    }
+
+    @Test
+    public void testDigest() throws IOException {
+        byte[] anonymous = profile.clone();
+        for (int i = 0; i < ICCProfileCache.PROFILE_ID_LENGTH; i++) {
+            anonymous[ICCProfileCache.PROFILE_ID_OFFSET + i] = 0;
+        }
+        String key = getKey(anonymous, 0);
+        assertNotNull("Profile without an ID not keyed", key);
+        assertTrue("Profile without an ID not keyed by its digest",
+                key.startsWith("md5:"));
+        assertEquals("Key depends on the starting offset", key,
+                getKey(anonymous, 12));
+
+        anonymous[anonymous.length - 1] ^= 0x01;
+        assertTrue("Different profiles share a key",
+                !key.equals(getKey(anonymous, 0)));
+    }
+
+    @Test
+    public void testTruncated() throws IOException {
+        byte[] truncated = new byte[ICCProfileCache.PROFILE_ID_OFFSET];
+        System.arraycopy(profile, 0, truncated, 0, truncated.length);
+        assertNull("Truncated profile keyed", getKey(truncated, 0));
+    }
+
+    /**
+     * Get the key of a profile written to a temporary file after a number
+     * of padding bytes.
+     */
+    private String getKey(byte[] bytes, int start) throws IOException {
+        File file = File.createTempFile("jhove2-icc", ".icc");
+        try {
+            FileOutputStream out = new FileOutputStream(file);
+            try {
+                out.write(new byte[start]);
+                out.write(bytes);
+            }
+            finally {
+                out.close();
+            }
+            Input input = InputFactory.getInput(jhove2, file, false,
+                                                ByteOrder.BIG_ENDIAN);
+            try {
+                return ICCProfileCache.getKey(input, start);
+            }
+            finally {
+                input.close();
+            }
+        }
+        finally {
+            file.delete();
+        }
+    }
+}
@@ -316,4 +316,15 @@ IAH-20080430204825-00000-blackbook.warc
     	test_cases(cases, false);
     }
 
+    @Test
+    public void test_warcmodule_parallel() {
+    	warcModuleMold.setParallelCharacterization(4);
+    	try {
+        	test_cases(cases, false);
+    	}
+    	finally {
+        	warcModuleMold.setParallelCharacterization(0);
+    	}
+    }
+
 }
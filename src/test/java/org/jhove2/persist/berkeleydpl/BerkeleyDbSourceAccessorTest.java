@@ -7,6 +7,7 @@ import static org.junit.Assert.*;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
@@ -207,6 +208,54 @@ public class BerkeleyDbSourceAccessorTest extends BerkeleyDbTestBase{
 	}
 
 
+	/**
+	 * Test method for {@link org.jhove2.persist.berkeleydpl.BerkeleyDbSourceAccessor#addChildSources(org.jhove2.core.source.Source, java.util.List)}.
+	 */
+	@Test
+	public void testAddChildSources() {
+		try {
+			source = sourceFactory.getSource(jhove2, sgmlDirPath);
+			source = source.getSourceAccessor().persistSource(source);
+			assertNotNull(source.getSourceId());
+			int childSourceCount = source.getNumChildSources();
+
+			List<Source> children = new ArrayList<Source>();
+			for (int i=0; i<3; i++){
+				Source child = sourceFactory.getSource(jhove2, tempDirBasePath);
+				assertNull(child.getParentSourceId());
+				children.add(child);
+			}
+			children = source.addChildSources(children);
+			assertEquals(3, children.size());
+			for (Source child:children){
+				assertEquals(source.getSourceId(), child.getParentSourceId());
+			}
+			assertEquals(childSourceCount + 3, source.getNumChildSources());
+
+			List<Long> ids = source.getSourceAccessor().getChildSourceIds(source);
+			assertEquals(childSourceCount + 3, ids.size());
+			for (Source child:children){
+				assertTrue(ids.contains(child.getSourceId()));
+			}
+
+			int count = 0;
+			Iterator<Source> iter = source.getChildSourceIterator();
+			while (iter.hasNext()){
+				assertEquals(source.getSourceId(), iter.next().getParentSourceId());
+				count++;
+			}
+			assertEquals(childSourceCount + 3, count);
+
+			for (Source child:children){
+				source.deleteChildSource(child);
+			}
+			assertEquals(childSourceCount, source.getNumChildSources());
+		} catch (Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		} 
+	}
+
 	/**
 	 * Test method for {@link org.jhove2.persist.berkeleydpl.BerkeleyDbSourceAccessor#startTimerInfo(org.jhove2.core.source.Source)}.
 	 */
@@ -0,0 +1,130 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package org.jhove2.persist.inmemory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.jhove2.core.JHOVE2;
+import org.jhove2.core.source.Source;
+import org.jhove2.core.source.SourceFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the batch and single child source insertion of
+ * {@link org.jhove2.persist.inmemory.InMemorySourceAccessor}, which both
+ * recognize children already added by identity.
+ */
+public class InMemorySourceAccessorTest {
+
+    private JHOVE2 jhove2;
+    private SourceFactory factory;
+    private File directory;
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        factory = new InMemorySourceFactory();
+        jhove2 = new JHOVE2();
+        jhove2.setSourceFactory(factory);
+        directory = File.createTempFile("jhove2-children", "");
+        assertTrue(directory.delete());
+        assertTrue(directory.mkdir());
+        file = new File(directory, "child");
+        assertTrue(file.createNewFile());
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+        directory.delete();
+    }
+
+    @Test
+    public void testAddChildSources() throws Exception {
+        Source parent = factory.getSource(jhove2, directory);
+        Source child1 = factory.getSource(jhove2, file);
+        Source child2 = factory.getSource(jhove2, file);
+        assertNotSame(child1, child2);
+        assertEquals("Distinct children not equal", child1, child2);
+
+        List<Source> children = new ArrayList<Source>();
+        children.add(child1);
+        children.add(child2);
+        children.add(child1);
+        children = parent.addChildSources(children);
+        assertEquals(3, children.size());
+        assertEquals("Children added by a batch", 2,
+                     parent.getNumChildSources());
+        for (Source child : children) {
+            assertSame(parent, child.getParentSource());
+        }
+
+        parent.addChildSource(child2);
+        assertEquals("Child already added by a batch added again", 2,
+                     parent.getNumChildSources());
+        Source child3 = factory.getSource(jhove2, file);
+        parent.addChildSource(child3);
+        assertEquals("Distinct equal child not added", 3,
+                     parent.getNumChildSources());
+        children = new ArrayList<Source>();
+        children.add(child3);
+        parent.addChildSources(children);
+        assertEquals("Child already added added again by a batch", 3,
+                     parent.getNumChildSources());
+
+        int count = 0;
+        Iterator<Source> iter = parent.getChildSourceIterator();
+        while (iter.hasNext()) {
+            assertSame(parent, iter.next().getParentSource());
+            count++;
+        }
+        assertEquals(3, count);
+
+        parent.deleteChildSource(child3);
+        assertEquals(2, parent.getNumChildSources());
+        assertSame("Equal child deleted in place of the given one", child1,
+                   parent.getChildSources().get(0));
+        assertSame(child2, parent.getChildSources().get(1));
+    }
+}
@@ -0,0 +1,205 @@
+/* JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2010 by The Regents of the University of California.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library nor the names of its contributors may be used to endorse or
+ *   promote products derived from this software without specific prior
+ *   written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package org.jhove2.util.externalprocess;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jhove2.core.JHOVE2Exception;
+import org.jhove2.module.format.sgml.EsisFileParser;
+import org.jhove2.module.format.sgml.SgmlDocumentProperties;
+import org.jhove2.module.format.sgml.SgmlModule;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ProcessBuilderHandler}, using a stub executable (a shell
+ * script) in place of the OpenSp utilities.
+ */
+public class ProcessBuilderHandlerTest {
+
+	/** canned onsgmls ESIS output */
+	public static final String[] ESIS = {
+		"AVERSION CDATA 1.0",
+		"(DOC",
+		"(TITLE",
+		"-A title",
+		")TITLE",
+		"(P",
+		"-Some text",
+		")P",
+		")DOC",
+		"C"
+	};
+
+	/** canned onsgmls message */
+	public static final String MESSAGE =
+		"/usr/bin/onsgmls:doc.sgm:3:7:W: cannot generate system identifier";
+
+	protected File stub;
+
+	@Before
+	public void setUp() throws IOException {
+		Assume.assumeTrue(new File("/bin/sh").canExecute());
+		stub = File.createTempFile("jhove2-onsgmls", ".sh");
+		FileWriter writer = new FileWriter(stub);
+		try {
+			writer.write("#!/bin/sh\n");
+			for (String line : ESIS) {
+				writer.write("echo '" + line + "'\n");
+			}
+			writer.write("echo '" + MESSAGE + "' 1>&2\n");
+			writer.write("exit 1\n");
+		}
+		finally {
+			writer.close();
+		}
+		stub.setExecutable(true);
+	}
+
+	@After
+	public void tearDown() {
+		if (stub != null) {
+			stub.delete();
+		}
+	}
+
+	/* Collects the lines of a process output stream */
+	static class LineCollector implements ProcessOutputHandler {
+		final List<String> lines = new ArrayList<String>();
+		@Override
+		public void handle(InputStream output) throws IOException {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(output));
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lines.add(line);
+			}
+		}
+	}
+
+	@Test
+	public void testStreamsOutput() throws JHOVE2Exception {
+		ProcessBuilderHandler handler = new ProcessBuilderHandler();
+		LineCollector stdout = new LineCollector();
+		LineCollector stderr = new LineCollector();
+		int exitValue = handler.execute(Arrays.asList(stub.getPath(), "doc.sgm"),
+				stdout, stderr);
+		assertEquals(1, exitValue);
+		assertEquals(Arrays.asList(ESIS), stdout.lines);
+		assertEquals(Arrays.asList(MESSAGE), stderr.lines);
+	}
+
+	@Test
+	public void testEsisParsedFromStream() throws JHOVE2Exception {
+		final SgmlModule sgm = new SgmlModule();
+		sgm.setDocumentProperties(new SgmlDocumentProperties());
+		final EsisFileParser parser = new EsisFileParser();
+		new ProcessBuilderHandler().execute(Arrays.asList(stub.getPath()),
+			new ProcessOutputHandler() {
+				@Override
+				public void handle(InputStream output)
+					throws IOException, JHOVE2Exception
+				{
+					parser.parseEsis(new BufferedReader(
+							new InputStreamReader(output, "utf-8")),
+						null, null, sgm);
+				}
+			}, null);
+		SgmlDocumentProperties props = sgm.getDocumentProperties();
+		assertTrue(props.isSgmlValid());
+		assertEquals("DOC", props.getRootElementName());
+		assertEquals(3, props.getElementCount());
+	}
+
+	@Test
+	public void testProcessPoolBound() throws Exception {
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger maxRunning = new AtomicInteger();
+		ProcessOutputHandler counter = new ProcessOutputHandler() {
+			@Override
+			public void handle(InputStream output) throws IOException {
+				int now = running.incrementAndGet();
+				synchronized (maxRunning) {
+					if (now > maxRunning.get()) {
+						maxRunning.set(now);
+					}
+				}
+				try {
+					while (output.read() != -1) {
+						;
+					}
+				}
+				finally {
+					running.decrementAndGet();
+				}
+			}
+		};
+		ProcessBuilderHandler handler = new ProcessBuilderHandler();
+		handler.setMaxProcesses(2);
+		List<String> command = Arrays.asList("/bin/sh", "-c",
+			"sleep 0.2; cat " + stub.getPath());
+		List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+		for (int i = 0; i < 6; i++) {
+			results.add(handler.submit(command, counter, null));
+		}
+		for (Future<Integer> result : results) {
+			assertEquals(0, result.get().intValue());
+		}
+		assertTrue(maxRunning.get() <= 2);
+	}
+
+	@Test
+	public void testTokenize() {
+		assertEquals(Arrays.asList("-wall", "-c/path with space/catalog", "-E200"),
+			ProcessBuilderHandler.tokenize(" -wall  \"-c/path with space/catalog\" -E200 "));
+		assertEquals(Arrays.asList("a b", "", "c"),
+			ProcessBuilderHandler.tokenize("'a b' '' c"));
+		assertTrue(ProcessBuilderHandler.tokenize(null).isEmpty());
+	}
+}
@@ -0,0 +1,211 @@
+/**
+ * JHOVE2 - Next-generation architecture for format-aware characterization
+ *
+ * Copyright (c) 2009 by The Regents of the University of California,
+ * Ithaka Harbors, Inc., and The Board of Trustees of the Leland Stanford
+ * Junior University.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * o Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ *
+ * o Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+ *
+ * o Neither the name of the University of California/California Digital
+ *   Library, Ithaka Harbors/Portico, or Stanford University, nor the names of
+ *   its contributors may be used to endorse or promote products derived from
+ *   this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package uk.gov.nationalarchives.droid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+
+import org.jhove2.app.util.FeatureConfigurationUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.gov.nationalarchives.droid.signatureFile.ByteSequence;
+import uk.gov.nationalarchives.droid.signatureFile.FFSignatureFile;
+import uk.gov.nationalarchives.droid.signatureFile.FileFormat;
+import uk.gov.nationalarchives.droid.signatureFile.InternalSignature;
+import uk.gov.nationalarchives.droid.signatureFile.SubSequence;
+
+/**
+ * Tests of the prepared DROID signature file snapshot.
+ */
+public class SignatureFileCacheTest {
+	/** DROID signature file name. */
+	public static final String SIG_FILE = "DROID_SignatureFile_V20.xml";
+
+	private File dir;
+	private File sigFile;
+
+	@Before
+	public void setUp() throws Exception {
+		String path = FeatureConfigurationUtil.
+			getFilePathFromClasspath(SIG_FILE, "DROID signature file");
+		this.dir = File.createTempFile("sigcache", "");
+		this.dir.delete();
+		this.dir.mkdir();
+		this.sigFile = new File(this.dir, SIG_FILE);
+		InputStream in = new FileInputStream(path);
+		OutputStream out = new FileOutputStream(this.sigFile);
+		try {
+			byte[] buffer = new byte[8192];
+			int n;
+			while ((n = in.read(buffer)) > 0) {
+				out.write(buffer, 0, n);
+			}
+		} finally {
+			in.close();
+			out.close();
+		}
+	}
+
+	@After
+	public void tearDown() {
+		SignatureFileCache.getCacheFile(this.sigFile).delete();
+		this.sigFile.delete();
+		this.dir.delete();
+	}
+
+	/**
+	 * The restored model must match the freshly prepared one, including the
+	 * shift tables, fragments and format priority relations.
+	 */
+	@Test
+	public void testRoundTrip() throws Exception {
+		String checksum = SignatureFileCache.checksum(this.sigFile);
+		assertNull(SignatureFileCache.read(this.sigFile, checksum));
+		FFSignatureFile parsed =
+			SignatureFileCache.compile(this.sigFile.getPath());
+		assertTrue(SignatureFileCache.getCacheFile(this.sigFile).isFile());
+		FFSignatureFile restored = SignatureFileCache.read(this.sigFile, checksum);
+		assertNotNull(restored);
+
+		assertEquals(parsed.getVersion(), restored.getVersion());
+		assertEquals(parsed.getNumFileFormats(), restored.getNumFileFormats());
+		for (int i = 0; i < parsed.getNumFileFormats(); i++) {
+			FileFormat p = parsed.getFileFormat(i);
+			FileFormat r = restored.getFileFormat(i);
+			assertEquals(p.getPUID(), r.getPUID());
+			assertEquals(p.getNumHasPriorityOver(), r.getNumHasPriorityOver());
+			for (int j = 0; j < p.getNumHasPriorityOver(); j++) {
+				assertEquals(p.getHasPriorityOver(j), r.getHasPriorityOver(j));
+			}
+		}
+		assertEquals(parsed.getNumInternalSignatures(),
+				     restored.getNumInternalSignatures());
+		for (int i = 0; i < parsed.getNumInternalSignatures(); i++) {
+			InternalSignature p = parsed.getInternalSignature(i);
+			InternalSignature r = restored.getInternalSignature(i);
+			assertEquals(p.getID(), r.getID());
+			assertEquals(p.getNumFileFormats(), r.getNumFileFormats());
+			assertEquals(p.getNumByteSequences(), r.getNumByteSequences());
+			for (int j = 0; j < p.getNumByteSequences(); j++) {
+				ByteSequence pbs = p.getByteSequence(j);
+				ByteSequence rbs = r.getByteSequence(j);
+				assertEquals(pbs.getNumSubSequences(), rbs.getNumSubSequences());
+				for (int k = 0; k < pbs.getNumSubSequences(); k++) {
+					SubSequence pss = pbs.getSubSequence(k);
+					SubSequence rss = rbs.getSubSequence(k);
+					assertSame(rbs, rss.getByteSequence());
+					assertEquals(pss.getNumBytes(), rss.getNumBytes());
+					for (int b = 0; b < 256; b++) {
+						assertEquals(pss.getShift((byte) b), rss.getShift((byte) b));
+					}
+					assertEquals(pss.getNumFragmentPositions(true),
+							     rss.getNumFragmentPositions(true));
+					assertEquals(pss.getNumFragmentPositions(false),
+							     rss.getNumFragmentPositions(false));
+				}
+			}
+		}
+	}
+
+	/**
+	 * A snapshot of a different signature file must not be used.
+	 */
+	@Test
+	public void testStaleChecksum() throws Exception {
+		SignatureFileCache.compile(this.sigFile.getPath());
+		assertNull(SignatureFileCache.read(this.sigFile, "0000"));
+	}
+
+	/**
+	 * A snapshot written in another format version must not be used, even
+	 * if it is of the same signature file.
+	 */
+	@Test
+	public void testFormatVersion() throws Exception {
+		String checksum = SignatureFileCache.checksum(this.sigFile);
+		FFSignatureFile model =
+			SignatureFileCache.compile(this.sigFile.getPath());
+		ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(
+				SignatureFileCache.getCacheFile(this.sigFile)));
+		try {
+			out.writeInt(SignatureFileCache.MAGIC);
+			out.writeInt(SignatureFileCache.FORMAT_VERSION - 1);
+			out.writeUTF(checksum);
+			out.writeObject(model);
+		} finally {
+			out.close();
+		}
+		assertNull(SignatureFileCache.read(this.sigFile, checksum));
+	}
+
+	/**
+	 * A snapshot directory, if configured, is used instead of the directory
+	 * of the signature file.
+	 */
+	@Test
+	public void testCacheDir() throws Exception {
+		File cacheDir = new File(this.dir, "snapshots");
+		System.setProperty(SignatureFileCache.CACHE_DIR_PROPERTY,
+				           cacheDir.getPath());
+		try {
+			File cacheFile = SignatureFileCache.getCacheFile(this.sigFile);
+			assertEquals(new File(cacheDir, SIG_FILE +
+					              SignatureFileCache.CACHE_SUFFIX), cacheFile);
+			SignatureFileCache.compile(this.sigFile.getPath());
+			assertTrue(cacheFile.isFile());
+			assertTrue(!new File(this.sigFile.getPath() +
+					             SignatureFileCache.CACHE_SUFFIX).exists());
+			assertNotNull(SignatureFileCache.read(this.sigFile,
+					SignatureFileCache.checksum(this.sigFile)));
+			cacheFile.delete();
+			cacheDir.delete();
+		} finally {
+			System.clearProperty(SignatureFileCache.CACHE_DIR_PROPERTY);
+		}
+	}
+}